@@ -6,6 +6,8 @@ package com.lsoftware.inventory.authentication.authorities;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -15,10 +17,16 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import com.lsoftware.inventory.jwt.JWTConfig;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 
 /**
  * The Class ClaimsGrantedAuthorityImpl.
+ * Tokens carry their roles either by name, in "authorities", or as a mask
+ * of the role dictionary, in "rm" with its version in "rv". Both are read
+ * whatever the format issued.
  * 
  * @author Luis Espinosa
  */
@@ -27,24 +35,78 @@ public class AuthoritiesClaimsProvider implements AuthoritiesCustomProvider {
 	
 	/** The log. */
 	private static final Logger LOG = LoggerFactory.getLogger(AuthoritiesClaimsProvider.class);
+	
+	/** The Constant FORMAT_BITMASK. */
+	public static final String FORMAT_BITMASK = "bitmask";
+	
+	/** The Constant AUTHORITIES_CLAIM. */
+	private static final String AUTHORITIES_CLAIM = "authorities";
+	
+	/** The Constant ROLE_MASK_CLAIM. */
+	private static final String ROLE_MASK_CLAIM = "rm";
+	
+	/** The Constant ROLE_VERSION_CLAIM. */
+	private static final String ROLE_VERSION_CLAIM = "rv";
+	
+	/** The jwt config. */
+	private final JWTConfig jwtConfig;
+	
+	/** The role dictionary. */
+	private final AuthoritiesRoleDictionary roleDictionary;
+
+	/**
+	 * Instantiates a new authorities claims provider.
+	 *
+	 * @param jwtConfig the jwt config
+	 * @param roleDictionary the role dictionary
+	 */
+	public AuthoritiesClaimsProvider(JWTConfig jwtConfig, AuthoritiesRoleDictionary roleDictionary) {
+		this.jwtConfig = jwtConfig;
+		this.roleDictionary = roleDictionary;
+	}
 
 	/**
 	 * Provide granted authorities.
 	 *
 	 * @param bodyClaims the body claims
 	 * @return the sets the
+	 * @throws JwtException when the mask belongs to an unknown dictionary
 	 */
 	@SuppressWarnings("unchecked")
 	@Override
 	public Set<GrantedAuthority> provideGrantedAuthorities(Claims bodyClaims) {
-		LOG.info("method: provideGrantedAuthorities");
-		List<String> plainAuthorities = (ArrayList<String>) bodyClaims.get("authorities");
+		LOG.debug("method: provideGrantedAuthorities");
+		
+		Object mask = bodyClaims.get(ROLE_MASK_CLAIM);
+		if (mask instanceof Number) {
+			return roleDictionary.decode(((Number) mask).longValue(), bodyClaims.get(ROLE_VERSION_CLAIM, String.class))
+					.orElseThrow(() -> new JwtException("Unknown role dictionary"));
+		}
+		
+		List<String> plainAuthorities = (ArrayList<String>) bodyClaims.get(AUTHORITIES_CLAIM);
 		
 		return plainAuthorities.stream()
 				.map(a -> new SimpleGrantedAuthority("ROLE_" + a))
 				.collect(Collectors.toSet());
 	}
 	
-	
+	/**
+	 * Provide claims.
+	 * The names are kept when a role does not fit in the mask.
+	 *
+	 * @param authorities the role names
+	 * @return the claims carrying them
+	 */
+	@Override
+	public Map<String, Object> provideClaims(Set<String> authorities) {
+		if (FORMAT_BITMASK.equals(jwtConfig.getAuthoritiesClaimFormat())) {
+			Optional<AuthoritiesRoleDictionary.Encoded> encoded = roleDictionary.encode(authorities);
+			if (encoded.isPresent()) {
+				return Map.of(ROLE_MASK_CLAIM, encoded.get().getMask(), ROLE_VERSION_CLAIM, encoded.get().getVersion());
+			}
+		}
+		
+		return Map.of(AUTHORITIES_CLAIM, authorities);
+	}
 
 }
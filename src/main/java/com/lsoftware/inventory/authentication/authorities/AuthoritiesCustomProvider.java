@@ -4,6 +4,7 @@
  */
 package com.lsoftware.inventory.authentication.authorities;
 
+import java.util.Map;
 import java.util.Set;
 
 import org.springframework.security.core.GrantedAuthority;
@@ -24,5 +25,13 @@ public interface AuthoritiesCustomProvider {
 	 * @return the sets the
 	 */
 	Set<GrantedAuthority> provideGrantedAuthorities(Claims bodyClaims);
+	
+	/**
+	 * Provide claims.
+	 *
+	 * @param authorities the role names
+	 * @return the claims carrying them
+	 */
+	Map<String, Object> provideClaims(Set<String> authorities);
 
 }
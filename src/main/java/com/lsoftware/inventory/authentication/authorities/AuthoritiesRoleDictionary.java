@@ -0,0 +1,257 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.authentication.authorities;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import com.google.common.collect.ImmutableSet;
+import com.lsoftware.inventory.role.Role;
+import com.lsoftware.inventory.role.RoleRepository;
+
+/**
+ * The Class AuthoritiesRoleDictionary.
+ * Maps every role to a bit, its id, so the roles of a token travel as a
+ * single number. The dictionary carries a version, a checksum of the ids
+ * and names. The last versions are kept, so a token issued before a role
+ * was added or renamed is still decoded against the bits it was issued
+ * with, while a version never seen is refused.
+ *
+ * @author Luis Espinosa
+ */
+@Component
+public class AuthoritiesRoleDictionary {
+
+	/** The Constant LOG. */
+	private static final Logger LOG = LoggerFactory.getLogger(AuthoritiesRoleDictionary.class);
+
+	/** The Constant MAXIMUM_BIT, the sign bit is left alone. */
+	private static final long MAXIMUM_BIT = 62L;
+
+	/** The Constant RELOAD_INTERVAL, for tokens issued against an unknown version. */
+	private static final long RELOAD_INTERVAL = TimeUnit.SECONDS.toMillis(1);
+
+	/** The Constant MAXIMUM_VERSIONS, the dictionaries kept for the tokens already issued. */
+	private static final int MAXIMUM_VERSIONS = 16;
+
+	/** The role repository. */
+	private final RoleRepository roleRepository;
+
+	/** The current dictionary, null until the first use. */
+	private volatile Dictionary dictionary;
+
+	/** The dictionaries loaded by version, the eldest first, never modified once published. */
+	private volatile Map<String, Dictionary> versions = Map.of();
+
+	/** The last load in milliseconds. */
+	private volatile long lastLoad;
+
+	/**
+	 * Instantiates a new authorities role dictionary.
+	 *
+	 * @param roleRepository the role repository
+	 */
+	public AuthoritiesRoleDictionary(RoleRepository roleRepository) {
+		this.roleRepository = roleRepository;
+	}
+
+	/**
+	 * Encode.
+	 *
+	 * @param roleNames the role names
+	 * @return the mask and version, empty when a role can not be encoded
+	 */
+	public Optional<Encoded> encode(Collection<String> roleNames) {
+		Dictionary current = dictionary();
+
+		long mask = 0L;
+		for (String name : roleNames) {
+			Long bit = current.bitByName.get(name);
+			if (bit == null) return Optional.empty();
+			mask |= 1L << bit;
+		}
+		return Optional.of(new Encoded(mask, current.version));
+	}
+
+	/**
+	 * Decode.
+	 *
+	 * @param mask the mask
+	 * @param version the version
+	 * @return the authorities, shared between every token with the same
+	 *         roles, empty when the version or a bit is unknown
+	 */
+	public Optional<Set<GrantedAuthority>> decode(long mask, String version) {
+		dictionary();
+		Dictionary issued = versions.get(version);
+		if (issued == null && System.currentTimeMillis() - lastLoad >= RELOAD_INTERVAL) {
+			load();
+			issued = versions.get(version);
+		}
+		if (issued == null || (mask & ~issued.knownBits) != 0) return Optional.empty();
+
+		return Optional.of(issued.authoritiesByMask.computeIfAbsent(mask, issued::authorities));
+	}
+
+	/**
+	 * Dictionary.
+	 *
+	 * @return the dictionary
+	 */
+	private Dictionary dictionary() {
+		Dictionary current = dictionary;
+		return current != null ? current : load();
+	}
+
+	/**
+	 * Load.
+	 *
+	 * @return the dictionary
+	 */
+	private synchronized Dictionary load() {
+		LOG.debug("proccess: loading the role dictionary");
+
+		List<Role> roles = new ArrayList<>(roleRepository.findAll());
+		roles.sort(Comparator.comparing(Role::getId));
+
+		Dictionary loaded = new Dictionary(roles);
+		Map<String, Dictionary> known = new LinkedHashMap<>(versions);
+		// The same roles keep the dictionary and the authority sets it resolved
+		Dictionary kept = known.remove(loaded.version);
+		if (kept != null) loaded = kept;
+		known.put(loaded.version, loaded);
+		Iterator<String> eldest = known.keySet().iterator();
+		while (known.size() > MAXIMUM_VERSIONS) {
+			eldest.next();
+			eldest.remove();
+		}
+
+		versions = known;
+		dictionary = loaded;
+		lastLoad = System.currentTimeMillis();
+		return loaded;
+	}
+
+	/**
+	 * The Class Encoded.
+	 */
+	public static final class Encoded {
+
+		/** The mask. */
+		private final long mask;
+
+		/** The version. */
+		private final String version;
+
+		/**
+		 * Instantiates a new encoded.
+		 *
+		 * @param mask the mask
+		 * @param version the version
+		 */
+		private Encoded(long mask, String version) {
+			this.mask = mask;
+			this.version = version;
+		}
+
+		/**
+		 * Gets the mask.
+		 *
+		 * @return the mask
+		 */
+		public long getMask() {
+			return mask;
+		}
+
+		/**
+		 * Gets the version.
+		 *
+		 * @return the version
+		 */
+		public String getVersion() {
+			return version;
+		}
+
+	}
+
+	/**
+	 * The Class Dictionary.
+	 * Never modified once built, but for the authority sets it resolves.
+	 */
+	private static final class Dictionary {
+
+		/** The version. */
+		private final String version;
+
+		/** The bits of the roles that fit in a mask, by name. */
+		private final Map<String, Long> bitByName = new HashMap<>();
+
+		/** The authorities by bit. */
+		private final Map<Long, GrantedAuthority> authorityByBit = new HashMap<>();
+
+		/** The bits in use. */
+		private final long knownBits;
+
+		/** The authority sets already resolved, by mask. */
+		private final Map<Long, Set<GrantedAuthority>> authoritiesByMask = new ConcurrentHashMap<>();
+
+		/**
+		 * Instantiates a new dictionary.
+		 *
+		 * @param roles the roles ordered by id
+		 */
+		private Dictionary(List<Role> roles) {
+			CRC32 checksum = new CRC32();
+			long bits = 0L;
+
+			for (Role role : roles) {
+				checksum.update((role.getId() + ":" + role.getName() + ";").getBytes(StandardCharsets.UTF_8));
+				// Roles beyond the mask keep their tokens on the names format
+				if (role.getId() < 0 || role.getId() > MAXIMUM_BIT) continue;
+
+				bitByName.put(role.getName(), role.getId());
+				authorityByBit.put(role.getId(), new SimpleGrantedAuthority("ROLE_" + role.getName()));
+				bits |= 1L << role.getId();
+			}
+
+			this.version = Long.toString(checksum.getValue(), Character.MAX_RADIX);
+			this.knownBits = bits;
+		}
+
+		/**
+		 * Authorities.
+		 *
+		 * @param mask the mask
+		 * @return the sets the
+		 */
+		private Set<GrantedAuthority> authorities(long mask) {
+			ImmutableSet.Builder<GrantedAuthority> builder = ImmutableSet.builder();
+			for (long bit = 0; bit <= MAXIMUM_BIT; bit++) {
+				if ((mask & (1L << bit)) != 0) builder.add(authorityByBit.get(bit));
+			}
+			return builder.build();
+		}
+
+	}
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.authentication.throttle;
+
+/**
+ * The Class LoginFailureWindow.
+ * Counts the failures of a sliding window split in a fixed number of slots,
+ * so a counter takes the same memory however many failures it sees. A failure
+ * leaves the window at the end of its slot.
+ *
+ * @author Luis Espinosa
+ */
+class LoginFailureWindow {
+
+	/** The Constant SLOTS. */
+	static final int SLOTS = 10;
+
+	/** The nanos of a slot. */
+	private final long slotNanos;
+
+	/** The failures of every slot. */
+	private final int[] counts = new int[SLOTS];
+
+	/** The slot number every count belongs to. */
+	private final long[] slots = new long[SLOTS];
+
+	/**
+	 * Instantiates a new login failure window.
+	 *
+	 * @param windowNanos the window nanos
+	 */
+	LoginFailureWindow(long windowNanos) {
+		this.slotNanos = Math.max(1L, windowNanos / SLOTS);
+	}
+
+	/**
+	 * Record.
+	 *
+	 * @param now the current nano time
+	 */
+	synchronized void record(long now) {
+		long slot = Math.floorDiv(now, slotNanos);
+		int index = (int) Math.floorMod(slot, (long) SLOTS);
+		if (slots[index] != slot) {
+			slots[index] = slot;
+			counts[index] = 0;
+		}
+		counts[index]++;
+	}
+
+	/**
+	 * Wait nanos.
+	 *
+	 * @param now the current nano time
+	 * @param maximum the failures allowed within the window
+	 * @return zero while there are less failures than the maximum, otherwise
+	 *         the nanos until enough of them leave the window
+	 */
+	synchronized long waitNanos(long now, int maximum) {
+		long current = Math.floorDiv(now, slotNanos);
+
+		int total = 0;
+		for (int i = 0; i < SLOTS; i++) {
+			if (current - slots[i] < SLOTS) total += counts[i];
+		}
+		if (total < maximum) return 0L;
+
+		for (long slot = current - SLOTS + 1; slot <= current; slot++) {
+			int index = (int) Math.floorMod(slot, (long) SLOTS);
+			if (slots[index] != slot) continue;
+
+			total -= counts[index];
+			if (total < maximum) return (slot + SLOTS) * slotNanos - now;
+		}
+		return SLOTS * slotNanos;
+	}
+
+}
@@ -0,0 +1,227 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.authentication.throttle;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.lsoftware.inventory.exception.ExceptionTooManyRequests;
+import com.lsoftware.inventory.metrics.MetricsProvider;
+import com.lsoftware.inventory.ratelimit.RateLimiter;
+import com.lsoftware.inventory.user.UserCredentialsCache;
+
+/**
+ * The Class LoginThrottle.
+ * Counts the failed logins by username and by client address, and refuses
+ * the next attempts before any password is compared once either goes over
+ * its maximum. The usernames a recent lookup did not find are refused right
+ * away, a guessed username costs a single password comparison.
+ *
+ * @author Luis Espinosa
+ */
+@Component
+public class LoginThrottle implements MetricsProvider {
+
+	/** The Constant LOG. */
+	private static final Logger LOG = LoggerFactory.getLogger(LoginThrottle.class);
+
+	/** The login throttle config. */
+	private final LoginThrottleConfig loginThrottleConfig;
+
+	/** The user credentials cache. */
+	private final UserCredentialsCache userCredentialsCache;
+
+	/** The failures by upper-cased username. */
+	private final Cache<String, LoginFailureWindow> byUsername;
+
+	/** The failures by client address. */
+	private final Cache<String, LoginFailureWindow> byAddress;
+
+	/** The window nanos. */
+	private final long windowNanos;
+
+	/** The failures. */
+	private final LongAdder failures = new LongAdder();
+
+	/** The throttled attempts. */
+	private final LongAdder throttled = new LongAdder();
+
+	/** The attempts refused for an unknown username. */
+	private final LongAdder unknownUsernames = new LongAdder();
+
+	/**
+	 * Instantiates a new login throttle.
+	 *
+	 * @param loginThrottleConfig the login throttle config
+	 * @param userCredentialsCache the user credentials cache
+	 */
+	public LoginThrottle(LoginThrottleConfig loginThrottleConfig, UserCredentialsCache userCredentialsCache) {
+		this.loginThrottleConfig = loginThrottleConfig;
+		this.userCredentialsCache = userCredentialsCache;
+		this.windowNanos = TimeUnit.SECONDS.toNanos(loginThrottleConfig.getWindowSeconds());
+		this.byUsername = counters(loginThrottleConfig);
+		this.byAddress = counters(loginThrottleConfig);
+	}
+
+	/**
+	 * Check.
+	 *
+	 * @param username the username
+	 * @param address the client address
+	 * @throws ExceptionTooManyRequests when the username or the address failed too often
+	 * @throws BadCredentialsException when the username is known to be missing
+	 */
+	public void check(String username, String address) {
+		check(username, address, System.nanoTime());
+	}
+
+	/**
+	 * Check.
+	 *
+	 * @param username the username
+	 * @param address the client address
+	 * @param now the current nano time
+	 */
+	void check(String username, String address, long now) {
+		long waitNanos = Math.max(
+				waitNanos(byUsername, key(username), loginThrottleConfig.getMaximumFailuresPerUsername(), now),
+				waitNanos(byAddress, address, loginThrottleConfig.getMaximumFailuresPerAddress(), now));
+
+		if (waitNanos > 0) {
+			LOG.debug("proccess: login throttled");
+			throttled.increment();
+			throw new ExceptionTooManyRequests("Too many failed logins", RateLimiter.retryAfterSeconds(waitNanos));
+		}
+
+		if (userCredentialsCache.isUnknown(username)) {
+			unknownUsernames.increment();
+			recordFailure(username, address, now);
+			throw new BadCredentialsException("Bad credentials");
+		}
+	}
+
+	/**
+	 * Record failure.
+	 *
+	 * @param username the username
+	 * @param address the client address
+	 */
+	public void recordFailure(String username, String address) {
+		recordFailure(username, address, System.nanoTime());
+	}
+
+	/**
+	 * Record failure.
+	 *
+	 * @param username the username
+	 * @param address the client address
+	 * @param now the current nano time
+	 */
+	void recordFailure(String username, String address, long now) {
+		failures.increment();
+		record(byUsername, key(username), now);
+		record(byAddress, address, now);
+	}
+
+	/**
+	 * Record success.
+	 * Clears the failures of the username, not the ones of the address.
+	 *
+	 * @param username the username
+	 */
+	public void recordSuccess(String username) {
+		String key = key(username);
+		if (key != null) byUsername.invalidate(key);
+	}
+
+	/**
+	 * Wait nanos.
+	 *
+	 * @param counters the counters
+	 * @param key the key
+	 * @param maximum the maximum
+	 * @param now the now
+	 * @return the nanos until a login is allowed
+	 */
+	private static long waitNanos(Cache<String, LoginFailureWindow> counters, String key, int maximum, long now) {
+		if (key == null) return 0L;
+
+		LoginFailureWindow window = counters.getIfPresent(key);
+		return window == null ? 0L : window.waitNanos(now, maximum);
+	}
+
+	/**
+	 * Record.
+	 *
+	 * @param counters the counters
+	 * @param key the key
+	 * @param now the now
+	 */
+	private void record(Cache<String, LoginFailureWindow> counters, String key, long now) {
+		if (key == null) return;
+
+		counters.asMap().computeIfAbsent(key, k -> new LoginFailureWindow(windowNanos)).record(now);
+	}
+
+	/**
+	 * Counters.
+	 *
+	 * @param config the config
+	 * @return the cache
+	 */
+	private static Cache<String, LoginFailureWindow> counters(LoginThrottleConfig config) {
+		return CacheBuilder.newBuilder()
+				.maximumSize(config.getCountersMaximumSize())
+				.expireAfterAccess(config.getWindowSeconds(), TimeUnit.SECONDS)
+				.build();
+	}
+
+	/**
+	 * Key.
+	 *
+	 * @param username the username
+	 * @return the key
+	 */
+	private static String key(String username) {
+		return username == null ? null : username.toUpperCase(Locale.ROOT);
+	}
+
+	/**
+	 * Gets the metrics name.
+	 *
+	 * @return the metrics name
+	 */
+	@Override
+	public String getMetricsName() {
+		return "loginThrottle";
+	}
+
+	/**
+	 * Gets the metrics.
+	 *
+	 * @return the metrics
+	 */
+	@Override
+	public Map<String, Long> getMetrics() {
+		Map<String, Long> metrics = new LinkedHashMap<>();
+		metrics.put("failures", failures.sum());
+		metrics.put("throttled", throttled.sum());
+		metrics.put("unknownUsernames", unknownUsernames.sum());
+		metrics.put("usernames", byUsername.size());
+		metrics.put("addresses", byAddress.size());
+		return metrics;
+	}
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.authentication.throttle;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * The Class LoginThrottleConfig.
+ *
+ * @author Luis Espinosa
+ */
+@ConfigurationProperties(prefix = "application.authentication.throttle")
+@Component
+public class LoginThrottleConfig {
+
+	/** The seconds a failed login is counted. */
+	private Long windowSeconds = 300L;
+
+	/** The failures of a username within the window before its logins are refused. */
+	private Integer maximumFailuresPerUsername = 5;
+
+	/**
+	 * The failures from a client address within the window before its logins
+	 * are refused. The address is the one the trusted proxies forward, not the
+	 * one of the router, still the users behind the same NAT share it, so it
+	 * is kept well above the maximum per username.
+	 */
+	private Integer maximumFailuresPerAddress = 100;
+
+	/** The maximum number of usernames and of addresses counted. */
+	private Long countersMaximumSize = 100000L;
+
+	/**
+	 * Instantiates a new login throttle config.
+	 */
+	public LoginThrottleConfig() {
+		// Nothing here.
+	}
+
+	/**
+	 * Gets the window seconds.
+	 *
+	 * @return the window seconds
+	 */
+	public Long getWindowSeconds() {
+		return windowSeconds;
+	}
+
+	/**
+	 * Sets the window seconds.
+	 *
+	 * @param windowSeconds the new window seconds
+	 */
+	public void setWindowSeconds(Long windowSeconds) {
+		this.windowSeconds = windowSeconds;
+	}
+
+	/**
+	 * Gets the maximum failures per username.
+	 *
+	 * @return the maximum failures per username
+	 */
+	public Integer getMaximumFailuresPerUsername() {
+		return maximumFailuresPerUsername;
+	}
+
+	/**
+	 * Sets the maximum failures per username.
+	 *
+	 * @param maximumFailuresPerUsername the new maximum failures per username
+	 */
+	public void setMaximumFailuresPerUsername(Integer maximumFailuresPerUsername) {
+		this.maximumFailuresPerUsername = maximumFailuresPerUsername;
+	}
+
+	/**
+	 * Gets the maximum failures per address.
+	 *
+	 * @return the maximum failures per address
+	 */
+	public Integer getMaximumFailuresPerAddress() {
+		return maximumFailuresPerAddress;
+	}
+
+	/**
+	 * Sets the maximum failures per address.
+	 *
+	 * @param maximumFailuresPerAddress the new maximum failures per address
+	 */
+	public void setMaximumFailuresPerAddress(Integer maximumFailuresPerAddress) {
+		this.maximumFailuresPerAddress = maximumFailuresPerAddress;
+	}
+
+	/**
+	 * Gets the counters maximum size.
+	 *
+	 * @return the counters maximum size
+	 */
+	public Long getCountersMaximumSize() {
+		return countersMaximumSize;
+	}
+
+	/**
+	 * Sets the counters maximum size.
+	 *
+	 * @param countersMaximumSize the new counters maximum size
+	 */
+	public void setCountersMaximumSize(Long countersMaximumSize) {
+		this.countersMaximumSize = countersMaximumSize;
+	}
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.category;
+
+import org.springframework.stereotype.Component;
+
+import com.lsoftware.inventory.mappings.EntityMapper;
+
+/**
+ * The Class CategoryMapper.
+ *
+ * @author Luis Espinosa
+ */
+@Component
+public class CategoryMapper implements EntityMapper<Category, CategoryDTO> {
+
+	/**
+	 * To DTO.
+	 *
+	 * @param entity the entity
+	 * @return the category DTO
+	 */
+	@Override
+	public CategoryDTO toDTO(Category entity) {
+		if (entity == null) return null;
+
+		return new CategoryDTO(entity.getId(), entity.getName(), entity.getStatus());
+	}
+
+	/**
+	 * To entity.
+	 *
+	 * @param dto the dto
+	 * @return the category
+	 */
+	@Override
+	public Category toEntity(CategoryDTO dto) {
+		if (dto == null) return null;
+
+		return new Category(dto.getId(), dto.getName(), dto.getStatus());
+	}
+
+}
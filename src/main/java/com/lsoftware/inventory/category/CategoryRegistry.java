@@ -0,0 +1,117 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.category;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.lsoftware.inventory.shared.status.Status;
+
+/**
+ * The Class CategoryRegistry.
+ * Keeps the active categories indexed by id so product writes resolve their
+ * category without a query. The whole map is replaced at once and loaded
+ * lazily after every category write.
+ *
+ * @author Luis Espinosa
+ */
+@Component
+public class CategoryRegistry {
+
+	/** The Constant LOG. */
+	private static final Logger LOG = LoggerFactory.getLogger(CategoryRegistry.class);
+
+	/** The category repository. */
+	private CategoryRepository categoryRepository;
+
+	/** The active categories by id, null until the next load. */
+	private volatile Map<Long, Category> active;
+
+	/**
+	 * The generation, increased on every refresh so a load that raced with a
+	 * write is not kept.
+	 */
+	private AtomicLong generation = new AtomicLong();
+
+	/**
+	 * Instantiates a new category registry.
+	 *
+	 * @param categoryRepository the category repository
+	 */
+	public CategoryRegistry(CategoryRepository categoryRepository) {
+		this.categoryRepository = categoryRepository;
+	}
+
+	/**
+	 * Find active.
+	 * Falls back to the database on a miss, for categories created by another
+	 * instance since the last load.
+	 *
+	 * @param id the id
+	 * @return a detached copy of the category
+	 */
+	public Optional<Category> findActive(Long id) {
+		if (id == null) return Optional.empty();
+
+		Category found = categories().get(id);
+		if (found == null) return categoryRepository.findByIdAndStatus(id, Status.ACTIVE.getDigit());
+
+		return Optional.of(copy(found));
+	}
+
+	/**
+	 * Refresh.
+	 * Must run once the category write has committed.
+	 */
+	public void refresh() {
+		LOG.debug("proccess: refreshing the category registry");
+
+		generation.incrementAndGet();
+		active = null;
+	}
+
+	/**
+	 * Categories.
+	 *
+	 * @return the active categories by id
+	 */
+	private Map<Long, Category> categories() {
+		Map<Long, Category> current = active;
+		if (current != null) return current;
+
+		synchronized (this) {
+			if (active != null) return active;
+
+			long loading = generation.get();
+			Map<Long, Category> loaded = categoryRepository.findByStatus(Status.ACTIVE.getDigit())
+					.stream()
+					.map(CategoryRegistry::copy)
+					.collect(Collectors.toUnmodifiableMap(Category::getId, Function.identity()));
+
+			if (generation.get() == loading) active = loaded;
+			return loaded;
+		}
+	}
+
+	/**
+	 * Copy.
+	 * Keeps the registry apart from any persistence context, the entities
+	 * loaded may still be modified by the transaction that read them.
+	 *
+	 * @param category the category
+	 * @return the category
+	 */
+	private static Category copy(Category category) {
+		return new Category(category.getId(), category.getName(), category.getStatus());
+	}
+
+}
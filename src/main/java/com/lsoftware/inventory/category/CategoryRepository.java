@@ -7,8 +7,8 @@ package com.lsoftware.inventory.category;
 import java.util.List;
 import java.util.Optional;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -45,10 +45,20 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 	 * @param searchTerm the search term
 	 * @param states the states
 	 * @param pageable the pageable
-	 * @return the page
+	 * @return the slice
 	 */
 	@Query("SELECT c FROM Category c WHERE LOWER(c.name) LIKE LOWER(concat('%', concat(?1, '%'))) AND c.status IN(?2) ORDER BY c.id DESC")
-	Page<Category> findByTermsContaining(String searchTerm, List<Integer> status, Pageable pageable);
+	Slice<Category> findByTermsContaining(String searchTerm, List<Integer> status, Pageable pageable);
+	
+	/**
+	 * Count by terms containing.
+	 *
+	 * @param searchTerm the search term
+	 * @param status the status
+	 * @return the long
+	 */
+	@Query("SELECT COUNT(c) FROM Category c WHERE LOWER(c.name) LIKE LOWER(concat('%', concat(?1, '%'))) AND c.status IN(?2)")
+	long countByTermsContaining(String searchTerm, List<Integer> status);
 	
 	
 	/**
@@ -75,7 +85,38 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 	 *
 	 * @param status the status
 	 * @param pageable the pageable
-	 * @return the page
+	 * @return the slice
+	 */
+	Slice<Category> findByStatus(Integer status, Pageable pageable);
+	
+	/**
+	 * Count by status.
+	 *
+	 * @param status the status
+	 * @return the long
+	 */
+	long countByStatus(Integer status);
+	
+	/**
+	 * Find by status after id.
+	 *
+	 * @param status the status
+	 * @param afterId the last id of the previous page
+	 * @param pageable the pageable, only its size is used
+	 * @return the list
+	 */
+	@Query("SELECT c FROM Category c WHERE c.status IN(?1) AND c.id < ?2 ORDER BY c.id DESC")
+	List<Category> findByStatusAfterId(List<Integer> status, Long afterId, Pageable pageable);
+	
+	/**
+	 * Find by terms containing after id.
+	 *
+	 * @param searchTerm the search term
+	 * @param status the status
+	 * @param afterId the last id of the previous page
+	 * @param pageable the pageable, only its size is used
+	 * @return the list
 	 */
-	Page<Category> findByStatus(Integer status, Pageable pageable);
+	@Query("SELECT c FROM Category c WHERE LOWER(c.name) LIKE LOWER(concat('%', concat(?1, '%'))) AND c.status IN(?2) AND c.id < ?3 ORDER BY c.id DESC")
+	List<Category> findByTermsContainingAfterId(String searchTerm, List<Integer> status, Long afterId, Pageable pageable);
 }
@@ -8,13 +8,12 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,12 +21,14 @@ import com.lsoftware.inventory.exception.ExceptionObjectNotFound;
 import com.lsoftware.inventory.exception.ExceptionValueNotPermitted;
 import com.lsoftware.inventory.product.ProductRepository;
 import com.lsoftware.inventory.exception.ExceptionInternalServerError;
+import com.lsoftware.inventory.shared.pagination.PaginationCountCache;
 import com.lsoftware.inventory.shared.request.RequestPaginationAndSortDTO;
 import com.lsoftware.inventory.shared.response.ResponsePaginationAndSortDTO;
 import com.lsoftware.inventory.shared.service.ServiceListMethods;
 import com.lsoftware.inventory.shared.service.ServiceMethods;
 import com.lsoftware.inventory.shared.service.ServicePaginatedMethods;
 import com.lsoftware.inventory.shared.status.Status;
+import com.lsoftware.inventory.shared.transaction.TransactionAfterCommit;
 
 /**
  * The Class CategoryService.
@@ -49,8 +50,8 @@ public class CategoryService implements ServicePaginatedMethods<CategoryDTO>, Se
 	/** The category repository. */
 	private CategoryRepository categoryRepository;
 	
-	/** The model mapper. */
-	private ModelMapper modelMapper;
+	/** The category mapper. */
+	private CategoryMapper categoryMapper;
 	
 	/** The message source. */
 	private MessageSource messageSource;
@@ -58,20 +59,33 @@ public class CategoryService implements ServicePaginatedMethods<CategoryDTO>, Se
 	/** The product repository. */
 	private ProductRepository productRepository;
 	
+	/** The category registry. */
+	private CategoryRegistry categoryRegistry;
+	
+	/** The pagination count cache. */
+	private PaginationCountCache paginationCountCache;
+	
 	/**
 	 * Instantiates a new category service.
 	 *
 	 * @param categoryRepository the category repository
-	 * @param modelMapper the model mapper
+	 * @param categoryMapper the category mapper
 	 * @param messageSource the message source
+	 * @param productRepository the product repository
+	 * @param categoryRegistry the category registry
+	 * @param paginationCountCache the pagination count cache
 	 */
-	public CategoryService(CategoryRepository categoryRepository, ModelMapper modelMapper,
+	public CategoryService(CategoryRepository categoryRepository, CategoryMapper categoryMapper,
 			MessageSource messageSource,
-			ProductRepository productRepository) {
+			ProductRepository productRepository,
+			CategoryRegistry categoryRegistry,
+			PaginationCountCache paginationCountCache) {
 		this.categoryRepository = categoryRepository;
-		this.modelMapper = modelMapper;
+		this.categoryMapper = categoryMapper;
 		this.messageSource = messageSource;
 		this.productRepository = productRepository;
+		this.categoryRegistry = categoryRegistry;
+		this.paginationCountCache = paginationCountCache;
 	}
 
 	/**
@@ -93,13 +107,15 @@ public class CategoryService implements ServicePaginatedMethods<CategoryDTO>, Se
 					messageSource.getMessage("error.alreadyExist", new String[] {CATEGORY_TEXT}, LocaleContextHolder.getLocale())
 			);
 		
-		Category category = modelMapper.map(obj, Category.class);
+		Category category = categoryMapper.toEntity(obj);
 		
 		category.setName(category.getName().toUpperCase());
 		category.setStatus(Status.ACTIVE.getDigit());
 		
 		Category saved = categoryRepository.save(category);
-		return modelMapper.map(saved, CategoryDTO.class);
+		TransactionAfterCommit.execute(categoryRegistry::refresh);
+		TransactionAfterCommit.execute(() -> paginationCountCache.evict(CATEGORY_TEXT));
+		return categoryMapper.toDTO(saved);
 	}
 
 	/**
@@ -123,7 +139,9 @@ public class CategoryService implements ServicePaginatedMethods<CategoryDTO>, Se
 		foundObj.setName(obj.getName().toUpperCase());
 		
 		Category saved = categoryRepository.save(foundObj);
-		return modelMapper.map(saved, CategoryDTO.class);
+		TransactionAfterCommit.execute(categoryRegistry::refresh);
+		TransactionAfterCommit.execute(() -> paginationCountCache.evict(CATEGORY_TEXT));
+		return categoryMapper.toDTO(saved);
 	}
 
 	/**
@@ -156,6 +174,9 @@ public class CategoryService implements ServicePaginatedMethods<CategoryDTO>, Se
 		int result = categoryRepository.setStatusById(Status.DELETED.getDigit(), category.get().getId());
 		if (result < 1) throw new ExceptionInternalServerError(
 				messageSource.getMessage("error.notDeleted", new String[] {CATEGORY_TEXT}, LocaleContextHolder.getLocale()));
+		
+		TransactionAfterCommit.execute(categoryRegistry::refresh);
+		TransactionAfterCommit.execute(() -> paginationCountCache.evict(CATEGORY_TEXT));
 	}
 
 	/**
@@ -169,7 +190,7 @@ public class CategoryService implements ServicePaginatedMethods<CategoryDTO>, Se
 		
 		return categoryRepository.findByStatus(Status.ACTIVE.getDigit())
 				.stream()
-				.map(c -> modelMapper.map(c, CategoryDTO.class))
+				.map(categoryMapper::toDTO)
 				.collect(Collectors.toList());
 	}
 
@@ -183,20 +204,21 @@ public class CategoryService implements ServicePaginatedMethods<CategoryDTO>, Se
 	public ResponsePaginationAndSortDTO<CategoryDTO> findAll(RequestPaginationAndSortDTO pageAndSort) {
 		LOG.info("method: findAll");
 		
-		Page<Category> results = categoryRepository
+		if (pageAndSort.isKeyset()) {
+			List<Category> rows = categoryRepository.findByStatusAfterId(List.of(Status.ACTIVE.getDigit()), 
+					pageAndSort.keysetAfterId(), pageAndSort.keysetPageable());
+			return ResponsePaginationAndSortDTO.keyset(rows, pageAndSort.getSize(), Category::getId, 
+					categoryMapper::toDTO);
+		}
+		
+		Slice<Category> results = categoryRepository
 				.findByStatus(Status.ACTIVE.getDigit(), PageRequest.of(pageAndSort.getPage(), pageAndSort.getSize()));
 		
-		List<CategoryDTO> mapped = results.getContent()
-			.stream()
-			.map(c -> modelMapper.map(c, CategoryDTO.class))
-			.collect(Collectors.toList());
-		
-		ResponsePaginationAndSortDTO<CategoryDTO> resultData = new ResponsePaginationAndSortDTO<>();
-		resultData.setResult(mapped);
-		resultData.setCurrentPage(results.getNumber());
-		resultData.setTotalItems(results.getTotalElements());
-		resultData.setTotalPages(results.getTotalPages());
-		return resultData;
+		Long total = pageAndSort.isSkipTotals() ? null 
+				: paginationCountCache.count(CATEGORY_TEXT, List.of(Status.ACTIVE.getDigit()), null, 
+						() -> categoryRepository.countByStatus(Status.ACTIVE.getDigit()));
+		
+		return ResponsePaginationAndSortDTO.slice(results, total, categoryMapper::toDTO);
 	}
 
 	/**
@@ -211,19 +233,26 @@ public class CategoryService implements ServicePaginatedMethods<CategoryDTO>, Se
 			RequestPaginationAndSortDTO pageAndSort) {
 		LOG.info("method: findByTermContaining");
 		
-		Page<Category> results = categoryRepository
+		if (pageAndSort.isKeyset()) {
+			List<Category> rows = categoryRepository.findByTermsContainingAfterId(searchTerm, 
+					List.of(Status.ACTIVE.getDigit()), 
+					pageAndSort.keysetAfterId(), pageAndSort.keysetPageable());
+			return ResponsePaginationAndSortDTO.keyset(rows, pageAndSort.getSize(), Category::getId, 
+					categoryMapper::toDTO);
+		}
+		
+		List<Integer> status = List.of(Status.ACTIVE.getDigit());
+		Slice<Category> results = categoryRepository
 				.findByTermsContaining(
 						searchTerm, 
-						List.of(Status.ACTIVE.getDigit()), 
+						status, 
 						PageRequest.of(pageAndSort.getPage(), pageAndSort.getSize()));
 		
-		List<CategoryDTO> mapped = results.getContent()
-			.stream()
-			.map(c -> modelMapper.map(c, CategoryDTO.class))
-			.collect(Collectors.toList());
+		Long total = pageAndSort.isSkipTotals() ? null 
+				: paginationCountCache.count(CATEGORY_TEXT, status, searchTerm, 
+						() -> categoryRepository.countByTermsContaining(searchTerm, status));
 		
-		return new ResponsePaginationAndSortDTO<>(mapped, results.getNumber(), 
-						results.getTotalElements(), results.getTotalPages());
+		return ResponsePaginationAndSortDTO.slice(results, total, categoryMapper::toDTO);
 	}
 	
 }
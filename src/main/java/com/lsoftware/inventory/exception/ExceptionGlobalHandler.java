@@ -15,6 +15,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.validation.BindException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -113,6 +114,46 @@ public class ExceptionGlobalHandler extends ResponseEntityExceptionHandler {
 		return new ResponseEntity<>(error, httpStatus);
 	}
 	
+	/**
+	 * Handle service unavailable exception.
+	 *
+	 * @param ex the ex
+	 * @return the response entity
+	 */
+	@ExceptionHandler(ExceptionServiceUnavailable.class)
+	public final ResponseEntity<ApiCustomResponse> handleServiceUnavailableException(ExceptionServiceUnavailable ex) {
+		LOG.error("method: handleServiceUnavailableException");
+		
+		HttpStatus httpStatus = HttpStatus.SERVICE_UNAVAILABLE;
+
+		ApiCustomResponse error = new ApiCustomResponse.ApiResponseBuilder(Integer.valueOf(httpStatus.toString().split(" ")[0]))
+				.message(httpStatus.name()).path("").build();
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+		return new ResponseEntity<>(error, headers, httpStatus);
+	}
+	
+	/**
+	 * Handle too many requests exception.
+	 *
+	 * @param ex the ex
+	 * @return the response entity
+	 */
+	@ExceptionHandler(ExceptionTooManyRequests.class)
+	public final ResponseEntity<ApiCustomResponse> handleTooManyRequestsException(ExceptionTooManyRequests ex) {
+		LOG.error("method: handleTooManyRequestsException");
+		
+		HttpStatus httpStatus = HttpStatus.TOO_MANY_REQUESTS;
+
+		ApiCustomResponse error = new ApiCustomResponse.ApiResponseBuilder(Integer.valueOf(httpStatus.toString().split(" ")[0]))
+				.message(httpStatus.name()).path("").build();
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+		return new ResponseEntity<>(error, headers, httpStatus);
+	}
+	
 	/**
 	 * Handle all exceptions.
 	 *
@@ -163,4 +204,32 @@ public class ExceptionGlobalHandler extends ResponseEntityExceptionHandler {
 		return new ResponseEntity<>(error, httpStatus);	
 	}
 	
+	/**
+	 * Handle bind exception.
+	 * The query parameters bound to an object fail here instead.
+	 *
+	 * @param ex the ex
+	 * @param headers the headers
+	 * @param status the status
+	 * @param request the request
+	 * @return the response entity
+	 */
+	@Override
+	protected ResponseEntity<Object> handleBindException(BindException ex,
+			HttpHeaders headers, HttpStatus status, WebRequest request) {
+		
+		LOG.error("method: handleBindException");
+		Map<String, String> errors = new HashMap<>();
+		
+		ex.getBindingResult().getFieldErrors().forEach(error -> 
+			errors.put(error.getField(), error.getDefaultMessage()));
+		
+		HttpStatus httpStatus = HttpStatus.BAD_REQUEST;
+
+		ApiCustomResponse error = new ApiCustomResponse.ApiResponseBuilder(Integer.valueOf(httpStatus.toString().split(" ")[0]))
+				.message(httpStatus.name()).validationErrors(errors).path("").build();
+
+		return new ResponseEntity<>(error, httpStatus);
+	}
+	
 }
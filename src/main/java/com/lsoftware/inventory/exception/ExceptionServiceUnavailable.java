@@ -0,0 +1,46 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The Class ExceptionServiceUnavailable.
+ * Raised when a bounded resource is saturated, the client may retry after
+ * the given seconds.
+ * 
+ * @author Luis Espinosa
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ExceptionServiceUnavailable extends RuntimeException {
+
+	/** The Constant serialVersionUID. */
+	private static final long serialVersionUID = 4387529612962216711L;
+
+	/** The retry after seconds. */
+	private final long retryAfterSeconds;
+
+	/**
+	 * Instantiates a new service unavailable exception.
+	 *
+	 * @param exception the exception
+	 * @param retryAfterSeconds the retry after seconds
+	 */
+	public ExceptionServiceUnavailable(String exception, long retryAfterSeconds) {
+		super(exception);
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	/**
+	 * Gets the retry after seconds.
+	 *
+	 * @return the retry after seconds
+	 */
+	public long getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+
+}
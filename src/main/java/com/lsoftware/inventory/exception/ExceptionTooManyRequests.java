@@ -0,0 +1,46 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The Class ExceptionTooManyRequests.
+ * Raised when a user has spent the requests allowed, the client may retry
+ * after the given seconds.
+ * 
+ * @author Luis Espinosa
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class ExceptionTooManyRequests extends RuntimeException {
+
+	/** The Constant serialVersionUID. */
+	private static final long serialVersionUID = -2861170452914371935L;
+
+	/** The retry after seconds. */
+	private final long retryAfterSeconds;
+
+	/**
+	 * Instantiates a new too many requests exception.
+	 *
+	 * @param exception the exception
+	 * @param retryAfterSeconds the retry after seconds
+	 */
+	public ExceptionTooManyRequests(String exception, long retryAfterSeconds) {
+		super(exception);
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	/**
+	 * Gets the retry after seconds.
+	 *
+	 * @return the retry after seconds
+	 */
+	public long getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * The Class IdempotencyConfig.
+ *
+ * @author Luis Espinosa
+ */
+@ConfigurationProperties(prefix = "application.idempotency")
+@Component
+public class IdempotencyConfig {
+
+	/** The seconds a key is kept, a repeat after them runs again. */
+	private Long keyExpirationSeconds = 86400L;
+
+	/** The maximum number of results kept in memory. */
+	private Long resultsCacheMaximumSize = 10000L;
+
+	/** The minimum seconds between two purges of the expired keys. */
+	private Long purgeIntervalSeconds = 600L;
+
+	/**
+	 * Instantiates a new idempotency config.
+	 */
+	public IdempotencyConfig() {
+		// Nothing here.
+	}
+
+	/**
+	 * Gets the key expiration seconds.
+	 *
+	 * @return the key expiration seconds
+	 */
+	public Long getKeyExpirationSeconds() {
+		return keyExpirationSeconds;
+	}
+
+	/**
+	 * Sets the key expiration seconds.
+	 *
+	 * @param keyExpirationSeconds the new key expiration seconds
+	 */
+	public void setKeyExpirationSeconds(Long keyExpirationSeconds) {
+		this.keyExpirationSeconds = keyExpirationSeconds;
+	}
+
+	/**
+	 * Gets the results cache maximum size.
+	 *
+	 * @return the results cache maximum size
+	 */
+	public Long getResultsCacheMaximumSize() {
+		return resultsCacheMaximumSize;
+	}
+
+	/**
+	 * Sets the results cache maximum size.
+	 *
+	 * @param resultsCacheMaximumSize the new results cache maximum size
+	 */
+	public void setResultsCacheMaximumSize(Long resultsCacheMaximumSize) {
+		this.resultsCacheMaximumSize = resultsCacheMaximumSize;
+	}
+
+	/**
+	 * Gets the purge interval seconds.
+	 *
+	 * @return the purge interval seconds
+	 */
+	public Long getPurgeIntervalSeconds() {
+		return purgeIntervalSeconds;
+	}
+
+	/**
+	 * Sets the purge interval seconds.
+	 *
+	 * @param purgeIntervalSeconds the new purge interval seconds
+	 */
+	public void setPurgeIntervalSeconds(Long purgeIntervalSeconds) {
+		this.purgeIntervalSeconds = purgeIntervalSeconds;
+	}
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.idempotency;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Class IdempotencyRecord.
+ * The first result of a key. It is inserted before the work of the
+ * request, in the same transaction, so a concurrent duplicate waits on
+ * the unique key and fails once the first one commits.
+ *
+ * @author Luis Espinosa
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "idempotency_keys", uniqueConstraints = {
+		@UniqueConstraint(name = "idempotency_keys_username_key_uk", columnNames = { "idk_username", "idk_key" }) }, indexes = {
+		@Index(name = "idempotency_keys_expires_at_idx", columnList = "idk_expires_at") })
+public class IdempotencyRecord implements Serializable {
+
+	/** The Constant serialVersionUID. */
+	private static final long serialVersionUID = 1L;
+
+	/** The id. */
+	@Id
+	@Column(name = "idk_id")
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	/** The username, the keys of every user are apart. */
+	@Column(name = "idk_username", nullable = false, length = 50)
+	private String username;
+
+	/** The key. */
+	@Column(name = "idk_key", nullable = false, length = 100)
+	private String key;
+
+	/** The SHA-256 of the request, a key can not be reused for another one. */
+	@Column(name = "idk_fingerprint", nullable = false, length = 64)
+	private String fingerprint;
+
+	/** The result as JSON, set before the transaction commits. */
+	@Column(name = "idk_response", columnDefinition = "TEXT")
+	private String response;
+
+	/** The expires at. */
+	@Column(name = "idk_expires_at", nullable = false)
+	private Instant expiresAt;
+
+}
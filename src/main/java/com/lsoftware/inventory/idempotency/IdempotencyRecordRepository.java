@@ -0,0 +1,53 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.idempotency;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+/**
+ * The Interface IdempotencyRecordRepository.
+ *
+ * @author Luis Espinosa
+ */
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+	/**
+	 * Find by username and key.
+	 *
+	 * @param username the username
+	 * @param key the key
+	 * @return the optional, expired or not
+	 */
+	Optional<IdempotencyRecord> findByUsernameAndKey(String username, String key);
+
+	/**
+	 * Delete by expires at before.
+	 *
+	 * @param now the now
+	 * @return the int
+	 */
+	@Modifying
+	@Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt <= ?1")
+	int deleteByExpiresAtBefore(Instant now);
+
+	/**
+	 * Delete expired.
+	 * Frees an expired key before it is claimed again.
+	 *
+	 * @param username the username
+	 * @param key the key
+	 * @param now the now
+	 * @return the int
+	 */
+	@Modifying
+	@Query("DELETE FROM IdempotencyRecord r WHERE r.username = ?1 AND r.key = ?2 AND r.expiresAt <= ?3")
+	int deleteExpired(String username, String key, Instant now);
+
+}
@@ -0,0 +1,27 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * The Class IdempotencyResult.
+ *
+ * @author Luis Espinosa
+ *
+ * @param <T> the result type
+ */
+@AllArgsConstructor
+@Data
+public class IdempotencyResult<T> {
+
+	/** The value. */
+	private T value;
+
+	/** Whether the value is the stored result of a previous request. */
+	private boolean replayed;
+
+}
@@ -0,0 +1,359 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.idempotency;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.lsoftware.inventory.authentication.AuthenticationHolderProvider;
+import com.lsoftware.inventory.exception.ExceptionInternalServerError;
+import com.lsoftware.inventory.exception.ExceptionValueNotPermitted;
+import com.lsoftware.inventory.metrics.MetricsProvider;
+
+/**
+ * The Class IdempotencyService.
+ * Runs a request once per Idempotency-Key of the user and replays its first
+ * result for the repeats. A repeat is answered from memory when this
+ * instance has the result, otherwise from the key table. Concurrent repeats
+ * on this instance wait for the running one; on other instances they wait
+ * on the unique key of the table. A failed request stores nothing, the
+ * next repeat runs it again.
+ *
+ * @author Luis Espinosa
+ */
+@Service
+public class IdempotencyService implements MetricsProvider {
+
+	/** The Constant HEADER. */
+	public static final String HEADER = "Idempotency-Key";
+
+	/** The Constant KEY_MAXIMUM_LENGTH. */
+	private static final int KEY_MAXIMUM_LENGTH = 100;
+
+	/** The Constant SEPARATOR. */
+	private static final String SEPARATOR = "|";
+
+	/** The Constant LOG. */
+	private static final Logger LOG = LoggerFactory.getLogger(IdempotencyService.class);
+
+	/** The idempotency record repository. */
+	private IdempotencyRecordRepository idempotencyRecordRepository;
+
+	/** The authentication holder provider. */
+	private AuthenticationHolderProvider authenticationHolderProvider;
+
+	/** The object mapper. */
+	private ObjectMapper objectMapper;
+
+	/** The message source. */
+	private MessageSource messageSource;
+
+	/** The claim template. */
+	private final TransactionTemplate claimTemplate;
+
+	/** The key lifetime. */
+	private final Duration keyLifetime;
+
+	/** The purge interval in milliseconds. */
+	private final long purgeInterval;
+
+	/** The results by user and key, stored results only. */
+	private final Cache<String, StoredResult> results;
+
+	/** The requests running on this instance by user and key. */
+	private final Map<String, CompletableFuture<StoredResult>> running = new ConcurrentHashMap<>();
+
+	/** The last purge in milliseconds. */
+	private final AtomicLong lastPurge = new AtomicLong();
+
+	/** The requests run. */
+	private final LongAdder executions = new LongAdder();
+
+	/** The repeats answered from memory. */
+	private final LongAdder memoryReplays = new LongAdder();
+
+	/** The repeats answered from the key table. */
+	private final LongAdder storedReplays = new LongAdder();
+
+	/** The repeats that waited for the running request. */
+	private final LongAdder collapsed = new LongAdder();
+
+	/**
+	 * Instantiates a new idempotency service.
+	 *
+	 * @param idempotencyRecordRepository the idempotency record repository
+	 * @param authenticationHolderProvider the authentication holder provider
+	 * @param objectMapper the object mapper
+	 * @param messageSource the message source
+	 * @param transactionManager the transaction manager
+	 * @param config the config
+	 */
+	public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+			AuthenticationHolderProvider authenticationHolderProvider, ObjectMapper objectMapper,
+			MessageSource messageSource, PlatformTransactionManager transactionManager, IdempotencyConfig config) {
+		this.idempotencyRecordRepository = idempotencyRecordRepository;
+		this.authenticationHolderProvider = authenticationHolderProvider;
+		this.objectMapper = objectMapper;
+		this.messageSource = messageSource;
+		this.claimTemplate = new TransactionTemplate(transactionManager);
+		this.keyLifetime = Duration.ofSeconds(config.getKeyExpirationSeconds());
+		this.purgeInterval = TimeUnit.SECONDS.toMillis(config.getPurgeIntervalSeconds());
+		this.results = CacheBuilder.newBuilder()
+				.maximumSize(config.getResultsCacheMaximumSize())
+				.expireAfterWrite(config.getKeyExpirationSeconds(), TimeUnit.SECONDS)
+				.build();
+	}
+
+	/**
+	 * Execute.
+	 *
+	 * @param <T> the result type
+	 * @param key the key sent by the client
+	 * @param request the request, its JSON must be the same on every repeat
+	 * @param type the result type
+	 * @param action the action, run inside the transaction that claims the key
+	 * @return the result, replayed or not
+	 */
+	public <T> IdempotencyResult<T> execute(String key, Object request, Class<T> type, Supplier<T> action) {
+		LOG.info("method: execute");
+
+		if (Strings.isNullOrEmpty(key) || key.length() > KEY_MAXIMUM_LENGTH) throw new ExceptionValueNotPermitted(
+				messageSource.getMessage("error.notValid", new String[] {HEADER}, LocaleContextHolder.getLocale()));
+
+		String username = authenticationHolderProvider.provideContextHolder().getName();
+		String id = username + SEPARATOR + key;
+		String fingerprint = Hashing.sha256().hashString(json(request), StandardCharsets.UTF_8).toString();
+
+		StoredResult cached = results.getIfPresent(id);
+		if (cached != null) {
+			memoryReplays.increment();
+			return replay(cached, fingerprint, type);
+		}
+
+		CompletableFuture<StoredResult> mine = new CompletableFuture<>();
+		CompletableFuture<StoredResult> other = running.putIfAbsent(id, mine);
+		if (other != null) {
+			collapsed.increment();
+			return replay(await(other), fingerprint, type);
+		}
+
+		try {
+			Optional<IdempotencyRecord> stored = idempotencyRecordRepository.findByUsernameAndKey(username, key)
+					.filter(record -> record.getExpiresAt().isAfter(Instant.now()));
+			if (stored.isPresent()) {
+				storedReplays.increment();
+				return replay(remember(id, mine, stored.get()), fingerprint, type);
+			}
+
+			T value;
+			try {
+				value = claimTemplate.execute(status -> claimAndRun(username, key, fingerprint, action));
+			} catch (DataIntegrityViolationException e) {
+				// Another instance ran it first, its record is committed by now
+				LOG.debug("proccess: the key was claimed by another request");
+				IdempotencyRecord record = idempotencyRecordRepository.findByUsernameAndKey(username, key)
+						.orElseThrow(() -> e);
+				storedReplays.increment();
+				return replay(remember(id, mine, record), fingerprint, type);
+			}
+
+			executions.increment();
+			StoredResult result = new StoredResult(fingerprint, json(value));
+			results.put(id, result);
+			mine.complete(result);
+			return new IdempotencyResult<>(value, false);
+		} catch (RuntimeException e) {
+			mine.completeExceptionally(e);
+			throw e;
+		} finally {
+			running.remove(id, mine);
+		}
+	}
+
+	/**
+	 * Claim and run.
+	 * The key is inserted and flushed first, so a concurrent duplicate stops
+	 * on it before doing any of the work.
+	 *
+	 * @param <T> the result type
+	 * @param username the username
+	 * @param key the key
+	 * @param fingerprint the fingerprint
+	 * @param action the action
+	 * @return the value
+	 */
+	private <T> T claimAndRun(String username, String key, String fingerprint, Supplier<T> action) {
+		Instant now = Instant.now();
+		purgeIfDue(now);
+		idempotencyRecordRepository.deleteExpired(username, key, now);
+
+		IdempotencyRecord record = idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.builder()
+				.username(username)
+				.key(key)
+				.fingerprint(fingerprint)
+				.expiresAt(now.plus(keyLifetime))
+				.build());
+
+		T value = action.get();
+		record.setResponse(json(value));
+		return value;
+	}
+
+	/**
+	 * Purge if due.
+	 * Drops the expired keys on the way, at most once per interval.
+	 *
+	 * @param now the now
+	 */
+	private void purgeIfDue(Instant now) {
+		long last = lastPurge.get();
+		if (now.toEpochMilli() - last < purgeInterval || !lastPurge.compareAndSet(last, now.toEpochMilli())) return;
+
+		int purged = idempotencyRecordRepository.deleteByExpiresAtBefore(now);
+		LOG.debug("proccess: {} expired idempotency keys purged", purged);
+	}
+
+	/**
+	 * Remember.
+	 *
+	 * @param id the id
+	 * @param mine the future of this request
+	 * @param record the record
+	 * @return the stored result
+	 */
+	private StoredResult remember(String id, CompletableFuture<StoredResult> mine, IdempotencyRecord record) {
+		StoredResult result = new StoredResult(record.getFingerprint(), record.getResponse());
+		results.put(id, result);
+		mine.complete(result);
+		return result;
+	}
+
+	/**
+	 * Replay.
+	 *
+	 * @param <T> the result type
+	 * @param result the result
+	 * @param fingerprint the fingerprint of the repeat
+	 * @param type the type
+	 * @return the idempotency result
+	 */
+	private <T> IdempotencyResult<T> replay(StoredResult result, String fingerprint, Class<T> type) {
+		if (!result.fingerprint.equals(fingerprint)) throw new ExceptionValueNotPermitted(
+				messageSource.getMessage("error.reused", new String[] {HEADER}, LocaleContextHolder.getLocale()));
+
+		try {
+			return new IdempotencyResult<>(objectMapper.readValue(result.response, type), true);
+		} catch (JsonProcessingException e) {
+			throw new ExceptionInternalServerError(e.getMessage());
+		}
+	}
+
+	/**
+	 * Await.
+	 * The repeat fails the same way when the running request fails.
+	 *
+	 * @param future the future
+	 * @return the stored result
+	 */
+	private static StoredResult await(CompletableFuture<StoredResult> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+			throw e;
+		}
+	}
+
+	/**
+	 * Json.
+	 *
+	 * @param value the value
+	 * @return the JSON
+	 */
+	private String json(Object value) {
+		try {
+			return objectMapper.writeValueAsString(value);
+		} catch (JsonProcessingException e) {
+			throw new ExceptionInternalServerError(e.getMessage());
+		}
+	}
+
+	/**
+	 * Gets the metrics name.
+	 *
+	 * @return the metrics name
+	 */
+	@Override
+	public String getMetricsName() {
+		return "idempotency";
+	}
+
+	/**
+	 * Gets the metrics.
+	 *
+	 * @return the metrics
+	 */
+	@Override
+	public Map<String, Long> getMetrics() {
+		Map<String, Long> metrics = new LinkedHashMap<>();
+		metrics.put("executions", executions.sum());
+		metrics.put("memoryReplays", memoryReplays.sum());
+		metrics.put("storedReplays", storedReplays.sum());
+		metrics.put("collapsed", collapsed.sum());
+		metrics.put("cachedResults", results.size());
+		return metrics;
+	}
+
+	/**
+	 * The Class StoredResult.
+	 */
+	private static final class StoredResult {
+
+		/** The fingerprint. */
+		private final String fingerprint;
+
+		/** The response. */
+		private final String response;
+
+		/**
+		 * Instantiates a new stored result.
+		 *
+		 * @param fingerprint the fingerprint
+		 * @param response the response
+		 */
+		private StoredResult(String fingerprint, String response) {
+			this.fingerprint = fingerprint;
+			this.response = response;
+		}
+
+	}
+
+}
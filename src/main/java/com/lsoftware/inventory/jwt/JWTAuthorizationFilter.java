@@ -6,8 +6,6 @@ package com.lsoftware.inventory.jwt;
 
 import java.io.IOException;
 
-
-import javax.crypto.SecretKey;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -15,19 +13,16 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.google.common.base.Strings;
-import com.lsoftware.inventory.authentication.authorities.AuthoritiesCustomProvider;
+import com.lsoftware.inventory.logging.LoggingContextFilter;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.Jwts;
 
 /**
  * The Class JwtAuthorizationFilter.
@@ -39,28 +34,22 @@ public class JWTAuthorizationFilter extends OncePerRequestFilter {
 	/** The log. */
 	private static final Logger LOG = LoggerFactory.getLogger(JWTAuthorizationFilter.class);
 	
-	/** The secret key. */
-	private final SecretKey secretKey;
-	
 	/** The jwt config. */
 	private final JWTConfig jwtConfig;
 	
-	/** The granted authority provider. */
-	private final AuthoritiesCustomProvider grantedAuthorityProvider;
+	/** The token verifier. */
+	private final JWTTokenVerifier tokenVerifier;
 
 	/**
 	 * Instantiates a new jwt authorization filter.
 	 *
-	 * @param secretKey the secret key
 	 * @param jwtConfig the jwt config
-	 * @param grantedAuthorityProvider the granted authority provider
+	 * @param tokenVerifier the token verifier
 	 */
-	public JWTAuthorizationFilter(SecretKey secretKey,
-							JWTConfig jwtConfig,
-							AuthoritiesCustomProvider grantedAuthorityProvider) {
-        this.secretKey = secretKey;
+	public JWTAuthorizationFilter(JWTConfig jwtConfig,
+							JWTTokenVerifier tokenVerifier) {
         this.jwtConfig = jwtConfig;
-        this.grantedAuthorityProvider = grantedAuthorityProvider;
+        this.tokenVerifier = tokenVerifier;
     }
 
 	/**
@@ -88,16 +77,10 @@ public class JWTAuthorizationFilter extends OncePerRequestFilter {
 
 		try {
 
-			Jws<Claims> claimsJws = Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token);
-
-			Claims body = claimsJws.getBody();
-
-			String username = body.getSubject();
-			
-			Authentication authentication = new UsernamePasswordAuthenticationToken(username, null,
-					grantedAuthorityProvider.provideGrantedAuthorities(body));
+			Authentication authentication = tokenVerifier.verify(token);
 
 			SecurityContextHolder.getContext().setAuthentication(authentication);
+			MDC.put(LoggingContextFilter.USER, authentication.getName());
 
 		} catch (JwtException e) {
 			throw new AccessDeniedException(String.format("Invalid Token %s", token));
@@ -4,6 +4,9 @@
  */
 package com.lsoftware.inventory.jwt;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
@@ -25,6 +28,21 @@ public class JWTConfig {
     
     /** The token expiration after days. */
     private Integer tokenExpirationAfterDays;
+    
+    /** The maximum number of verified tokens kept. */
+    private Long verifiedTokenCacheMaximumSize = 10000L;
+    
+    /** The seconds a verified token is kept, it is never kept past its own expiration. */
+    private Long verifiedTokenCacheExpirationSeconds = 600L;
+    
+    /** The format of the roles in issued tokens, names or bitmask. */
+    private String authoritiesClaimFormat = "names";
+    
+    /** The keys of the ring, the secret key alone is used when there are none. */
+    private List<JWTKeyProperties> keys = new ArrayList<>();
+    
+    /** The id of the key new tokens are signed with. */
+    private String signingKeyId;
 
     /**
      * Instantiates a new JWT config.
@@ -87,6 +105,42 @@ public class JWTConfig {
         this.tokenExpirationAfterDays = tokenExpirationAfterDays;
     }
 
+    /**
+     * Gets the verified token cache maximum size.
+     *
+     * @return the verified token cache maximum size
+     */
+    public Long getVerifiedTokenCacheMaximumSize() {
+        return verifiedTokenCacheMaximumSize;
+    }
+
+    /**
+     * Sets the verified token cache maximum size.
+     *
+     * @param verifiedTokenCacheMaximumSize the new verified token cache maximum size
+     */
+    public void setVerifiedTokenCacheMaximumSize(Long verifiedTokenCacheMaximumSize) {
+        this.verifiedTokenCacheMaximumSize = verifiedTokenCacheMaximumSize;
+    }
+
+    /**
+     * Gets the verified token cache expiration seconds.
+     *
+     * @return the verified token cache expiration seconds
+     */
+    public Long getVerifiedTokenCacheExpirationSeconds() {
+        return verifiedTokenCacheExpirationSeconds;
+    }
+
+    /**
+     * Sets the verified token cache expiration seconds.
+     *
+     * @param verifiedTokenCacheExpirationSeconds the new verified token cache expiration seconds
+     */
+    public void setVerifiedTokenCacheExpirationSeconds(Long verifiedTokenCacheExpirationSeconds) {
+        this.verifiedTokenCacheExpirationSeconds = verifiedTokenCacheExpirationSeconds;
+    }
+
     /**
      * Gets the authorization header.
      *
@@ -96,4 +150,58 @@ public class JWTConfig {
         return HttpHeaders.AUTHORIZATION;
     }
 
+    /**
+     * Gets the authorities claim format.
+     *
+     * @return the authorities claim format
+     */
+    public String getAuthoritiesClaimFormat() {
+        return authoritiesClaimFormat;
+    }
+
+    /**
+     * Sets the authorities claim format.
+     *
+     * @param authoritiesClaimFormat the new authorities claim format
+     */
+    public void setAuthoritiesClaimFormat(String authoritiesClaimFormat) {
+        this.authoritiesClaimFormat = authoritiesClaimFormat;
+    }
+
+    /**
+     * Gets the keys.
+     *
+     * @return the keys
+     */
+    public List<JWTKeyProperties> getKeys() {
+        return keys;
+    }
+
+    /**
+     * Sets the keys.
+     *
+     * @param keys the new keys
+     */
+    public void setKeys(List<JWTKeyProperties> keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * Gets the signing key id.
+     *
+     * @return the signing key id
+     */
+    public String getSigningKeyId() {
+        return signingKeyId;
+    }
+
+    /**
+     * Sets the signing key id.
+     *
+     * @param signingKeyId the new signing key id
+     */
+    public void setSigningKeyId(String signingKeyId) {
+        this.signingKeyId = signingKeyId;
+    }
+
 }
@@ -0,0 +1,129 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.jwt;
+
+/**
+ * The Class JWTKeyProperties.
+ * A key of the ring, either an HMAC secret or an RSA or EC key pair given
+ * in Base64 DER, X.509 for the public key and PKCS#8 for the private one.
+ * The private key is only needed on the instances issuing tokens.
+ *
+ * @author Luis Espinosa
+ */
+public class JWTKeyProperties {
+
+	/** The id, sent as kid. */
+	private String id;
+
+	/** The algorithm, HMAC, RSA or EC. */
+	private String algorithm = "HMAC";
+
+	/** The HMAC secret. */
+	private String secret;
+
+	/** The public key. */
+	private String publicKey;
+
+	/** The private key. */
+	private String privateKey;
+
+	/**
+	 * Instantiates a new JWT key properties.
+	 */
+	public JWTKeyProperties() {
+		// Nothing here.
+	}
+
+	/**
+	 * Gets the id.
+	 *
+	 * @return the id
+	 */
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * Sets the id.
+	 *
+	 * @param id the new id
+	 */
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	/**
+	 * Gets the algorithm.
+	 *
+	 * @return the algorithm
+	 */
+	public String getAlgorithm() {
+		return algorithm;
+	}
+
+	/**
+	 * Sets the algorithm.
+	 *
+	 * @param algorithm the new algorithm
+	 */
+	public void setAlgorithm(String algorithm) {
+		this.algorithm = algorithm;
+	}
+
+	/**
+	 * Gets the secret.
+	 *
+	 * @return the secret
+	 */
+	public String getSecret() {
+		return secret;
+	}
+
+	/**
+	 * Sets the secret.
+	 *
+	 * @param secret the new secret
+	 */
+	public void setSecret(String secret) {
+		this.secret = secret;
+	}
+
+	/**
+	 * Gets the public key.
+	 *
+	 * @return the public key
+	 */
+	public String getPublicKey() {
+		return publicKey;
+	}
+
+	/**
+	 * Sets the public key.
+	 *
+	 * @param publicKey the new public key
+	 */
+	public void setPublicKey(String publicKey) {
+		this.publicKey = publicKey;
+	}
+
+	/**
+	 * Gets the private key.
+	 *
+	 * @return the private key
+	 */
+	public String getPrivateKey() {
+		return privateKey;
+	}
+
+	/**
+	 * Sets the private key.
+	 *
+	 * @param privateKey the new private key
+	 */
+	public void setPrivateKey(String privateKey) {
+		this.privateKey = privateKey;
+	}
+
+}
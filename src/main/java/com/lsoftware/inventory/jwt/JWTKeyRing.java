@@ -0,0 +1,116 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.jwt;
+
+import java.security.Key;
+import java.util.Map;
+
+import javax.crypto.SecretKey;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.SigningKeyResolver;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+
+/**
+ * The Class JWTKeyRing.
+ * The keys tokens are verified with, selected by the kid header, and the one
+ * new tokens are signed with. Rotating is adding a key, signing with it and
+ * dropping the old one once its tokens have expired, so no token is
+ * invalidated on the way. Every key is built once, at startup.
+ *
+ * @author Luis Espinosa
+ */
+public class JWTKeyRing {
+
+	/** The Constant DEFAULT_KEY_ID, for the single key configured as secretKey. */
+	public static final String DEFAULT_KEY_ID = "default";
+
+	/** The signing key id. */
+	private final String signingKeyId;
+
+	/** The signing key, a secret or a private key. */
+	private final Key signingKey;
+
+	/** The verification keys by id, secrets or public keys. */
+	private final Map<String, Key> verificationKeys;
+
+	/** The key of the tokens issued without a kid, null when they are refused. */
+	private final Key unidentifiedKey;
+
+	/** The resolver, shared by every parse. */
+	private final SigningKeyResolver resolver = new SigningKeyResolverAdapter() {
+		@Override
+		public Key resolveSigningKey(JwsHeader header, Claims claims) {
+			return verificationKey(header.getKeyId());
+		}
+	};
+
+	/**
+	 * Instantiates a new JWT key ring with a single secret.
+	 *
+	 * @param secretKey the secret key
+	 */
+	public JWTKeyRing(SecretKey secretKey) {
+		this(DEFAULT_KEY_ID, secretKey, Map.of(DEFAULT_KEY_ID, secretKey), secretKey);
+	}
+
+	/**
+	 * Instantiates a new JWT key ring.
+	 *
+	 * @param signingKeyId the signing key id
+	 * @param signingKey the signing key
+	 * @param verificationKeys the verification keys by id
+	 * @param unidentifiedKey the key of the tokens issued without a kid
+	 */
+	public JWTKeyRing(String signingKeyId, Key signingKey, Map<String, Key> verificationKeys, Key unidentifiedKey) {
+		this.signingKeyId = signingKeyId;
+		this.signingKey = signingKey;
+		this.verificationKeys = Map.copyOf(verificationKeys);
+		this.unidentifiedKey = unidentifiedKey;
+	}
+
+	/**
+	 * Verification key.
+	 *
+	 * @param keyId the key id, null for tokens issued before key ids
+	 * @return the key
+	 * @throws JwtException when the key is not in the ring
+	 */
+	public Key verificationKey(String keyId) {
+		Key key = keyId == null ? unidentifiedKey : verificationKeys.get(keyId);
+		if (key == null) throw new JwtException(String.format("Unknown key id %s", keyId));
+		return key;
+	}
+
+	/**
+	 * Gets the signing key id.
+	 *
+	 * @return the signing key id
+	 */
+	public String getSigningKeyId() {
+		return signingKeyId;
+	}
+
+	/**
+	 * Gets the signing key.
+	 *
+	 * @return the signing key
+	 */
+	public Key getSigningKey() {
+		return signingKey;
+	}
+
+	/**
+	 * Gets the resolver.
+	 *
+	 * @return the resolver
+	 */
+	public SigningKeyResolver getResolver() {
+		return resolver;
+	}
+
+}
@@ -4,11 +4,23 @@
  */
 package com.lsoftware.inventory.jwt;
 
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
 import javax.crypto.SecretKey;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.google.common.base.Strings;
+
 import io.jsonwebtoken.security.Keys;
 
 /**
@@ -19,6 +31,9 @@ import io.jsonwebtoken.security.Keys;
 @Configuration
 public class JWTSecretKeyConfig { 
 	
+	/** The Constant HMAC. */
+	private static final String HMAC = "HMAC";
+	
 	/** The jwt config. */
 	private final JWTConfig jwtConfig;
 
@@ -32,13 +47,76 @@ public class JWTSecretKeyConfig {
     }
 
     /**
-     * Secret key.
+     * Key ring.
+     * The secret key keeps verifying the tokens issued without a kid, and
+     * signs when no key ring is configured.
      *
-     * @return the secret key
+     * @return the JWT key ring
      */
     @Bean
-    public SecretKey secretKey() {
-        return Keys.hmacShaKeyFor(jwtConfig.getSecretKey().getBytes());
+    public JWTKeyRing keyRing() {
+        if (jwtConfig.getKeys().isEmpty()) return new JWTKeyRing(Keys.hmacShaKeyFor(jwtConfig.getSecretKey().getBytes()));
+
+        SecretKey secretKey = Strings.isNullOrEmpty(jwtConfig.getSecretKey()) ? null
+                : Keys.hmacShaKeyFor(jwtConfig.getSecretKey().getBytes());
+
+        Map<String, Key> verificationKeys = new HashMap<>();
+        Key signingKey = null;
+        for (JWTKeyProperties properties : jwtConfig.getKeys()) {
+            verificationKeys.put(properties.getId(), verificationKey(properties));
+            if (properties.getId().equals(jwtConfig.getSigningKeyId())) signingKey = signingKey(properties);
+        }
+
+        if (signingKey == null) throw new IllegalStateException(
+                String.format("No signing key found for the key id %s", jwtConfig.getSigningKeyId()));
+
+        return new JWTKeyRing(jwtConfig.getSigningKeyId(), signingKey, verificationKeys, secretKey);
+    }
+
+    /**
+     * Verification key.
+     *
+     * @param properties the properties
+     * @return the secret or the public key
+     */
+    private static Key verificationKey(JWTKeyProperties properties) {
+        if (HMAC.equalsIgnoreCase(properties.getAlgorithm())) return Keys.hmacShaKeyFor(properties.getSecret().getBytes());
+
+        try {
+            return keyFactory(properties).generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(properties.getPublicKey())));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException(String.format("Invalid public key %s", properties.getId()), e);
+        }
+    }
+
+    /**
+     * Signing key.
+     *
+     * @param properties the properties
+     * @return the secret or the private key
+     */
+    private static Key signingKey(JWTKeyProperties properties) {
+        if (HMAC.equalsIgnoreCase(properties.getAlgorithm())) return Keys.hmacShaKeyFor(properties.getSecret().getBytes());
+
+        if (Strings.isNullOrEmpty(properties.getPrivateKey())) throw new IllegalStateException(
+                String.format("The signing key %s has no private key", properties.getId()));
+
+        try {
+            return keyFactory(properties).generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(properties.getPrivateKey())));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException(String.format("Invalid private key %s", properties.getId()), e);
+        }
+    }
+
+    /**
+     * Key factory.
+     *
+     * @param properties the properties
+     * @return the key factory
+     * @throws GeneralSecurityException the general security exception
+     */
+    private static KeyFactory keyFactory(JWTKeyProperties properties) throws GeneralSecurityException {
+        return KeyFactory.getInstance(properties.getAlgorithm().toUpperCase(Locale.ROOT));
     }
 
 }
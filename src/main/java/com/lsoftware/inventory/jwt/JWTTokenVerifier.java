@@ -0,0 +1,206 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.hash.Hashing;
+import com.lsoftware.inventory.authentication.authorities.AuthoritiesCustomProvider;
+import com.lsoftware.inventory.metrics.MetricsProvider;
+import com.lsoftware.inventory.revocation.RevocationRegistry;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+
+/**
+ * The Class JWTTokenVerifier.
+ * Verifies the signature and claims of a token once and keeps the result,
+ * keyed by the SHA-256 of the token so the tokens themselves are not kept
+ * in memory. A kept token is never accepted past its own expiration, nor
+ * once revoked.
+ *
+ * @author Luis Espinosa
+ */
+@Component
+public class JWTTokenVerifier implements MetricsProvider {
+
+	/** The parser, configured once and only read afterwards. */
+	private final JwtParser parser;
+
+	/** The granted authority provider. */
+	private final AuthoritiesCustomProvider grantedAuthorityProvider;
+
+	/** The verified tokens by digest. */
+	private final Cache<String, VerifiedToken> verified;
+
+	/** The revocation registry. */
+	private final RevocationRegistry revocationRegistry;
+
+	/** The authority sets, shared between every token with the same authorities. */
+	private final Interner<Set<GrantedAuthority>> authorities = Interners.newWeakInterner();
+
+	/**
+	 * Instantiates a new JWT token verifier.
+	 *
+	 * @param keyRing the key ring
+	 * @param grantedAuthorityProvider the granted authority provider
+	 * @param jwtConfig the jwt config
+	 * @param revocationRegistry the revocation registry
+	 */
+	public JWTTokenVerifier(JWTKeyRing keyRing, AuthoritiesCustomProvider grantedAuthorityProvider,
+			JWTConfig jwtConfig, RevocationRegistry revocationRegistry) {
+		this.parser = Jwts.parser().setSigningKeyResolver(keyRing.getResolver());
+		this.grantedAuthorityProvider = grantedAuthorityProvider;
+		this.revocationRegistry = revocationRegistry;
+		this.verified = CacheBuilder.newBuilder()
+				.maximumSize(jwtConfig.getVerifiedTokenCacheMaximumSize())
+				.expireAfterWrite(jwtConfig.getVerifiedTokenCacheExpirationSeconds(), TimeUnit.SECONDS)
+				.recordStats()
+				.build();
+	}
+
+	/**
+	 * Verify.
+	 *
+	 * @param token the token
+	 * @return the authentication, a new instance on every call
+	 * @throws JwtException when the token is not valid, has expired or was revoked
+	 */
+	public Authentication verify(String token) {
+		String digest = Hashing.sha256().hashString(token, StandardCharsets.UTF_8).toString();
+
+		VerifiedToken found = verified.getIfPresent(digest);
+		if (found != null && found.hasExpired(System.currentTimeMillis())) {
+			// Parsed again below so the parser reports the expiration
+			verified.invalidate(digest);
+			found = null;
+		}
+
+		if (found == null) {
+			found = parse(token);
+			verified.put(digest, found);
+		}
+
+		if (revocationRegistry.isRevoked(found.tokenId, found.username, found.issuedAt)) {
+			throw new JwtException("Token revoked");
+		}
+
+		// Authentication instances are mutable, only their parts are shared
+		return new UsernamePasswordAuthenticationToken(found.username, null, found.authorities);
+	}
+
+	/**
+	 * Parses the.
+	 *
+	 * @param token the token
+	 * @return the verified token
+	 */
+	private VerifiedToken parse(String token) {
+		Claims body = parser.parseClaimsJws(token).getBody();
+
+		Set<GrantedAuthority> granted = grantedAuthorityProvider.provideGrantedAuthorities(body);
+		long expiresAt = body.getExpiration() != null ? body.getExpiration().getTime() : Long.MAX_VALUE;
+		long issuedAt = body.getIssuedAt() != null ? body.getIssuedAt().getTime() : 0L;
+
+		return new VerifiedToken(body.getSubject(),
+				authorities.intern(ImmutableSet.copyOf(granted)), body.getId(), issuedAt, expiresAt);
+	}
+
+	/**
+	 * Gets the metrics name.
+	 *
+	 * @return the metrics name
+	 */
+	@Override
+	public String getMetricsName() {
+		return "verifiedTokenCache";
+	}
+
+	/**
+	 * Gets the metrics.
+	 *
+	 * @return the metrics
+	 */
+	@Override
+	public Map<String, Long> getMetrics() {
+		CacheStats stats = verified.stats();
+
+		Map<String, Long> metrics = new LinkedHashMap<>();
+		metrics.put("hits", stats.hitCount());
+		metrics.put("misses", stats.missCount());
+		metrics.put("evictions", stats.evictionCount());
+		metrics.put("size", verified.size());
+		return metrics;
+	}
+
+	/**
+	 * The Class VerifiedToken.
+	 */
+	private static final class VerifiedToken {
+
+		/** The username. */
+		private final String username;
+
+		/** The authorities. */
+		private final Set<GrantedAuthority> authorities;
+
+		/** The token id, null for tokens issued without one. */
+		private final String tokenId;
+
+		/** The issue of the token in milliseconds. */
+		private final long issuedAt;
+
+		/** The expiration of the token in milliseconds. */
+		private final long expiresAt;
+
+		/**
+		 * Instantiates a new verified token.
+		 *
+		 * @param username the username
+		 * @param authorities the authorities
+		 * @param tokenId the token id
+		 * @param issuedAt the issued at
+		 * @param expiresAt the expires at
+		 */
+		private VerifiedToken(String username, Set<GrantedAuthority> authorities, String tokenId, long issuedAt,
+				long expiresAt) {
+			this.username = username;
+			this.authorities = authorities;
+			this.tokenId = tokenId;
+			this.issuedAt = issuedAt;
+			this.expiresAt = expiresAt;
+		}
+
+		/**
+		 * Checks for expired.
+		 *
+		 * @param now the now
+		 * @return true, if successful
+		 */
+		private boolean hasExpired(long now) {
+			return now >= expiresAt;
+		}
+
+	}
+
+}
@@ -7,18 +7,22 @@ package com.lsoftware.inventory.jwt;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.util.Date;
+import java.util.Collections;
 import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
-import javax.crypto.SecretKey;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
@@ -26,10 +30,17 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lsoftware.inventory.authentication.authorities.AuthoritiesCustomProvider;
 import com.lsoftware.inventory.authentication.request.RequestAuthenticationData;
+import com.lsoftware.inventory.authentication.throttle.LoginThrottle;
+import com.lsoftware.inventory.exception.ExceptionServiceUnavailable;
+import com.lsoftware.inventory.exception.ExceptionTooManyRequests;
 import com.lsoftware.inventory.mappings.MappingsCustom;
+import com.lsoftware.inventory.ratelimit.RateLimitClass;
+import com.lsoftware.inventory.ratelimit.RateLimiter;
 import com.lsoftware.inventory.shared.api.ApiCustomResponse;
 
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.Jwts;
 
 /**
@@ -45,8 +56,8 @@ public class JWTUsernameAndPasswordAuthenticationFilter extends UsernamePassword
     /** The jwt config. */
     private final JWTConfig jwtConfig;
     
-    /** The secret key. */
-    private final SecretKey secretKey;
+    /** The key ring. */
+    private final JWTKeyRing keyRing;
     
     /** The object mapper. */
     private final MappingsCustom mappingsCustom;
@@ -54,24 +65,42 @@ public class JWTUsernameAndPasswordAuthenticationFilter extends UsernamePassword
     /** The object mapper. */
     private final ObjectMapper objectMapper;
     
+    /** The authorities provider. */
+    private final AuthoritiesCustomProvider authoritiesProvider;
+    
+    /** The rate limiter. */
+    private final RateLimiter rateLimiter;
+    
+    /** The login throttle. */
+    private final LoginThrottle loginThrottle;
+    
     /**
      * Instantiates a new jwt username and password authentication filter.
      *
      * @param authenticationManager the authentication manager
      * @param jwtConfig the jwt config
-     * @param secretKey the secret key
+     * @param keyRing the key ring
      * @param MappingsCustom the object mapper
+     * @param authoritiesProvider the authorities provider
+     * @param rateLimiter the rate limiter
+     * @param loginThrottle the login throttle
      */
     public JWTUsernameAndPasswordAuthenticationFilter(AuthenticationManager authenticationManager,
                                                       JWTConfig jwtConfig,
-                                                      SecretKey secretKey,
+                                                      JWTKeyRing keyRing,
                                                       MappingsCustom mappingsCustom,
-                                                      ObjectMapper objectMapper) {
+                                                      ObjectMapper objectMapper,
+                                                      AuthoritiesCustomProvider authoritiesProvider,
+                                                      RateLimiter rateLimiter,
+                                                      LoginThrottle loginThrottle) {
         this.authenticationManager = authenticationManager;
         this.jwtConfig = jwtConfig;
-        this.secretKey = secretKey;
+        this.keyRing = keyRing;
         this.mappingsCustom = mappingsCustom;
         this.objectMapper = objectMapper;
+        this.authoritiesProvider = authoritiesProvider;
+        this.rateLimiter = rateLimiter;
+        this.loginThrottle = loginThrottle;
     }
 
     /**
@@ -90,13 +119,35 @@ public class JWTUsernameAndPasswordAuthenticationFilter extends UsernamePassword
             RequestAuthenticationData authenticationRequest = mappingsCustom
                     .readValue(request.getInputStream(), RequestAuthenticationData.class);
 
+            // Resolved from X-Forwarded-For when the request comes from a trusted proxy
+            String address = request.getRemoteAddr();
+
+            // Limited before the password is hashed, the costly part of a login. By
+            // address, a bucket by username would let anyone lock that user out
+            long waitNanos = rateLimiter.tryAcquire(RateLimitClass.LOGINS, 
+                    address, Collections.emptySet());
+            if (waitNanos > 0) throw new ExceptionTooManyRequests("Too many login attempts", 
+                    RateLimiter.retryAfterSeconds(waitNanos));
+            
+            loginThrottle.check(authenticationRequest.getUsername(), address);
+
             Authentication authentication = new UsernamePasswordAuthenticationToken(
                     authenticationRequest.getUsername(),
                     authenticationRequest.getPassword()
             );
 
-            return authenticationManager.authenticate(authentication); // returns Authentication
-
+            try {
+                Authentication authenticated = authenticationManager.authenticate(authentication);
+                loginThrottle.recordSuccess(authenticationRequest.getUsername());
+                return authenticated;
+            } catch (BadCredentialsException e) {
+                loginThrottle.recordFailure(authenticationRequest.getUsername(), address);
+                throw e;
+            }
+
+        } catch (ExceptionServiceUnavailable | ExceptionTooManyRequests e) {
+            // Saturated or limited, unsuccessfulAuthentication answers 503 or 429
+            throw new AuthenticationServiceException(e.getMessage(), e);
         } catch (Exception e) {
             throw new AccessDeniedException(e.getMessage());
         }
@@ -125,11 +176,13 @@ public class JWTUsernameAndPasswordAuthenticationFilter extends UsernamePassword
     			.collect(Collectors.toSet());
     	
         String token = Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(authResult.getName())
-                .claim("authorities", authorities)
+                .addClaims(authoritiesProvider.provideClaims(authorities))
                 .setIssuedAt(new Date())
                 .setExpiration(java.sql.Date.valueOf(LocalDate.now().plusDays(jwtConfig.getTokenExpirationAfterDays())))
-                .signWith(secretKey)
+                .setHeaderParam(JwsHeader.KEY_ID, keyRing.getSigningKeyId())
+                .signWith(keyRing.getSigningKey())
                 .compact();
 
         response.addHeader(jwtConfig.getAuthorizationHeader(), jwtConfig.getTokenPrefix().concat(" ") + token);
@@ -152,6 +205,18 @@ public class JWTUsernameAndPasswordAuthenticationFilter extends UsernamePassword
 		SecurityContextHolder.clearContext();
 		response.setContentType("application/json; charset=UTF-8");
 		
+		if (failed.getCause() instanceof ExceptionServiceUnavailable) {
+			retryLater(response, HttpStatus.SERVICE_UNAVAILABLE, 
+					((ExceptionServiceUnavailable) failed.getCause()).getRetryAfterSeconds());
+			return;
+		}
+		
+		if (failed.getCause() instanceof ExceptionTooManyRequests) {
+			retryLater(response, HttpStatus.TOO_MANY_REQUESTS, 
+					((ExceptionTooManyRequests) failed.getCause()).getRetryAfterSeconds());
+			return;
+		}
+		
 		ApiCustomResponse error = new ApiCustomResponse.ApiResponseBuilder(Integer.valueOf(HttpStatus.FORBIDDEN.toString().split(" ")[0]))
 				.message(failed.getMessage())
 				.path("")
@@ -162,5 +227,25 @@ public class JWTUsernameAndPasswordAuthenticationFilter extends UsernamePassword
 		response.getWriter().flush();
 	}
 	
+	/**
+	 * Retry later.
+	 *
+	 * @param response the response
+	 * @param status the status
+	 * @param retryAfterSeconds the retry after seconds
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private void retryLater(HttpServletResponse response, HttpStatus status, long retryAfterSeconds) throws IOException {
+		ApiCustomResponse error = new ApiCustomResponse.ApiResponseBuilder(status.value())
+				.message(status.name())
+				.path("")
+				.build();
+		
+		response.setStatus(status.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+		response.getWriter().print(objectMapper.writeValueAsString(error));
+		response.getWriter().flush();
+	}
+	
 
 }
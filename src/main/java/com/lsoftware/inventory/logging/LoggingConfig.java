@@ -0,0 +1,93 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.logging;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * The Class LoggingConfig.
+ * The sampling rates and the queue size are read by logback-spring.xml.
+ *
+ * @author Luis Espinosa
+ */
+@ConfigurationProperties(prefix = "application.logging")
+@Component
+public class LoggingConfig {
+
+	/** The header the request id is read from and returned in. */
+	private String requestIdHeader = "X-Request-Id";
+
+	/**
+	 * The sampled loggers, as logger=rate pairs separated by commas, keeping one
+	 * in rate of their messages below WARN. The longest logger prefix wins.
+	 */
+	private String samples = "";
+
+	/** The events the asynchronous appenders hold before dropping the ones below WARN. */
+	private Integer queueSize = 8192;
+
+	/**
+	 * Instantiates a new logging config.
+	 */
+	public LoggingConfig() {
+		// Nothing here.
+	}
+
+	/**
+	 * Gets the request id header.
+	 *
+	 * @return the request id header
+	 */
+	public String getRequestIdHeader() {
+		return requestIdHeader;
+	}
+
+	/**
+	 * Sets the request id header.
+	 *
+	 * @param requestIdHeader the new request id header
+	 */
+	public void setRequestIdHeader(String requestIdHeader) {
+		this.requestIdHeader = requestIdHeader;
+	}
+
+	/**
+	 * Gets the samples.
+	 *
+	 * @return the samples
+	 */
+	public String getSamples() {
+		return samples;
+	}
+
+	/**
+	 * Sets the samples.
+	 *
+	 * @param samples the new samples
+	 */
+	public void setSamples(String samples) {
+		this.samples = samples;
+	}
+
+	/**
+	 * Gets the queue size.
+	 *
+	 * @return the queue size
+	 */
+	public Integer getQueueSize() {
+		return queueSize;
+	}
+
+	/**
+	 * Sets the queue size.
+	 *
+	 * @param queueSize the new queue size
+	 */
+	public void setQueueSize(Integer queueSize) {
+		this.queueSize = queueSize;
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.logging;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.google.common.base.Strings;
+
+/**
+ * The Class LoggingContextFilter.
+ * Puts the request id and the endpoint in the logging context of the request,
+ * so every line it logs carries them, and logs one line with its status and
+ * duration once it is done. The user is added once the token is verified.
+ *
+ * @author Luis Espinosa
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class LoggingContextFilter extends OncePerRequestFilter {
+
+	/** The Constant LOG. */
+	private static final Logger LOG = LoggerFactory.getLogger(LoggingContextFilter.class);
+
+	/** The Constant REQUEST_ID. */
+	public static final String REQUEST_ID = "requestId";
+
+	/** The Constant USER. */
+	public static final String USER = "user";
+
+	/** The Constant ENDPOINT. */
+	public static final String ENDPOINT = "endpoint";
+
+	/** The request ids accepted from the client, anything else could forge log lines. */
+	private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+	/** The logging config. */
+	private final LoggingConfig loggingConfig;
+
+	/**
+	 * Instantiates a new logging context filter.
+	 *
+	 * @param loggingConfig the logging config
+	 */
+	public LoggingContextFilter(LoggingConfig loggingConfig) {
+		this.loggingConfig = loggingConfig;
+	}
+
+	/**
+	 * Do filter internal.
+	 *
+	 * @param request the request
+	 * @param response the response
+	 * @param filterChain the filter chain
+	 * @throws ServletException the servlet exception
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		String requestId = request.getHeader(loggingConfig.getRequestIdHeader());
+		if (Strings.isNullOrEmpty(requestId) || !VALID_REQUEST_ID.matcher(requestId).matches()) {
+			requestId = UUID.randomUUID().toString();
+		}
+
+		MDC.put(REQUEST_ID, requestId);
+		MDC.put(ENDPOINT, request.getMethod() + " " + request.getRequestURI());
+		response.setHeader(loggingConfig.getRequestIdHeader(), requestId);
+
+		long start = System.nanoTime();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			LOG.info("request: status={} durationMs={}", response.getStatus(),
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+			MDC.remove(REQUEST_ID);
+			MDC.remove(ENDPOINT);
+			MDC.remove(USER);
+		}
+	}
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.logging;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Marker;
+
+import com.google.common.base.Splitter;
+import com.google.common.base.Strings;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * The Class LoggingSamplingFilter.
+ * Keeps one in every rate messages below WARN of the sampled loggers. It runs
+ * before the event is created, so a dropped message costs no formatting nor
+ * allocation. Warnings and errors always pass.
+ *
+ * @author Luis Espinosa
+ */
+public class LoggingSamplingFilter extends TurboFilter {
+
+	/** The Constant RATE_SEPARATOR. */
+	private static final String RATE_SEPARATOR = "=";
+
+	/** The rates by logger prefix, set while logback is configured. */
+	private final Map<String, Integer> rates = new TreeMap<>();
+
+	/** The rate resolved for every logger seen. */
+	private final Map<String, Integer> resolved = new ConcurrentHashMap<>();
+
+	/**
+	 * Sets the samples.
+	 *
+	 * @param samples the samples, as logger=rate pairs separated by commas
+	 */
+	public void setSamples(String samples) {
+		rates.clear();
+		resolved.clear();
+		if (Strings.isNullOrEmpty(samples)) return;
+
+		for (String sample : Splitter.on(',').trimResults().omitEmptyStrings().split(samples)) {
+			int separator = sample.indexOf(RATE_SEPARATOR);
+			if (separator < 1) {
+				addError(String.format("Invalid sample %s, expected logger=rate", sample));
+				continue;
+			}
+
+			try {
+				rates.put(sample.substring(0, separator).trim(), Integer.valueOf(sample.substring(separator + 1).trim()));
+			} catch (NumberFormatException e) {
+				addError(String.format("Invalid rate in sample %s", sample), e);
+			}
+		}
+	}
+
+	/**
+	 * Decide.
+	 * The isEnabled checks carry no format and are not sampled, otherwise a
+	 * guarded message would be sampled twice.
+	 *
+	 * @param marker the marker
+	 * @param logger the logger
+	 * @param level the level
+	 * @param format the format
+	 * @param params the params
+	 * @param t the throwable
+	 * @return the filter reply
+	 */
+	@Override
+	public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+		if (rates.isEmpty() || format == null || level.isGreaterOrEqual(Level.WARN)) return FilterReply.NEUTRAL;
+
+		String name = logger.getName();
+		Integer rate = resolved.get(name);
+		if (rate == null) {
+			rate = rate(name);
+			resolved.put(name, rate);
+		}
+
+		if (rate <= 1 || ThreadLocalRandom.current().nextInt(rate) == 0) return FilterReply.NEUTRAL;
+		return FilterReply.DENY;
+	}
+
+	/**
+	 * Rate.
+	 *
+	 * @param name the logger name
+	 * @return the rate of the longest matching prefix, 1 when none matches
+	 */
+	private int rate(String name) {
+		int rate = 1;
+		int matched = -1;
+		for (Map.Entry<String, Integer> entry : rates.entrySet()) {
+			String prefix = entry.getKey();
+			boolean matches = name.equals(prefix) || (name.startsWith(prefix) && name.charAt(prefix.length()) == '.');
+			if (matches && prefix.length() > matched) {
+				matched = prefix.length();
+				rate = entry.getValue();
+			}
+		}
+		return rate;
+	}
+
+}
@@ -0,0 +1,35 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.mappings;
+
+/**
+ * The Interface EntityMapper.
+ * Hand-written mapping between an entity and its DTO, used instead of the
+ * ModelMapper on the paths that map whole listings. Both methods must copy
+ * the same properties the ModelMapper would and accept a null source.
+ *
+ * @author Luis Espinosa
+ * @param <E> the entity type
+ * @param <D> the DTO type
+ */
+public interface EntityMapper<E, D> {
+
+	/**
+	 * To DTO.
+	 *
+	 * @param entity the entity
+	 * @return the DTO, null when the entity is null
+	 */
+	D toDTO(E entity);
+
+	/**
+	 * To entity.
+	 *
+	 * @param dto the DTO
+	 * @return the entity, null when the DTO is null
+	 */
+	E toEntity(D dto);
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.metrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.lsoftware.inventory.shared.api.ApiCustomResponse;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+/**
+ * The Class MetricsController.
+ *
+ * @author Luis Espinosa
+ */
+@RestController
+@RequestMapping("/api/v1/metrics")
+public class MetricsController {
+
+	/** The Constant LOG. */
+	private static final Logger LOG = LoggerFactory.getLogger(MetricsController.class);
+
+	/** The metrics providers. */
+	private List<MetricsProvider> metricsProviders;
+
+	/**
+	 * Instantiates a new metrics controller.
+	 *
+	 * @param metricsProviders the metrics providers
+	 */
+	public MetricsController(List<MetricsProvider> metricsProviders) {
+		this.metricsProviders = metricsProviders;
+	}
+
+	/**
+	 * List all.
+	 *
+	 * @return the response entity
+	 */
+	@PreAuthorize("hasAuthority('ROLE_ADMIN')")
+	@Operation(summary = "List the internal counters of the application")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "List the internal counters", content = {
+			@Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiCustomResponse.class)) }) })
+	@GetMapping
+	public ResponseEntity<ApiCustomResponse> listAll() {
+		LOG.info("method: listAll");
+
+		Map<String, Map<String, Long>> results = new TreeMap<>();
+		for (MetricsProvider provider : metricsProviders) {
+			results.put(provider.getMetricsName(), new TreeMap<>(provider.getMetrics()));
+		}
+
+		ApiCustomResponse response = new ApiCustomResponse.ApiResponseBuilder(200).message("Metrics List").data(results).build();
+		return ResponseEntity.ok(response);
+	}
+
+}
@@ -0,0 +1,31 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.metrics;
+
+import java.util.Map;
+
+/**
+ * The Interface MetricsProvider.
+ * Every bean implementing it is listed by the metrics endpoint.
+ *
+ * @author Luis Espinosa
+ */
+public interface MetricsProvider {
+
+	/**
+	 * Gets the metrics name.
+	 *
+	 * @return the name the metrics are grouped under
+	 */
+	String getMetricsName();
+
+	/**
+	 * Gets the metrics.
+	 *
+	 * @return the current value of every counter
+	 */
+	Map<String, Long> getMetrics();
+
+}
@@ -15,9 +15,11 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import org.hibernate.annotations.CreationTimestamp;
 import com.lsoftware.inventory.user.User;
@@ -39,7 +41,8 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "movements")
+@Table(name = "movements", indexes = {
+		@Index(name = "movements_timestamp_id_idx", columnList = "mov_timestamp, mov_id") })
 public class Movement implements Serializable {
 	
 	/** The Constant serialVersionUID. */
@@ -48,7 +51,8 @@ public class Movement implements Serializable {
 	/** The id. */
 	@Id
 	@Column(name = "mov_id")
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movements_mov_id_seq")
+	@SequenceGenerator(name = "movements_mov_id_seq", sequenceName = "movements_mov_id_seq", allocationSize = 50)
 	private Long id;
 	
 	/** The timestamp. */
@@ -66,7 +70,7 @@ public class Movement implements Serializable {
 	private User user;
 
 	/** The code. */
-	@Column(name = "mov_code")
+	@Column(name = "mov_code", unique = true)
 	private String code;
 	
 	/** The details. */
@@ -0,0 +1,27 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.movement;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Class MovementBulkItemDTO.
+ *
+ * @author Luis Espinosa
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class MovementBulkItemDTO {
+
+	/** The position of the movement in the payload, starting at 0. */
+	private long index;
+
+	/** The reason why the movement was rejected. */
+	private String message;
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.movement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Class MovementBulkResultDTO.
+ * Only the rejected movements are listed one by one, the created ones are
+ * counted so the response does not grow with the size of the payload.
+ *
+ * @author Luis Espinosa
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class MovementBulkResultDTO {
+
+	/** The received. */
+	private long received;
+
+	/** The created. */
+	private long created;
+
+	/** The rejected. */
+	private long rejected;
+
+	/** The rejections. */
+	private List<MovementBulkItemDTO> rejections = new ArrayList<>();
+
+}
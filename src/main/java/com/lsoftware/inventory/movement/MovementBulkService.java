@@ -0,0 +1,355 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.movement;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PessimisticLockException;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.JDBCConnectionException;
+import org.hibernate.exception.LockAcquisitionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.lsoftware.inventory.exception.ExceptionObjectNotFound;
+import com.lsoftware.inventory.exception.ExceptionValueNotPermitted;
+
+/**
+ * The Class MovementBulkService.
+ * Reads a JSON array or NDJSON stream of movements one at a time, so the heap
+ * only ever holds a single batch, and commits them in batches. Every movement
+ * runs inside a savepoint, a rejected one is rolled back alone and the rest of
+ * the batch is still committed.
+ *
+ * @author Luis Espinosa
+ */
+@Service
+public class MovementBulkService {
+
+	/** The Constant LOG. */
+	private static final Logger LOG = LoggerFactory.getLogger(MovementBulkService.class);
+
+	/** The Constant DEADLOCK_ATTEMPTS, the tries of a movement replayed alone that loses a deadlock. */
+	private static final int DEADLOCK_ATTEMPTS = 3;
+
+	/** The movement service. */
+	private MovementService movementService;
+
+	/** The movement config. */
+	private MovementConfig movementConfig;
+
+	/** The object mapper. */
+	private ObjectMapper objectMapper;
+
+	/** The movement reader. */
+	private ObjectReader movementReader;
+
+	/** The validator. */
+	private Validator validator;
+
+	/** The entity manager. */
+	private EntityManager entityManager;
+
+	/** The message source. */
+	private MessageSource messageSource;
+
+	/** The batch template. */
+	private TransactionTemplate batchTemplate;
+
+	/**
+	 * Instantiates a new movement bulk service.
+	 *
+	 * @param movementService the movement service
+	 * @param movementConfig the movement config
+	 * @param objectMapper the object mapper
+	 * @param validator the validator
+	 * @param entityManager the entity manager
+	 * @param transactionManager the transaction manager
+	 * @param messageSource the message source
+	 */
+	public MovementBulkService(MovementService movementService, MovementConfig movementConfig,
+			ObjectMapper objectMapper, Validator validator, EntityManager entityManager,
+			PlatformTransactionManager transactionManager, MessageSource messageSource) {
+		this.movementService = movementService;
+		this.movementConfig = movementConfig;
+		this.objectMapper = objectMapper;
+		this.movementReader = objectMapper.readerFor(MovementDTO.class);
+		this.validator = validator;
+		this.entityManager = entityManager;
+		this.messageSource = messageSource;
+		this.batchTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	/**
+	 * Ingest.
+	 *
+	 * @param input the JSON array or NDJSON stream of movements
+	 * @return the movement bulk result DTO
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	public MovementBulkResultDTO ingest(InputStream input) throws IOException {
+		LOG.info("method: ingest");
+
+		int batchSize = Math.max(1, movementConfig.getBulkBatchSize());
+		MovementBulkResultDTO result = new MovementBulkResultDTO();
+		List<MovementDTO> batch = new ArrayList<>(batchSize);
+
+		try (JsonParser parser = objectMapper.createParser(input)) {
+			JsonToken token = parser.nextToken();
+			if (token == JsonToken.START_ARRAY) token = parser.nextToken();
+
+			while (token != null && token != JsonToken.END_ARRAY) {
+				batch.add(movementReader.readValue(parser));
+				result.setReceived(result.getReceived() + 1);
+
+				if (batch.size() == batchSize) {
+					process(batch, result.getReceived() - batch.size(), result);
+					batch.clear();
+				}
+				token = parser.nextToken();
+			}
+		} catch (JsonProcessingException e) {
+			LOG.warn("proccess: payload malformed at movement [ {} ], stopping the ingestion", result.getReceived());
+
+			// Whatever was read before the malformed movement is still ingested
+			process(batch, result.getReceived() - batch.size(), result);
+			reject(result, new MovementBulkItemDTO(result.getReceived(), messageSource.getMessage("error.malformed",
+					new String[] { "Movement" }, LocaleContextHolder.getLocale())));
+			result.setReceived(result.getReceived() + 1);
+			return result;
+		}
+
+		process(batch, result.getReceived() - batch.size(), result);
+		return result;
+	}
+
+	/**
+	 * Process.
+	 *
+	 * @param batch the batch
+	 * @param first the index of the first movement of the batch
+	 * @param result the result
+	 */
+	private void process(List<MovementDTO> batch, long first, MovementBulkResultDTO result) {
+		if (batch.isEmpty()) return;
+
+		LOG.debug("proccess: committing [ {} ] movements starting at [ {} ]", batch.size(), first);
+
+		List<MovementCommitOutcome> outcomes = commit(batch, null);
+		for (int i = 0; i < batch.size(); i++) {
+			MovementCommitOutcome outcome = outcomes.get(i);
+			if (outcome.isCreated()) result.setCreated(result.getCreated() + 1);
+			else if (outcome.isFailed()) reject(result, new MovementBulkItemDTO(first + i, messageSource.getMessage(
+					"error.notProcessed", new String[] { "Movement" }, LocaleContextHolder.getLocale())));
+			else reject(result, new MovementBulkItemDTO(first + i, outcome.getRejection()));
+		}
+	}
+
+	/**
+	 * Commit.
+	 * When the batch fails for a reason other than a rejected movement the
+	 * persistence context can not be trusted anymore, so the whole batch is
+	 * rolled back and replayed one movement per transaction. A movement that
+	 * still fails there because the database could not be reached is
+	 * reported as failed, not rejected, the caller decides whether to try it
+	 * again. Any other failure would repeat on every try, so it is rejected.
+	 *
+	 * @param batch the batch
+	 * @param codes the code of every movement, a random one each when null
+	 * @return the outcome of every movement
+	 */
+	List<MovementCommitOutcome> commit(List<MovementDTO> batch, List<String> codes) {
+		List<MovementCommitOutcome> outcomes = new ArrayList<>(batch.size());
+		try {
+			batchTemplate.executeWithoutResult(status -> {
+				for (int i = 0; i < batch.size(); i++) {
+					MovementDTO movement = batch.get(i);
+					String code = code(codes, i);
+					outcomes.add(register(movement, () -> inSavepoint(
+							() -> movementService.register(movement, code))));
+				}
+				entityManager.flush();
+				entityManager.clear();
+			});
+		} catch (RuntimeException e) {
+			LOG.warn("proccess: batch of [ {} ] movements rolled back, replaying it one movement at a time",
+					batch.size());
+
+			outcomes.clear();
+			for (int i = 0; i < batch.size(); i++) outcomes.add(replay(batch.get(i), code(codes, i), i));
+		}
+		return outcomes;
+	}
+
+	/**
+	 * Replay.
+	 * The movement locks its products in order, but the writer of another
+	 * product it touches may hold them in a batch, so a movement that loses a
+	 * deadlock is tried again right away, a few times, before it is failed.
+	 *
+	 * @param movement the movement
+	 * @param code the code
+	 * @param index the index of the movement in the batch
+	 * @return the outcome
+	 */
+	private MovementCommitOutcome replay(MovementDTO movement, String code, int index) {
+		for (int attempt = 1; ; attempt++) {
+			try {
+				return register(movement, () -> batchTemplate.executeWithoutResult(
+						status -> movementService.register(movement, code)));
+			} catch (RuntimeException e) {
+				if (isDeadlock(e) && attempt < DEADLOCK_ATTEMPTS) {
+					LOG.warn("proccess: movement [ {} ] of the batch lost a deadlock, trying it again", index);
+					continue;
+				}
+
+				if (isTransient(e)) {
+					LOG.error("proccess: movement [ {} ] of the batch could not be processed", index, e);
+					return MovementCommitOutcome.FAILED;
+				}
+				// Its data breaks a constraint or the code, trying it again would fail the same way
+				LOG.error("proccess: movement [ {} ] of the batch can not be processed", index, e);
+				return MovementCommitOutcome.rejected(messageSource.getMessage("error.notProcessed",
+						new String[] { "Movement" }, LocaleContextHolder.getLocale()));
+			}
+		}
+	}
+
+	/**
+	 * Checks if is deadlock.
+	 *
+	 * @param e the exception
+	 * @return true, if the transaction was chosen to give up its locks
+	 */
+	static boolean isDeadlock(Throwable e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof ConcurrencyFailureException || cause instanceof LockAcquisitionException
+					|| cause instanceof PessimisticLockException) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Checks if is transient.
+	 * Any cause in the chain counts, the engine runs on the entity manager
+	 * and its failures are not always translated.
+	 *
+	 * @param e the exception
+	 * @return true, if the same movement may go through on a later try
+	 */
+	static boolean isTransient(Throwable e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof DataIntegrityViolationException || cause instanceof ConstraintViolationException) return false;
+			if (cause instanceof TransientDataAccessException || cause instanceof RecoverableDataAccessException
+					|| cause instanceof DataAccessResourceFailureException || cause instanceof TransactionException
+					|| cause instanceof JDBCConnectionException || cause instanceof SQLTransientException
+					|| cause instanceof SQLRecoverableException || cause instanceof LockAcquisitionException
+					|| cause instanceof PessimisticLockException) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Code.
+	 *
+	 * @param codes the codes, null for random ones
+	 * @param index the index
+	 * @return the code
+	 */
+	private static String code(List<String> codes, int index) {
+		return codes == null ? UUID.randomUUID().toString() : codes.get(index);
+	}
+
+	/**
+	 * Register.
+	 *
+	 * @param movement the movement
+	 * @param registration the registration, already wrapped in its transaction
+	 * @return the outcome, created or rejected
+	 */
+	private MovementCommitOutcome register(MovementDTO movement, Runnable registration) {
+		Set<ConstraintViolation<MovementDTO>> violations = validator.validate(movement);
+		if (!violations.isEmpty()) {
+			return MovementCommitOutcome.rejected(
+					violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", ")));
+		}
+
+		try {
+			registration.run();
+			return MovementCommitOutcome.CREATED;
+		} catch (ExceptionValueNotPermitted | ExceptionObjectNotFound e) {
+			return MovementCommitOutcome.rejected(e.getMessage());
+		}
+	}
+
+	/**
+	 * In savepoint.
+	 * The JPA transaction manager does not expose savepoints for Hibernate, so
+	 * they are taken straight on the connection of the current session. The
+	 * earlier movements are flushed first, otherwise a query of the engine or
+	 * the ledger would flush them inside the savepoint and a rollback would
+	 * take their rows but not their stock. A rejected movement has already
+	 * written its stock and run its ledger queries by then, but it throws
+	 * before its movement and ledger entries are persisted, so the rollback
+	 * undoes its statements and the persistence context holds nothing of it.
+	 *
+	 * @param work the work
+	 */
+	private void inSavepoint(Runnable work) {
+		entityManager.flush();
+		Session session = entityManager.unwrap(Session.class);
+		Savepoint savepoint = session.doReturningWork(Connection::setSavepoint);
+		try {
+			work.run();
+		} catch (RuntimeException e) {
+			session.doWork(connection -> connection.rollback(savepoint));
+			throw e;
+		}
+		session.doWork(connection -> connection.releaseSavepoint(savepoint));
+	}
+
+	/**
+	 * Reject.
+	 *
+	 * @param result the result
+	 * @param rejection the rejection
+	 */
+	private void reject(MovementBulkResultDTO result, MovementBulkItemDTO rejection) {
+		result.setRejected(result.getRejected() + 1);
+		result.getRejections().add(rejection);
+	}
+
+}
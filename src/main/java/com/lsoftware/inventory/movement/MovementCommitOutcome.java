@@ -0,0 +1,53 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.movement;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * The Class MovementCommitOutcome.
+ * What became of a movement of a committed batch. A failed one was
+ * neither created nor rejected, the database failed under it and the
+ * same movement may succeed when tried again.
+ *
+ * @author Luis Espinosa
+ */
+@AllArgsConstructor
+@Data
+public class MovementCommitOutcome {
+
+	/** The Constant CREATED. */
+	static final MovementCommitOutcome CREATED = new MovementCommitOutcome(null, false);
+
+	/** The Constant FAILED. */
+	static final MovementCommitOutcome FAILED = new MovementCommitOutcome(null, true);
+
+	/** The rejection, null when created or failed. */
+	private final String rejection;
+
+	/** Whether it failed. */
+	private final boolean failed;
+
+	/**
+	 * Rejected.
+	 *
+	 * @param rejection the rejection
+	 * @return the movement commit outcome
+	 */
+	static MovementCommitOutcome rejected(String rejection) {
+		return new MovementCommitOutcome(rejection, false);
+	}
+
+	/**
+	 * Checks if is created.
+	 *
+	 * @return true, if is created
+	 */
+	public boolean isCreated() {
+		return !failed && rejection == null;
+	}
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.movement;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * The Class MovementConfig.
+ *
+ * @author Luis Espinosa
+ */
+@ConfigurationProperties(prefix = "application.movements")
+@Component
+public class MovementConfig {
+
+	/** The movements committed together by the bulk ingestion. */
+	private Integer bulkBatchSize = 500;
+
+	/**
+	 * Instantiates a new movement config.
+	 */
+	public MovementConfig() {
+		// Nothing here.
+	}
+
+	/**
+	 * Gets the bulk batch size.
+	 *
+	 * @return the bulk batch size
+	 */
+	public Integer getBulkBatchSize() {
+		return bulkBatchSize;
+	}
+
+	/**
+	 * Sets the bulk batch size.
+	 *
+	 * @param bulkBatchSize the new bulk batch size
+	 */
+	public void setBulkBatchSize(Integer bulkBatchSize) {
+		this.bulkBatchSize = bulkBatchSize;
+	}
+
+}
@@ -4,6 +4,10 @@
  */
 package com.lsoftware.inventory.movement;
 
+import java.io.IOException;
+import java.net.URI;
+
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 
 import org.slf4j.Logger;
@@ -11,11 +15,16 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.lsoftware.inventory.idempotency.IdempotencyResult;
+import com.lsoftware.inventory.idempotency.IdempotencyService;
 import com.lsoftware.inventory.shared.api.ApiCustomResponse;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -36,38 +45,171 @@ public class MovementController {
 	/** The Constant LOG. */
 	private static final Logger LOG = LoggerFactory.getLogger(MovementController.class);
 
+	/** The Constant REPLAYED_HEADER. */
+	private static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
 	/** The movement service. */
 	private MovementService movementService;
 
+	/** The movement bulk service. */
+	private MovementBulkService movementBulkService;
+	
+	/** The movement history service. */
+	private MovementHistoryService movementHistoryService;
+
+	/** The idempotency service. */
+	private IdempotencyService idempotencyService;
+
+	/** The movement pipeline. */
+	private MovementPipeline movementPipeline;
 
 	
 	/**
 	 * Instantiates a new movement controller.
 	 *
 	 * @param movementService the movement service
+	 * @param movementBulkService the movement bulk service
+	 * @param movementHistoryService the movement history service
+	 * @param idempotencyService the idempotency service
+	 * @param movementPipeline the movement pipeline
 	 */
-	public MovementController(MovementService movementService) {
+	public MovementController(MovementService movementService, MovementBulkService movementBulkService,
+			MovementHistoryService movementHistoryService, IdempotencyService idempotencyService,
+			MovementPipeline movementPipeline) {
 		this.movementService = movementService;
+		this.movementBulkService = movementBulkService;
+		this.movementHistoryService = movementHistoryService;
+		this.idempotencyService = idempotencyService;
+		this.movementPipeline = movementPipeline;
 	}
 	
 	
 	/**
 	 * Creates the.
+	 * With an Idempotency-Key the movement is created once and its first
+	 * result is replayed for the repeats of the key. With the pipeline
+	 * enabled the movement is only accepted here, see {@link #accept}.
 	 *
 	 * @param movementDTO the movement DTO
+	 * @param idempotencyKey the idempotency key, optional
 	 * @return the response entity
 	 */
 	@PreAuthorize("hasAuthority('ROLE_SUPERVISOR')")
 	@Operation(summary = "Create a new movement")
 	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Create the new movement", content = {
+			@Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiCustomResponse.class)) }),
+			@ApiResponse(responseCode = "202", description = "Accept the new movement, with the pipeline enabled", content = {
 			@Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiCustomResponse.class)) }) })
 	@PostMapping
-	public ResponseEntity<ApiCustomResponse> create(@Valid @RequestBody MovementDTO movementDTO) {
+	public ResponseEntity<ApiCustomResponse> create(@Valid @RequestBody MovementDTO movementDTO,
+			@RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
 		LOG.info("method: create");
 
-		MovementDTO user = movementService.add(movementDTO);
+		if (movementPipeline.isEnabled()) return accept(movementDTO, idempotencyKey);
+
+		if (idempotencyKey == null) {
+			MovementDTO user = movementService.add(movementDTO);
+			ApiCustomResponse response = new ApiCustomResponse.ApiResponseBuilder(200).message("Movement created")
+					.data(user).build();
+
+			return ResponseEntity.ok(response);
+		}
+
+		IdempotencyResult<MovementDTO> result = idempotencyService.execute(idempotencyKey, movementDTO,
+				MovementDTO.class, () -> movementService.add(movementDTO));
 		ApiCustomResponse response = new ApiCustomResponse.ApiResponseBuilder(200).message("Movement created")
-				.data(user).build();
+				.data(result.getValue()).build();
+
+		return ResponseEntity.ok()
+				.header(REPLAYED_HEADER, String.valueOf(result.isReplayed()))
+				.body(response);
+	}
+
+	/**
+	 * Accept.
+	 * Answers once the movement is on the journal, the Location is where
+	 * its status can be followed.
+	 *
+	 * @param movementDTO the movement DTO
+	 * @param idempotencyKey the idempotency key, optional
+	 * @return the response entity
+	 */
+	private ResponseEntity<ApiCustomResponse> accept(MovementDTO movementDTO, String idempotencyKey) {
+		IdempotencyResult<MovementPipelineStatusDTO> result = idempotencyKey == null
+				? new IdempotencyResult<>(movementPipeline.submit(movementDTO), false)
+				: idempotencyService.execute(idempotencyKey, movementDTO, MovementPipelineStatusDTO.class,
+						() -> movementPipeline.submit(movementDTO));
+		ApiCustomResponse response = new ApiCustomResponse.ApiResponseBuilder(202).message("Movement accepted")
+				.data(result.getValue()).build();
+
+		return ResponseEntity.accepted()
+				.location(URI.create("/api/v1/movements/pipeline/" + result.getValue().getId()))
+				.header(REPLAYED_HEADER, String.valueOf(result.isReplayed()))
+				.body(response);
+	}
+
+	/**
+	 * Find pipeline status.
+	 *
+	 * @param id the id given when the movement was accepted
+	 * @return the response entity
+	 */
+	@PreAuthorize("hasAuthority('ROLE_SUPERVISOR')")
+	@Operation(summary = "Find the status of a movement accepted by the pipeline")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Status of the movement", content = {
+			@Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiCustomResponse.class)) }) })
+	@GetMapping("/pipeline/{id}")
+	public ResponseEntity<ApiCustomResponse> findPipelineStatus(@PathVariable("id") String id) {
+		LOG.info("method: findPipelineStatus");
+
+		MovementPipelineStatusDTO status = movementPipeline.findStatus(id);
+		ApiCustomResponse response = new ApiCustomResponse.ApiResponseBuilder(200).message("Movement status")
+				.data(status).build();
+
+		return ResponseEntity.ok(response);
+	}
+
+	/**
+	 * Creates the bulk.
+	 * The body is read as a stream, either a JSON array or one movement per line.
+	 *
+	 * @param request the request
+	 * @return the response entity
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@PreAuthorize("hasAuthority('ROLE_SUPERVISOR')")
+	@Operation(summary = "Create movements in bulk from a JSON array or NDJSON stream")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Created and rejected movements", content = {
+			@Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiCustomResponse.class)) }) })
+	@PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+	public ResponseEntity<ApiCustomResponse> createBulk(HttpServletRequest request) throws IOException {
+		LOG.info("method: createBulk");
+
+		MovementBulkResultDTO result = movementBulkService.ingest(request.getInputStream());
+		ApiCustomResponse response = new ApiCustomResponse.ApiResponseBuilder(200).message("Movements processed")
+				.data(result).build();
+
+		return ResponseEntity.ok(response);
+	}
+
+	/**
+	 * Find history.
+	 * Filters by date range, type, user and product, newest first, one page per cursor.
+	 *
+	 * @param filter the filter
+	 * @return the response entity
+	 */
+	@PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_SUPERVISOR')")
+	@Operation(summary = "Find the movement history")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "A page of the movement history", content = {
+			@Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiCustomResponse.class)) }) })
+	@GetMapping()
+	public ResponseEntity<ApiCustomResponse> findHistory(@Valid MovementHistoryFilterDTO filter) {
+		LOG.info("method: findHistory");
+
+		MovementHistoryPageDTO result = movementHistoryService.find(filter);
+		ApiCustomResponse response = new ApiCustomResponse.ApiResponseBuilder(200).message("Movements found")
+				.data(result).build();
 
 		return ResponseEntity.ok(response);
 	}
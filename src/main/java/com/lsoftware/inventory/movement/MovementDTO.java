@@ -6,6 +6,7 @@ package com.lsoftware.inventory.movement;
 
 import java.util.List;
 
+import javax.validation.Valid;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 import com.lsoftware.inventory.user.UserSimpleDTO;
@@ -40,7 +41,8 @@ public class MovementDTO {
 	private String code;
 	
 	/** The details. */
+	@Valid
 	@NotNull(message = "Movement details {error.NotNull}")
-	private List<MovementDetailDTO> details;
+	private List<@NotNull(message = "Movement detail {error.NotNull}") MovementDetailDTO> details;
 
 }
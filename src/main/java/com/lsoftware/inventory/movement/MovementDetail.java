@@ -12,8 +12,10 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -29,7 +31,9 @@ import lombok.Data;
  */
 @Data
 @Entity
-@Table(name = "movement_details")
+@Table(name = "movement_details", indexes = {
+		@Index(name = "movement_details_product_movement_idx", columnList = "prod_id, mov_id"),
+		@Index(name = "movement_details_movement_idx", columnList = "mov_id") })
 public class MovementDetail implements Serializable {
 	
 	/** The Constant serialVersionUID. */
@@ -38,7 +42,8 @@ public class MovementDetail implements Serializable {
 	/** The id. */
 	@Id
 	@Column(name = "mod_id")
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movement_details_mod_id_seq")
+	@SequenceGenerator(name = "movement_details_mod_id_seq", sequenceName = "movement_details_mod_id_seq", allocationSize = 50)
 	private Long id;
 	
 	/** The movement. */
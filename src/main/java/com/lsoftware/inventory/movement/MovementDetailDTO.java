@@ -4,6 +4,7 @@
  */
 package com.lsoftware.inventory.movement;
 
+import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
 import com.lsoftware.inventory.product.ProductSimpleDTO;
@@ -26,6 +27,7 @@ public class MovementDetailDTO {
 	private Long id;
 	
 	/** The product. */
+	@Valid
 	@NotNull(message = "Product {error.NotNull}")
 	private ProductSimpleDTO product;
 	
@@ -0,0 +1,86 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.movement;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * The Class MovementHistoryCursor.
+ * The position of the last movement of a page, the next page starts right
+ * after it in (timestamp, id) order. Written as timestamp,id.
+ *
+ * @author Luis Espinosa
+ */
+class MovementHistoryCursor {
+
+	/** The Constant SEPARATOR. */
+	private static final char SEPARATOR = ',';
+
+	/** The timestamp. */
+	private final LocalDateTime timestamp;
+
+	/** The id. */
+	private final Long id;
+
+	/**
+	 * Instantiates a new movement history cursor.
+	 *
+	 * @param timestamp the timestamp
+	 * @param id the id
+	 */
+	MovementHistoryCursor(LocalDateTime timestamp, Long id) {
+		this.timestamp = timestamp;
+		this.id = id;
+	}
+
+	/**
+	 * Parses the.
+	 *
+	 * @param cursor the cursor
+	 * @return the movement history cursor
+	 * @throws IllegalArgumentException when the cursor is not valid
+	 */
+	static MovementHistoryCursor parse(String cursor) {
+		int separator = cursor.lastIndexOf(SEPARATOR);
+		if (separator < 1) throw new IllegalArgumentException(String.format("Invalid cursor %s", cursor));
+
+		try {
+			return new MovementHistoryCursor(LocalDateTime.parse(cursor.substring(0, separator)),
+					Long.valueOf(cursor.substring(separator + 1)));
+		} catch (DateTimeParseException | NumberFormatException e) {
+			throw new IllegalArgumentException(String.format("Invalid cursor %s", cursor), e);
+		}
+	}
+
+	/**
+	 * Gets the timestamp.
+	 *
+	 * @return the timestamp
+	 */
+	LocalDateTime getTimestamp() {
+		return timestamp;
+	}
+
+	/**
+	 * Gets the id.
+	 *
+	 * @return the id
+	 */
+	Long getId() {
+		return id;
+	}
+
+	/**
+	 * To string.
+	 *
+	 * @return the cursor as sent to the client
+	 */
+	@Override
+	public String toString() {
+		return timestamp.toString() + SEPARATOR + id;
+	}
+
+}
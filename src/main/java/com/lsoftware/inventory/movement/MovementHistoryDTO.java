@@ -0,0 +1,60 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.movement;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Class MovementHistoryDTO.
+ * A movement as read by the history, built by the query itself so neither
+ * the user nor the products are loaded as entities.
+ * 
+ * @author Luis Espinosa
+ */
+@NoArgsConstructor
+@Data
+public class MovementHistoryDTO {
+
+	/** The id. */
+	private Long id;
+
+	/** The timestamp. */
+	private LocalDateTime timestamp;
+
+	/** The type. */
+	private String type;
+
+	/** The code. */
+	private String code;
+
+	/** The username. */
+	private String username;
+
+	/** The details. */
+	private List<MovementHistoryDetailDTO> details = new ArrayList<>();
+
+	/**
+	 * Instantiates a new movement history DTO.
+	 *
+	 * @param id the id
+	 * @param timestamp the timestamp
+	 * @param type the type
+	 * @param code the code
+	 * @param username the username
+	 */
+	public MovementHistoryDTO(Long id, LocalDateTime timestamp, String type, String code, String username) {
+		this.id = id;
+		this.timestamp = timestamp;
+		this.type = type;
+		this.code = code;
+		this.username = username;
+	}
+
+}
@@ -0,0 +1,36 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.movement;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Class MovementHistoryDetailDTO.
+ * 
+ * @author Luis Espinosa
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class MovementHistoryDetailDTO {
+
+	/** The movement id, used to group the details read. */
+	@JsonIgnore
+	private Long movementId;
+
+	/** The product id. */
+	private Long productId;
+
+	/** The product name. */
+	private String productName;
+
+	/** The quantity. */
+	private int quantity;
+
+}
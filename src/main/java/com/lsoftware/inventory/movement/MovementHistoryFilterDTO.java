@@ -0,0 +1,50 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.movement;
+
+import java.time.LocalDateTime;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import lombok.Data;
+
+/**
+ * The Class MovementHistoryFilterDTO.
+ * Every filter is optional, the rows are read from the newest.
+ * 
+ * @author Luis Espinosa
+ */
+@Data
+public class MovementHistoryFilterDTO {
+
+	/** The first instant included. */
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+	private LocalDateTime from;
+
+	/** The first instant excluded. */
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+	private LocalDateTime to;
+
+	/** The movement type. */
+	private String type;
+
+	/** The username of the user that made the movement. */
+	private String username;
+
+	/** The id of a product moved. */
+	private Long productId;
+
+	/** The nextCursor of the previous page, null for the first one. */
+	private String cursor;
+
+	/** The size. */
+	@Min(value = 1, message = "Size {error.Min} 1")
+	@Max(value = 500, message = "Size {error.Max} 500")
+	private int size = 50;
+
+}
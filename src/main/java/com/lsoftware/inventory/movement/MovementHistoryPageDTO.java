@@ -0,0 +1,32 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.movement;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Class MovementHistoryPageDTO.
+ * 
+ * @author Luis Espinosa
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class MovementHistoryPageDTO {
+
+	/** The result. */
+	private List<MovementHistoryDTO> result;
+
+	/** The cursor to send to read the next page, only sent when there is one. */
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private String nextCursor;
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.movement;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+
+import org.springframework.stereotype.Repository;
+
+/**
+ * The Class MovementHistoryRepository.
+ * Reads the movement history with only the predicates of the filters given,
+ * so every combination gets a plan of its own. The movements are ordered by
+ * (timestamp, id), the order of the movements_timestamp_id_idx index, and the
+ * product filter probes movement_details_product_movement_idx.
+ *
+ * @author Luis Espinosa
+ */
+@Repository
+public class MovementHistoryRepository {
+
+	/** The entity manager. */
+	private EntityManager entityManager;
+
+	/**
+	 * Instantiates a new movement history repository.
+	 *
+	 * @param entityManager the entity manager
+	 */
+	public MovementHistoryRepository(EntityManager entityManager) {
+		this.entityManager = entityManager;
+	}
+
+	/**
+	 * Find movements.
+	 *
+	 * @param filter the filter
+	 * @param after the cursor the page starts after, null for the first page
+	 * @param limit the maximum number of movements
+	 * @return the movements, newest first
+	 */
+	public List<MovementHistoryDTO> findMovements(MovementHistoryFilterDTO filter, MovementHistoryCursor after, int limit) {
+		List<String> predicates = new ArrayList<>();
+		Map<String, Object> parameters = new HashMap<>();
+
+		if (filter.getFrom() != null) {
+			predicates.add("m.timestamp >= :from");
+			parameters.put("from", filter.getFrom());
+		}
+		if (filter.getTo() != null) {
+			predicates.add("m.timestamp < :to");
+			parameters.put("to", filter.getTo());
+		}
+		if (filter.getType() != null) {
+			predicates.add("m.type = :type");
+			parameters.put("type", filter.getType());
+		}
+		if (filter.getUsername() != null) {
+			predicates.add("u.username = :username");
+			parameters.put("username", filter.getUsername());
+		}
+		if (filter.getProductId() != null) {
+			predicates.add("EXISTS (SELECT d.id FROM MovementDetail d WHERE d.movement = m AND d.product.id = :productId)");
+			parameters.put("productId", filter.getProductId());
+		}
+		if (after != null) {
+			// The first predicate bounds the index range, the second one skips the rows already read
+			predicates.add("m.timestamp <= :afterTimestamp");
+			predicates.add("(m.timestamp < :afterTimestamp OR m.id < :afterId)");
+			parameters.put("afterTimestamp", after.getTimestamp());
+			parameters.put("afterId", after.getId());
+		}
+
+		StringBuilder jpql = new StringBuilder("SELECT new com.lsoftware.inventory.movement.MovementHistoryDTO(")
+				.append("m.id, m.timestamp, m.type, m.code, u.username) FROM Movement m JOIN m.user u");
+		if (!predicates.isEmpty()) jpql.append(" WHERE ").append(String.join(" AND ", predicates));
+		jpql.append(" ORDER BY m.timestamp DESC, m.id DESC");
+
+		TypedQuery<MovementHistoryDTO> query = entityManager.createQuery(jpql.toString(), MovementHistoryDTO.class);
+		parameters.forEach(query::setParameter);
+		return query.setMaxResults(limit).getResultList();
+	}
+
+	/**
+	 * Find details.
+	 *
+	 * @param movementIds the movement ids
+	 * @return the details of the movements
+	 */
+	public List<MovementHistoryDetailDTO> findDetails(List<Long> movementIds) {
+		return entityManager.createQuery("SELECT new com.lsoftware.inventory.movement.MovementHistoryDetailDTO("
+				+ "d.movement.id, p.id, p.name, d.quantity) FROM MovementDetail d JOIN d.product p "
+				+ "WHERE d.movement.id IN :ids ORDER BY d.movement.id, d.id", MovementHistoryDetailDTO.class)
+				.setParameter("ids", movementIds)
+				.getResultList();
+	}
+
+}
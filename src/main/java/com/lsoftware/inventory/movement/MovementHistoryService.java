@@ -0,0 +1,94 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.movement;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.google.common.base.Strings;
+import com.lsoftware.inventory.exception.ExceptionValueNotPermitted;
+
+/**
+ * The Class MovementHistoryService.
+ * Reads a page of movements and then the details of all of them at once,
+ * two queries a page whatever its size.
+ * 
+ * @author Luis Espinosa
+ */
+@Service
+public class MovementHistoryService {
+
+	/** The Constant LOG. */
+	private static final Logger LOG = LoggerFactory.getLogger(MovementHistoryService.class);
+
+	/** The movement history repository. */
+	private MovementHistoryRepository movementHistoryRepository;
+
+	/** The message source. */
+	private MessageSource messageSource;
+
+	/**
+	 * Instantiates a new movement history service.
+	 *
+	 * @param movementHistoryRepository the movement history repository
+	 * @param messageSource the message source
+	 */
+	public MovementHistoryService(MovementHistoryRepository movementHistoryRepository, MessageSource messageSource) {
+		this.movementHistoryRepository = movementHistoryRepository;
+		this.messageSource = messageSource;
+	}
+
+	/**
+	 * Find.
+	 *
+	 * @param filter the filter
+	 * @return the movement history page
+	 */
+	@Transactional(readOnly = true)
+	public MovementHistoryPageDTO find(MovementHistoryFilterDTO filter) {
+		LOG.info("method: find");
+
+		MovementHistoryCursor after = null;
+		if (!Strings.isNullOrEmpty(filter.getCursor())) {
+			try {
+				after = MovementHistoryCursor.parse(filter.getCursor());
+			} catch (IllegalArgumentException e) {
+				throw new ExceptionValueNotPermitted(
+						messageSource.getMessage("error.malformed", new String[] {"Cursor"}, LocaleContextHolder.getLocale()));
+			}
+		}
+
+		// Types and usernames are stored in upper case
+		if (filter.getType() != null) filter.setType(filter.getType().toUpperCase(Locale.ROOT));
+		if (filter.getUsername() != null) filter.setUsername(filter.getUsername().toUpperCase(Locale.ROOT));
+
+		List<MovementHistoryDTO> rows = movementHistoryRepository.findMovements(filter, after, filter.getSize() + 1);
+		boolean hasNext = rows.size() > filter.getSize();
+		List<MovementHistoryDTO> page = hasNext ? rows.subList(0, filter.getSize()) : rows;
+
+		if (!page.isEmpty()) {
+			Map<Long, MovementHistoryDTO> byId = page.stream()
+					.collect(Collectors.toMap(MovementHistoryDTO::getId, Function.identity()));
+			for (MovementHistoryDetailDTO detail : movementHistoryRepository.findDetails(List.copyOf(byId.keySet()))) {
+				byId.get(detail.getMovementId()).getDetails().add(detail);
+			}
+		}
+
+		MovementHistoryDTO last = hasNext ? page.get(page.size() - 1) : null;
+		String nextCursor = last != null ? new MovementHistoryCursor(last.getTimestamp(), last.getId()).toString() : null;
+		return new MovementHistoryPageDTO(List.copyOf(page), nextCursor);
+	}
+
+}
@@ -0,0 +1,453 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.movement;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The Class MovementJournal.
+ * An append-only file of the accepted movements, one JSON per line. A
+ * single thread writes it and syncs every batch of lines to the disk
+ * once, so the requests that arrive together share the same fsync. The
+ * marks of the applied movements are written without waiting for the
+ * sync, a lost one only makes the movement be replayed and skipped. The
+ * rejected ones are synced with their reason, the last of them are kept
+ * through the compactions to answer for their status after a restart.
+ *
+ * @author Luis Espinosa
+ */
+@Component
+public class MovementJournal {
+
+	/** The Constant LOG. */
+	private static final Logger LOG = LoggerFactory.getLogger(MovementJournal.class);
+
+	/** The Constant FILE_NAME. */
+	static final String FILE_NAME = "movements.journal";
+
+	/** The Constant MAXIMUM_BATCH. */
+	private static final int MAXIMUM_BATCH = 1000;
+
+	/** The Constant STOP, wakes the writer up to finish. */
+	private static final Write STOP = new Write(null, null);
+
+	/** The object mapper. */
+	private ObjectMapper objectMapper;
+
+	/** The file. */
+	private final Path file;
+
+	/** The compaction bytes. */
+	private final long compactionBytes;
+
+	/** The lines waiting for the writer. */
+	private final BlockingQueue<Write> writes = new LinkedBlockingQueue<>();
+
+	/** The accepted movements not done yet, by id, only touched by the writer. */
+	private final Map<String, MovementJournalRecord> open = new LinkedHashMap<>();
+
+	/** The last rejections, by id, kept through the compactions. */
+	private final Map<String, MovementJournalRecord> rejections;
+
+	/** The reasons of the rejections read when the journal was opened, by id. */
+	private Map<String, String> recovered = Map.of();
+
+	/** The size of the file after the last compaction. */
+	private long compactedBytes;
+
+	/** The lines in the file, only touched by the writer. */
+	private long lines;
+
+	/** The syncs. */
+	private final LongAdder syncs = new LongAdder();
+
+	/** The compactions. */
+	private final LongAdder compactions = new LongAdder();
+
+	/** The channel, null until opened. */
+	private FileChannel channel;
+
+	/** The writer. */
+	private Thread writer;
+
+	/**
+	 * Instantiates a new movement journal.
+	 *
+	 * @param objectMapper the object mapper
+	 * @param config the config
+	 */
+	public MovementJournal(ObjectMapper objectMapper, MovementPipelineConfig config) {
+		this.objectMapper = objectMapper;
+		this.file = Paths.get(config.getJournalDirectory()).resolve(FILE_NAME);
+		this.compactionBytes = config.getCompactionBytes();
+
+		long maximumRejections = config.getRejectionsCacheMaximumSize();
+		this.rejections = new LinkedHashMap<String, MovementJournalRecord>() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, MovementJournalRecord> eldest) {
+				return size() > maximumRejections;
+			}
+
+		};
+	}
+
+	/**
+	 * Open.
+	 * Reads what the last run left, keeps only the movements that were not
+	 * done and the last rejections in a new file that replaces the old one,
+	 * and starts the writer.
+	 *
+	 * @return the movements not done, in the order they were accepted
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	public synchronized List<MovementJournalRecord> open() throws IOException {
+		LOG.info("method: open");
+
+		Files.createDirectories(file.toAbsolutePath().getParent());
+		Map<String, MovementJournalRecord> pending = read();
+
+		open.putAll(pending);
+		rewrite(kept());
+
+		channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		compactedBytes = channel.size();
+		lines = open.size() + rejections.size();
+		recovered = new LinkedHashMap<>();
+		rejections.forEach((id, record) -> recovered.put(id, record.getRejection()));
+		LOG.debug("proccess: [ {} ] movements pending in the journal", pending.size());
+
+		writer = new Thread(this::write, "movement-journal");
+		writer.setDaemon(true);
+		writer.start();
+		return new ArrayList<>(pending.values());
+	}
+
+	/**
+	 * Read.
+	 * A line that can not be read is a write cut by a crash or by a failed
+	 * write, it is skipped and the reading goes on with the next one.
+	 *
+	 * @return the accepted movements not done, by id
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private Map<String, MovementJournalRecord> read() throws IOException {
+		Map<String, MovementJournalRecord> pending = new LinkedHashMap<>();
+		if (!Files.exists(file)) return pending;
+
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			String line;
+			int number = 0;
+			while ((line = reader.readLine()) != null) {
+				number++;
+				MovementJournalRecord record;
+				try {
+					record = objectMapper.readValue(line, MovementJournalRecord.class);
+				} catch (JsonProcessingException e) {
+					LOG.warn("proccess: the line [ {} ] of the journal is torn, it is skipped", number);
+					continue;
+				}
+
+				if (MovementJournalRecord.ACCEPTED.equals(record.getType())) pending.put(record.getId(), record);
+				else pending.remove(record.getId());
+				if (record.getRejection() != null) rejections.put(record.getId(), record);
+			}
+		}
+		return pending;
+	}
+
+	/**
+	 * Gets the rejections.
+	 *
+	 * @return the reasons of the last rejections, by id, as the journal was opened
+	 */
+	public synchronized Map<String, String> getRejections() {
+		return recovered;
+	}
+
+	/**
+	 * Append.
+	 *
+	 * @param record the accepted movement
+	 * @return the future, completed once the record is on the disk
+	 */
+	public CompletableFuture<Void> append(MovementJournalRecord record) {
+		CompletableFuture<Void> synced = new CompletableFuture<>();
+		writes.add(new Write(record, synced));
+		return synced;
+	}
+
+	/**
+	 * Done.
+	 * Not synced, a lost mark only makes the applied movement be replayed
+	 * and skipped.
+	 *
+	 * @param id the id of the applied movement
+	 */
+	public void done(String id) {
+		writes.add(new Write(MovementJournalRecord.done(id), null));
+	}
+
+	/**
+	 * Rejected.
+	 * Synced like an accepted movement, a lost mark would make the replay
+	 * apply the movement that was reported rejected.
+	 *
+	 * @param id the id of the rejected movement
+	 * @param rejection the rejection
+	 * @return the future, completed once the record is on the disk
+	 */
+	public CompletableFuture<Void> rejected(String id, String rejection) {
+		return append(MovementJournalRecord.rejected(id, rejection));
+	}
+
+	/**
+	 * Write.
+	 * Takes everything queued at once, the more requests arrive while the
+	 * disk syncs the larger the next batch. A batch that fails is cut off
+	 * the file, so no torn line is left before the next ones.
+	 */
+	private void write() {
+		List<Write> batch = new ArrayList<>();
+		while (true) {
+			try {
+				batch.add(writes.take());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			writes.drainTo(batch, MAXIMUM_BATCH - 1);
+
+			boolean stop = batch.remove(STOP);
+			long offset = -1;
+			try {
+				offset = channel.size();
+				writeFully(channel, batch);
+				if (batch.stream().anyMatch(write -> write.synced != null)) {
+					channel.force(false);
+					syncs.increment();
+				}
+				track(batch);
+				lines += batch.size();
+				batch.forEach(write -> {
+					if (write.synced != null) write.synced.complete(null);
+				});
+			} catch (IOException e) {
+				LOG.error("proccess: the journal could not be written", e);
+				truncate(offset);
+				batch.forEach(write -> {
+					if (write.synced != null) write.synced.completeExceptionally(e);
+				});
+			}
+			batch.clear();
+
+			try {
+				compactIfDue();
+			} catch (IOException e) {
+				LOG.error("proccess: the journal could not be compacted", e);
+			}
+
+			if (stop) return;
+		}
+	}
+
+	/**
+	 * Truncate.
+	 *
+	 * @param offset the size of the file before the failed batch, -1 when unknown
+	 */
+	private void truncate(long offset) {
+		if (offset < 0) return;
+
+		try {
+			channel.truncate(offset);
+			channel.force(true);
+		} catch (IOException e) {
+			LOG.error("proccess: the journal could not be cut back to [ {} ] bytes", offset, e);
+		}
+	}
+
+	/**
+	 * Track.
+	 *
+	 * @param batch the batch
+	 */
+	private void track(List<Write> batch) {
+		for (Write write : batch) {
+			if (MovementJournalRecord.ACCEPTED.equals(write.record.getType())) open.put(write.record.getId(), write.record);
+			else open.remove(write.record.getId());
+			if (write.record.getRejection() != null) rejections.put(write.record.getId(), write.record);
+		}
+	}
+
+	/**
+	 * Compact if due.
+	 * The movements still pending are written to a new file that replaces
+	 * the journal, whether or not any is in flight, once the file holds any
+	 * line that is not needed anymore. Unless nothing is pending
+	 * it waits for the file to double the size it had after the last one, so
+	 * a large backlog is not rewritten on every batch.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private void compactIfDue() throws IOException {
+		long size = channel.size();
+		if (lines == open.size() + rejections.size() || size < compactionBytes || (!open.isEmpty() && size < 2 * compactedBytes)) return;
+
+		rewrite(kept());
+		FileChannel compacted = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		channel.close();
+		channel = compacted;
+		compactedBytes = channel.size();
+		lines = open.size() + rejections.size();
+		compactions.increment();
+		LOG.debug("proccess: the journal was compacted to [ {} ] movements", open.size());
+	}
+
+	/**
+	 * Kept.
+	 *
+	 * @return the records a compaction keeps, the rejections first
+	 */
+	private List<MovementJournalRecord> kept() {
+		List<MovementJournalRecord> kept = new ArrayList<>(rejections.values());
+		kept.addAll(open.values());
+		return kept;
+	}
+
+	/**
+	 * Rewrite.
+	 * The records are synced to a temporary file first, then it is moved
+	 * over the journal at once, a crash leaves either file whole.
+	 *
+	 * @param records the records to keep
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private void rewrite(Collection<MovementJournalRecord> records) throws IOException {
+		Path compacted = file.resolveSibling(FILE_NAME + ".tmp");
+		try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			List<Write> lines = new ArrayList<>();
+			records.forEach(record -> lines.add(new Write(record, null)));
+			writeFully(out, lines);
+			out.force(true);
+		}
+		Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Write fully.
+	 *
+	 * @param out the out
+	 * @param lines the lines
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private void writeFully(FileChannel out, List<Write> lines) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		for (Write line : lines) {
+			bytes.write(objectMapper.writeValueAsBytes(line.record));
+			bytes.write('\n');
+		}
+
+		ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+		while (buffer.hasRemaining()) out.write(buffer);
+	}
+
+	/**
+	 * Gets the syncs.
+	 *
+	 * @return the syncs
+	 */
+	public long getSyncs() {
+		return syncs.sum();
+	}
+
+	/**
+	 * Gets the compactions.
+	 *
+	 * @return the compactions
+	 */
+	public long getCompactions() {
+		return compactions.sum();
+	}
+
+	/**
+	 * Close.
+	 * The writer finishes what was queued before it stops, the appends
+	 * queued after that fail.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 * @throws InterruptedException the interrupted exception
+	 */
+	@PreDestroy
+	public synchronized void close() throws IOException, InterruptedException {
+		if (writer == null) return;
+
+		writes.add(STOP);
+		writer.join();
+		writer = null;
+		channel.close();
+
+		IOException closed = new IOException("The journal is closed");
+		for (Write write = writes.poll(); write != null; write = writes.poll()) {
+			if (write.synced != null) write.synced.completeExceptionally(closed);
+		}
+	}
+
+	/**
+	 * The Class Write.
+	 */
+	private static final class Write {
+
+		/** The record. */
+		private final MovementJournalRecord record;
+
+		/** The synced, null when nobody waits for the sync. */
+		private final CompletableFuture<Void> synced;
+
+		/**
+		 * Instantiates a new write.
+		 *
+		 * @param record the record
+		 * @param synced the synced
+		 */
+		private Write(MovementJournalRecord record, CompletableFuture<Void> synced) {
+			this.record = record;
+			this.synced = synced;
+		}
+
+	}
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.movement;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Class MovementJournalRecord.
+ * One line of the journal, either an accepted movement or the mark of
+ * one that was applied or rejected.
+ *
+ * @author Luis Espinosa
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MovementJournalRecord {
+
+	/** The Constant ACCEPTED. */
+	public static final String ACCEPTED = "ACCEPTED";
+
+	/** The Constant DONE. */
+	public static final String DONE = "DONE";
+
+	/** The type. */
+	private String type;
+
+	/** The id, also the code of the movement once applied. */
+	private String id;
+
+	/** The movement, only on the accepted ones. */
+	private MovementDTO movement;
+
+	/** The rejection, only on the done ones that were rejected. */
+	private String rejection;
+
+	/**
+	 * Accepted.
+	 *
+	 * @param id the id
+	 * @param movement the movement
+	 * @return the movement journal record
+	 */
+	public static MovementJournalRecord accepted(String id, MovementDTO movement) {
+		return new MovementJournalRecord(ACCEPTED, id, movement, null);
+	}
+
+	/**
+	 * Done.
+	 *
+	 * @param id the id
+	 * @return the movement journal record
+	 */
+	public static MovementJournalRecord done(String id) {
+		return new MovementJournalRecord(DONE, id, null, null);
+	}
+
+	/**
+	 * Rejected.
+	 *
+	 * @param id the id
+	 * @param rejection the rejection
+	 * @return the movement journal record
+	 */
+	public static MovementJournalRecord rejected(String id, String rejection) {
+		return new MovementJournalRecord(DONE, id, null, rejection);
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.movement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.lsoftware.inventory.mappings.EntityMapper;
+import com.lsoftware.inventory.product.ProductMapper;
+import com.lsoftware.inventory.user.UserMapper;
+
+/**
+ * The Class MovementMapper.
+ * The details of the entity are left without their movement, the caller
+ * links them before saving.
+ *
+ * @author Luis Espinosa
+ */
+@Component
+public class MovementMapper implements EntityMapper<Movement, MovementDTO> {
+
+	/** The user mapper. */
+	private UserMapper userMapper;
+
+	/** The product mapper. */
+	private ProductMapper productMapper;
+
+	/**
+	 * Instantiates a new movement mapper.
+	 *
+	 * @param userMapper the user mapper
+	 * @param productMapper the product mapper
+	 */
+	public MovementMapper(UserMapper userMapper, ProductMapper productMapper) {
+		this.userMapper = userMapper;
+		this.productMapper = productMapper;
+	}
+
+	/**
+	 * To DTO.
+	 *
+	 * @param entity the entity
+	 * @return the movement DTO
+	 */
+	@Override
+	public MovementDTO toDTO(Movement entity) {
+		if (entity == null) return null;
+
+		List<MovementDetailDTO> details = null;
+		if (entity.getDetails() != null) {
+			details = new ArrayList<>(entity.getDetails().size());
+			for (MovementDetail detail : entity.getDetails()) {
+				details.add(detail == null ? null 
+						: new MovementDetailDTO(detail.getId(), productMapper.toSimpleDTO(detail.getProduct()), 
+								detail.getQuantity()));
+			}
+		}
+
+		return new MovementDTO(entity.getId(), entity.getType(), userMapper.toSimpleDTO(entity.getUser()),
+				entity.getCode(), details);
+	}
+
+	/**
+	 * To entity.
+	 *
+	 * @param dto the dto
+	 * @return the movement
+	 */
+	@Override
+	public Movement toEntity(MovementDTO dto) {
+		if (dto == null) return null;
+
+		List<MovementDetail> details = null;
+		if (dto.getDetails() != null) {
+			details = new ArrayList<>(dto.getDetails().size());
+			for (MovementDetailDTO detailDTO : dto.getDetails()) {
+				if (detailDTO == null) {
+					details.add(null);
+					continue;
+				}
+				MovementDetail detail = new MovementDetail();
+				detail.setId(detailDTO.getId());
+				detail.setProduct(productMapper.toEntity(detailDTO.getProduct()));
+				detail.setQuantity(detailDTO.getQuantity());
+				details.add(detail);
+			}
+		}
+
+		return Movement.builder()
+				.id(dto.getId())
+				.type(dto.getType())
+				.user(userMapper.toEntity(dto.getUser()))
+				.code(dto.getCode())
+				.details(details)
+				.build();
+	}
+
+}
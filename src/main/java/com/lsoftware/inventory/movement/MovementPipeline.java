@@ -0,0 +1,445 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.movement;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.lsoftware.inventory.exception.ExceptionInternalServerError;
+import com.lsoftware.inventory.exception.ExceptionObjectNotFound;
+import com.lsoftware.inventory.exception.ExceptionServiceUnavailable;
+import com.lsoftware.inventory.metrics.MetricsProvider;
+
+/**
+ * The Class MovementPipeline.
+ * The asynchronous creation of the movements. A movement is accepted once
+ * it is synced to the journal, then applied by the writer of its lowest
+ * product, so the movements of a hot product mostly queue on one writer
+ * instead of on each other's row locks, and the writers of different
+ * products run in parallel. A product is not owned by a single writer, a
+ * movement of several products shares the others with their own writers,
+ * so two batches may deadlock; MovementBulkService tries the loser again a
+ * bounded number of times. Every movement keeps its journal id as
+ * code, so the ones replayed after a crash that were already committed are
+ * skipped instead of applied twice.
+ *
+ * @author Luis Espinosa
+ */
+@Service
+public class MovementPipeline implements MetricsProvider {
+
+	/** The Constant LOG. */
+	private static final Logger LOG = LoggerFactory.getLogger(MovementPipeline.class);
+
+	/** The Constant POLL_MILLIS, how often an idle writer checks if it should stop. */
+	private static final long POLL_MILLIS = 500;
+
+	/** The Constant MAXIMUM_BACKOFF_MILLIS. */
+	private static final long MAXIMUM_BACKOFF_MILLIS = 30000;
+
+	/** The movement bulk service. */
+	private MovementBulkService movementBulkService;
+
+	/** The movement repository. */
+	private MovementRepository movementRepository;
+
+	/** The movement journal. */
+	private MovementJournal movementJournal;
+
+	/** The message source. */
+	private MessageSource messageSource;
+
+	/** Whether the pipeline is enabled. */
+	private final boolean enabled;
+
+	/** The batch size. */
+	private final int batchSize;
+
+	/** The retry after seconds. */
+	private final long retryAfterSeconds;
+
+	/** The maximum retries. */
+	private final int maximumRetries;
+
+	/** The queue of every writer. */
+	private final List<BlockingQueue<MovementJournalRecord>> shards = new ArrayList<>();
+
+	/** The writers. */
+	private final List<Thread> writers = new ArrayList<>();
+
+	/** The room left for new movements. */
+	private final Semaphore capacity;
+
+	/** The ids of the movements accepted and not applied yet. */
+	private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+	/** The rejections by id. */
+	private final Cache<String, String> rejections;
+
+	/** The accepted movements. */
+	private final LongAdder accepted = new LongAdder();
+
+	/** The refused movements, the pipeline was full. */
+	private final LongAdder refused = new LongAdder();
+
+	/** The applied movements. */
+	private final LongAdder applied = new LongAdder();
+
+	/** The rejected movements. */
+	private final LongAdder rejected = new LongAdder();
+
+	/** The replayed movements that were already applied. */
+	private final LongAdder skipped = new LongAdder();
+
+	/** The batches. */
+	private final LongAdder batches = new LongAdder();
+
+	/** The retries of the movements the database failed under. */
+	private final LongAdder retries = new LongAdder();
+
+	/** The movements queued again once their retries ran out. */
+	private final LongAdder requeued = new LongAdder();
+
+	/** Whether the writers keep running. */
+	private volatile boolean running = true;
+
+	/**
+	 * Instantiates a new movement pipeline.
+	 * The movements left pending by the last run are queued again before
+	 * any new one is accepted.
+	 *
+	 * @param movementBulkService the movement bulk service
+	 * @param movementRepository the movement repository
+	 * @param movementJournal the movement journal
+	 * @param messageSource the message source
+	 * @param config the config
+	 */
+	public MovementPipeline(MovementBulkService movementBulkService, MovementRepository movementRepository,
+			MovementJournal movementJournal, MessageSource messageSource, MovementPipelineConfig config) {
+		this.movementBulkService = movementBulkService;
+		this.movementRepository = movementRepository;
+		this.movementJournal = movementJournal;
+		this.messageSource = messageSource;
+		this.enabled = config.isEnabled();
+		this.batchSize = Math.max(1, config.getBatchSize());
+		this.retryAfterSeconds = config.getRetryAfterSeconds();
+		this.maximumRetries = Math.max(0, config.getMaximumRetries());
+		this.rejections = CacheBuilder.newBuilder().maximumSize(config.getRejectionsCacheMaximumSize()).build();
+
+		if (!enabled) {
+			this.capacity = new Semaphore(0);
+			return;
+		}
+
+		List<MovementJournalRecord> recovered;
+		try {
+			recovered = movementJournal.open();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		this.capacity = new Semaphore(config.getQueueCapacity() - recovered.size());
+		rejections.putAll(movementJournal.getRejections());
+
+		for (int i = 0; i < Math.max(1, config.getShards()); i++) shards.add(new LinkedBlockingQueue<>());
+		for (MovementJournalRecord record : recovered) {
+			pending.add(record.getId());
+			shard(record.getMovement()).add(record);
+		}
+
+		for (int i = 0; i < shards.size(); i++) {
+			BlockingQueue<MovementJournalRecord> queue = shards.get(i);
+			Thread writer = new Thread(() -> write(queue), "movement-writer-" + i);
+			writer.setDaemon(true);
+			writer.start();
+			writers.add(writer);
+		}
+	}
+
+	/**
+	 * Checks if is enabled.
+	 *
+	 * @return true, if is enabled
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Submit.
+	 *
+	 * @param movementDTO the movement DTO
+	 * @return the status, pending
+	 */
+	public MovementPipelineStatusDTO submit(MovementDTO movementDTO) {
+		LOG.info("method: submit");
+
+		if (!capacity.tryAcquire()) {
+			refused.increment();
+			throw new ExceptionServiceUnavailable(messageSource.getMessage("error.notProcessed",
+					new String[] { "Movement" }, LocaleContextHolder.getLocale()), retryAfterSeconds);
+		}
+
+		MovementJournalRecord record = MovementJournalRecord.accepted(UUID.randomUUID().toString(), movementDTO);
+		pending.add(record.getId());
+		try {
+			movementJournal.append(record).join();
+		} catch (CompletionException e) {
+			pending.remove(record.getId());
+			capacity.release();
+			throw new ExceptionInternalServerError(messageSource.getMessage("error.notProcessed",
+					new String[] { "Movement" }, LocaleContextHolder.getLocale()));
+		}
+
+		shard(movementDTO).add(record);
+		accepted.increment();
+		return new MovementPipelineStatusDTO(record.getId(), MovementPipelineStatusDTO.PENDING, null, null);
+	}
+
+	/**
+	 * Find status.
+	 * An applied movement is looked up by its code, so it is found even
+	 * after a restart. The last rejections are read back from the journal.
+	 *
+	 * @param id the id
+	 * @return the status
+	 */
+	public MovementPipelineStatusDTO findStatus(String id) {
+		LOG.info("method: findStatus");
+
+		if (pending.contains(id)) return new MovementPipelineStatusDTO(id, MovementPipelineStatusDTO.PENDING, null, null);
+
+		String rejection = rejections.getIfPresent(id);
+		if (rejection != null) return new MovementPipelineStatusDTO(id, MovementPipelineStatusDTO.REJECTED, null, rejection);
+
+		return movementRepository.findIdByCode(id)
+				.map(movementId -> new MovementPipelineStatusDTO(id, MovementPipelineStatusDTO.APPLIED, movementId, null))
+				.orElseThrow(() -> new ExceptionObjectNotFound(messageSource.getMessage("error.notFound",
+						new String[] { "Movement" }, LocaleContextHolder.getLocale())));
+	}
+
+	/**
+	 * Shard.
+	 *
+	 * @param movementDTO the movement DTO
+	 * @return the queue of the writer of its lowest product
+	 */
+	private BlockingQueue<MovementJournalRecord> shard(MovementDTO movementDTO) {
+		long product = movementDTO.getDetails() == null ? 0L : movementDTO.getDetails().stream()
+				.filter(detail -> detail.getProduct() != null && detail.getProduct().getId() != null)
+				.mapToLong(detail -> detail.getProduct().getId())
+				.min().orElse(0L);
+		return shards.get((int) Math.floorMod(product, (long) shards.size()));
+	}
+
+	/**
+	 * Write.
+	 * The loop of a single writer.
+	 *
+	 * @param queue the queue
+	 */
+	private void write(BlockingQueue<MovementJournalRecord> queue) {
+		List<MovementJournalRecord> batch = new ArrayList<>(batchSize);
+		try {
+			while (running) {
+				MovementJournalRecord first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+				if (first == null) continue;
+
+				batch.add(first);
+				queue.drainTo(batch, batchSize - 1);
+				apply(batch, queue);
+				batch.clear();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Apply.
+	 * A movement is only marked done once it is applied or rejected. The
+	 * ones the database failed under are tried again, as they are, after
+	 * looking again for the ones whose commit did go through, waiting twice
+	 * as long each time. Once the retries run out they are queued again
+	 * behind the others so the writer goes back to its queue. When the
+	 * writer is stopped they are left pending in the journal.
+	 *
+	 * @param batch the batch
+	 * @param queue the queue of the writer
+	 * @throws InterruptedException the interrupted exception
+	 */
+	private void apply(List<MovementJournalRecord> batch, BlockingQueue<MovementJournalRecord> queue)
+			throws InterruptedException {
+		List<MovementJournalRecord> left = batch;
+		for (int attempt = 0; running; attempt++) {
+			try {
+				left = commit(left);
+			} catch (RuntimeException e) {
+				LOG.error("proccess: the database can not be reached", e);
+			}
+			if (left.isEmpty() || !running) return;
+
+			if (attempt >= maximumRetries) {
+				LOG.error("proccess: [ {} ] movements still failing, queued again", left.size());
+				requeued.add(left.size());
+				queue.addAll(left);
+				return;
+			}
+
+			LOG.warn("proccess: [ {} ] movements failed, retrying them", left.size());
+			retries.increment();
+			TimeUnit.MILLISECONDS.sleep(backoffMillis(attempt));
+		}
+	}
+
+	/**
+	 * Backoff millis.
+	 *
+	 * @param attempt the attempt that failed, from 0
+	 * @return the millis to wait before the next one
+	 */
+	private long backoffMillis(int attempt) {
+		return Math.min(TimeUnit.SECONDS.toMillis(retryAfterSeconds) << Math.min(attempt, 16), MAXIMUM_BACKOFF_MILLIS);
+	}
+
+	/**
+	 * Commit.
+	 *
+	 * @param batch the batch
+	 * @return the movements that failed, still pending
+	 */
+	private List<MovementJournalRecord> commit(List<MovementJournalRecord> batch) {
+		Set<String> committed = new HashSet<>(movementRepository.findCodesIn(
+				batch.stream().map(MovementJournalRecord::getId).collect(Collectors.toList())));
+
+		List<MovementJournalRecord> fresh = new ArrayList<>(batch.size());
+		for (MovementJournalRecord record : batch) {
+			if (committed.contains(record.getId())) {
+				skipped.increment();
+				finish(record.getId(), null);
+			} else {
+				fresh.add(record);
+			}
+		}
+		if (fresh.isEmpty()) return fresh;
+
+		List<MovementCommitOutcome> outcomes = movementBulkService.commit(
+				fresh.stream().map(MovementJournalRecord::getMovement).collect(Collectors.toList()),
+				fresh.stream().map(MovementJournalRecord::getId).collect(Collectors.toList()));
+		batches.increment();
+
+		List<MovementJournalRecord> failed = new ArrayList<>();
+		CompletableFuture<?>[] rejecting = new CompletableFuture<?>[fresh.size()];
+		for (int i = 0; i < fresh.size(); i++) {
+			MovementCommitOutcome outcome = outcomes.get(i);
+			if (outcome.isFailed()) {
+				failed.add(fresh.get(i));
+			} else if (outcome.isCreated()) {
+				applied.increment();
+				finish(fresh.get(i).getId(), null);
+			} else {
+				rejecting[i] = movementJournal.rejected(fresh.get(i).getId(), outcome.getRejection());
+			}
+		}
+
+		// A rejection is only told once it is on the disk, the replay must not apply it
+		for (int i = 0; i < fresh.size(); i++) {
+			if (rejecting[i] == null) continue;
+			try {
+				rejecting[i].join();
+				rejected.increment();
+				finish(fresh.get(i).getId(), outcomes.get(i).getRejection());
+			} catch (CompletionException e) {
+				LOG.error("proccess: the rejection could not be written, trying the movement again", e);
+				failed.add(fresh.get(i));
+			}
+		}
+		return failed;
+	}
+
+	/**
+	 * Finish.
+	 *
+	 * @param id the id
+	 * @param rejection the rejection already written to the journal, null when applied
+	 */
+	private void finish(String id, String rejection) {
+		if (rejection != null) rejections.put(id, rejection);
+		else movementJournal.done(id);
+		pending.remove(id);
+		capacity.release();
+	}
+
+	/**
+	 * Gets the metrics name.
+	 *
+	 * @return the metrics name
+	 */
+	@Override
+	public String getMetricsName() {
+		return "movementPipeline";
+	}
+
+	/**
+	 * Gets the metrics.
+	 *
+	 * @return the metrics
+	 */
+	@Override
+	public Map<String, Long> getMetrics() {
+		Map<String, Long> metrics = new LinkedHashMap<>();
+		metrics.put("accepted", accepted.sum());
+		metrics.put("refused", refused.sum());
+		metrics.put("applied", applied.sum());
+		metrics.put("rejected", rejected.sum());
+		metrics.put("skipped", skipped.sum());
+		metrics.put("batches", batches.sum());
+		metrics.put("retries", retries.sum());
+		metrics.put("requeued", requeued.sum());
+		metrics.put("pending", (long) pending.size());
+		metrics.put("journalSyncs", movementJournal.getSyncs());
+		metrics.put("journalCompactions", movementJournal.getCompactions());
+		return metrics;
+	}
+
+	/**
+	 * Shutdown.
+	 * Every writer finishes the batch it is applying, what is still queued
+	 * stays pending in the journal and is replayed on the next start.
+	 *
+	 * @throws InterruptedException the interrupted exception
+	 */
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		running = false;
+		for (Thread writer : writers) writer.join();
+	}
+
+}
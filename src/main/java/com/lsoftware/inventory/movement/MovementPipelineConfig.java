@@ -0,0 +1,219 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.movement;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * The Class MovementPipelineConfig.
+ *
+ * @author Luis Espinosa
+ */
+@ConfigurationProperties(prefix = "application.movements.pipeline")
+@Component
+public class MovementPipelineConfig {
+
+	/** Whether the movements are created asynchronously, through the journal. */
+	private boolean enabled = false;
+
+	/** The directory of the journal file. */
+	private String journalDirectory = "journal";
+
+	/** The writers, a movement goes to the one of its lowest product. */
+	private Integer shards = 4;
+
+	/** The movements committed together by a writer. */
+	private Integer batchSize = 100;
+
+	/** The movements accepted and not applied yet, a new one is refused past it. */
+	private Integer queueCapacity = 10000;
+
+	/** The journal size past which it is rewritten with only the movements pending. */
+	private Long compactionBytes = 67108864L;
+
+	/** The seconds a refused client is told to wait. */
+	private Long retryAfterSeconds = 1L;
+
+	/**
+	 * The tries again of a batch the database failed under, the wait doubles
+	 * from the retry after seconds on each one. Past them the movements are
+	 * queued again behind the others.
+	 */
+	private Integer maximumRetries = 5;
+
+	/** The last rejections kept, in memory and in the journal, for the status queries. */
+	private Long rejectionsCacheMaximumSize = 100000L;
+
+	/**
+	 * Instantiates a new movement pipeline config.
+	 */
+	public MovementPipelineConfig() {
+		// Nothing here.
+	}
+
+	/**
+	 * Checks if is enabled.
+	 *
+	 * @return true, if is enabled
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Sets the enabled.
+	 *
+	 * @param enabled the new enabled
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Gets the journal directory.
+	 *
+	 * @return the journal directory
+	 */
+	public String getJournalDirectory() {
+		return journalDirectory;
+	}
+
+	/**
+	 * Sets the journal directory.
+	 *
+	 * @param journalDirectory the new journal directory
+	 */
+	public void setJournalDirectory(String journalDirectory) {
+		this.journalDirectory = journalDirectory;
+	}
+
+	/**
+	 * Gets the shards.
+	 *
+	 * @return the shards
+	 */
+	public Integer getShards() {
+		return shards;
+	}
+
+	/**
+	 * Sets the shards.
+	 *
+	 * @param shards the new shards
+	 */
+	public void setShards(Integer shards) {
+		this.shards = shards;
+	}
+
+	/**
+	 * Gets the batch size.
+	 *
+	 * @return the batch size
+	 */
+	public Integer getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * Sets the batch size.
+	 *
+	 * @param batchSize the new batch size
+	 */
+	public void setBatchSize(Integer batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Gets the queue capacity.
+	 *
+	 * @return the queue capacity
+	 */
+	public Integer getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	/**
+	 * Sets the queue capacity.
+	 *
+	 * @param queueCapacity the new queue capacity
+	 */
+	public void setQueueCapacity(Integer queueCapacity) {
+		this.queueCapacity = queueCapacity;
+	}
+
+	/**
+	 * Gets the compaction bytes.
+	 *
+	 * @return the compaction bytes
+	 */
+	public Long getCompactionBytes() {
+		return compactionBytes;
+	}
+
+	/**
+	 * Sets the compaction bytes.
+	 *
+	 * @param compactionBytes the new compaction bytes
+	 */
+	public void setCompactionBytes(Long compactionBytes) {
+		this.compactionBytes = compactionBytes;
+	}
+
+	/**
+	 * Gets the retry after seconds.
+	 *
+	 * @return the retry after seconds
+	 */
+	public Long getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+
+	/**
+	 * Sets the retry after seconds.
+	 *
+	 * @param retryAfterSeconds the new retry after seconds
+	 */
+	public void setRetryAfterSeconds(Long retryAfterSeconds) {
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	/**
+	 * Gets the maximum retries.
+	 *
+	 * @return the maximum retries
+	 */
+	public Integer getMaximumRetries() {
+		return maximumRetries;
+	}
+
+	/**
+	 * Sets the maximum retries.
+	 *
+	 * @param maximumRetries the new maximum retries
+	 */
+	public void setMaximumRetries(Integer maximumRetries) {
+		this.maximumRetries = maximumRetries;
+	}
+
+	/**
+	 * Gets the rejections cache maximum size.
+	 *
+	 * @return the rejections cache maximum size
+	 */
+	public Long getRejectionsCacheMaximumSize() {
+		return rejectionsCacheMaximumSize;
+	}
+
+	/**
+	 * Sets the rejections cache maximum size.
+	 *
+	 * @param rejectionsCacheMaximumSize the new rejections cache maximum size
+	 */
+	public void setRejectionsCacheMaximumSize(Long rejectionsCacheMaximumSize) {
+		this.rejectionsCacheMaximumSize = rejectionsCacheMaximumSize;
+	}
+
+}
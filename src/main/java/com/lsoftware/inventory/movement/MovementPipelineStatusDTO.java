@@ -0,0 +1,42 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.movement;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Class MovementPipelineStatusDTO.
+ *
+ * @author Luis Espinosa
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class MovementPipelineStatusDTO {
+
+	/** The Constant PENDING. */
+	public static final String PENDING = "PENDING";
+
+	/** The Constant APPLIED. */
+	public static final String APPLIED = "APPLIED";
+
+	/** The Constant REJECTED. */
+	public static final String REJECTED = "REJECTED";
+
+	/** The id of the accepted movement. */
+	private String id;
+
+	/** The status. */
+	private String status;
+
+	/** The id of the movement, once applied. */
+	private Long movementId;
+
+	/** The rejection, once rejected. */
+	private String rejection;
+
+}
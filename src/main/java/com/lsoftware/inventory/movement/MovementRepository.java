@@ -4,7 +4,12 @@
  */
 package com.lsoftware.inventory.movement;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 
@@ -16,4 +21,22 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface MovementRepository extends JpaRepository<Movement, Long>  {
 
+	/**
+	 * Find id by code.
+	 *
+	 * @param code the code
+	 * @return the optional
+	 */
+	@Query("SELECT m.id FROM Movement m WHERE m.code = ?1")
+	Optional<Long> findIdByCode(String code);
+
+	/**
+	 * Find codes in.
+	 *
+	 * @param codes the codes
+	 * @return the codes already used by a movement
+	 */
+	@Query("SELECT m.code FROM Movement m WHERE m.code IN ?1")
+	List<String> findCodesIn(Collection<String> codes);
+
 }
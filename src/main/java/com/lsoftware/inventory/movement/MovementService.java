@@ -7,19 +7,14 @@ package com.lsoftware.inventory.movement;
 import java.util.List;
 import java.util.UUID;
 
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.MessageSource;
-import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.lsoftware.inventory.exception.ExceptionValueNotPermitted;
-import com.lsoftware.inventory.product.Product;
-import com.lsoftware.inventory.product.ProductRepository;
 import com.lsoftware.inventory.shared.service.ServiceMovementMethods;
-import com.lsoftware.inventory.shared.status.Status;
+import com.lsoftware.inventory.stock.StockLedger;
+import com.lsoftware.inventory.stock.StockLedgerEntry;
 
 /**
  * The Class MovementService.
@@ -32,31 +27,32 @@ public class MovementService implements ServiceMovementMethods<MovementDTO> {
 	/** The Constant LOG. */
 	private static final Logger LOG = LoggerFactory.getLogger(MovementService.class);
 
-	/** The model mapper. */
-	private ModelMapper modelMapper;
-
-	/** The message source. */
-	private MessageSource messageSource;
+	/** The movement mapper. */
+	private MovementMapper movementMapper;
 
 	/** The movement repository. */
 	private MovementRepository movementRepository;
 
-	/** The product repository. */
-	private ProductRepository productRepository;
+	/** The movement stock engine. */
+	private MovementStockEngine movementStockEngine;
+
+	/** The stock ledger. */
+	private StockLedger stockLedger;
 
 	/**
 	 * Instantiates a new movement service.
 	 *
-	 * @param productRepository  the product repository
-	 * @param modelMapper        the model mapper
-	 * @param messageSource      the message source
+	 * @param movementRepository the movement repository
+	 * @param movementStockEngine the movement stock engine
+	 * @param movementMapper the movement mapper
+	 * @param stockLedger the stock ledger
 	 */
-	public MovementService(ProductRepository productRepository, MovementRepository movementRepository,
-			ModelMapper modelMapper, MessageSource messageSource) {
-		this.productRepository = productRepository;
+	public MovementService(MovementRepository movementRepository, MovementStockEngine movementStockEngine,
+			MovementMapper movementMapper, StockLedger stockLedger) {
 		this.movementRepository = movementRepository;
-		this.modelMapper = modelMapper;
-		this.messageSource = messageSource;
+		this.movementStockEngine = movementStockEngine;
+		this.movementMapper = movementMapper;
+		this.stockLedger = stockLedger;
 	}
 
 	/**
@@ -70,41 +66,47 @@ public class MovementService implements ServiceMovementMethods<MovementDTO> {
 	public MovementDTO add(MovementDTO movDTO) {
 		LOG.info("method: add");
 
-		Movement movement = modelMapper.map(movDTO, Movement.class);
-
-		for (MovementDetail movementDetail : movement.getDetails()) {
-			LOG.debug("proccess: processing the details");
-
-			movementDetail.setMovement(movement);
-
-			Product product = productRepository
-					.findByIdAndStatus(movementDetail.getProduct().getId(), List.of(Status.ACTIVE.getDigit()))
-					.orElseThrow(() -> new ExceptionValueNotPermitted(messageSource.getMessage("error.notFound",
-							new String[] { "Product" }, LocaleContextHolder.getLocale())));
-
-			int updatedStock = 0;
-
-			if (movDTO.getType().equals(MovementType.INPUT.getName())) {
-				LOG.debug("proccess: increasing quantity of product= [ {} - {}", movementDetail.getProduct().getId(), movementDetail.getProduct().getName());
+		Movement saved = register(movDTO);
+		return movementMapper.toDTO(saved);
+	}
 
-				updatedStock = product.getQuantity() + movementDetail.getQuantity(); // Increase
+	/**
+	 * Register.
+	 * Not transactional on purpose, it joins the caller's transaction so the bulk
+	 * ingestion can wrap every item in a savepoint without marking the whole
+	 * batch as rollback-only when a single movement is rejected.
+	 *
+	 * @param movDTO the mov DTO
+	 * @return the saved movement
+	 */
+	Movement register(MovementDTO movDTO) {
+		return register(movDTO, UUID.randomUUID().toString());
+	}
 
-			} else if (movDTO.getType().equals(MovementType.OUTPUT.getName())) {
-				LOG.debug("proccess: decreasing quantity of product= [ {} - {}", movementDetail.getProduct().getId(), movementDetail.getProduct().getName());
+	/**
+	 * Register.
+	 * The movements of the asynchronous pipeline keep the id of their journal
+	 * entry as code, so a replayed entry can be told apart from a new one.
+	 *
+	 * @param movDTO the mov DTO
+	 * @param code the code
+	 * @return the saved movement
+	 */
+	Movement register(MovementDTO movDTO, String code) {
+		LOG.debug("method: register");
 
-				updatedStock = product.getQuantity() - movementDetail.getQuantity(); // Decrement
-			}
-			
-			if (updatedStock < 0) throw new ExceptionValueNotPermitted(
-					messageSource.getMessage("error.outputExceeds", new String[] {"Product Output"}, LocaleContextHolder.getLocale())
-			);
+		Movement movement = movementMapper.toEntity(movDTO);
 
-			productRepository.updateStock(updatedStock, movementDetail.getProduct().getId());
+		for (MovementDetail movementDetail : movement.getDetails()) {
+			movementDetail.setMovement(movement);
 		}
 
-		movement.setCode(UUID.randomUUID().toString());
+		List<StockLedgerEntry> entries = movementStockEngine.apply(movDTO.getType(), movement.getDetails());
+
+		movement.setCode(code);
 		Movement saved = movementRepository.save(movement);
-		return modelMapper.map(saved, MovementDTO.class);
+		stockLedger.append(saved.getId(), entries);
+		return saved;
 	}
 
 }
@@ -0,0 +1,133 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.movement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+
+import com.lsoftware.inventory.exception.ExceptionValueNotPermitted;
+import com.lsoftware.inventory.product.ProductCatalogCache;
+import com.lsoftware.inventory.product.ProductRepository;
+import com.lsoftware.inventory.shared.status.Status;
+import com.lsoftware.inventory.shared.transaction.TransactionAfterCommit;
+import com.lsoftware.inventory.stock.StockLedger;
+import com.lsoftware.inventory.stock.StockLedgerEntry;
+
+/**
+ * The Class MovementStockEngine.
+ * Applies the stock deltas of a whole movement as atomic conditional updates,
+ * one per product and in ascending id order so concurrent movements can not
+ * deadlock on the row locks. It must run inside the caller's transaction.
+ * Every line is also recorded in the stock ledger with the balance it left.
+ *
+ * @author Luis Espinosa
+ */
+@Component
+public class MovementStockEngine {
+
+	/** The Constant LOG. */
+	private static final Logger LOG = LoggerFactory.getLogger(MovementStockEngine.class);
+
+	/** The product repository. */
+	private ProductRepository productRepository;
+
+	/** The product catalog cache. */
+	private ProductCatalogCache productCatalogCache;
+
+	/** The message source. */
+	private MessageSource messageSource;
+
+	/** The stock ledger. */
+	private StockLedger stockLedger;
+
+	/**
+	 * Instantiates a new movement stock engine.
+	 *
+	 * @param productRepository the product repository
+	 * @param productCatalogCache the product catalog cache
+	 * @param messageSource the message source
+	 * @param stockLedger the stock ledger
+	 */
+	public MovementStockEngine(ProductRepository productRepository, ProductCatalogCache productCatalogCache,
+			MessageSource messageSource, StockLedger stockLedger) {
+		this.productRepository = productRepository;
+		this.productCatalogCache = productCatalogCache;
+		this.messageSource = messageSource;
+		this.stockLedger = stockLedger;
+	}
+
+	/**
+	 * Apply.
+	 *
+	 * @param type the movement type
+	 * @param details the movement details
+	 * @return the ledger entries of the lines, to append once the movement is saved
+	 */
+	public List<StockLedgerEntry> apply(String type, List<MovementDetail> details) {
+		LOG.info("method: apply");
+
+		int sign = resolveSign(type);
+
+		Map<Long, List<Integer>> lines = new TreeMap<>();
+		for (MovementDetail detail : details) {
+			lines.computeIfAbsent(detail.getProduct().getId(), id -> new ArrayList<>()).add(sign * detail.getQuantity());
+		}
+
+		List<StockLedgerEntry> entries = new ArrayList<>(details.size());
+		for (Map.Entry<Long, List<Integer>> line : lines.entrySet()) {
+			int delta = line.getValue().stream().mapToInt(Integer::intValue).sum();
+			LOG.debug("proccess: applying {} to the quantity of product= [ {} ]", delta, line.getKey());
+
+			int result = productRepository.addStock(delta, line.getKey(), List.of(Status.ACTIVE.getDigit()));
+			if (result < 1) throw rejection(line.getKey());
+
+			entries.addAll(stockLedger.entries(line.getKey(), line.getValue()));
+		}
+
+		// The cached quantities are stale once the movement commits
+		TransactionAfterCommit.execute(() -> lines.keySet().forEach(productCatalogCache::evict));
+		return entries;
+	}
+
+	/**
+	 * Rejection.
+	 * Only reached when the conditional update did not match, so the extra
+	 * read is paid on the failure path alone.
+	 *
+	 * @param productId the product id
+	 * @return the exception value not permitted
+	 */
+	private ExceptionValueNotPermitted rejection(Long productId) {
+		if (productCatalogCache.findById(productId, List.of(Status.ACTIVE.getDigit())).isEmpty())
+			return new ExceptionValueNotPermitted(
+					messageSource.getMessage("error.notFound", new String[] { "Product" }, LocaleContextHolder.getLocale()));
+
+		return new ExceptionValueNotPermitted(
+				messageSource.getMessage("error.outputExceeds", new String[] {"Product Output"}, LocaleContextHolder.getLocale()));
+	}
+
+	/**
+	 * Resolve sign.
+	 *
+	 * @param type the type
+	 * @return the sign applied to every quantity of the movement
+	 */
+	private int resolveSign(String type) {
+		if (MovementType.INPUT.getName().equals(type)) return 1; // Increase
+		if (MovementType.OUTPUT.getName().equals(type)) return -1; // Decrement
+
+		throw new ExceptionValueNotPermitted(
+				messageSource.getMessage("error.notValid", new String[] {"Movement type"}, LocaleContextHolder.getLocale()));
+	}
+
+}
@@ -55,8 +55,8 @@ public class Product implements Serializable {
 	@Column(name = "prod_price")
 	private BigDecimal price;
 	
-	/** The quantity. */
-	@Column(name = "prod_quantity")
+	/** The quantity, the head of the stock ledger, only changed through the stock updates. */
+	@Column(name = "prod_quantity", updatable = false)
 	private int quantity;
 	
 	/** The category. */
@@ -0,0 +1,59 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.product;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The Interface ProductCatalogCache.
+ * Read side of the catalog. The products returned are detached snapshots
+ * shared between callers, so they must never be modified nor saved; writes
+ * keep going through the repository and evict the affected entries once
+ * their transaction commits.
+ *
+ * @author Luis Espinosa
+ */
+public interface ProductCatalogCache {
+
+	/**
+	 * Find by id.
+	 *
+	 * @param id the id
+	 * @param status the accepted status
+	 * @return the optional
+	 */
+	Optional<Product> findById(Long id, List<Integer> status);
+
+	/**
+	 * Find by name.
+	 *
+	 * @param name the upper-cased name
+	 * @param status the accepted status
+	 * @return the optional
+	 */
+	Optional<Product> findByName(String name, List<Integer> status);
+
+	/**
+	 * Find by status.
+	 *
+	 * @param status the status
+	 * @return the list
+	 */
+	List<Product> findByStatus(Integer status);
+
+	/**
+	 * Evict.
+	 *
+	 * @param id the id of the product that changed
+	 */
+	void evict(Long id);
+
+	/**
+	 * Evict all.
+	 */
+	void evictAll();
+
+}
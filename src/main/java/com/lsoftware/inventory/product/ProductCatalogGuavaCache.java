@@ -0,0 +1,247 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.product;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.lsoftware.inventory.category.Category;
+import com.lsoftware.inventory.metrics.MetricsProvider;
+import com.lsoftware.inventory.shared.status.Status;
+
+/**
+ * The Class ProductCatalogGuavaCache.
+ * Local implementation of the catalog cache, bounded in size and time. Set
+ * application.products.catalogCacheType to another value to replace it with
+ * a shared implementation when running more than one instance.
+ *
+ * @author Luis Espinosa
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.products", name = "catalogCacheType", havingValue = "local", matchIfMissing = true)
+public class ProductCatalogGuavaCache implements ProductCatalogCache, MetricsProvider {
+
+	/** The Constant LOG. */
+	private static final Logger LOG = LoggerFactory.getLogger(ProductCatalogGuavaCache.class);
+
+	/** The Constant ALL_STATUS. */
+	private static final List<Integer> ALL_STATUS = Arrays.stream(Status.values())
+			.map(Status::getDigit)
+			.collect(Collectors.toUnmodifiableList());
+
+	/** The product repository. */
+	private ProductRepository productRepository;
+
+	/** The products by id. */
+	private Cache<Long, Product> byId;
+
+	/** The product ids by name. */
+	private Cache<String, Long> byName;
+
+	/** The product lists by status. */
+	private Cache<Integer, List<Product>> byStatus;
+
+	/**
+	 * The generation, increased on every eviction so a load that raced with a
+	 * write is not stored.
+	 */
+	private AtomicLong generation = new AtomicLong();
+
+	/**
+	 * Instantiates a new product catalog guava cache.
+	 *
+	 * @param productRepository the product repository
+	 * @param productConfig the product config
+	 */
+	public ProductCatalogGuavaCache(ProductRepository productRepository, ProductConfig productConfig) {
+		this.productRepository = productRepository;
+		this.byId = build(productConfig);
+		this.byName = build(productConfig);
+		this.byStatus = build(productConfig);
+	}
+
+	/**
+	 * Find by id.
+	 *
+	 * @param id the id
+	 * @param status the status
+	 * @return the optional
+	 */
+	@Override
+	public Optional<Product> findById(Long id, List<Integer> status) {
+		Product cached = byId.getIfPresent(id);
+		if (cached == null) cached = load(() -> productRepository.findById(id));
+
+		return Optional.ofNullable(cached).filter(p -> status.contains(p.getStatus()));
+	}
+
+	/**
+	 * Find by name.
+	 *
+	 * @param name the name
+	 * @param status the status
+	 * @return the optional
+	 */
+	@Override
+	public Optional<Product> findByName(String name, List<Integer> status) {
+		Long id = byName.getIfPresent(name);
+		Product cached = id != null ? byId.getIfPresent(id) : null;
+
+		// The product could have been renamed since the name was cached
+		if (cached == null || !cached.getName().equals(name)) {
+			cached = load(() -> productRepository.findByNameAndStatus(name, ALL_STATUS));
+		}
+
+		return Optional.ofNullable(cached).filter(p -> status.contains(p.getStatus()));
+	}
+
+	/**
+	 * Find by status.
+	 *
+	 * @param status the status
+	 * @return the list
+	 */
+	@Override
+	public List<Product> findByStatus(Integer status) {
+		List<Product> cached = byStatus.getIfPresent(status);
+		if (cached != null) return cached;
+
+		long current = generation.get();
+		List<Product> loaded = productRepository.findByStatus(status)
+				.stream()
+				.map(this::snapshot)
+				.collect(Collectors.toUnmodifiableList());
+
+		if (generation.get() == current) byStatus.put(status, loaded);
+		return loaded;
+	}
+
+	/**
+	 * Evict.
+	 *
+	 * @param id the id
+	 */
+	@Override
+	public void evict(Long id) {
+		LOG.debug("proccess: evicting product= [ {} ]", id);
+
+		generation.incrementAndGet();
+		Product cached = byId.getIfPresent(id);
+		if (cached != null) byName.invalidate(cached.getName());
+		byId.invalidate(id);
+		byStatus.invalidateAll();
+	}
+
+	/**
+	 * Evict all.
+	 */
+	@Override
+	public void evictAll() {
+		LOG.debug("proccess: evicting all the products");
+
+		generation.incrementAndGet();
+		byId.invalidateAll();
+		byName.invalidateAll();
+		byStatus.invalidateAll();
+	}
+
+	/**
+	 * Gets the metrics name.
+	 *
+	 * @return the metrics name
+	 */
+	@Override
+	public String getMetricsName() {
+		return "productCatalogCache";
+	}
+
+	/**
+	 * Gets the metrics.
+	 *
+	 * @return the metrics
+	 */
+	@Override
+	public Map<String, Long> getMetrics() {
+		CacheStats stats = byId.stats().plus(byName.stats()).plus(byStatus.stats());
+
+		Map<String, Long> metrics = new LinkedHashMap<>();
+		metrics.put("hits", stats.hitCount());
+		metrics.put("misses", stats.missCount());
+		metrics.put("evictions", stats.evictionCount());
+		metrics.put("size", byId.size());
+		return metrics;
+	}
+
+	/**
+	 * Load.
+	 *
+	 * @param loader the loader
+	 * @return the snapshot, or null when the product does not exist
+	 */
+	private Product load(Supplier<Optional<Product>> loader) {
+		long current = generation.get();
+		Product loaded = loader.get().map(this::snapshot).orElse(null);
+
+		if (loaded != null && generation.get() == current) {
+			byId.put(loaded.getId(), loaded);
+			byName.put(loaded.getName(), loaded.getId());
+		}
+		return loaded;
+	}
+
+	/**
+	 * Snapshot.
+	 * Copies the product so the cached value is detached from any persistence
+	 * context.
+	 *
+	 * @param product the product
+	 * @return the product
+	 */
+	private Product snapshot(Product product) {
+		Category category = product.getCategory() == null ? null
+				: new Category(product.getCategory().getId(), product.getCategory().getName(), product.getCategory().getStatus());
+
+		return Product.builder()
+				.id(product.getId())
+				.name(product.getName())
+				.price(product.getPrice())
+				.quantity(product.getQuantity())
+				.category(category)
+				.status(product.getStatus())
+				.build();
+	}
+
+	/**
+	 * Builds the.
+	 *
+	 * @param <K> the key type
+	 * @param <V> the value type
+	 * @param productConfig the product config
+	 * @return the cache
+	 */
+	private static <K, V> Cache<K, V> build(ProductConfig productConfig) {
+		return CacheBuilder.newBuilder()
+				.maximumSize(productConfig.getCatalogCacheMaximumSize())
+				.expireAfterWrite(productConfig.getCatalogCacheExpirationSeconds(), TimeUnit.SECONDS)
+				.recordStats()
+				.build();
+	}
+
+}
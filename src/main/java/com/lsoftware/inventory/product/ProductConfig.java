@@ -0,0 +1,110 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.product;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * The Class ProductConfig.
+ *
+ * @author Luis Espinosa
+ */
+@ConfigurationProperties(prefix = "application.products")
+@Component
+public class ProductConfig {
+
+	/** The catalog cache implementation, local keeps it in the memory of this instance. */
+	private String catalogCacheType = "local";
+
+	/** The maximum number of products kept by the catalog cache. */
+	private Long catalogCacheMaximumSize = 10000L;
+
+	/** The seconds a cached product lives before it is read again. */
+	private Long catalogCacheExpirationSeconds = 300L;
+
+	/** The search implementation, like or trigram when the pg_trgm index exists. */
+	private String searchType = "like";
+
+	/**
+	 * Instantiates a new product config.
+	 */
+	public ProductConfig() {
+		// Nothing here.
+	}
+
+	/**
+	 * Gets the catalog cache type.
+	 *
+	 * @return the catalog cache type
+	 */
+	public String getCatalogCacheType() {
+		return catalogCacheType;
+	}
+
+	/**
+	 * Sets the catalog cache type.
+	 *
+	 * @param catalogCacheType the new catalog cache type
+	 */
+	public void setCatalogCacheType(String catalogCacheType) {
+		this.catalogCacheType = catalogCacheType;
+	}
+
+	/**
+	 * Gets the catalog cache maximum size.
+	 *
+	 * @return the catalog cache maximum size
+	 */
+	public Long getCatalogCacheMaximumSize() {
+		return catalogCacheMaximumSize;
+	}
+
+	/**
+	 * Sets the catalog cache maximum size.
+	 *
+	 * @param catalogCacheMaximumSize the new catalog cache maximum size
+	 */
+	public void setCatalogCacheMaximumSize(Long catalogCacheMaximumSize) {
+		this.catalogCacheMaximumSize = catalogCacheMaximumSize;
+	}
+
+	/**
+	 * Gets the catalog cache expiration seconds.
+	 *
+	 * @return the catalog cache expiration seconds
+	 */
+	public Long getCatalogCacheExpirationSeconds() {
+		return catalogCacheExpirationSeconds;
+	}
+
+	/**
+	 * Sets the catalog cache expiration seconds.
+	 *
+	 * @param catalogCacheExpirationSeconds the new catalog cache expiration seconds
+	 */
+	public void setCatalogCacheExpirationSeconds(Long catalogCacheExpirationSeconds) {
+		this.catalogCacheExpirationSeconds = catalogCacheExpirationSeconds;
+	}
+
+	/**
+	 * Gets the search type.
+	 *
+	 * @return the search type
+	 */
+	public String getSearchType() {
+		return searchType;
+	}
+
+	/**
+	 * Sets the search type.
+	 *
+	 * @param searchType the new search type
+	 */
+	public void setSearchType(String searchType) {
+		this.searchType = searchType;
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.product;
+
+import java.math.BigDecimal;
+
+import org.springframework.stereotype.Component;
+
+import com.lsoftware.inventory.mappings.EntityMapper;
+
+/**
+ * The Class ProductMapper.
+ * The category is shared, not copied, as the ModelMapper does for
+ * properties of the same type.
+ *
+ * @author Luis Espinosa
+ */
+@Component
+public class ProductMapper implements EntityMapper<Product, ProductDTO> {
+
+	/**
+	 * To DTO.
+	 *
+	 * @param entity the entity
+	 * @return the product DTO
+	 */
+	@Override
+	public ProductDTO toDTO(Product entity) {
+		if (entity == null) return null;
+
+		return new ProductDTO(entity.getId(), entity.getName(), toPrice(entity.getPrice()),
+				entity.getQuantity(), entity.getCategory(), entity.getStatus());
+	}
+
+	/**
+	 * To entity.
+	 *
+	 * @param dto the dto
+	 * @return the product
+	 */
+	@Override
+	public Product toEntity(ProductDTO dto) {
+		if (dto == null) return null;
+
+		return new Product(dto.getId(), dto.getName(), toPrice(dto.getPrice()),
+				dto.getQuantity(), dto.getCategory(), dto.getStatus());
+	}
+
+	/**
+	 * To simple DTO.
+	 *
+	 * @param entity the entity
+	 * @return the product simple DTO
+	 */
+	public ProductSimpleDTO toSimpleDTO(Product entity) {
+		if (entity == null) return null;
+
+		return new ProductSimpleDTO(entity.getId(), entity.getName(), toPrice(entity.getPrice()),
+				entity.getQuantity(), entity.getStatus());
+	}
+
+	/**
+	 * To entity.
+	 *
+	 * @param dto the dto
+	 * @return the product, without category
+	 */
+	public Product toEntity(ProductSimpleDTO dto) {
+		if (dto == null) return null;
+
+		return new Product(dto.getId(), dto.getName(), toPrice(dto.getPrice()),
+				dto.getQuantity(), null, dto.getStatus());
+	}
+
+	/**
+	 * To price.
+	 *
+	 * @param price the price
+	 * @return the price as text
+	 */
+	private static String toPrice(BigDecimal price) {
+		return price != null ? price.toString() : null;
+	}
+
+	/**
+	 * To price.
+	 *
+	 * @param price the price as text
+	 * @return the price
+	 */
+	private static BigDecimal toPrice(String price) {
+		return price != null ? new BigDecimal(price) : null;
+	}
+
+}
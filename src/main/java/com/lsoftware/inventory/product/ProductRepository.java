@@ -7,8 +7,8 @@ package com.lsoftware.inventory.product;
 import java.util.List;
 import java.util.Optional;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -66,10 +66,19 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 	 *
 	 * @param status the status
 	 * @param pageable the pageable
-	 * @return the page
+	 * @return the slice
 	 */
 	@Query("SELECT p FROM Product p WHERE p.status IN(?1) ORDER BY p.id DESC")
-	Page<Product> findByStatus(List<Integer> status, Pageable pageable); // List no search term
+	Slice<Product> findByStatus(List<Integer> status, Pageable pageable); // List no search term
+	
+	/**
+	 * Count by status.
+	 *
+	 * @param status the status
+	 * @return the long
+	 */
+	@Query("SELECT COUNT(p) FROM Product p WHERE p.status IN(?1)")
+	long countByStatus(List<Integer> status); // Total no search term
 	
 	
 	/**
@@ -78,10 +87,81 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 	 * @param searchTerm the search term
 	 * @param status the status
 	 * @param pageable the pageable
-	 * @return the page
+	 * @return the slice
 	 */
 	@Query("SELECT p FROM Product p WHERE LOWER(p.name) LIKE LOWER(concat('%', concat(?1, '%'))) AND p.status IN(?2) ORDER BY p.id DESC")
-	Page<Product> findByTermsContaining(String searchTerm, List<Integer> status, Pageable pageable); // List WITH search term
+	Slice<Product> findByTermsContaining(String searchTerm, List<Integer> status, Pageable pageable); // List WITH search term
+	
+	/**
+	 * Count by terms containing.
+	 *
+	 * @param searchTerm the search term
+	 * @param status the status
+	 * @return the long
+	 */
+	@Query("SELECT COUNT(p) FROM Product p WHERE LOWER(p.name) LIKE LOWER(concat('%', concat(?1, '%'))) AND p.status IN(?2)")
+	long countByTermsContaining(String searchTerm, List<Integer> status); // Total WITH search term
+	
+	/**
+	 * Find by name like.
+	 * Native so the condition is written exactly as the trigram index expects,
+	 * the identifiers are quoted like every identifier Hibernate generates.
+	 *
+	 * @param pattern the lower-cased LIKE pattern
+	 * @param status the status
+	 * @param pageable the pageable
+	 * @return the slice
+	 */
+	@Query(value = "SELECT p.* FROM {h-schema}\"products\" p WHERE LOWER(p.\"prod_name\") LIKE ?1 AND p.\"prod_status\" IN(?2) ORDER BY p.\"prod_id\" DESC", 
+			nativeQuery = true)
+	Slice<Product> findByNameLike(String pattern, List<Integer> status, Pageable pageable); // Indexed search
+	
+	/**
+	 * Find by name like after id.
+	 *
+	 * @param pattern the lower-cased LIKE pattern
+	 * @param status the status
+	 * @param afterId the last id of the previous page
+	 * @param pageable the pageable, only its size is used
+	 * @return the list
+	 */
+	@Query(value = "SELECT p.* FROM {h-schema}\"products\" p WHERE LOWER(p.\"prod_name\") LIKE ?1 AND p.\"prod_status\" IN(?2) AND p.\"prod_id\" < ?3 ORDER BY p.\"prod_id\" DESC", 
+			nativeQuery = true)
+	List<Product> findByNameLikeAfterId(String pattern, List<Integer> status, Long afterId, Pageable pageable); // Indexed keyset search
+	
+	/**
+	 * Count by name like.
+	 *
+	 * @param pattern the lower-cased LIKE pattern
+	 * @param status the status
+	 * @return the long
+	 */
+	@Query(value = "SELECT COUNT(*) FROM {h-schema}\"products\" p WHERE LOWER(p.\"prod_name\") LIKE ?1 AND p.\"prod_status\" IN(?2)", 
+			nativeQuery = true)
+	long countByNameLike(String pattern, List<Integer> status); // Indexed search total
+	
+	/**
+	 * Find by status after id.
+	 *
+	 * @param status the status
+	 * @param afterId the last id of the previous page
+	 * @param pageable the pageable, only its size is used
+	 * @return the list
+	 */
+	@Query("SELECT p FROM Product p WHERE p.status IN(?1) AND p.id < ?2 ORDER BY p.id DESC")
+	List<Product> findByStatusAfterId(List<Integer> status, Long afterId, Pageable pageable); // Keyset no search term
+	
+	/**
+	 * Find by terms containing after id.
+	 *
+	 * @param searchTerm the search term
+	 * @param status the status
+	 * @param afterId the last id of the previous page
+	 * @param pageable the pageable, only its size is used
+	 * @return the list
+	 */
+	@Query("SELECT p FROM Product p WHERE LOWER(p.name) LIKE LOWER(concat('%', concat(?1, '%'))) AND p.status IN(?2) AND p.id < ?3 ORDER BY p.id DESC")
+	List<Product> findByTermsContainingAfterId(String searchTerm, List<Integer> status, Long afterId, Pageable pageable); // Keyset WITH search term
 	
 	
 	/**
@@ -94,13 +174,36 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     long countByCategoryId(Long id);
 	
 	/**
-	 * Actualizar stock.
+	 * Adds the stock.
+	 * The delta is applied atomically and only when the resulting quantity
+	 * is not negative, so no previous read of the product is needed.
 	 *
-	 * @param stock the stock
+	 * @param delta the delta
 	 * @param id the id
+	 * @param status the status
+	 * @return the int, 0 when the product was not found or the stock is insufficient
 	 */
 	@Modifying
-	@Query("update Product p set p.quantity =:stock where p.id =:id")
-	void updateStock(@Param("stock") Integer stock, @Param("id") Long id);
+	@Query("update Product p set p.quantity = p.quantity + :delta where p.id =:id AND p.status IN(:status) AND p.quantity + :delta >= 0")
+	int addStock(@Param("delta") Integer delta, @Param("id") Long id, @Param("status") List<Integer> status);
+	
+	/**
+	 * Find quantity by id.
+	 * Reads the database and not the persistence context, right after
+	 * {@link #addStock} it returns the quantity the update left.
+	 *
+	 * @param id the id
+	 * @return the quantity
+	 */
+	@Query("SELECT p.quantity FROM Product p WHERE p.id = ?1")
+	int findQuantityById(Long id);
+	
+	/**
+	 * Find max id.
+	 *
+	 * @return the highest product id, empty when there are no products
+	 */
+	@Query("SELECT MAX(p.id) FROM Product p")
+	Optional<Long> findMaxId();
 	
 }
@@ -0,0 +1,76 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.product;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+/**
+ * The Class ProductSearchLikeService.
+ * Portable search, the name must contain the term. It reads the whole
+ * table on every search, so it is meant for small catalogs and the tests.
+ *
+ * @author Luis Espinosa
+ */
+@Service
+@ConditionalOnProperty(prefix = "application.products", name = "searchType", havingValue = "like", matchIfMissing = true)
+public class ProductSearchLikeService implements ProductSearchService {
+
+	/** The product repository. */
+	private ProductRepository productRepository;
+
+	/**
+	 * Instantiates a new product search like service.
+	 *
+	 * @param productRepository the product repository
+	 */
+	public ProductSearchLikeService(ProductRepository productRepository) {
+		this.productRepository = productRepository;
+	}
+
+	/**
+	 * Search.
+	 *
+	 * @param searchTerm the search term
+	 * @param status the status
+	 * @param pageable the pageable
+	 * @return the slice
+	 */
+	@Override
+	public Slice<Product> search(String searchTerm, List<Integer> status, Pageable pageable) {
+		return productRepository.findByTermsContaining(searchTerm, status, pageable);
+	}
+
+	/**
+	 * Search after id.
+	 *
+	 * @param searchTerm the search term
+	 * @param status the status
+	 * @param afterId the last id of the previous page
+	 * @param pageable the pageable
+	 * @return the list
+	 */
+	@Override
+	public List<Product> searchAfterId(String searchTerm, List<Integer> status, Long afterId, Pageable pageable) {
+		return productRepository.findByTermsContainingAfterId(searchTerm, status, afterId, pageable);
+	}
+
+	/**
+	 * Count.
+	 *
+	 * @param searchTerm the search term
+	 * @param status the status
+	 * @return the long
+	 */
+	@Override
+	public long count(String searchTerm, List<Integer> status) {
+		return productRepository.countByTermsContaining(searchTerm, status);
+	}
+
+}
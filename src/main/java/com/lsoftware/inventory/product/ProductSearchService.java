@@ -0,0 +1,51 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.product;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+/**
+ * The Interface ProductSearchService.
+ * Search of the products by name, always from the newest product to the
+ * oldest one.
+ *
+ * @author Luis Espinosa
+ */
+public interface ProductSearchService {
+
+	/**
+	 * Search.
+	 *
+	 * @param searchTerm the search term
+	 * @param status the status
+	 * @param pageable the pageable
+	 * @return the slice
+	 */
+	Slice<Product> search(String searchTerm, List<Integer> status, Pageable pageable);
+
+	/**
+	 * Search after id.
+	 *
+	 * @param searchTerm the search term
+	 * @param status the status
+	 * @param afterId the last id of the previous page
+	 * @param pageable the pageable, only its size is used
+	 * @return the list
+	 */
+	List<Product> searchAfterId(String searchTerm, List<Integer> status, Long afterId, Pageable pageable);
+
+	/**
+	 * Count.
+	 *
+	 * @param searchTerm the search term
+	 * @param status the status
+	 * @return the long
+	 */
+	long count(String searchTerm, List<Integer> status);
+
+}
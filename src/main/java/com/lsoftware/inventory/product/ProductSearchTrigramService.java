@@ -0,0 +1,97 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.product;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+/**
+ * The Class ProductSearchTrigramService.
+ * Search served by the pg_trgm GIN index on LOWER(prod_name), see
+ * db/TABLES-CREATION.txt. Terms of three characters or more match anywhere
+ * in the name; shorter terms hold no complete trigram and match the start
+ * of the name only, which the same index still serves.
+ *
+ * @author Luis Espinosa
+ */
+@Service
+@ConditionalOnProperty(prefix = "application.products", name = "searchType", havingValue = "trigram")
+public class ProductSearchTrigramService implements ProductSearchService {
+
+	/** The Constant TRIGRAM_LENGTH. */
+	private static final int TRIGRAM_LENGTH = 3;
+
+	/** The product repository. */
+	private ProductRepository productRepository;
+
+	/**
+	 * Instantiates a new product search trigram service.
+	 *
+	 * @param productRepository the product repository
+	 */
+	public ProductSearchTrigramService(ProductRepository productRepository) {
+		this.productRepository = productRepository;
+	}
+
+	/**
+	 * Search.
+	 *
+	 * @param searchTerm the search term
+	 * @param status the status
+	 * @param pageable the pageable
+	 * @return the slice
+	 */
+	@Override
+	public Slice<Product> search(String searchTerm, List<Integer> status, Pageable pageable) {
+		return productRepository.findByNameLike(pattern(searchTerm), status, pageable);
+	}
+
+	/**
+	 * Search after id.
+	 *
+	 * @param searchTerm the search term
+	 * @param status the status
+	 * @param afterId the last id of the previous page
+	 * @param pageable the pageable
+	 * @return the list
+	 */
+	@Override
+	public List<Product> searchAfterId(String searchTerm, List<Integer> status, Long afterId, Pageable pageable) {
+		return productRepository.findByNameLikeAfterId(pattern(searchTerm), status, afterId, pageable);
+	}
+
+	/**
+	 * Count.
+	 *
+	 * @param searchTerm the search term
+	 * @param status the status
+	 * @return the long
+	 */
+	@Override
+	public long count(String searchTerm, List<Integer> status) {
+		return productRepository.countByNameLike(pattern(searchTerm), status);
+	}
+
+	/**
+	 * Pattern.
+	 *
+	 * @param searchTerm the search term
+	 * @return the lower-cased LIKE pattern, with the wildcards of the term escaped
+	 */
+	static String pattern(String searchTerm) {
+		String term = searchTerm.trim().toLowerCase(Locale.ROOT)
+				.replace("\\", "\\\\")
+				.replace("%", "\\%")
+				.replace("_", "\\_");
+
+		return searchTerm.trim().length() >= TRIGRAM_LENGTH ? "%" + term + "%" : term + "%";
+	}
+
+}
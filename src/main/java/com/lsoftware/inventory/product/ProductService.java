@@ -9,27 +9,28 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.lsoftware.inventory.category.Category;
-import com.lsoftware.inventory.category.CategoryRepository;
+import com.lsoftware.inventory.category.CategoryRegistry;
 import com.lsoftware.inventory.exception.ExceptionInternalServerError;
 import com.lsoftware.inventory.exception.ExceptionObjectNotFound;
 import com.lsoftware.inventory.exception.ExceptionValueNotPermitted;
+import com.lsoftware.inventory.shared.pagination.PaginationCountCache;
 import com.lsoftware.inventory.shared.request.RequestPaginationAndSortDTO;
 import com.lsoftware.inventory.shared.response.ResponsePaginationAndSortDTO;
 import com.lsoftware.inventory.shared.service.ServiceListMethods;
 import com.lsoftware.inventory.shared.service.ServiceMethods;
 import com.lsoftware.inventory.shared.service.ServicePaginatedMethods;
 import com.lsoftware.inventory.shared.status.Status;
+import com.lsoftware.inventory.shared.transaction.TransactionAfterCommit;
 
 /**
  * The Class ProductService.
@@ -51,29 +52,46 @@ public class ProductService implements ServicePaginatedMethods<ProductDTO>, Serv
 	/** The product repository. */
 	private ProductRepository productRepository;
 	
-	/** The model mapper. */
-	private ModelMapper modelMapper;
+	/** The product mapper. */
+	private ProductMapper productMapper;
 	
 	/** The message source. */
 	private MessageSource messageSource;
 	
-	/** The category repository. */
-	CategoryRepository categoryRepository;
+	/** The category registry. */
+	private CategoryRegistry categoryRegistry;
+	
+	/** The product catalog cache. */
+	private ProductCatalogCache productCatalogCache;
+	
+	/** The pagination count cache. */
+	private PaginationCountCache paginationCountCache;
+	
+	/** The product search service. */
+	private ProductSearchService productSearchService;
 	
 	/**
 	 * Instantiates a new category service.
 	 *
 	 * @param productRepository the product repository
-	 * @param modelMapper the model mapper
+	 * @param productMapper the product mapper
 	 * @param messageSource the message source
-	 * @param categoryRepository the category repository
+	 * @param categoryRegistry the category registry
+	 * @param productCatalogCache the product catalog cache
+	 * @param paginationCountCache the pagination count cache
+	 * @param productSearchService the product search service
 	 */
-	public ProductService(ProductRepository productRepository, ModelMapper modelMapper,
-			MessageSource messageSource, CategoryRepository categoryRepository) {
+	public ProductService(ProductRepository productRepository, ProductMapper productMapper,
+			MessageSource messageSource, CategoryRegistry categoryRegistry,
+			ProductCatalogCache productCatalogCache, PaginationCountCache paginationCountCache,
+			ProductSearchService productSearchService) {
 		this.productRepository = productRepository;
-		this.modelMapper = modelMapper;
+		this.productMapper = productMapper;
 		this.messageSource = messageSource;
-		this.categoryRepository = categoryRepository;
+		this.categoryRegistry = categoryRegistry;
+		this.productCatalogCache = productCatalogCache;
+		this.paginationCountCache = paginationCountCache;
+		this.productSearchService = productSearchService;
 	}
 
 	/**
@@ -88,24 +106,21 @@ public class ProductService implements ServicePaginatedMethods<ProductDTO>, Serv
 		LOG.info("method: add");
 		
 		Optional<Product> search = 
-				productRepository.findByNameAndStatus(obj.getName().toUpperCase(), 
+				productCatalogCache.findByName(obj.getName().toUpperCase(), 
 						List.of(Status.ACTIVE.getDigit(), Status.INACTIVE.getDigit()));
 		
 		if (search.isPresent()) throw new ExceptionValueNotPermitted(
 					messageSource.getMessage("error.alreadyExist", new String[] {PRODUCT_TEXT}, LocaleContextHolder.getLocale())
 			);
 		
-		Product product = modelMapper.map(obj, Product.class);
+		Product product = productMapper.toEntity(obj);
 		
 		product.setName(product.getName().toUpperCase());
 		product.setStatus(Status.ACTIVE.getDigit());
 		product.setPrice(new BigDecimal(obj.getPrice()));
 		product.setQuantity(0);
 		
-		Category category = categoryRepository.findAll()
-			.stream()
-			.filter(c -> c.getId() == obj.getCategory().getId())
-			.findAny()
+		Category category = categoryRegistry.findActive(obj.getCategory().getId())
 			.orElseThrow(() -> new ExceptionObjectNotFound(
 					messageSource.getMessage(ERROR_NOT_FOUND_NAME, new String[] {"Product category "}, LocaleContextHolder.getLocale())
 			));
@@ -113,7 +128,9 @@ public class ProductService implements ServicePaginatedMethods<ProductDTO>, Serv
 		product.setCategory(category);
 		
 		Product saved = productRepository.save(product);
-		return modelMapper.map(saved, ProductDTO.class);
+		TransactionAfterCommit.execute(() -> productCatalogCache.evict(saved.getId()));
+		TransactionAfterCommit.execute(() -> paginationCountCache.evict(PRODUCT_TEXT));
+		return productMapper.toDTO(saved);
 	}
 	
 	/**
@@ -137,10 +154,7 @@ public class ProductService implements ServicePaginatedMethods<ProductDTO>, Serv
 		product.setStatus(obj.getStatus());
 		product.setPrice(new BigDecimal(obj.getPrice()));
 		
-		Category category = categoryRepository.findAll()
-				.stream()
-				.filter(c -> c.getId() == obj.getCategory().getId())
-				.findAny()
+		Category category = categoryRegistry.findActive(obj.getCategory().getId())
 				.orElseThrow(() -> new ExceptionObjectNotFound(
 						messageSource.getMessage(ERROR_NOT_FOUND_NAME, new String[] {"Product category "}, LocaleContextHolder.getLocale())
 				));
@@ -148,7 +162,9 @@ public class ProductService implements ServicePaginatedMethods<ProductDTO>, Serv
 		product.setCategory(category);
 		
 		Product saved = productRepository.save(product);
-		return modelMapper.map(saved, ProductDTO.class);
+		TransactionAfterCommit.execute(() -> productCatalogCache.evict(saved.getId()));
+		TransactionAfterCommit.execute(() -> paginationCountCache.evict(PRODUCT_TEXT));
+		return productMapper.toDTO(saved);
 	}
 
 	/**
@@ -176,6 +192,9 @@ public class ProductService implements ServicePaginatedMethods<ProductDTO>, Serv
 		int result = productRepository.setStatusById(Status.DELETED.getDigit(), found.get().getId());
 		if (result < 1) throw new ExceptionInternalServerError(
 				messageSource.getMessage("error.notDeleted", new String[] {PRODUCT_TEXT}, LocaleContextHolder.getLocale()));
+		
+		TransactionAfterCommit.execute(() -> productCatalogCache.evict(id));
+		TransactionAfterCommit.execute(() -> paginationCountCache.evict(PRODUCT_TEXT));
 	}
 
 	/**
@@ -187,9 +206,9 @@ public class ProductService implements ServicePaginatedMethods<ProductDTO>, Serv
 	public List<ProductDTO> list() {
 		LOG.info("method: list");
 		
-		return productRepository.findByStatus(Status.ACTIVE.getDigit())
+		return productCatalogCache.findByStatus(Status.ACTIVE.getDigit())
 				.stream()
-				.map(c -> modelMapper.map(c, ProductDTO.class))
+				.map(productMapper::toDTO)
 				.collect(Collectors.toList());
 	}
 
@@ -203,17 +222,22 @@ public class ProductService implements ServicePaginatedMethods<ProductDTO>, Serv
 	public ResponsePaginationAndSortDTO<ProductDTO> findAll(RequestPaginationAndSortDTO pageAndSort) {
 		LOG.info("method: findAll");
 		
-		Page<Product> results = productRepository
-				.findByStatus(List.of(Status.ACTIVE.getDigit(), Status.INACTIVE.getDigit()), 
-						PageRequest.of(pageAndSort.getPage(), pageAndSort.getSize()));
+		if (pageAndSort.isKeyset()) {
+			List<Product> rows = productRepository.findByStatusAfterId(
+					List.of(Status.ACTIVE.getDigit(), Status.INACTIVE.getDigit()), 
+					pageAndSort.keysetAfterId(), pageAndSort.keysetPageable());
+			return ResponsePaginationAndSortDTO.keyset(rows, pageAndSort.getSize(), Product::getId, 
+					productMapper::toDTO);
+		}
+		
+		List<Integer> status = List.of(Status.ACTIVE.getDigit(), Status.INACTIVE.getDigit());
+		Slice<Product> results = productRepository
+				.findByStatus(status, PageRequest.of(pageAndSort.getPage(), pageAndSort.getSize()));
 		
-		List<ProductDTO> mapped = results.getContent()
-			.stream()
-			.map(c -> modelMapper.map(c, ProductDTO.class))
-			.collect(Collectors.toList());
+		Long total = pageAndSort.isSkipTotals() ? null 
+				: paginationCountCache.count(PRODUCT_TEXT, status, null, () -> productRepository.countByStatus(status));
 		
-		return new ResponsePaginationAndSortDTO<>(mapped, results.getNumber(), 
-						results.getTotalElements(), results.getTotalPages());
+		return ResponsePaginationAndSortDTO.slice(results, total, productMapper::toDTO);
 	}
 
 	/**
@@ -228,19 +252,26 @@ public class ProductService implements ServicePaginatedMethods<ProductDTO>, Serv
 			RequestPaginationAndSortDTO pageAndSort) {
 		LOG.info("method: findByTermContaining");
 		
-		Page<Product> results = productRepository
-				.findByTermsContaining(
+		if (pageAndSort.isKeyset()) {
+			List<Product> rows = productSearchService.searchAfterId(searchTerm, 
+					List.of(Status.ACTIVE.getDigit(), Status.INACTIVE.getDigit()), 
+					pageAndSort.keysetAfterId(), pageAndSort.keysetPageable());
+			return ResponsePaginationAndSortDTO.keyset(rows, pageAndSort.getSize(), Product::getId, 
+					productMapper::toDTO);
+		}
+		
+		List<Integer> status = List.of(Status.ACTIVE.getDigit(), Status.INACTIVE.getDigit());
+		Slice<Product> results = productSearchService
+				.search(
 						searchTerm, 
-						List.of(Status.ACTIVE.getDigit(), Status.INACTIVE.getDigit()), 
+						status, 
 						PageRequest.of(pageAndSort.getPage(), pageAndSort.getSize()));
 		
-		List<ProductDTO> mapped = results.getContent()
-			.stream()
-			.map(c -> modelMapper.map(c, ProductDTO.class))
-			.collect(Collectors.toList());
+		Long total = pageAndSort.isSkipTotals() ? null 
+				: paginationCountCache.count(PRODUCT_TEXT, status, searchTerm, 
+						() -> productSearchService.count(searchTerm, status));
 		
-		return new ResponsePaginationAndSortDTO<>(mapped, results.getNumber(), 
-						results.getTotalElements(), results.getTotalPages());		
+		return ResponsePaginationAndSortDTO.slice(results, total, productMapper::toDTO);
 	}
 	
 }
@@ -0,0 +1,59 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The Class RateLimitBucket.
+ * A token bucket kept as the single instant it will be full again, the
+ * generic cell rate algorithm, so taking a token is one compare and set
+ * without locks nor a refill thread.
+ *
+ * @author Luis Espinosa
+ */
+class RateLimitBucket {
+
+	/** The nanos it takes to get a token back. */
+	private final long intervalNanos;
+
+	/** The nanos it takes to fill the whole bucket. */
+	private final long capacityNanos;
+
+	/** The instant every token taken so far is back. */
+	private final AtomicLong fullAt;
+
+	/**
+	 * Instantiates a new rate limit bucket, full.
+	 *
+	 * @param properties the properties
+	 * @param now the current nano time
+	 */
+	RateLimitBucket(RateLimitProperties properties, long now) {
+		this.intervalNanos = Math.max(1L, Math.round(TimeUnit.SECONDS.toNanos(1) / properties.getRefillPerSecond()));
+		this.capacityNanos = intervalNanos * Math.max(1L, properties.getCapacity());
+		this.fullAt = new AtomicLong(now);
+	}
+
+	/**
+	 * Try acquire.
+	 *
+	 * @param now the current nano time
+	 * @return zero when a token was taken, otherwise the nanos until there is one
+	 */
+	long tryAcquire(long now) {
+		while (true) {
+			long current = fullAt.get();
+			// Compared as a difference, nano times may overflow
+			long next = (current - now > 0 ? current : now) + intervalNanos;
+			long exceeding = next - now - capacityNanos;
+
+			if (exceeding > 0) return exceeding;
+			if (fullAt.compareAndSet(current, next)) return 0L;
+		}
+	}
+
+}
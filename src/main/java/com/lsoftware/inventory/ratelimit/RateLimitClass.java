@@ -0,0 +1,81 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.ratelimit;
+
+/**
+ * The Enum RateLimitClass.
+ * The endpoint classes limited apart, every user has a bucket for each.
+ *
+ * @author Luis Espinosa
+ */
+public enum RateLimitClass {
+
+	/** The reads. */
+	READS("reads"),
+
+	/** The writes. */
+	WRITES("writes"),
+
+	/** The logins, by client address since the username is not verified yet. */
+	LOGINS("logins");
+
+	/** The Constant PAGINATE, the last segment of the listings. */
+	private static final String PAGINATE = "/paginate";
+
+	/** The key used in the configuration. */
+	private final String key;
+
+	/**
+	 * Instantiates a new rate limit class.
+	 *
+	 * @param key the key
+	 */
+	RateLimitClass(String key) {
+		this.key = key;
+	}
+
+	/**
+	 * Gets the key.
+	 *
+	 * @return the key
+	 */
+	public String getKey() {
+		return key;
+	}
+
+	/**
+	 * Of request.
+	 * The listings take their filter in the body, so they are posted to a
+	 * path ending in /paginate, they are still reads.
+	 *
+	 * @param method the http method
+	 * @param path the request path
+	 * @return the reads for the safe methods and the listings, the writes otherwise
+	 */
+	public static RateLimitClass ofRequest(String method, String path) {
+		String trimmed = path != null && path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+		if (trimmed != null && trimmed.endsWith(PAGINATE)) return READS;
+
+		return ofMethod(method);
+	}
+
+	/**
+	 * Of method.
+	 *
+	 * @param method the http method
+	 * @return the reads for the safe methods, the writes otherwise
+	 */
+	public static RateLimitClass ofMethod(String method) {
+		switch (method) {
+			case "GET":
+			case "HEAD":
+			case "OPTIONS":
+				return READS;
+			default:
+				return WRITES;
+		}
+	}
+
+}
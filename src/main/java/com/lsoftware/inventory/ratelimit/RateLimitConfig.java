@@ -0,0 +1,196 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.ratelimit;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * The Class RateLimitConfig.
+ *
+ * @author Luis Espinosa
+ */
+@ConfigurationProperties(prefix = "application.ratelimit")
+@Component
+public class RateLimitConfig {
+
+	/** Whether the requests are limited. */
+	private Boolean enabled = true;
+
+	/** The maximum number of buckets kept for each endpoint class. */
+	private Long bucketsMaximumSize = 100000L;
+
+	/** The seconds an unused bucket is kept, it is created full again afterwards. */
+	private Long bucketsExpirationSeconds = 600L;
+
+	/** The default limit of the reads. */
+	private RateLimitProperties reads = new RateLimitProperties(200L, 100D);
+
+	/** The default limit of the writes. */
+	private RateLimitProperties writes = new RateLimitProperties(50L, 20D);
+
+	/** The default limit of the logins. */
+	private RateLimitProperties logins = new RateLimitProperties(10L, 0.2D);
+
+	/**
+	 * The limits by role name and endpoint class, overriding the defaults. A
+	 * user with several roles gets the most generous one.
+	 */
+	private Map<String, Map<String, RateLimitProperties>> roles = new HashMap<>();
+
+	/**
+	 * Instantiates a new rate limit config.
+	 */
+	public RateLimitConfig() {
+		// Nothing here.
+	}
+
+	/**
+	 * Limit of.
+	 *
+	 * @param limitClass the limit class
+	 * @return the default limit of the endpoint class
+	 */
+	public RateLimitProperties limitOf(RateLimitClass limitClass) {
+		switch (limitClass) {
+			case READS:
+				return reads;
+			case WRITES:
+				return writes;
+			default:
+				return logins;
+		}
+	}
+
+	/**
+	 * Gets the enabled.
+	 *
+	 * @return the enabled
+	 */
+	public Boolean getEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Sets the enabled.
+	 *
+	 * @param enabled the new enabled
+	 */
+	public void setEnabled(Boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Gets the buckets maximum size.
+	 *
+	 * @return the buckets maximum size
+	 */
+	public Long getBucketsMaximumSize() {
+		return bucketsMaximumSize;
+	}
+
+	/**
+	 * Sets the buckets maximum size.
+	 *
+	 * @param bucketsMaximumSize the new buckets maximum size
+	 */
+	public void setBucketsMaximumSize(Long bucketsMaximumSize) {
+		this.bucketsMaximumSize = bucketsMaximumSize;
+	}
+
+	/**
+	 * Gets the buckets expiration seconds.
+	 *
+	 * @return the buckets expiration seconds
+	 */
+	public Long getBucketsExpirationSeconds() {
+		return bucketsExpirationSeconds;
+	}
+
+	/**
+	 * Sets the buckets expiration seconds.
+	 *
+	 * @param bucketsExpirationSeconds the new buckets expiration seconds
+	 */
+	public void setBucketsExpirationSeconds(Long bucketsExpirationSeconds) {
+		this.bucketsExpirationSeconds = bucketsExpirationSeconds;
+	}
+
+	/**
+	 * Gets the reads.
+	 *
+	 * @return the reads
+	 */
+	public RateLimitProperties getReads() {
+		return reads;
+	}
+
+	/**
+	 * Sets the reads.
+	 *
+	 * @param reads the new reads
+	 */
+	public void setReads(RateLimitProperties reads) {
+		this.reads = reads;
+	}
+
+	/**
+	 * Gets the writes.
+	 *
+	 * @return the writes
+	 */
+	public RateLimitProperties getWrites() {
+		return writes;
+	}
+
+	/**
+	 * Sets the writes.
+	 *
+	 * @param writes the new writes
+	 */
+	public void setWrites(RateLimitProperties writes) {
+		this.writes = writes;
+	}
+
+	/**
+	 * Gets the logins.
+	 *
+	 * @return the logins
+	 */
+	public RateLimitProperties getLogins() {
+		return logins;
+	}
+
+	/**
+	 * Sets the logins.
+	 *
+	 * @param logins the new logins
+	 */
+	public void setLogins(RateLimitProperties logins) {
+		this.logins = logins;
+	}
+
+	/**
+	 * Gets the roles.
+	 *
+	 * @return the roles
+	 */
+	public Map<String, Map<String, RateLimitProperties>> getRoles() {
+		return roles;
+	}
+
+	/**
+	 * Sets the roles.
+	 *
+	 * @param roles the new roles
+	 */
+	public void setRoles(Map<String, Map<String, RateLimitProperties>> roles) {
+		this.roles = roles;
+	}
+
+}
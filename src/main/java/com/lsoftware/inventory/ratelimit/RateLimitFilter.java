@@ -0,0 +1,94 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.ratelimit;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lsoftware.inventory.shared.api.ApiCustomResponse;
+
+/**
+ * The Class RateLimitFilter.
+ * Runs once the token is verified and answers 429 when the user has spent
+ * the requests allowed for the endpoint class. Anonymous requests pass, the
+ * rest of the chain refuses them.
+ *
+ * @author Luis Espinosa
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+	/** The Constant LOG. */
+	private static final Logger LOG = LoggerFactory.getLogger(RateLimitFilter.class);
+
+	/** The rate limiter. */
+	private final RateLimiter rateLimiter;
+
+	/** The object mapper. */
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * Instantiates a new rate limit filter.
+	 *
+	 * @param rateLimiter the rate limiter
+	 * @param objectMapper the object mapper
+	 */
+	public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+		this.rateLimiter = rateLimiter;
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Do filter internal.
+	 *
+	 * @param request the request
+	 * @param response the response
+	 * @param filterChain the filter chain
+	 * @throws ServletException the servlet exception
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication == null || !authentication.isAuthenticated()) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+
+		long waitNanos = rateLimiter.tryAcquire(RateLimitClass.ofRequest(request.getMethod(), request.getRequestURI()),
+				authentication.getName(), authentication.getAuthorities());
+		if (waitNanos == 0) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+
+		LOG.debug("proccess: rate limited {}", authentication.getName());
+
+		ApiCustomResponse error = new ApiCustomResponse.ApiResponseBuilder(HttpStatus.TOO_MANY_REQUESTS.value())
+				.message(HttpStatus.TOO_MANY_REQUESTS.name())
+				.path(request.getRequestURI())
+				.build();
+
+		response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(RateLimiter.retryAfterSeconds(waitNanos)));
+		response.setContentType("application/json; charset=UTF-8");
+		response.getWriter().print(objectMapper.writeValueAsString(error));
+		response.getWriter().flush();
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.ratelimit;
+
+/**
+ * The Class RateLimitProperties.
+ * The size of a bucket and the tokens it gets back every second.
+ *
+ * @author Luis Espinosa
+ */
+public class RateLimitProperties {
+
+	/** The requests allowed in a burst. */
+	private Long capacity;
+
+	/** The requests allowed every second once the burst is spent. */
+	private Double refillPerSecond;
+
+	/**
+	 * Instantiates a new rate limit properties.
+	 */
+	public RateLimitProperties() {
+		// Nothing here.
+	}
+
+	/**
+	 * Instantiates a new rate limit properties.
+	 *
+	 * @param capacity the capacity
+	 * @param refillPerSecond the refill per second
+	 */
+	public RateLimitProperties(Long capacity, Double refillPerSecond) {
+		this.capacity = capacity;
+		this.refillPerSecond = refillPerSecond;
+	}
+
+	/**
+	 * Gets the capacity.
+	 *
+	 * @return the capacity
+	 */
+	public Long getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Sets the capacity.
+	 *
+	 * @param capacity the new capacity
+	 */
+	public void setCapacity(Long capacity) {
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Gets the refill per second.
+	 *
+	 * @return the refill per second
+	 */
+	public Double getRefillPerSecond() {
+		return refillPerSecond;
+	}
+
+	/**
+	 * Sets the refill per second.
+	 *
+	 * @param refillPerSecond the new refill per second
+	 */
+	public void setRefillPerSecond(Double refillPerSecond) {
+		this.refillPerSecond = refillPerSecond;
+	}
+
+}
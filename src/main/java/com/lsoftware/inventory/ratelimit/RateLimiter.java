@@ -0,0 +1,167 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.ratelimit;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.lsoftware.inventory.metrics.MetricsProvider;
+
+/**
+ * The Class RateLimiter.
+ * Keeps a token bucket by user and endpoint class. The limit of a bucket is
+ * resolved from the roles once, when it is created, so a request only looks
+ * the bucket up and takes a token.
+ *
+ * @author Luis Espinosa
+ */
+@Component
+public class RateLimiter implements MetricsProvider {
+
+	/** The Constant ROLE_PREFIX. */
+	private static final String ROLE_PREFIX = "ROLE_";
+
+	/** The rate limit config. */
+	private final RateLimitConfig rateLimitConfig;
+
+	/** The buckets by endpoint class and username. */
+	private final Map<RateLimitClass, Cache<String, RateLimitBucket>> buckets = new EnumMap<>(RateLimitClass.class);
+
+	/** The allowed. */
+	private final LongAdder allowed = new LongAdder();
+
+	/** The limited. */
+	private final LongAdder limited = new LongAdder();
+
+	/**
+	 * Instantiates a new rate limiter.
+	 *
+	 * @param rateLimitConfig the rate limit config
+	 */
+	public RateLimiter(RateLimitConfig rateLimitConfig) {
+		this.rateLimitConfig = rateLimitConfig;
+		for (RateLimitClass limitClass : RateLimitClass.values()) {
+			buckets.put(limitClass, CacheBuilder.newBuilder()
+					.maximumSize(rateLimitConfig.getBucketsMaximumSize())
+					.expireAfterAccess(rateLimitConfig.getBucketsExpirationSeconds(), TimeUnit.SECONDS)
+					.build());
+		}
+	}
+
+	/**
+	 * Try acquire.
+	 *
+	 * @param limitClass the endpoint class
+	 * @param username the username, the client address for the logins
+	 * @param authorities the authorities, empty before the user is authenticated
+	 * @return zero when the request is allowed, otherwise the nanos until it would be
+	 */
+	public long tryAcquire(RateLimitClass limitClass, String username,
+			Collection<? extends GrantedAuthority> authorities) {
+		return tryAcquire(limitClass, username, authorities, System.nanoTime());
+	}
+
+	/**
+	 * Try acquire.
+	 *
+	 * @param limitClass the endpoint class
+	 * @param username the username
+	 * @param authorities the authorities
+	 * @param now the current nano time
+	 * @return zero when the request is allowed, otherwise the nanos until it would be
+	 */
+	long tryAcquire(RateLimitClass limitClass, String username,
+			Collection<? extends GrantedAuthority> authorities, long now) {
+		if (!rateLimitConfig.getEnabled() || username == null) return 0L;
+
+		// Usernames are stored in upper case, a lower case login is the same user
+		String key = username.toUpperCase(Locale.ROOT);
+		Cache<String, RateLimitBucket> classBuckets = buckets.get(limitClass);
+
+		RateLimitBucket bucket = classBuckets.getIfPresent(key);
+		if (bucket == null) {
+			bucket = classBuckets.asMap().computeIfAbsent(key,
+					k -> new RateLimitBucket(limitOf(limitClass, authorities), now));
+		}
+
+		long waitNanos = bucket.tryAcquire(now);
+		if (waitNanos > 0) {
+			limited.increment();
+		} else {
+			allowed.increment();
+		}
+		return waitNanos;
+	}
+
+	/**
+	 * Retry after seconds.
+	 *
+	 * @param waitNanos the nanos until a request is allowed
+	 * @return the seconds, rounded up
+	 */
+	public static long retryAfterSeconds(long waitNanos) {
+		long second = TimeUnit.SECONDS.toNanos(1);
+		return Math.max(1L, (waitNanos + second - 1) / second);
+	}
+
+	/**
+	 * Limit of.
+	 *
+	 * @param limitClass the limit class
+	 * @param authorities the authorities
+	 * @return the most generous limit of the roles, the default when none has one
+	 */
+	private RateLimitProperties limitOf(RateLimitClass limitClass, Collection<? extends GrantedAuthority> authorities) {
+		RateLimitProperties limit = null;
+		for (GrantedAuthority authority : authorities) {
+			String name = authority.getAuthority();
+			if (name == null || !name.startsWith(ROLE_PREFIX)) continue;
+
+			Map<String, RateLimitProperties> roleLimits = rateLimitConfig.getRoles().get(name.substring(ROLE_PREFIX.length()));
+			RateLimitProperties roleLimit = roleLimits == null ? null : roleLimits.get(limitClass.getKey());
+			if (roleLimit != null && (limit == null || roleLimit.getRefillPerSecond() > limit.getRefillPerSecond())) {
+				limit = roleLimit;
+			}
+		}
+		return limit != null ? limit : rateLimitConfig.limitOf(limitClass);
+	}
+
+	/**
+	 * Gets the metrics name.
+	 *
+	 * @return the metrics name
+	 */
+	@Override
+	public String getMetricsName() {
+		return "rateLimiter";
+	}
+
+	/**
+	 * Gets the metrics.
+	 *
+	 * @return the metrics
+	 */
+	@Override
+	public Map<String, Long> getMetrics() {
+		Map<String, Long> metrics = new LinkedHashMap<>();
+		metrics.put("allowed", allowed.sum());
+		metrics.put("limited", limited.sum());
+		for (RateLimitClass limitClass : RateLimitClass.values()) {
+			metrics.put(limitClass.getKey() + "Buckets", buckets.get(limitClass).size());
+		}
+		return metrics;
+	}
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.revocation;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * The Class RevocationConfig.
+ *
+ * @author Luis Espinosa
+ */
+@ConfigurationProperties(prefix = "application.revocation")
+@Component
+public class RevocationConfig {
+
+	/** The revoked tokens the Bloom filter is sized for, it grows past them. */
+	private Long expectedTokens = 100000L;
+
+	/** The false positive rate of the Bloom filter. */
+	private Double falsePositiveRate = 0.001;
+
+	/** The seconds between two reloads of the revocations of other instances. */
+	private Long reloadIntervalSeconds = 5L;
+
+	/**
+	 * The seconds every reload reads again before the previous one. A
+	 * revocation may commit after a later one, or come from an instance
+	 * whose clock is behind.
+	 */
+	private Long reloadOverlapSeconds = 60L;
+
+	/** The maximum number of Bloom filter positives kept once confirmed. */
+	private Long confirmationCacheMaximumSize = 10000L;
+
+	/**
+	 * Instantiates a new revocation config.
+	 */
+	public RevocationConfig() {
+		// Nothing here.
+	}
+
+	/**
+	 * Gets the expected tokens.
+	 *
+	 * @return the expected tokens
+	 */
+	public Long getExpectedTokens() {
+		return expectedTokens;
+	}
+
+	/**
+	 * Sets the expected tokens.
+	 *
+	 * @param expectedTokens the new expected tokens
+	 */
+	public void setExpectedTokens(Long expectedTokens) {
+		this.expectedTokens = expectedTokens;
+	}
+
+	/**
+	 * Gets the false positive rate.
+	 *
+	 * @return the false positive rate
+	 */
+	public Double getFalsePositiveRate() {
+		return falsePositiveRate;
+	}
+
+	/**
+	 * Sets the false positive rate.
+	 *
+	 * @param falsePositiveRate the new false positive rate
+	 */
+	public void setFalsePositiveRate(Double falsePositiveRate) {
+		this.falsePositiveRate = falsePositiveRate;
+	}
+
+	/**
+	 * Gets the reload interval seconds.
+	 *
+	 * @return the reload interval seconds
+	 */
+	public Long getReloadIntervalSeconds() {
+		return reloadIntervalSeconds;
+	}
+
+	/**
+	 * Sets the reload interval seconds.
+	 *
+	 * @param reloadIntervalSeconds the new reload interval seconds
+	 */
+	public void setReloadIntervalSeconds(Long reloadIntervalSeconds) {
+		this.reloadIntervalSeconds = reloadIntervalSeconds;
+	}
+
+	/**
+	 * Gets the reload overlap seconds.
+	 *
+	 * @return the reload overlap seconds
+	 */
+	public Long getReloadOverlapSeconds() {
+		return reloadOverlapSeconds;
+	}
+
+	/**
+	 * Sets the reload overlap seconds.
+	 *
+	 * @param reloadOverlapSeconds the new reload overlap seconds
+	 */
+	public void setReloadOverlapSeconds(Long reloadOverlapSeconds) {
+		this.reloadOverlapSeconds = reloadOverlapSeconds;
+	}
+
+	/**
+	 * Gets the confirmation cache maximum size.
+	 *
+	 * @return the confirmation cache maximum size
+	 */
+	public Long getConfirmationCacheMaximumSize() {
+		return confirmationCacheMaximumSize;
+	}
+
+	/**
+	 * Sets the confirmation cache maximum size.
+	 *
+	 * @param confirmationCacheMaximumSize the new confirmation cache maximum size
+	 */
+	public void setConfirmationCacheMaximumSize(Long confirmationCacheMaximumSize) {
+		this.confirmationCacheMaximumSize = confirmationCacheMaximumSize;
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.revocation;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.lsoftware.inventory.shared.api.ApiCustomResponse;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+/**
+ * The Class RevocationController.
+ *
+ * @author Luis Espinosa
+ */
+@RestController
+@RequestMapping("/api/v1/revocations")
+public class RevocationController {
+
+	/** The Constant LOG. */
+	private static final Logger LOG = LoggerFactory.getLogger(RevocationController.class);
+
+	/** The revocation service. */
+	private RevocationService revocationService;
+
+	/**
+	 * Instantiates a new revocation controller.
+	 *
+	 * @param revocationService the revocation service
+	 */
+	public RevocationController(RevocationService revocationService) {
+		this.revocationService = revocationService;
+	}
+
+	/**
+	 * Revoke token.
+	 *
+	 * @param tokenId the token id
+	 * @return the response entity
+	 */
+	@PreAuthorize("hasAuthority('ROLE_ADMIN')")
+	@Operation(summary = "Revoke a single token by its id")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Revoke the token", content = {
+			@Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiCustomResponse.class)) }) })
+	@PostMapping("/tokens/{tokenId}")
+	public ResponseEntity<ApiCustomResponse> revokeToken(@PathVariable("tokenId") @NotBlank @Size(max = 36) String tokenId) {
+		LOG.info("method: revokeToken");
+
+		revocationService.revokeToken(tokenId);
+		ApiCustomResponse response = new ApiCustomResponse.ApiResponseBuilder(200).message("Token revoked").build();
+
+		return ResponseEntity.ok(response);
+	}
+
+	/**
+	 * Revoke user.
+	 *
+	 * @param username the username
+	 * @return the response entity
+	 */
+	@PreAuthorize("hasAuthority('ROLE_ADMIN')")
+	@Operation(summary = "Revoke every token issued so far to a user")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Revoke the tokens of the user", content = {
+			@Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiCustomResponse.class)) }) })
+	@PostMapping("/users/{username}")
+	public ResponseEntity<ApiCustomResponse> revokeUser(@PathVariable("username") @NotBlank @Size(max = 50) String username) {
+		LOG.info("method: revokeUser");
+
+		revocationService.revokeUser(username);
+		ApiCustomResponse response = new ApiCustomResponse.ApiResponseBuilder(200).message("User tokens revoked").build();
+
+		return ResponseEntity.ok(response);
+	}
+
+}
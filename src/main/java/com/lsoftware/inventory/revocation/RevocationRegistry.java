@@ -0,0 +1,253 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.revocation;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.lsoftware.inventory.metrics.MetricsProvider;
+
+/**
+ * The Class RevocationRegistry.
+ * Answers whether a token was revoked without a query in the common case.
+ * Revoked token ids go into a Bloom filter, only its positives are confirmed
+ * against the database. Users revoked as a whole are few and kept exactly.
+ * Every instance reloads only the rows created since its last reload, and
+ * a window before it, ids are taken at insert and a revocation can commit
+ * after a later one. The whole list is read again when the filter has to
+ * grow.
+ *
+ * @author Luis Espinosa
+ */
+@Component
+public class RevocationRegistry implements MetricsProvider {
+
+	/** The Constant LOG. */
+	private static final Logger LOG = LoggerFactory.getLogger(RevocationRegistry.class);
+
+	/** The revoked token repository. */
+	private final RevokedTokenRepository revokedTokenRepository;
+
+	/** The revocation config. */
+	private final RevocationConfig revocationConfig;
+
+	/** The reloading lock, a request never waits for another one to reload. */
+	private final ReentrantLock reloading = new ReentrantLock();
+
+	/** The revoked token ids. */
+	private volatile BloomFilter<CharSequence> tokenIds;
+
+	/** The token ids the filter is sized for. */
+	private volatile long capacity;
+
+	/**
+	 * The not before of the revoked users in milliseconds, by upper-cased
+	 * username. Whole seconds, as the issued at of the tokens.
+	 */
+	private volatile Map<String, Long> notBefore = new ConcurrentHashMap<>();
+
+	/** The Bloom filter positives already confirmed. */
+	private final Cache<String, Boolean> confirmed;
+
+	/** The reload overlap. */
+	private final Duration reloadOverlap;
+
+	/** The moment the last reload started. */
+	private volatile Instant loadedUntil = Instant.EPOCH;
+
+	/** The last reload in milliseconds. */
+	private volatile long lastReload;
+
+	/** The Bloom filter positives. */
+	private final LongAdder positives = new LongAdder();
+
+	/** The Bloom filter false positives. */
+	private final LongAdder falsePositives = new LongAdder();
+
+	/** The reloads. */
+	private final LongAdder reloads = new LongAdder();
+
+	/**
+	 * Instantiates a new revocation registry.
+	 *
+	 * @param revokedTokenRepository the revoked token repository
+	 * @param revocationConfig the revocation config
+	 */
+	public RevocationRegistry(RevokedTokenRepository revokedTokenRepository, RevocationConfig revocationConfig) {
+		this.revokedTokenRepository = revokedTokenRepository;
+		this.revocationConfig = revocationConfig;
+		this.capacity = revocationConfig.getExpectedTokens();
+		this.reloadOverlap = Duration.ofSeconds(revocationConfig.getReloadOverlapSeconds());
+		this.tokenIds = newFilter(capacity);
+		this.confirmed = CacheBuilder.newBuilder()
+				.maximumSize(revocationConfig.getConfirmationCacheMaximumSize())
+				.build();
+	}
+
+	/**
+	 * Checks if is revoked.
+	 *
+	 * @param tokenId the token id, null for tokens issued without one
+	 * @param username the username
+	 * @param issuedAt the issued at in milliseconds
+	 * @return true, if is revoked
+	 */
+	public boolean isRevoked(String tokenId, String username, long issuedAt) {
+		reloadIfStale();
+
+		if (username != null) {
+			Long revokedBefore = notBefore.get(username.toUpperCase(Locale.ROOT));
+			if (revokedBefore != null && issuedAt < revokedBefore) return true;
+		}
+
+		if (tokenId == null || !tokenIds.mightContain(tokenId)) return false;
+
+		positives.increment();
+		boolean revoked = confirmed.asMap().computeIfAbsent(tokenId, revokedTokenRepository::existsByTokenId);
+		if (!revoked) falsePositives.increment();
+		return revoked;
+	}
+
+	/**
+	 * Reload.
+	 * Must run once a revocation has committed.
+	 */
+	public void reload() {
+		reloading.lock();
+		try {
+			load();
+		} finally {
+			reloading.unlock();
+		}
+	}
+
+	/**
+	 * Reload if stale.
+	 */
+	private void reloadIfStale() {
+		long interval = TimeUnit.SECONDS.toMillis(revocationConfig.getReloadIntervalSeconds());
+		if (System.currentTimeMillis() - lastReload < interval || !reloading.tryLock()) return;
+
+		try {
+			if (System.currentTimeMillis() - lastReload >= interval) load();
+		} finally {
+			reloading.unlock();
+		}
+	}
+
+	/**
+	 * Load.
+	 * Runs holding the reloading lock.
+	 */
+	private void load() {
+		Instant started = Instant.now();
+		List<RevokedToken> added = revokedTokenRepository.findByCreatedAtAfter(loadedUntil.minus(reloadOverlap));
+		reloads.increment();
+
+		for (RevokedToken revoked : added) apply(tokenIds, notBefore, revoked);
+
+		if (tokenIds.approximateElementCount() > capacity) rebuild();
+		loadedUntil = started;
+		lastReload = System.currentTimeMillis();
+	}
+
+	/**
+	 * Rebuild.
+	 * A Bloom filter can not drop entries nor grow, a new one twice as large
+	 * is filled with the revocations still in force. The users are swapped
+	 * in whole too, a check never sees them half filled.
+	 */
+	private void rebuild() {
+		List<RevokedToken> active = revokedTokenRepository.findByExpiresAtAfter(Instant.now());
+		long size = Math.max(revocationConfig.getExpectedTokens(), active.size() * 2L);
+		LOG.info("proccess: rebuilding the revocation filter for {} tokens", size);
+
+		BloomFilter<CharSequence> rebuilt = newFilter(size);
+		Map<String, Long> users = new ConcurrentHashMap<>();
+		for (RevokedToken revoked : active) apply(rebuilt, users, revoked);
+
+		capacity = size;
+		tokenIds = rebuilt;
+		notBefore = users;
+	}
+
+	/**
+	 * Apply.
+	 *
+	 * @param filter the filter
+	 * @param users the not before by user
+	 * @param revoked the revoked
+	 */
+	private void apply(BloomFilter<CharSequence> filter, Map<String, Long> users, RevokedToken revoked) {
+		if (revoked.getTokenId() != null) {
+			filter.put(revoked.getTokenId());
+			// It may have been confirmed as a false positive before
+			confirmed.invalidate(revoked.getTokenId());
+		}
+
+		if (revoked.getUsername() != null && revoked.getNotBefore() != null) {
+			// The issued at has no milliseconds, a token of the same second is issued after it
+			users.merge(revoked.getUsername().toUpperCase(Locale.ROOT),
+					revoked.getNotBefore().truncatedTo(ChronoUnit.SECONDS).toEpochMilli(), Math::max);
+		}
+	}
+
+	/**
+	 * New filter.
+	 *
+	 * @param size the size
+	 * @return the bloom filter
+	 */
+	private BloomFilter<CharSequence> newFilter(long size) {
+		return BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), size,
+				revocationConfig.getFalsePositiveRate());
+	}
+
+	/**
+	 * Gets the metrics name.
+	 *
+	 * @return the metrics name
+	 */
+	@Override
+	public String getMetricsName() {
+		return "tokenRevocations";
+	}
+
+	/**
+	 * Gets the metrics.
+	 *
+	 * @return the metrics
+	 */
+	@Override
+	public Map<String, Long> getMetrics() {
+		Map<String, Long> metrics = new LinkedHashMap<>();
+		metrics.put("tokens", tokenIds.approximateElementCount());
+		metrics.put("capacity", capacity);
+		metrics.put("users", (long) notBefore.size());
+		metrics.put("positives", positives.sum());
+		metrics.put("falsePositives", falsePositives.sum());
+		metrics.put("reloads", reloads.sum());
+		return metrics;
+	}
+
+}
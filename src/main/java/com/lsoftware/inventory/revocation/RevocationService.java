@@ -0,0 +1,104 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.revocation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.lsoftware.inventory.jwt.JWTConfig;
+import com.lsoftware.inventory.shared.transaction.TransactionAfterCommit;
+
+/**
+ * The Class RevocationService.
+ *
+ * @author Luis Espinosa
+ */
+@Service
+public class RevocationService {
+
+	/** The Constant LOG. */
+	private static final Logger LOG = LoggerFactory.getLogger(RevocationService.class);
+
+	/** The revoked token repository. */
+	private RevokedTokenRepository revokedTokenRepository;
+
+	/** The revocation registry. */
+	private RevocationRegistry revocationRegistry;
+
+	/** The jwt config. */
+	private JWTConfig jwtConfig;
+
+	/**
+	 * Instantiates a new revocation service.
+	 *
+	 * @param revokedTokenRepository the revoked token repository
+	 * @param revocationRegistry the revocation registry
+	 * @param jwtConfig the jwt config
+	 */
+	public RevocationService(RevokedTokenRepository revokedTokenRepository, RevocationRegistry revocationRegistry,
+			JWTConfig jwtConfig) {
+		this.revokedTokenRepository = revokedTokenRepository;
+		this.revocationRegistry = revocationRegistry;
+		this.jwtConfig = jwtConfig;
+	}
+
+	/**
+	 * Revoke token.
+	 *
+	 * @param tokenId the token id
+	 */
+	@Transactional
+	public void revokeToken(String tokenId) {
+		LOG.info("method: revokeToken");
+
+		Instant now = Instant.now();
+		save(new RevokedToken(null, tokenId, null, null, now.plus(tokenLifetime()), null), now);
+	}
+
+	/**
+	 * Revoke user.
+	 * Every token of the user issued until now is revoked, the next login
+	 * issues a valid one.
+	 *
+	 * @param username the username
+	 */
+	@Transactional
+	public void revokeUser(String username) {
+		LOG.info("method: revokeUser");
+
+		Instant now = Instant.now();
+		save(new RevokedToken(null, null, username.toUpperCase(Locale.ROOT), now, now.plus(tokenLifetime()), null), now);
+	}
+
+	/**
+	 * Save.
+	 * Drops the revocations whose tokens have all expired on the way.
+	 *
+	 * @param revoked the revoked
+	 * @param now the now
+	 */
+	private void save(RevokedToken revoked, Instant now) {
+		revokedTokenRepository.deleteByExpiresAtBefore(now);
+		revokedTokenRepository.save(revoked);
+		TransactionAfterCommit.execute(revocationRegistry::reload);
+	}
+
+	/**
+	 * Token lifetime.
+	 *
+	 * @return the token lifetime
+	 */
+	private Duration tokenLifetime() {
+		// Tokens expire at the start of a day, one more covers the rounding
+		return Duration.ofDays(jwtConfig.getTokenExpirationAfterDays() + 1L);
+	}
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.revocation;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Instantiates a new revoked token.
+ * Either a single token, by its id, or every token of a user issued before
+ * a moment.
+ *
+ * @author Luis Espinosa
+ *
+ * @param id the id
+ * @param tokenId the token id
+ * @param username the username
+ * @param notBefore the not before
+ * @param expiresAt the expires at
+ * @param createdAt the created at
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+		@Index(name = "revoked_tokens_created_at_idx", columnList = "rev_created_at") })
+public class RevokedToken implements Serializable {
+
+	/** The Constant serialVersionUID. */
+	private static final long serialVersionUID = 1L;
+
+	/** The id. */
+	@Id
+	@Column(name = "rev_id")
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	/** The token id, the jti claim, null for a user revocation. */
+	@Column(name = "rev_token_id")
+	private String tokenId;
+
+	/** The username, null for a token revocation. */
+	@Column(name = "rev_username")
+	private String username;
+
+	/** The tokens of the user issued before it are revoked. */
+	@Column(name = "rev_not_before")
+	private Instant notBefore;
+
+	/** The moment every token it revokes has expired anyway. */
+	@Column(name = "rev_expires_at")
+	private Instant expiresAt;
+
+	/** The created at, every instance reloads the rows created since its last reload. */
+	@Column(name = "rev_created_at", updatable = false)
+	@CreationTimestamp
+	private Instant createdAt;
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.revocation;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * The Interface RevokedTokenRepository.
+ *
+ * @author Luis Espinosa
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+	/**
+	 * Find by created at after.
+	 *
+	 * @param since the moment of the last reload, less the overlap
+	 * @return the revocations added since
+	 */
+	@Query("SELECT r FROM RevokedToken r WHERE r.createdAt > ?1 ORDER BY r.id ASC")
+	List<RevokedToken> findByCreatedAtAfter(Instant since); // Incremental reload
+
+	/**
+	 * Find by expires at after.
+	 *
+	 * @param now the now
+	 * @return the revocations still in force
+	 */
+	@Query("SELECT r FROM RevokedToken r WHERE r.expiresAt > ?1 ORDER BY r.id ASC")
+	List<RevokedToken> findByExpiresAtAfter(Instant now); // Full reload
+
+	/**
+	 * Exists by token id.
+	 *
+	 * @param tokenId the token id
+	 * @return true, if the token was revoked
+	 */
+	boolean existsByTokenId(String tokenId); // Bloom filter positives
+
+	/**
+	 * Delete by expires at before.
+	 *
+	 * @param now the now
+	 * @return the int
+	 */
+	@Modifying
+	@Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= ?1")
+	int deleteByExpiresAtBefore(Instant now);
+
+}
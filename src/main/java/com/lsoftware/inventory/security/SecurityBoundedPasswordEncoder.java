@@ -0,0 +1,208 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.security;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.lsoftware.inventory.exception.ExceptionServiceUnavailable;
+import com.lsoftware.inventory.metrics.MetricsProvider;
+
+/**
+ * The Class SecurityBoundedPasswordEncoder.
+ * Runs every hash of the delegate on a small dedicated pool, so a burst of
+ * logins takes at most the threads of the pool out of the CPU. When the pool
+ * and its queue are full the hash is refused at once with an
+ * ExceptionServiceUnavailable instead of piling up request threads.
+ *
+ * @author Luis Espinosa
+ */
+public class SecurityBoundedPasswordEncoder implements PasswordEncoder, MetricsProvider {
+
+	/** The Constant LOG. */
+	private static final Logger LOG = LoggerFactory.getLogger(SecurityBoundedPasswordEncoder.class);
+
+	/** The Constant SATURATED_MESSAGE. */
+	private static final String SATURATED_MESSAGE = "Password hashing is saturated";
+
+	/** The delegate. */
+	private final PasswordEncoder delegate;
+
+	/** The executor. */
+	private final ThreadPoolExecutor executor;
+
+	/** The wait timeout seconds. */
+	private final long waitTimeoutSeconds;
+
+	/** The retry after seconds. */
+	private final long retryAfterSeconds;
+
+	/** The hashes done. */
+	private final LongAdder hashes = new LongAdder();
+
+	/** The nanoseconds spent hashing. */
+	private final LongAdder hashNanos = new LongAdder();
+
+	/** The slowest hash in nanoseconds. */
+	private final LongAccumulator maxHashNanos = new LongAccumulator(Math::max, 0);
+
+	/** The hashes refused. */
+	private final LongAdder rejected = new LongAdder();
+
+	/**
+	 * Instantiates a new security bounded password encoder.
+	 *
+	 * @param delegate the delegate
+	 * @param config the config
+	 */
+	public SecurityBoundedPasswordEncoder(PasswordEncoder delegate, SecurityPasswordPoolConfig config) {
+		this.delegate = delegate;
+		this.waitTimeoutSeconds = config.getWaitTimeoutSeconds();
+		this.retryAfterSeconds = config.getRetryAfterSeconds();
+
+		AtomicInteger threads = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(config.getPoolSize(), config.getPoolSize(), 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(config.getQueueCapacity()),
+				runnable -> {
+					Thread thread = new Thread(runnable, "password-hash-" + threads.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				},
+				new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	/**
+	 * Encode.
+	 *
+	 * @param rawPassword the raw password
+	 * @return the string
+	 */
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return hash(() -> delegate.encode(rawPassword));
+	}
+
+	/**
+	 * Matches.
+	 *
+	 * @param rawPassword the raw password
+	 * @param encodedPassword the encoded password
+	 * @return true, if successful
+	 */
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return hash(() -> delegate.matches(rawPassword, encodedPassword));
+	}
+
+	/**
+	 * Upgrade encoding.
+	 * No hash is computed, it runs on the caller thread.
+	 *
+	 * @param encodedPassword the encoded password
+	 * @return true, if successful
+	 */
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+
+	/**
+	 * Hash.
+	 *
+	 * @param <T> the generic type
+	 * @param work the work
+	 * @return the t
+	 */
+	private <T> T hash(Callable<T> work) {
+		Future<T> future;
+		try {
+			future = executor.submit(() -> {
+				long start = System.nanoTime();
+				try {
+					return work.call();
+				} finally {
+					long elapsed = System.nanoTime() - start;
+					hashes.increment();
+					hashNanos.add(elapsed);
+					maxHashNanos.accumulate(elapsed);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			rejected.increment();
+			throw new ExceptionServiceUnavailable(SATURATED_MESSAGE, retryAfterSeconds);
+		}
+
+		try {
+			return future.get(waitTimeoutSeconds, TimeUnit.SECONDS);
+		} catch (TimeoutException e) {
+			future.cancel(true);
+			rejected.increment();
+			throw new ExceptionServiceUnavailable(SATURATED_MESSAGE, retryAfterSeconds);
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new ExceptionServiceUnavailable(SATURATED_MESSAGE, retryAfterSeconds);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	/**
+	 * Shutdown.
+	 */
+	@PreDestroy
+	public void shutdown() {
+		LOG.debug("proccess: stopping the password hashing pool");
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Gets the metrics name.
+	 *
+	 * @return the metrics name
+	 */
+	@Override
+	public String getMetricsName() {
+		return "passwordHashing";
+	}
+
+	/**
+	 * Gets the metrics.
+	 *
+	 * @return the metrics
+	 */
+	@Override
+	public Map<String, Long> getMetrics() {
+		long done = hashes.sum();
+
+		Map<String, Long> metrics = new LinkedHashMap<>();
+		metrics.put("active", (long) executor.getActiveCount());
+		metrics.put("queued", (long) executor.getQueue().size());
+		metrics.put("hashes", done);
+		metrics.put("rejected", rejected.sum());
+		metrics.put("averageHashMicros", done > 0 ? TimeUnit.NANOSECONDS.toMicros(hashNanos.sum() / done) : 0L);
+		metrics.put("maxHashMicros", TimeUnit.NANOSECONDS.toMicros(maxHashNanos.get()));
+		return metrics;
+	}
+
+}
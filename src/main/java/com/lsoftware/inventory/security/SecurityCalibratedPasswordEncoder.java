@@ -0,0 +1,158 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.security;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * The Class SecurityCalibratedPasswordEncoder.
+ * A BCrypt encoder whose cost is measured on the node at startup, it asks
+ * for a re-hash only of a BCrypt hash stored below its floor, so nodes that
+ * calibrate to different costs never re-hash each other's passwords back
+ * and forth and a stored cost only ever goes up.
+ *
+ * @author Luis Espinosa
+ */
+public class SecurityCalibratedPasswordEncoder extends BCryptPasswordEncoder {
+
+	/** The Constant LOG. */
+	private static final Logger LOG = LoggerFactory.getLogger(SecurityCalibratedPasswordEncoder.class);
+
+	/** The Constant BCRYPT_HASH, the second group is the cost. */
+	private static final Pattern BCRYPT_HASH = Pattern.compile("\\A\\$2(a|y|b)?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
+	/** The Constant PROBE_STRENGTH, cheap enough to time at startup. */
+	private static final int PROBE_STRENGTH = 8;
+
+	/** The Constant PROBE_ROUNDS. */
+	private static final int PROBE_ROUNDS = 3;
+
+	/** The Constant UPGRADE_MARGIN, the calibrated costs a stored hash may lag behind. */
+	private static final int UPGRADE_MARGIN = 1;
+
+	/** The strength. */
+	private final int strength;
+
+	/** The lowest stored cost kept as it is. */
+	private final int upgradeFloor;
+
+	/**
+	 * Instantiates a new security calibrated password encoder.
+	 *
+	 * @param strength the strength
+	 */
+	public SecurityCalibratedPasswordEncoder(int strength) {
+		this(strength, strength);
+	}
+
+	/**
+	 * Instantiates a new security calibrated password encoder.
+	 *
+	 * @param strength the strength
+	 * @param upgradeFloor the lowest stored cost kept as it is
+	 */
+	public SecurityCalibratedPasswordEncoder(int strength, int upgradeFloor) {
+		super(strength);
+		this.strength = strength;
+		this.upgradeFloor = upgradeFloor;
+	}
+
+	/**
+	 * Calibrated.
+	 *
+	 * @param config the config
+	 * @return the encoder with the configured strength, or the calibrated one
+	 *         which keeps the hashes within its margin and the minimum
+	 */
+	public static SecurityCalibratedPasswordEncoder calibrated(SecurityPasswordHashConfig config) {
+		if (config.getStrength() != null) return new SecurityCalibratedPasswordEncoder(config.getStrength());
+
+		int strength = calibrate(config.getTargetMillis(), config.getMinimumStrength(), config.getMaximumStrength(),
+				probeNanos());
+		LOG.info("proccess: BCrypt strength calibrated to {} for a target of {} ms", strength, config.getTargetMillis());
+		return new SecurityCalibratedPasswordEncoder(strength,
+				Math.max(config.getMinimumStrength(), strength - UPGRADE_MARGIN));
+	}
+
+	/**
+	 * Calibrate.
+	 * Every extra unit of cost doubles the work of a hash.
+	 *
+	 * @param targetMillis the target millis
+	 * @param minimumStrength the minimum strength
+	 * @param maximumStrength the maximum strength
+	 * @param probeNanos the nanoseconds of a hash with the probe strength
+	 * @return the highest strength within bounds whose hash fits the target
+	 */
+	static int calibrate(long targetMillis, int minimumStrength, int maximumStrength, long probeNanos) {
+		long targetNanos = targetMillis * 1_000_000L;
+		int strength = minimumStrength;
+
+		while (strength < maximumStrength) {
+			int shift = strength + 1 - PROBE_STRENGTH;
+			double estimate = shift >= 0 ? (double) probeNanos * (1L << shift) : (double) probeNanos / (1L << -shift);
+			if (estimate > targetNanos) break;
+			strength++;
+		}
+		return strength;
+	}
+
+	/**
+	 * Probe nanos.
+	 *
+	 * @return the fastest of a few hashes with the probe strength
+	 */
+	private static long probeNanos() {
+		String salt = BCrypt.gensalt(PROBE_STRENGTH);
+		BCrypt.hashpw("calibration", salt); // Warm up
+
+		long fastest = Long.MAX_VALUE;
+		for (int i = 0; i < PROBE_ROUNDS; i++) {
+			long start = System.nanoTime();
+			BCrypt.hashpw("calibration", salt);
+			fastest = Math.min(fastest, System.nanoTime() - start);
+		}
+		return fastest;
+	}
+
+	/**
+	 * Gets the strength.
+	 *
+	 * @return the strength
+	 */
+	public int getStrength() {
+		return strength;
+	}
+
+	/**
+	 * Gets the upgrade floor.
+	 *
+	 * @return the upgrade floor
+	 */
+	public int getUpgradeFloor() {
+		return upgradeFloor;
+	}
+
+	/**
+	 * Upgrade encoding.
+	 *
+	 * @param encodedPassword the encoded password
+	 * @return true, if the hash was made with a cost below the floor
+	 */
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		if (encodedPassword == null) return false;
+
+		Matcher matcher = BCRYPT_HASH.matcher(encodedPassword);
+		return matcher.matches() && Integer.parseInt(matcher.group(2)) < upgradeFloor;
+	}
+
+}
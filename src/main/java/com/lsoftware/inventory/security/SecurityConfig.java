@@ -4,7 +4,6 @@
  */
 package com.lsoftware.inventory.security;
 
-import javax.crypto.SecretKey;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -20,10 +19,15 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lsoftware.inventory.authentication.authorities.AuthoritiesCustomProvider;
+import com.lsoftware.inventory.authentication.throttle.LoginThrottle;
 import com.lsoftware.inventory.jwt.JWTAuthorizationFilter;
 import com.lsoftware.inventory.jwt.JWTConfig;
+import com.lsoftware.inventory.jwt.JWTKeyRing;
+import com.lsoftware.inventory.jwt.JWTTokenVerifier;
 import com.lsoftware.inventory.jwt.JWTUsernameAndPasswordAuthenticationFilter;
 import com.lsoftware.inventory.mappings.MappingsCustom;
+import com.lsoftware.inventory.ratelimit.RateLimitFilter;
+import com.lsoftware.inventory.ratelimit.RateLimiter;
 import com.lsoftware.inventory.user.UserDetailsCustomService;
 
 /**
@@ -42,8 +46,8 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     /** The app user details service. */
     private final UserDetailsCustomService appUserDetailsService;
     
-    /** The secret key. */
-    private final SecretKey secretKey;
+    /** The key ring. */
+    private final JWTKeyRing keyRing;
     
     /** The jwt config. */
     private final JWTConfig jwtConfig;
@@ -54,33 +58,51 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     /** The mappings custom. */
     private final MappingsCustom mappingsCustom;
     
-    /** The granted authority provider. */
-    AuthoritiesCustomProvider grantedAuthorityProvider;
+    /** The token verifier. */
+    private final JWTTokenVerifier tokenVerifier;
+    
+    /** The authorities provider. */
+    private final AuthoritiesCustomProvider authoritiesProvider;
+    
+    /** The rate limiter. */
+    private final RateLimiter rateLimiter;
+    
+    /** The login throttle. */
+    private final LoginThrottle loginThrottle;
 
     /**
      * Instantiates a new security config.
      *
      * @param passwordEncoder the password encoder
      * @param appUserDetailsService the app user details service
-     * @param secretKey the secret key
+     * @param keyRing the key ring
      * @param jwtConfig the jwt config
      * @param objectMapper the object mapper
-     * @param grantedAuthorityProvider the granted authority provider
+     * @param tokenVerifier the token verifier
+     * @param authoritiesProvider the authorities provider
+     * @param rateLimiter the rate limiter
+     * @param loginThrottle the login throttle
      */
     public SecurityConfig(PasswordEncoder passwordEncoder,
     						UserDetailsCustomService appUserDetailsService,
-                            SecretKey secretKey,
+                            JWTKeyRing keyRing,
                             JWTConfig jwtConfig,
                             ObjectMapper objectMapper,
                             MappingsCustom mappingsCustom,
-                            AuthoritiesCustomProvider grantedAuthorityProvider) {
+                            JWTTokenVerifier tokenVerifier,
+                            AuthoritiesCustomProvider authoritiesProvider,
+                            RateLimiter rateLimiter,
+                            LoginThrottle loginThrottle) {
         this.passwordEncoder = passwordEncoder;
         this.appUserDetailsService = appUserDetailsService;
-        this.secretKey = secretKey;
+        this.keyRing = keyRing;
         this.jwtConfig = jwtConfig;
         this.objectMapper = objectMapper;
         this.mappingsCustom = mappingsCustom;
-        this.grantedAuthorityProvider = grantedAuthorityProvider;
+        this.tokenVerifier = tokenVerifier;
+        this.authoritiesProvider = authoritiesProvider;
+        this.rateLimiter = rateLimiter;
+        this.loginThrottle = loginThrottle;
     }
 
     /**
@@ -102,8 +124,9 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 		.anyRequest()
 		.authenticated()
 		.and()
-		.addFilter(new JWTUsernameAndPasswordAuthenticationFilter(authenticationManager(), jwtConfig, secretKey, mappingsCustom, objectMapper))
-		.addFilterAfter(new JWTAuthorizationFilter(secretKey, jwtConfig, grantedAuthorityProvider), JWTUsernameAndPasswordAuthenticationFilter.class)
+		.addFilter(new JWTUsernameAndPasswordAuthenticationFilter(authenticationManager(), jwtConfig, keyRing, mappingsCustom, objectMapper, authoritiesProvider, rateLimiter, loginThrottle))
+		.addFilterAfter(new JWTAuthorizationFilter(jwtConfig, tokenVerifier), JWTUsernameAndPasswordAuthenticationFilter.class)
+		.addFilterAfter(new RateLimitFilter(rateLimiter, objectMapper), JWTAuthorizationFilter.class)
 		.sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS);
     }
 
@@ -128,6 +151,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setPasswordEncoder(passwordEncoder);
         provider.setUserDetailsService(appUserDetailsService);
+        provider.setUserDetailsPasswordService(appUserDetailsService);
         return provider;
     }
 
@@ -4,9 +4,12 @@
  */
 package com.lsoftware.inventory.security;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 /**
@@ -17,14 +20,33 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @Configuration
 public class SecurityPasswordConfig {
 	
+	/** The Constant BCRYPT_ID, the prefix of the stored hashes. */
+	private static final String BCRYPT_ID = "bcrypt";
+	
 	/**
 	 * Password encoder.
+	 * BCrypt runs on its own bounded pool, see SecurityBoundedPasswordEncoder.
+	 * Hashes are stored as {bcrypt}..., the ones stored before the prefix
+	 * still match and are re-hashed on the next login like any hash made
+	 * with another cost.
 	 *
+	 * @param securityPasswordPoolConfig the security password pool config
+	 * @param securityPasswordHashConfig the security password hash config
 	 * @return the password encoder
 	 */
 	@Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(10);
+    public SecurityBoundedPasswordEncoder passwordEncoder(SecurityPasswordPoolConfig securityPasswordPoolConfig,
+    		SecurityPasswordHashConfig securityPasswordHashConfig) {
+		PasswordEncoder bcrypt = SecurityCalibratedPasswordEncoder.calibrated(securityPasswordHashConfig);
+		
+		// Not Map.of, unprefixed hashes look up a null id
+		Map<String, PasswordEncoder> encoders = new HashMap<>();
+		encoders.put(BCRYPT_ID, bcrypt);
+		
+		DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(BCRYPT_ID, encoders);
+		delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+		
+        return new SecurityBoundedPasswordEncoder(delegating, securityPasswordPoolConfig);
     }
 
 }
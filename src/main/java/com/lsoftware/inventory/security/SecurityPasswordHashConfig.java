@@ -0,0 +1,110 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * The Class SecurityPasswordHashConfig.
+ *
+ * @author Luis Espinosa
+ */
+@ConfigurationProperties(prefix = "application.security.password.hash")
+@Component
+public class SecurityPasswordHashConfig {
+
+	/** The milliseconds a single hash should take on this node. */
+	private Long targetMillis = 100L;
+
+	/** The lowest BCrypt cost the calibration may pick. */
+	private Integer minimumStrength = 10;
+
+	/** The highest BCrypt cost the calibration may pick. */
+	private Integer maximumStrength = 14;
+
+	/** The fixed BCrypt cost, skips the calibration when set. */
+	private Integer strength;
+
+	/**
+	 * Instantiates a new security password hash config.
+	 */
+	public SecurityPasswordHashConfig() {
+		// Nothing here.
+	}
+
+	/**
+	 * Gets the target millis.
+	 *
+	 * @return the target millis
+	 */
+	public Long getTargetMillis() {
+		return targetMillis;
+	}
+
+	/**
+	 * Sets the target millis.
+	 *
+	 * @param targetMillis the new target millis
+	 */
+	public void setTargetMillis(Long targetMillis) {
+		this.targetMillis = targetMillis;
+	}
+
+	/**
+	 * Gets the minimum strength.
+	 *
+	 * @return the minimum strength
+	 */
+	public Integer getMinimumStrength() {
+		return minimumStrength;
+	}
+
+	/**
+	 * Sets the minimum strength.
+	 *
+	 * @param minimumStrength the new minimum strength
+	 */
+	public void setMinimumStrength(Integer minimumStrength) {
+		this.minimumStrength = minimumStrength;
+	}
+
+	/**
+	 * Gets the maximum strength.
+	 *
+	 * @return the maximum strength
+	 */
+	public Integer getMaximumStrength() {
+		return maximumStrength;
+	}
+
+	/**
+	 * Sets the maximum strength.
+	 *
+	 * @param maximumStrength the new maximum strength
+	 */
+	public void setMaximumStrength(Integer maximumStrength) {
+		this.maximumStrength = maximumStrength;
+	}
+
+	/**
+	 * Gets the strength.
+	 *
+	 * @return the strength
+	 */
+	public Integer getStrength() {
+		return strength;
+	}
+
+	/**
+	 * Sets the strength.
+	 *
+	 * @param strength the new strength
+	 */
+	public void setStrength(Integer strength) {
+		this.strength = strength;
+	}
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * The Class SecurityPasswordPoolConfig.
+ *
+ * @author Luis Espinosa
+ */
+@ConfigurationProperties(prefix = "application.security.password")
+@Component
+public class SecurityPasswordPoolConfig {
+
+	/** The threads hashing passwords, which bounds the CPU taken by logins. */
+	private Integer poolSize = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+	/** The hashes waiting for a thread before new ones are rejected. */
+	private Integer queueCapacity = 64;
+
+	/** The seconds a caller waits for its hash before giving up. */
+	private Long waitTimeoutSeconds = 10L;
+
+	/** The seconds sent in Retry-After when a hash is rejected. */
+	private Long retryAfterSeconds = 2L;
+
+	/**
+	 * Instantiates a new security password pool config.
+	 */
+	public SecurityPasswordPoolConfig() {
+		// Nothing here.
+	}
+
+	/**
+	 * Gets the pool size.
+	 *
+	 * @return the pool size
+	 */
+	public Integer getPoolSize() {
+		return poolSize;
+	}
+
+	/**
+	 * Sets the pool size.
+	 *
+	 * @param poolSize the new pool size
+	 */
+	public void setPoolSize(Integer poolSize) {
+		this.poolSize = poolSize;
+	}
+
+	/**
+	 * Gets the queue capacity.
+	 *
+	 * @return the queue capacity
+	 */
+	public Integer getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	/**
+	 * Sets the queue capacity.
+	 *
+	 * @param queueCapacity the new queue capacity
+	 */
+	public void setQueueCapacity(Integer queueCapacity) {
+		this.queueCapacity = queueCapacity;
+	}
+
+	/**
+	 * Gets the wait timeout seconds.
+	 *
+	 * @return the wait timeout seconds
+	 */
+	public Long getWaitTimeoutSeconds() {
+		return waitTimeoutSeconds;
+	}
+
+	/**
+	 * Sets the wait timeout seconds.
+	 *
+	 * @param waitTimeoutSeconds the new wait timeout seconds
+	 */
+	public void setWaitTimeoutSeconds(Long waitTimeoutSeconds) {
+		this.waitTimeoutSeconds = waitTimeoutSeconds;
+	}
+
+	/**
+	 * Gets the retry after seconds.
+	 *
+	 * @return the retry after seconds
+	 */
+	public Long getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+
+	/**
+	 * Sets the retry after seconds.
+	 *
+	 * @param retryAfterSeconds the new retry after seconds
+	 */
+	public void setRetryAfterSeconds(Long retryAfterSeconds) {
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.shared.pagination;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * The Class PaginationConfig.
+ *
+ * @author Luis Espinosa
+ */
+@ConfigurationProperties(prefix = "application.pagination")
+@Component
+public class PaginationConfig {
+
+	/** The maximum number of totals kept by the count cache. */
+	private Long countCacheMaximumSize = 1000L;
+
+	/** The seconds a cached total lives before it is counted again. */
+	private Long countCacheExpirationSeconds = 30L;
+
+	/**
+	 * Instantiates a new pagination config.
+	 */
+	public PaginationConfig() {
+		// Nothing here.
+	}
+
+	/**
+	 * Gets the count cache maximum size.
+	 *
+	 * @return the count cache maximum size
+	 */
+	public Long getCountCacheMaximumSize() {
+		return countCacheMaximumSize;
+	}
+
+	/**
+	 * Sets the count cache maximum size.
+	 *
+	 * @param countCacheMaximumSize the new count cache maximum size
+	 */
+	public void setCountCacheMaximumSize(Long countCacheMaximumSize) {
+		this.countCacheMaximumSize = countCacheMaximumSize;
+	}
+
+	/**
+	 * Gets the count cache expiration seconds.
+	 *
+	 * @return the count cache expiration seconds
+	 */
+	public Long getCountCacheExpirationSeconds() {
+		return countCacheExpirationSeconds;
+	}
+
+	/**
+	 * Sets the count cache expiration seconds.
+	 *
+	 * @param countCacheExpirationSeconds the new count cache expiration seconds
+	 */
+	public void setCountCacheExpirationSeconds(Long countCacheExpirationSeconds) {
+		this.countCacheExpirationSeconds = countCacheExpirationSeconds;
+	}
+
+}
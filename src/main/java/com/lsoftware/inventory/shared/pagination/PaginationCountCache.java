@@ -0,0 +1,110 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.shared.pagination;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.lsoftware.inventory.metrics.MetricsProvider;
+
+/**
+ * The Class PaginationCountCache.
+ * Keeps the totals of the paginated listings for a few seconds, keyed by
+ * entity, status set and search term, so paging through a listing counts
+ * the rows once instead of on every page.
+ *
+ * @author Luis Espinosa
+ */
+@Component
+public class PaginationCountCache implements MetricsProvider {
+
+	/** The Constant SEPARATOR. */
+	private static final String SEPARATOR = "|";
+
+	/** The totals. */
+	private Cache<String, Long> totals;
+
+	/**
+	 * Instantiates a new pagination count cache.
+	 *
+	 * @param paginationConfig the pagination config
+	 */
+	public PaginationCountCache(PaginationConfig paginationConfig) {
+		this.totals = CacheBuilder.newBuilder()
+				.maximumSize(paginationConfig.getCountCacheMaximumSize())
+				.expireAfterWrite(paginationConfig.getCountCacheExpirationSeconds(), TimeUnit.SECONDS)
+				.recordStats()
+				.build();
+	}
+
+	/**
+	 * Count.
+	 *
+	 * @param entity the entity
+	 * @param status the status
+	 * @param searchTerm the search term, null when the listing is not filtered
+	 * @param counter the counter run on a miss
+	 * @return the total
+	 */
+	public long count(String entity, List<Integer> status, String searchTerm, LongSupplier counter) {
+		// The listings compare in lower case, so does the key
+		String key = entity + SEPARATOR + status + SEPARATOR
+				+ (searchTerm == null ? "" : searchTerm.toLowerCase(Locale.ROOT));
+
+		Long cached = totals.getIfPresent(key);
+		if (cached != null) return cached;
+
+		long counted = counter.getAsLong();
+		totals.put(key, counted);
+		return counted;
+	}
+
+	/**
+	 * Evict.
+	 * Must run once the write that changed the entity has committed.
+	 *
+	 * @param entity the entity
+	 */
+	public void evict(String entity) {
+		totals.asMap().keySet().removeIf(key -> key.startsWith(entity + SEPARATOR));
+	}
+
+	/**
+	 * Gets the metrics name.
+	 *
+	 * @return the metrics name
+	 */
+	@Override
+	public String getMetricsName() {
+		return "paginationCountCache";
+	}
+
+	/**
+	 * Gets the metrics.
+	 *
+	 * @return the metrics
+	 */
+	@Override
+	public Map<String, Long> getMetrics() {
+		CacheStats stats = totals.stats();
+
+		Map<String, Long> metrics = new LinkedHashMap<>();
+		metrics.put("hits", stats.hitCount());
+		metrics.put("misses", stats.missCount());
+		metrics.put("evictions", stats.evictionCount());
+		metrics.put("size", totals.size());
+		return metrics;
+	}
+
+}
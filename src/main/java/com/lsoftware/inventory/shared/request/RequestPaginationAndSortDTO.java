@@ -4,8 +4,12 @@
  */
 package com.lsoftware.inventory.shared.request;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
 import lombok.Data;
 
 /**
@@ -23,12 +27,23 @@ public class RequestPaginationAndSortDTO {
 
 	/** The page. */
 	@NotNull(message = "Page {error.NotNull}")
+	@Min(value = 0, message = "Page {error.Min} 0")
 	private int page;
 
 	/** The size. */
 	@NotNull(message = "Size {error.NotNull}")
+	@Min(value = 1, message = "Size {error.Min} 1")
 	private int size;
 
+	/** The keyset mode, pages are read after the last id instead of by offset. */
+	private boolean keyset;
+
+	/** The last id of the previous page in keyset mode, null for the first page. */
+	private Long afterId;
+
+	/** Skips counting the rows, the response only tells whether there is a next page. */
+	private boolean skipTotals;
+
 	/**
 	 * Instantiates a new request pagination and sort DTO.
 	 */
@@ -49,4 +64,24 @@ public class RequestPaginationAndSortDTO {
 		this.size = size;
 	}
 
+	/**
+	 * Keyset after id.
+	 *
+	 * @return the id every row of the page must be lower than
+	 */
+	public long keysetAfterId() {
+		return afterId != null ? afterId : Long.MAX_VALUE;
+	}
+
+	/**
+	 * Keyset pageable.
+	 * Always the first page with one extra row, which tells whether there is
+	 * a next page without counting the rows.
+	 *
+	 * @return the pageable
+	 */
+	public Pageable keysetPageable() {
+		return PageRequest.of(0, size + 1);
+	}
+
 }
@@ -5,8 +5,13 @@
 package com.lsoftware.inventory.shared.response;
 
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Slice;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
 
-import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -19,7 +24,6 @@ import lombok.NoArgsConstructor;
  * @return the java.lang. string
  */
 @Data
-@AllArgsConstructor
 @NoArgsConstructor
 @Getter
 public class ResponsePaginationAndSortDTO<T> {
@@ -35,5 +39,78 @@ public class ResponsePaginationAndSortDTO<T> {
 	
 	/** The total pages. */
 	int totalPages;
+	
+	/** The id to send as afterId to read the next page in keyset mode. */
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	Long nextAfterId;
+	
+	/** Whether there is a next page, only sent when the totals are not counted. */
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	Boolean hasNext;
+	
+	/**
+	 * Instantiates a new response pagination and sort DTO.
+	 *
+	 * @param result the result
+	 * @param currentPage the current page
+	 * @param totalItems the total items
+	 * @param totalPages the total pages
+	 */
+	public ResponsePaginationAndSortDTO(List<T> result, int currentPage, long totalItems, int totalPages) {
+		this.result = result;
+		this.currentPage = currentPage;
+		this.totalItems = totalItems;
+		this.totalPages = totalPages;
+	}
+	
+	/**
+	 * Keyset.
+	 * The totals are not computed in keyset mode, they are returned as -1.
+	 *
+	 * @param <E> the entity type
+	 * @param <R> the result type
+	 * @param rows the rows read, up to one more than the size
+	 * @param size the size
+	 * @param id the id of a row
+	 * @param mapper the mapper
+	 * @return the response pagination and sort DTO
+	 */
+	public static <E, R> ResponsePaginationAndSortDTO<R> keyset(List<E> rows, int size, 
+			Function<E, Long> id, Function<E, R> mapper) {
+		boolean hasNext = rows.size() > size;
+		List<E> page = hasNext ? rows.subList(0, size) : rows;
+		
+		ResponsePaginationAndSortDTO<R> response = new ResponsePaginationAndSortDTO<>(
+				page.stream().map(mapper).collect(Collectors.toList()), -1, -1, -1);
+		response.setHasNext(hasNext);
+		response.setNextAfterId(hasNext && !page.isEmpty() ? id.apply(page.get(page.size() - 1)) : null);
+		return response;
+	}
+	
+	/**
+	 * Slice.
+	 * When the total is not given the totals are returned as -1 and only
+	 * whether there is a next page is sent.
+	 *
+	 * @param <E> the entity type
+	 * @param <R> the result type
+	 * @param slice the slice read
+	 * @param total the total of rows, null when it was not counted
+	 * @param mapper the mapper
+	 * @return the response pagination and sort DTO
+	 */
+	public static <E, R> ResponsePaginationAndSortDTO<R> slice(Slice<E> slice, Long total, Function<E, R> mapper) {
+		List<R> mapped = slice.getContent().stream().map(mapper).collect(Collectors.toList());
+		
+		if (total == null) {
+			ResponsePaginationAndSortDTO<R> response = new ResponsePaginationAndSortDTO<>(mapped, slice.getNumber(), -1, -1);
+			response.setHasNext(slice.hasNext());
+			return response;
+		}
+		
+		// Same rule as PageImpl#getTotalPages
+		int totalPages = slice.getSize() == 0 ? 1 : (int) Math.ceil((double) total / (double) slice.getSize());
+		return new ResponsePaginationAndSortDTO<>(mapped, slice.getNumber(), total, totalPages);
+	}
 
 }
@@ -0,0 +1,46 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.shared.transaction;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The Class TransactionAfterCommit.
+ * Defers an action until the current transaction commits, so in-memory state
+ * such as caches never reflects writes that could still be rolled back.
+ *
+ * @author Luis Espinosa
+ */
+public final class TransactionAfterCommit {
+
+	/**
+	 * Instantiates a new transaction after commit.
+	 */
+	private TransactionAfterCommit() {
+		// Nothing here.
+	}
+
+	/**
+	 * Execute.
+	 * Runs the action right away when there is no transaction in progress.
+	 *
+	 * @param action the action
+	 */
+	public static void execute(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.stock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.lsoftware.inventory.product.ProductRepository;
+
+/**
+ * The Class StockLedger.
+ * Appends the stock changes of the movements. The quantity of the product
+ * stays as the head of its ledger: it is read right after the conditional
+ * update, while the row is still locked by the caller's transaction, so the
+ * balances and sequences of a product can not interleave with another
+ * movement of the same product.
+ *
+ * @author Luis Espinosa
+ */
+@Component
+public class StockLedger {
+
+	/** The Constant LOG. */
+	private static final Logger LOG = LoggerFactory.getLogger(StockLedger.class);
+
+	/** The stock ledger repository. */
+	private StockLedgerRepository stockLedgerRepository;
+
+	/** The product repository. */
+	private ProductRepository productRepository;
+
+	/**
+	 * Instantiates a new stock ledger.
+	 *
+	 * @param stockLedgerRepository the stock ledger repository
+	 * @param productRepository the product repository
+	 */
+	public StockLedger(StockLedgerRepository stockLedgerRepository, ProductRepository productRepository) {
+		this.stockLedgerRepository = stockLedgerRepository;
+		this.productRepository = productRepository;
+	}
+
+	/**
+	 * Entries.
+	 * Must run after the deltas were applied to the product and before the
+	 * transaction ends.
+	 *
+	 * @param productId the product id
+	 * @param deltas the signed quantities of the lines of the product, in order
+	 * @return the entries, still without their movement
+	 */
+	public List<StockLedgerEntry> entries(Long productId, List<Integer> deltas) {
+		LOG.debug("proccess: recording {} lines of product= [ {} ]", deltas.size(), productId);
+
+		int balance = productRepository.findQuantityById(productId);
+		for (int delta : deltas) balance -= delta;
+
+		long sequence = stockLedgerRepository.findLastSequence(productId).orElse(0L);
+
+		List<StockLedgerEntry> entries = new ArrayList<>(deltas.size());
+		for (int delta : deltas) {
+			balance += delta;
+			entries.add(StockLedgerEntry.builder()
+					.productId(productId)
+					.sequence(++sequence)
+					.delta(delta)
+					.balance(balance)
+					.build());
+		}
+		return entries;
+	}
+
+	/**
+	 * Append.
+	 *
+	 * @param movementId the movement id
+	 * @param entries the entries
+	 */
+	public void append(Long movementId, List<StockLedgerEntry> entries) {
+		LOG.info("method: append");
+
+		entries.forEach(entry -> entry.setMovementId(movementId));
+		stockLedgerRepository.saveAll(entries);
+	}
+
+}
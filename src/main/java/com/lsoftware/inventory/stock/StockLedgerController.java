@@ -0,0 +1,77 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.stock;
+
+import javax.validation.Valid;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.lsoftware.inventory.shared.api.ApiCustomResponse;
+import com.lsoftware.inventory.shared.request.RequestPaginationAndSortDTO;
+import com.lsoftware.inventory.shared.response.ResponsePaginationAndSortDTO;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+/**
+ * The Class StockLedgerController.
+ *
+ * @author Luis Espinosa
+ */
+@RestController
+@RequestMapping("/api/v1/stock")
+public class StockLedgerController {
+
+	/** The Constant LOG. */
+	private static final Logger LOG = LoggerFactory.getLogger(StockLedgerController.class);
+
+	/** The stock ledger service. */
+	private StockLedgerService stockLedgerService;
+
+	/**
+	 * Instantiates a new stock ledger controller.
+	 *
+	 * @param stockLedgerService the stock ledger service
+	 */
+	public StockLedgerController(StockLedgerService stockLedgerService) {
+		this.stockLedgerService = stockLedgerService;
+	}
+
+	/**
+	 * Paginate ledger.
+	 *
+	 * @param productId the product id
+	 * @param pageAndSort the page and sort
+	 * @return the response entity
+	 */
+	@PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_SUPERVISOR')")
+	@Operation(summary = "Paginate the stock ledger of a product, newest first")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Paginates the stock ledger of a product", content = {
+			@Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiCustomResponse.class)) }) })
+	@PostMapping("/{productId}/ledger/paginate")
+	public ResponseEntity<ApiCustomResponse> paginateLedger(@PathVariable("productId") Long productId,
+			@Valid @RequestBody RequestPaginationAndSortDTO pageAndSort) {
+		LOG.info("method: paginateLedger");
+
+		ResponsePaginationAndSortDTO<StockLedgerEntryDTO> results = stockLedgerService.findByProduct(productId, pageAndSort);
+		ApiCustomResponse response = new ApiCustomResponse.ApiResponseBuilder(200).message("Stock Ledger Paginated")
+				.data(results).build();
+
+		return ResponseEntity.ok(response);
+	}
+
+}
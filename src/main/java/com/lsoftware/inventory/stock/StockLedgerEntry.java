@@ -0,0 +1,78 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.stock;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Class StockLedgerEntry.
+ * One line of a movement as it changed the stock of its product, never
+ * updated once written. The product and the movement are kept as ids so
+ * appending an entry does not load either of them.
+ *
+ * @author Luis Espinosa
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "stock_ledger", indexes = {
+		@Index(name = "stock_ledger_product_sequence_idx", columnList = "prod_id, stl_sequence", unique = true) })
+public class StockLedgerEntry implements Serializable {
+
+	/** The Constant serialVersionUID. */
+	private static final long serialVersionUID = 1L;
+
+	/** The id. */
+	@Id
+	@Column(name = "stl_id")
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_ledger_stl_id_seq")
+	@SequenceGenerator(name = "stock_ledger_stl_id_seq", sequenceName = "stock_ledger_stl_id_seq", allocationSize = 50)
+	private Long id;
+
+	/** The product id. */
+	@Column(name = "prod_id", nullable = false, updatable = false)
+	private Long productId;
+
+	/** The position of the entry in the ledger of its product, starting at 1. */
+	@Column(name = "stl_sequence", nullable = false, updatable = false)
+	private Long sequence;
+
+	/** The movement id, null for the opening balance of a product. */
+	@Column(name = "mov_id", updatable = false)
+	private Long movementId;
+
+	/** The signed quantity the line added to the stock. */
+	@Column(name = "stl_delta", nullable = false, updatable = false)
+	private int delta;
+
+	/** The stock of the product once the line was applied. */
+	@Column(name = "stl_balance", nullable = false, updatable = false)
+	private int balance;
+
+	/** The timestamp. */
+	@Column(name = "stl_timestamp", updatable = false)
+	@CreationTimestamp
+	private LocalDateTime timestamp;
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.stock;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Class StockLedgerEntryDTO.
+ *
+ * @author Luis Espinosa
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class StockLedgerEntryDTO {
+
+	/** The sequence. */
+	private Long sequence;
+
+	/** The movement id. */
+	private Long movementId;
+
+	/** The delta. */
+	private int delta;
+
+	/** The balance. */
+	private int balance;
+
+	/** The timestamp. */
+	private LocalDateTime timestamp;
+
+}
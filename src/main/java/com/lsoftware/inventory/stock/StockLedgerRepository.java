@@ -0,0 +1,43 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.stock;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+/**
+ * The Interface StockLedgerRepository.
+ *
+ * @author Luis Espinosa
+ */
+public interface StockLedgerRepository extends JpaRepository<StockLedgerEntry, Long> {
+
+	/**
+	 * Find last sequence.
+	 * Read on the (prod_id, stl_sequence) index, so it costs the same
+	 * whatever the length of the ledger.
+	 *
+	 * @param productId the product id
+	 * @return the last sequence, empty when the product has no entries yet
+	 */
+	@Query("SELECT MAX(e.sequence) FROM StockLedgerEntry e WHERE e.productId = ?1")
+	Optional<Long> findLastSequence(Long productId);
+
+	/**
+	 * Find by product before sequence.
+	 *
+	 * @param productId the product id
+	 * @param beforeSequence the sequence the page ends before
+	 * @param pageable the pageable, only its size is used
+	 * @return the entries, newest first
+	 */
+	@Query("SELECT e FROM StockLedgerEntry e WHERE e.productId = ?1 AND e.sequence < ?2 ORDER BY e.sequence DESC")
+	List<StockLedgerEntry> findByProductBeforeSequence(Long productId, Long beforeSequence, Pageable pageable);
+
+}
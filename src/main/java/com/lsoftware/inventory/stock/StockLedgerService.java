@@ -0,0 +1,71 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.stock;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.lsoftware.inventory.shared.request.RequestPaginationAndSortDTO;
+import com.lsoftware.inventory.shared.response.ResponsePaginationAndSortDTO;
+
+/**
+ * The Class StockLedgerService.
+ * Reads the ledger of a product always in keyset mode, the afterId of the
+ * request being the sequence the page ends before.
+ *
+ * @author Luis Espinosa
+ */
+@Service
+public class StockLedgerService {
+
+	/** The Constant LOG. */
+	private static final Logger LOG = LoggerFactory.getLogger(StockLedgerService.class);
+
+	/** The stock ledger repository. */
+	private StockLedgerRepository stockLedgerRepository;
+
+	/**
+	 * Instantiates a new stock ledger service.
+	 *
+	 * @param stockLedgerRepository the stock ledger repository
+	 */
+	public StockLedgerService(StockLedgerRepository stockLedgerRepository) {
+		this.stockLedgerRepository = stockLedgerRepository;
+	}
+
+	/**
+	 * Find by product.
+	 *
+	 * @param productId the product id
+	 * @param pageAndSort the page and sort
+	 * @return the entries, newest first
+	 */
+	@Transactional(readOnly = true)
+	public ResponsePaginationAndSortDTO<StockLedgerEntryDTO> findByProduct(Long productId,
+			RequestPaginationAndSortDTO pageAndSort) {
+		LOG.info("method: findByProduct");
+
+		List<StockLedgerEntry> rows = stockLedgerRepository.findByProductBeforeSequence(productId,
+				pageAndSort.keysetAfterId(), pageAndSort.keysetPageable());
+		return ResponsePaginationAndSortDTO.keyset(rows, pageAndSort.getSize(), StockLedgerEntry::getSequence,
+				StockLedgerService::toDTO);
+	}
+
+	/**
+	 * To DTO.
+	 *
+	 * @param entry the entry
+	 * @return the stock ledger entry DTO
+	 */
+	private static StockLedgerEntryDTO toDTO(StockLedgerEntry entry) {
+		return new StockLedgerEntryDTO(entry.getSequence(), entry.getMovementId(), entry.getDelta(),
+				entry.getBalance(), entry.getTimestamp());
+	}
+
+}
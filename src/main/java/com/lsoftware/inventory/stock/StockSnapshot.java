@@ -0,0 +1,66 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.stock;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Class StockSnapshot.
+ * The stock of a product at the time of a snapshot run, with the last
+ * sequence of its ledger the quantity includes.
+ *
+ * @author Luis Espinosa
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "stock_snapshots", indexes = {
+		@Index(name = "stock_snapshots_taken_at_product_idx", columnList = "sns_taken_at, prod_id", unique = true) })
+public class StockSnapshot implements Serializable {
+
+	/** The Constant serialVersionUID. */
+	private static final long serialVersionUID = 1L;
+
+	/** The id. */
+	@Id
+	@Column(name = "sns_id")
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_snapshots_sns_id_seq")
+	@SequenceGenerator(name = "stock_snapshots_sns_id_seq", sequenceName = "stock_snapshots_sns_id_seq", allocationSize = 50)
+	private Long id;
+
+	/** The taken at, the time of the run. */
+	@Column(name = "sns_taken_at", nullable = false, updatable = false)
+	private LocalDateTime takenAt;
+
+	/** The product id. */
+	@Column(name = "prod_id", nullable = false, updatable = false)
+	private Long productId;
+
+	/** The last ledger sequence included, 0 when the product had no entries. */
+	@Column(name = "sns_sequence", nullable = false, updatable = false)
+	private Long sequence;
+
+	/** The quantity. */
+	@Column(name = "sns_quantity", nullable = false, updatable = false)
+	private int quantity;
+
+}
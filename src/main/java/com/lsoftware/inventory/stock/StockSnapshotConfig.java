@@ -0,0 +1,110 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.stock;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * The Class StockSnapshotConfig.
+ *
+ * @author Luis Espinosa
+ */
+@ConfigurationProperties(prefix = "application.stock.snapshots")
+@Component
+public class StockSnapshotConfig {
+
+	/** Whether the snapshots are taken by this instance. */
+	private boolean enabled = true;
+
+	/** The minutes between two snapshots, taken on the multiples of it since midnight. */
+	private Integer intervalMinutes = 1440;
+
+	/** The product ids read together by one task. */
+	private Integer rangeSize = 5000;
+
+	/** The tasks run at the same time. */
+	private Integer parallelism = 4;
+
+	/**
+	 * Instantiates a new stock snapshot config.
+	 */
+	public StockSnapshotConfig() {
+		// Nothing here.
+	}
+
+	/**
+	 * Checks if is enabled.
+	 *
+	 * @return true, if is enabled
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Sets the enabled.
+	 *
+	 * @param enabled the new enabled
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Gets the interval minutes.
+	 *
+	 * @return the interval minutes
+	 */
+	public Integer getIntervalMinutes() {
+		return intervalMinutes;
+	}
+
+	/**
+	 * Sets the interval minutes.
+	 *
+	 * @param intervalMinutes the new interval minutes
+	 */
+	public void setIntervalMinutes(Integer intervalMinutes) {
+		this.intervalMinutes = intervalMinutes;
+	}
+
+	/**
+	 * Gets the range size.
+	 *
+	 * @return the range size
+	 */
+	public Integer getRangeSize() {
+		return rangeSize;
+	}
+
+	/**
+	 * Sets the range size.
+	 *
+	 * @param rangeSize the new range size
+	 */
+	public void setRangeSize(Integer rangeSize) {
+		this.rangeSize = rangeSize;
+	}
+
+	/**
+	 * Gets the parallelism.
+	 *
+	 * @return the parallelism
+	 */
+	public Integer getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Sets the parallelism.
+	 *
+	 * @param parallelism the new parallelism
+	 */
+	public void setParallelism(Integer parallelism) {
+		this.parallelism = parallelism;
+	}
+
+}
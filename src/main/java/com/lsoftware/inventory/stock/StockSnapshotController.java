@@ -0,0 +1,75 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.stock;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.lsoftware.inventory.shared.api.ApiCustomResponse;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+/**
+ * The Class StockSnapshotController.
+ *
+ * @author Luis Espinosa
+ */
+@RestController
+@RequestMapping("/api/v1/stock")
+public class StockSnapshotController {
+
+	/** The Constant LOG. */
+	private static final Logger LOG = LoggerFactory.getLogger(StockSnapshotController.class);
+
+	/** The stock snapshot service. */
+	private StockSnapshotService stockSnapshotService;
+
+	/**
+	 * Instantiates a new stock snapshot controller.
+	 *
+	 * @param stockSnapshotService the stock snapshot service
+	 */
+	public StockSnapshotController(StockSnapshotService stockSnapshotService) {
+		this.stockSnapshotService = stockSnapshotService;
+	}
+
+	/**
+	 * Find as of.
+	 *
+	 * @param timestamp the timestamp
+	 * @return the response entity
+	 */
+	@PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_SUPERVISOR')")
+	@Operation(summary = "Find the stock of every product as of a time")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "The stock of every product as of the time", content = {
+			@Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ApiCustomResponse.class)) }) })
+	@GetMapping("/as-of")
+	public ResponseEntity<ApiCustomResponse> findAsOf(
+			@RequestParam("timestamp") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime timestamp) {
+		LOG.info("method: findAsOf");
+
+		List<StockLevelDTO> results = stockSnapshotService.findAsOf(timestamp);
+		ApiCustomResponse response = new ApiCustomResponse.ApiResponseBuilder(200).message("Stock as of")
+				.data(results).build();
+
+		return ResponseEntity.ok(response);
+	}
+
+}
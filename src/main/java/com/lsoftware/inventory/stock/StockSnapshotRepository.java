@@ -0,0 +1,52 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.stock;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+/**
+ * The Interface StockSnapshotRepository.
+ *
+ * @author Luis Espinosa
+ */
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, Long> {
+
+	/**
+	 * Find rows.
+	 * Starts every product of the range from its snapshot of the run and
+	 * applies the ledger entries after its sequence up to the time. The
+	 * entries are chosen by sequence, not by time, so a line committed
+	 * after the run was taken is still applied.
+	 *
+	 * @param run the taken at of the run, a time without run matches no snapshot
+	 * @param asOf the as of
+	 * @param firstProductId the first product id of the range
+	 * @param lastProductId the last product id of the range
+	 * @return the rows, by product id
+	 */
+	@Query("SELECT new com.lsoftware.inventory.stock.StockSnapshotRow(p.id, s.quantity, s.sequence, SUM(e.delta), MAX(e.sequence)) "
+			+ "FROM Product p "
+			+ "LEFT JOIN StockSnapshot s ON s.productId = p.id AND s.takenAt = ?1 "
+			+ "LEFT JOIN StockLedgerEntry e ON e.productId = p.id AND (s.sequence IS NULL OR e.sequence > s.sequence) AND e.timestamp <= ?2 "
+			+ "WHERE p.id BETWEEN ?3 AND ?4 "
+			+ "GROUP BY p.id, s.quantity, s.sequence ORDER BY p.id")
+	List<StockSnapshotRow> findRows(LocalDateTime run, LocalDateTime asOf, Long firstProductId, Long lastProductId);
+
+	/**
+	 * Delete by taken at.
+	 *
+	 * @param takenAt the taken at of the run
+	 * @return the int
+	 */
+	@Modifying
+	@Query("DELETE FROM StockSnapshot s WHERE s.takenAt = ?1")
+	int deleteByTakenAt(LocalDateTime takenAt);
+
+}
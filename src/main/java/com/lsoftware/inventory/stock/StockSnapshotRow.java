@@ -0,0 +1,64 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.stock;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * The Class StockSnapshotRow.
+ * A product as read by the stock as of a time: its snapshot, null when
+ * it has none, and the ledger entries applied after it.
+ *
+ * @author Luis Espinosa
+ */
+@AllArgsConstructor
+@Data
+public class StockSnapshotRow {
+
+	/** The product id. */
+	private Long productId;
+
+	/** The snapshot quantity. */
+	private Integer snapshotQuantity;
+
+	/** The snapshot sequence. */
+	private Long snapshotSequence;
+
+	/** The sum of the deltas after the snapshot. */
+	private Long delta;
+
+	/** The last sequence after the snapshot. */
+	private Long lastSequence;
+
+	/**
+	 * Checks for history.
+	 *
+	 * @return true, if the product had a snapshot or entries by then
+	 */
+	public boolean hasHistory() {
+		return snapshotSequence != null || lastSequence != null;
+	}
+
+	/**
+	 * Gets the quantity.
+	 *
+	 * @return the quantity
+	 */
+	public int getQuantity() {
+		return (snapshotQuantity != null ? snapshotQuantity : 0) + (delta != null ? delta.intValue() : 0);
+	}
+
+	/**
+	 * Gets the sequence.
+	 *
+	 * @return the last sequence the quantity includes
+	 */
+	public long getSequence() {
+		if (lastSequence != null) return lastSequence;
+		return snapshotSequence != null ? snapshotSequence : 0L;
+	}
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.stock;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Class StockSnapshotRun.
+ * Claims the time of a run, the unique taken at keeps a second instance
+ * from taking the same one. Only the completed runs are read.
+ *
+ * @author Luis Espinosa
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "stock_snapshot_runs")
+public class StockSnapshotRun implements Serializable {
+
+	/** The Constant serialVersionUID. */
+	private static final long serialVersionUID = 1L;
+
+	/** The id. */
+	@Id
+	@Column(name = "ssr_id")
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	/** The taken at. */
+	@Column(name = "ssr_taken_at", nullable = false, unique = true, updatable = false)
+	private LocalDateTime takenAt;
+
+	/** The completed at, null while the run is in progress or when it failed. */
+	@Column(name = "ssr_completed_at")
+	private LocalDateTime completedAt;
+
+	/** The products. */
+	@Column(name = "ssr_products")
+	private Integer products;
+
+}
@@ -0,0 +1,29 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.stock;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+/**
+ * The Interface StockSnapshotRunRepository.
+ *
+ * @author Luis Espinosa
+ */
+public interface StockSnapshotRunRepository extends JpaRepository<StockSnapshotRun, Long> {
+
+	/**
+	 * Find last completed.
+	 *
+	 * @param asOf the as of
+	 * @return the taken at of the last completed run at or before the time
+	 */
+	@Query("SELECT MAX(r.takenAt) FROM StockSnapshotRun r WHERE r.completedAt IS NOT NULL AND r.takenAt <= ?1")
+	Optional<LocalDateTime> findLastCompleted(LocalDateTime asOf);
+
+}
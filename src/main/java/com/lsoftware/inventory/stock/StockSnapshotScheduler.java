@@ -0,0 +1,122 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.stock;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * The Class StockSnapshotScheduler.
+ * Takes a snapshot on every boundary of the interval, counted from
+ * midnight so the runs land on the day and month ends. Every instance
+ * tries, the first one to claim the run takes it.
+ *
+ * @author Luis Espinosa
+ */
+@Component
+public class StockSnapshotScheduler {
+
+	/** The Constant LOG. */
+	private static final Logger LOG = LoggerFactory.getLogger(StockSnapshotScheduler.class);
+
+	/** The stock snapshot service. */
+	private StockSnapshotService stockSnapshotService;
+
+	/** The interval minutes. */
+	private final int intervalMinutes;
+
+	/** The scheduler, null when the snapshots are disabled. */
+	private final ScheduledExecutorService scheduler;
+
+	/**
+	 * Instantiates a new stock snapshot scheduler.
+	 *
+	 * @param stockSnapshotService the stock snapshot service
+	 * @param config the config
+	 */
+	public StockSnapshotScheduler(StockSnapshotService stockSnapshotService, StockSnapshotConfig config) {
+		this.stockSnapshotService = stockSnapshotService;
+		this.intervalMinutes = config.getIntervalMinutes();
+
+		if (!config.isEnabled()) {
+			this.scheduler = null;
+			return;
+		}
+
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "stock-snapshot-scheduler");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduleNext();
+	}
+
+	/**
+	 * Run.
+	 */
+	private void run() {
+		try {
+			stockSnapshotService.take(boundary(LocalDateTime.now(), intervalMinutes));
+		} catch (RuntimeException e) {
+			LOG.error("proccess: the stock snapshot failed", e);
+		} finally {
+			scheduleNext();
+		}
+	}
+
+	/**
+	 * Schedule next.
+	 * Computed again after every run so the runs do not drift.
+	 */
+	private void scheduleNext() {
+		LocalDateTime now = LocalDateTime.now();
+		long delay = Duration.between(now, next(now, intervalMinutes)).toMillis();
+		scheduler.schedule(this::run, delay, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Boundary.
+	 *
+	 * @param time the time
+	 * @param intervalMinutes the interval minutes
+	 * @return the last boundary at or before the time
+	 */
+	static LocalDateTime boundary(LocalDateTime time, int intervalMinutes) {
+		LocalDateTime midnight = time.toLocalDate().atStartOfDay();
+		long minutes = Duration.between(midnight, time).toMinutes();
+		return midnight.plusMinutes(minutes / intervalMinutes * intervalMinutes);
+	}
+
+	/**
+	 * Next.
+	 *
+	 * @param time the time
+	 * @param intervalMinutes the interval minutes
+	 * @return the first boundary after the time, never past the next midnight
+	 */
+	static LocalDateTime next(LocalDateTime time, int intervalMinutes) {
+		LocalDateTime next = boundary(time, intervalMinutes).plusMinutes(intervalMinutes);
+		LocalDateTime midnight = time.toLocalDate().plusDays(1).atStartOfDay();
+		return next.isAfter(midnight) ? midnight : next;
+	}
+
+	/**
+	 * Shutdown.
+	 */
+	@PreDestroy
+	public void shutdown() {
+		if (scheduler != null) scheduler.shutdownNow();
+	}
+
+}
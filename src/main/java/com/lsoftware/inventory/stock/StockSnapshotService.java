@@ -0,0 +1,245 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.stock;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.lsoftware.inventory.product.ProductRepository;
+
+/**
+ * The Class StockSnapshotService.
+ * Answers the stock of every product as of a time from the last completed
+ * snapshot run before it plus the ledger entries after that run, so the
+ * cost follows the interval between runs and not the length of the history.
+ * The products are split in id ranges read in parallel, each range in its
+ * own transaction.
+ *
+ * @author Luis Espinosa
+ */
+@Service
+public class StockSnapshotService {
+
+	/** The Constant LOG. */
+	private static final Logger LOG = LoggerFactory.getLogger(StockSnapshotService.class);
+
+	/** The stock snapshot repository. */
+	private StockSnapshotRepository stockSnapshotRepository;
+
+	/** The stock snapshot run repository. */
+	private StockSnapshotRunRepository stockSnapshotRunRepository;
+
+	/** The product repository. */
+	private ProductRepository productRepository;
+
+	/** The range size. */
+	private final long rangeSize;
+
+	/** The read template. */
+	private final TransactionTemplate readTemplate;
+
+	/** The write template. */
+	private final TransactionTemplate writeTemplate;
+
+	/** The executor. */
+	private final ThreadPoolExecutor executor;
+
+	/**
+	 * Instantiates a new stock snapshot service.
+	 *
+	 * @param stockSnapshotRepository the stock snapshot repository
+	 * @param stockSnapshotRunRepository the stock snapshot run repository
+	 * @param productRepository the product repository
+	 * @param config the config
+	 * @param transactionManager the transaction manager
+	 */
+	public StockSnapshotService(StockSnapshotRepository stockSnapshotRepository,
+			StockSnapshotRunRepository stockSnapshotRunRepository, ProductRepository productRepository,
+			StockSnapshotConfig config, PlatformTransactionManager transactionManager) {
+		this.stockSnapshotRepository = stockSnapshotRepository;
+		this.stockSnapshotRunRepository = stockSnapshotRunRepository;
+		this.productRepository = productRepository;
+		this.rangeSize = config.getRangeSize();
+		this.readTemplate = new TransactionTemplate(transactionManager);
+		this.readTemplate.setReadOnly(true);
+		this.writeTemplate = new TransactionTemplate(transactionManager);
+
+		AtomicInteger threads = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(config.getParallelism(), config.getParallelism(), 0L, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<>(),
+				runnable -> {
+					Thread thread = new Thread(runnable, "stock-snapshot-" + threads.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+	}
+
+	/**
+	 * Find as of.
+	 *
+	 * @param asOf the as of, the lines recorded at that time are included
+	 * @return the stock of every product by product id, 0 for the products
+	 *         without a snapshot or entries by then
+	 */
+	public List<StockLevelDTO> findAsOf(LocalDateTime asOf) {
+		LOG.info("method: findAsOf");
+
+		// Without a run the time itself matches no snapshot and the whole ledger is read
+		LocalDateTime run = stockSnapshotRunRepository.findLastCompleted(asOf).orElse(asOf);
+		LOG.debug("proccess: reading the stock as of {} from the run {}", asOf, run);
+
+		List<List<StockLevelDTO>> ranges = inRanges((first, last) -> readTemplate.execute(status ->
+				stockSnapshotRepository.findRows(run, asOf, first, last).stream()
+					.map(row -> new StockLevelDTO(row.getProductId(), row.getQuantity()))
+					.collect(Collectors.toList())));
+
+		return ranges.stream().flatMap(List::stream).collect(Collectors.toList());
+	}
+
+	/**
+	 * Take.
+	 * Every range is written from the previous completed run, the new run
+	 * is only read once all of them are written. The claim commits on its
+	 * own, so when any range fails the run and the ranges already written
+	 * are deleted and the run can be taken again.
+	 *
+	 * @param takenAt the taken at
+	 * @return true, if the run was taken by this call
+	 */
+	public boolean take(LocalDateTime takenAt) {
+		LOG.info("method: take");
+
+		StockSnapshotRun run;
+		try {
+			run = stockSnapshotRunRepository.saveAndFlush(StockSnapshotRun.builder().takenAt(takenAt).build());
+		} catch (DataIntegrityViolationException e) {
+			LOG.debug("proccess: the run {} was already taken", takenAt);
+			return false;
+		}
+
+		try {
+			write(run);
+		} catch (RuntimeException e) {
+			LOG.warn("proccess: the run {} failed, it is deleted", takenAt);
+			try {
+				writeTemplate.executeWithoutResult(status -> {
+					stockSnapshotRepository.deleteByTakenAt(takenAt);
+					stockSnapshotRunRepository.deleteById(run.getId());
+				});
+			} catch (RuntimeException cleanup) {
+				e.addSuppressed(cleanup);
+			}
+			throw e;
+		}
+
+		LOG.info("proccess: snapshot {} taken for {} products", takenAt, run.getProducts());
+		return true;
+	}
+
+	/**
+	 * Write.
+	 *
+	 * @param run the claimed run
+	 */
+	private void write(StockSnapshotRun run) {
+		LocalDateTime takenAt = run.getTakenAt();
+		LocalDateTime previous = stockSnapshotRunRepository.findLastCompleted(takenAt).orElse(takenAt);
+
+		List<Integer> written = inRanges((first, last) -> writeTemplate.execute(status -> {
+			List<StockSnapshot> snapshots = stockSnapshotRepository.findRows(previous, takenAt, first, last).stream()
+					.filter(StockSnapshotRow::hasHistory)
+					.map(row -> StockSnapshot.builder()
+							.takenAt(takenAt)
+							.productId(row.getProductId())
+							.sequence(row.getSequence())
+							.quantity(row.getQuantity())
+							.build())
+					.collect(Collectors.toList());
+			stockSnapshotRepository.saveAll(snapshots);
+			return snapshots.size();
+		}));
+
+		run.setProducts(written.stream().mapToInt(Integer::intValue).sum());
+		run.setCompletedAt(LocalDateTime.now());
+		stockSnapshotRunRepository.save(run);
+	}
+
+	/**
+	 * In ranges.
+	 * On a failure the ranges already running are waited for, so none is
+	 * still writing once the caller cleans up after it.
+	 *
+	 * @param <T> the result type
+	 * @param task the task, given the first and last product id of its range
+	 * @return the results, by range
+	 */
+	private <T> List<T> inRanges(BiFunction<Long, Long, T> task) {
+		long maximumId = productRepository.findMaxId().orElse(0L);
+
+		List<Future<T>> futures = new ArrayList<>();
+		for (long first = 1; first <= maximumId; first += rangeSize) {
+			long from = first;
+			long to = Math.min(first + rangeSize - 1, maximumId);
+			futures.add(executor.submit(() -> task.apply(from, to)));
+		}
+
+		List<T> results = new ArrayList<>(futures.size());
+		try {
+			for (Future<T> future : futures) results.add(future.get());
+		} catch (InterruptedException e) {
+			futures.forEach(future -> future.cancel(true));
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while reading the stock", e);
+		} catch (ExecutionException e) {
+			futures.forEach(StockSnapshotService::awaitQuietly);
+			if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+			throw new IllegalStateException(e.getCause());
+		}
+		return results;
+	}
+
+	/**
+	 * Await quietly.
+	 *
+	 * @param future the future
+	 */
+	private static void awaitQuietly(Future<?> future) {
+		try {
+			future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			// Only the first failure is reported
+		}
+	}
+
+	/**
+	 * Shutdown.
+	 */
+	@PreDestroy
+	public void shutdown() {
+		LOG.debug("proccess: stopping the stock snapshot pool");
+		executor.shutdownNow();
+	}
+
+}
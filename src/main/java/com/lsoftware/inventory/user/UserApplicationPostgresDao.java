@@ -4,7 +4,8 @@
  */
 package com.lsoftware.inventory.user;
 
-import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -14,6 +15,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.lsoftware.inventory.shared.status.Status;
+import com.lsoftware.inventory.shared.transaction.TransactionAfterCommit;
 
 /**
  * The Class UserApplicationPostgresDao.
@@ -29,18 +34,24 @@ public class UserApplicationPostgresDao implements UserApplicationProviderDao {
 
 	/** The usuario repository. */
 	private final UserRepository usuarioRepository;
+	
+	/** The user credentials cache. */
+	private final UserCredentialsCache userCredentialsCache;
 
 	/**
 	 * Instantiates a new postgres user authentication dao.
 	 *
 	 * @param usuarioRepository the usuario repository
+	 * @param userCredentialsCache the user credentials cache
 	 */
-	public UserApplicationPostgresDao(UserRepository usuarioRepository) {
+	public UserApplicationPostgresDao(UserRepository usuarioRepository, UserCredentialsCache userCredentialsCache) {
 		this.usuarioRepository = usuarioRepository;
+		this.userCredentialsCache = userCredentialsCache;
 	}
 
 	/**
 	 * Provide application user by username.
+	 * Only users still active are enabled.
 	 *
 	 * @param username the username
 	 * @return the optional
@@ -49,18 +60,60 @@ public class UserApplicationPostgresDao implements UserApplicationProviderDao {
 	public Optional<UserAuthentication> provideApplicationUserByUsername(String username) {
 		LOG.info("method: provideApplicationUserByUsername");
 		
-		Optional<User> applicationUser = usuarioRepository.findByUsername(username);
-		if (applicationUser.isEmpty()) return Optional.empty(); 
+		Optional<UserCredentials> credentials = userCredentialsCache.get(username, this::loadCredentials);
+		if (credentials.isEmpty()) return Optional.empty(); 
 		
-		Set<GrantedAuthority> authorities = new HashSet<>();
-		applicationUser.get().getRoles()
+		Set<GrantedAuthority> authorities = credentials.get().getRoleNames()
 			.stream()
-			.map(rol -> authorities.add(new SimpleGrantedAuthority(rol.getName())))
+			.map(SimpleGrantedAuthority::new)
 			.collect(Collectors.toSet());
 		
 		return Optional.of(new UserAuthentication(username, 
-				applicationUser.get().getPassword(), authorities,
-				true, true, true, true));
+				credentials.get().getPassword(), authorities,
+				true, true, true, Integer.valueOf(Status.ACTIVE.getDigit()).equals(credentials.get().getStatus())));
+	}
+	
+	/**
+	 * Load credentials.
+	 * One row per role, or a single one with a null role.
+	 *
+	 * @param username the username
+	 * @return the optional
+	 */
+	private Optional<UserCredentials> loadCredentials(String username) {
+		LOG.debug("proccess: loading the credentials of a user");
+		
+		List<Object[]> rows = usuarioRepository.findCredentialsByUsername(username);
+		if (rows.isEmpty()) return Optional.empty();
+		
+		Object[] first = rows.get(0);
+		Set<String> roleNames = rows.stream()
+				.map(row -> (String) row[3])
+				.filter(Objects::nonNull)
+				.collect(Collectors.toSet());
+		
+		return Optional.of(new UserCredentials((String) first[0], (String) first[1], (Integer) first[2], roleNames));
+	}
+	
+	/**
+	 * Update application user password.
+	 *
+	 * @param username the username
+	 * @param encodedPassword the encoded password
+	 * @return true, if the password was stored
+	 */
+	@Transactional
+	@Override
+	public boolean updateApplicationUserPassword(String username, String encodedPassword) {
+		LOG.info("method: updateApplicationUserPassword");
+		
+		return usuarioRepository.findByUsername(username)
+				.map(user -> {
+					boolean stored = usuarioRepository.setPasswordById(encodedPassword, user.getId()) > 0;
+					TransactionAfterCommit.execute(() -> userCredentialsCache.evict(username));
+					return stored;
+				})
+				.orElse(false);
 	}
 
 }
@@ -20,4 +20,13 @@ public interface UserApplicationProviderDao {
 	 * @return the optional
 	 */
 	Optional<UserAuthentication> provideApplicationUserByUsername(String username);
+	
+	/**
+	 * Update application user password.
+	 *
+	 * @param username the username
+	 * @param encodedPassword the encoded password
+	 * @return true, if the password was stored
+	 */
+	boolean updateApplicationUserPassword(String username, String encodedPassword);
 }
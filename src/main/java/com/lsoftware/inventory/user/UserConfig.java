@@ -0,0 +1,116 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.user;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * The Class UserConfig.
+ *
+ * @author Luis Espinosa
+ */
+@ConfigurationProperties(prefix = "application.users")
+@Component
+public class UserConfig {
+
+	/** The maximum number of users kept by the credentials cache. */
+	private Long credentialsCacheMaximumSize = 10000L;
+
+	/**
+	 * The seconds cached credentials live, it bounds how long a change made
+	 * on another instance goes unseen here.
+	 */
+	private Long credentialsCacheExpirationSeconds = 60L;
+
+	/** The maximum number of unknown usernames remembered. */
+	private Long unknownUsernamesCacheMaximumSize = 100000L;
+
+	/**
+	 * The seconds an unknown username is remembered, it bounds how long a user
+	 * created on another instance is refused here.
+	 */
+	private Long unknownUsernamesCacheExpirationSeconds = 60L;
+
+	/**
+	 * Instantiates a new user config.
+	 */
+	public UserConfig() {
+		// Nothing here.
+	}
+
+	/**
+	 * Gets the credentials cache maximum size.
+	 *
+	 * @return the credentials cache maximum size
+	 */
+	public Long getCredentialsCacheMaximumSize() {
+		return credentialsCacheMaximumSize;
+	}
+
+	/**
+	 * Sets the credentials cache maximum size.
+	 *
+	 * @param credentialsCacheMaximumSize the new credentials cache maximum size
+	 */
+	public void setCredentialsCacheMaximumSize(Long credentialsCacheMaximumSize) {
+		this.credentialsCacheMaximumSize = credentialsCacheMaximumSize;
+	}
+
+	/**
+	 * Gets the credentials cache expiration seconds.
+	 *
+	 * @return the credentials cache expiration seconds
+	 */
+	public Long getCredentialsCacheExpirationSeconds() {
+		return credentialsCacheExpirationSeconds;
+	}
+
+	/**
+	 * Sets the credentials cache expiration seconds.
+	 *
+	 * @param credentialsCacheExpirationSeconds the new credentials cache expiration seconds
+	 */
+	public void setCredentialsCacheExpirationSeconds(Long credentialsCacheExpirationSeconds) {
+		this.credentialsCacheExpirationSeconds = credentialsCacheExpirationSeconds;
+	}
+
+	/**
+	 * Gets the unknown usernames cache maximum size.
+	 *
+	 * @return the unknown usernames cache maximum size
+	 */
+	public Long getUnknownUsernamesCacheMaximumSize() {
+		return unknownUsernamesCacheMaximumSize;
+	}
+
+	/**
+	 * Sets the unknown usernames cache maximum size.
+	 *
+	 * @param unknownUsernamesCacheMaximumSize the new unknown usernames cache maximum size
+	 */
+	public void setUnknownUsernamesCacheMaximumSize(Long unknownUsernamesCacheMaximumSize) {
+		this.unknownUsernamesCacheMaximumSize = unknownUsernamesCacheMaximumSize;
+	}
+
+	/**
+	 * Gets the unknown usernames cache expiration seconds.
+	 *
+	 * @return the unknown usernames cache expiration seconds
+	 */
+	public Long getUnknownUsernamesCacheExpirationSeconds() {
+		return unknownUsernamesCacheExpirationSeconds;
+	}
+
+	/**
+	 * Sets the unknown usernames cache expiration seconds.
+	 *
+	 * @param unknownUsernamesCacheExpirationSeconds the new unknown usernames cache expiration seconds
+	 */
+	public void setUnknownUsernamesCacheExpirationSeconds(Long unknownUsernamesCacheExpirationSeconds) {
+		this.unknownUsernamesCacheExpirationSeconds = unknownUsernamesCacheExpirationSeconds;
+	}
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.user;
+
+import java.util.Set;
+
+/**
+ * The Class UserCredentials.
+ * The part of a user a login needs, read without loading the entity.
+ *
+ * @author Luis Espinosa
+ */
+public final class UserCredentials {
+
+	/** The username. */
+	private final String username;
+
+	/** The password hash. */
+	private final String password;
+
+	/** The status. */
+	private final Integer status;
+
+	/** The role names. */
+	private final Set<String> roleNames;
+
+	/**
+	 * Instantiates a new user credentials.
+	 *
+	 * @param username the username
+	 * @param password the password hash
+	 * @param status the status
+	 * @param roleNames the role names
+	 */
+	public UserCredentials(String username, String password, Integer status, Set<String> roleNames) {
+		this.username = username;
+		this.password = password;
+		this.status = status;
+		this.roleNames = Set.copyOf(roleNames);
+	}
+
+	/**
+	 * Gets the username.
+	 *
+	 * @return the username
+	 */
+	public String getUsername() {
+		return username;
+	}
+
+	/**
+	 * Gets the password hash.
+	 *
+	 * @return the password hash
+	 */
+	public String getPassword() {
+		return password;
+	}
+
+	/**
+	 * Gets the status.
+	 *
+	 * @return the status
+	 */
+	public Integer getStatus() {
+		return status;
+	}
+
+	/**
+	 * Gets the role names.
+	 *
+	 * @return the role names
+	 */
+	public Set<String> getRoleNames() {
+		return roleNames;
+	}
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.user;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.lsoftware.inventory.metrics.MetricsProvider;
+
+/**
+ * The Class UserCredentialsCache.
+ * Keeps the credentials of the users that logged in, keyed by upper-cased
+ * username, so repeated logins do not reach the database. UserService evicts
+ * a user once any write to it has committed. The usernames not found are
+ * remembered too, so the login throttle refuses them before any password is
+ * compared.
+ *
+ * @author Luis Espinosa
+ */
+@Component
+public class UserCredentialsCache implements MetricsProvider {
+
+	/** The credentials. */
+	private Cache<String, UserCredentials> credentials;
+
+	/** The unknown usernames, as requested, the lookup is case sensitive. */
+	private Cache<String, Boolean> unknown;
+
+	/**
+	 * The generation, increased on every eviction so a load that raced with a
+	 * write is not stored.
+	 */
+	private AtomicLong generation = new AtomicLong();
+
+	/**
+	 * Instantiates a new user credentials cache.
+	 *
+	 * @param userConfig the user config
+	 */
+	public UserCredentialsCache(UserConfig userConfig) {
+		this.credentials = CacheBuilder.newBuilder()
+				.maximumSize(userConfig.getCredentialsCacheMaximumSize())
+				.expireAfterWrite(userConfig.getCredentialsCacheExpirationSeconds(), TimeUnit.SECONDS)
+				.recordStats()
+				.build();
+		this.unknown = CacheBuilder.newBuilder()
+				.maximumSize(userConfig.getUnknownUsernamesCacheMaximumSize())
+				.expireAfterWrite(userConfig.getUnknownUsernamesCacheExpirationSeconds(), TimeUnit.SECONDS)
+				.recordStats()
+				.build();
+	}
+
+	/**
+	 * Gets the credentials.
+	 *
+	 * @param username the username
+	 * @param loader the loader run on a miss
+	 * @return the credentials
+	 */
+	public Optional<UserCredentials> get(String username, Function<String, Optional<UserCredentials>> loader) {
+		String key = key(username);
+
+		UserCredentials cached = credentials.getIfPresent(key);
+		// The key is case insensitive, the lookup by username is not
+		if (cached != null && cached.getUsername().equals(username)) return Optional.of(cached);
+
+		if (isUnknown(username)) return Optional.empty();
+
+		long current = generation.get();
+		Optional<UserCredentials> loaded = loader.apply(username);
+		if (generation.get() != current) return loaded;
+
+		if (loaded.isPresent()) {
+			credentials.put(key, loaded.get());
+		} else {
+			unknown.put(username, Boolean.TRUE);
+		}
+		return loaded;
+	}
+
+	/**
+	 * Checks if the username is known to be missing.
+	 *
+	 * @param username the username
+	 * @return true, if it was not found by a recent lookup
+	 */
+	public boolean isUnknown(String username) {
+		return username != null && unknown.getIfPresent(username) != null;
+	}
+
+	/**
+	 * Evict.
+	 * Must run once the write that changed the user has committed.
+	 *
+	 * @param username the username
+	 */
+	public void evict(String username) {
+		if (username == null) return;
+
+		String key = key(username);
+		generation.incrementAndGet();
+		credentials.invalidate(key);
+		// Any casing of the username may have been remembered
+		unknown.asMap().keySet().removeIf(name -> key(name).equals(key));
+	}
+
+	/**
+	 * Key.
+	 *
+	 * @param username the username
+	 * @return the key
+	 */
+	private static String key(String username) {
+		return username.toUpperCase(Locale.ROOT);
+	}
+
+	/**
+	 * Gets the metrics name.
+	 *
+	 * @return the metrics name
+	 */
+	@Override
+	public String getMetricsName() {
+		return "userCredentialsCache";
+	}
+
+	/**
+	 * Gets the metrics.
+	 *
+	 * @return the metrics
+	 */
+	@Override
+	public Map<String, Long> getMetrics() {
+		CacheStats stats = credentials.stats();
+
+		Map<String, Long> metrics = new LinkedHashMap<>();
+		metrics.put("hits", stats.hitCount());
+		metrics.put("misses", stats.missCount());
+		metrics.put("evictions", stats.evictionCount());
+		metrics.put("size", credentials.size());
+		metrics.put("unknownHits", unknown.stats().hitCount());
+		metrics.put("unknownSize", unknown.size());
+		return metrics;
+	}
+
+}
@@ -4,8 +4,13 @@
  */
 package com.lsoftware.inventory.user;
 
+import java.util.HashSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -16,7 +21,10 @@ import org.springframework.stereotype.Service;
  * @author Luis Espinosa
  */
 @Service
-public class UserDetailsCustomService implements UserDetailsService {
+public class UserDetailsCustomService implements UserDetailsService, UserDetailsPasswordService {
+
+	/** The Constant LOG. */
+	private static final Logger LOG = LoggerFactory.getLogger(UserDetailsCustomService.class);
 
 	/** The application user dao. */
 	private final UserApplicationProviderDao applicationUserDao;
@@ -43,4 +51,23 @@ public class UserDetailsCustomService implements UserDetailsService {
 				.orElseThrow(() -> new UsernameNotFoundException(String.format("Username %s not found", username)));
 	}
 
+	/**
+	 * Update password.
+	 * Called after a successful login whose stored hash was made with another
+	 * cost or encoding, the new hash is already computed.
+	 *
+	 * @param user the user
+	 * @param newPassword the new encoded password
+	 * @return the user details
+	 */
+	@Override
+	public UserDetails updatePassword(UserDetails user, String newPassword) {
+		LOG.info("method: updatePassword");
+		
+		if (!applicationUserDao.updateApplicationUserPassword(user.getUsername(), newPassword)) return user;
+		
+		return new UserAuthentication(user.getUsername(), newPassword, new HashSet<>(user.getAuthorities()),
+				user.isAccountNonExpired(), user.isAccountNonLocked(), user.isCredentialsNonExpired(), user.isEnabled());
+	}
+
 }
@@ -0,0 +1,88 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.user;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import com.lsoftware.inventory.mappings.EntityMapper;
+import com.lsoftware.inventory.role.Role;
+
+/**
+ * The Class UserMapper.
+ * The roles are copied into a new set, the role instances are shared.
+ *
+ * @author Luis Espinosa
+ */
+@Component
+public class UserMapper implements EntityMapper<User, UserDTO> {
+
+	/**
+	 * To DTO.
+	 *
+	 * @param entity the entity
+	 * @return the user DTO
+	 */
+	@Override
+	public UserDTO toDTO(User entity) {
+		if (entity == null) return null;
+
+		return new UserDTO(entity.getId(), entity.getDocument(), entity.getName(), entity.getLastName(),
+				entity.getUsername(), entity.getPassword(), entity.getStatus(), copy(entity.getRoles()));
+	}
+
+	/**
+	 * To entity.
+	 *
+	 * @param dto the dto
+	 * @return the user
+	 */
+	@Override
+	public User toEntity(UserDTO dto) {
+		if (dto == null) return null;
+
+		return new User(dto.getId(), dto.getDocument(), dto.getName(), dto.getLastName(),
+				dto.getUsername(), dto.getPassword(), dto.getStatus(), copy(dto.getRoles()));
+	}
+
+	/**
+	 * To simple DTO.
+	 *
+	 * @param entity the entity
+	 * @return the user simple DTO
+	 */
+	public UserSimpleDTO toSimpleDTO(User entity) {
+		if (entity == null) return null;
+
+		return new UserSimpleDTO(entity.getId(), entity.getDocument(), entity.getName(), entity.getLastName(),
+				entity.getUsername(), entity.getPassword(), entity.getStatus(), copy(entity.getRoles()));
+	}
+
+	/**
+	 * To entity.
+	 *
+	 * @param dto the dto
+	 * @return the user
+	 */
+	public User toEntity(UserSimpleDTO dto) {
+		if (dto == null) return null;
+
+		return new User(dto.getId(), dto.getDocument(), dto.getName(), dto.getLastName(),
+				dto.getUsername(), dto.getPassword(), dto.getStatus(), copy(dto.getRoles()));
+	}
+
+	/**
+	 * Copy.
+	 *
+	 * @param roles the roles
+	 * @return the roles
+	 */
+	private static Set<Role> copy(Set<Role> roles) {
+		return roles != null ? new HashSet<>(roles) : null;
+	}
+
+}
@@ -7,8 +7,8 @@ package com.lsoftware.inventory.user;
 import java.util.List;
 import java.util.Optional;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -31,6 +31,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
 	 */
 	Optional<User> findByUsername(String username); // Authentication
 	
+	/**
+	 * Find credentials by username.
+	 *
+	 * @param username the username
+	 * @return username, password, status and role name, one row per role
+	 */
+	@Query("SELECT u.username, u.password, u.status, r.name FROM User u LEFT JOIN u.roles r WHERE u.username = ?1")
+	List<Object[]> findCredentialsByUsername(String username); // Authentication
+	
 	
 	/**
 	 * Find by document and username and status.
@@ -70,10 +79,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
 	 *
 	 * @param status the status
 	 * @param pageable the pageable
-	 * @return the page
+	 * @return the slice
 	 */
 	@Query("SELECT u FROM User u WHERE u.status IN(?1) ORDER BY u.id DESC")
-	Page<User> findByStatus(List<Integer> status, Pageable pageable); // List no search term
+	Slice<User> findByStatus(List<Integer> status, Pageable pageable); // List no search term
+	
+	/**
+	 * Count by status.
+	 *
+	 * @param status the status
+	 * @return the long
+	 */
+	@Query("SELECT COUNT(u) FROM User u WHERE u.status IN(?1)")
+	long countByStatus(List<Integer> status); // Total no search term
 	
 	/**
 	 * Find by terms containing.
@@ -81,11 +99,46 @@ public interface UserRepository extends JpaRepository<User, Long> {
 	 * @param searchTerm the search term
 	 * @param status the status
 	 * @param pageable the pageable
-	 * @return the page
+	 * @return the slice
 	 */
 	@Query("SELECT u FROM User u WHERE ( LOWER(u.name) LIKE LOWER(concat('%', concat(?1, '%'))) OR "
 			+ "LOWER(u.lastName) LIKE LOWER(concat('%', concat(?1, '%'))) ) AND u.status IN(?2) ORDER BY u.id DESC")
-	Page<User> findByTermsContaining(String searchTerm, List<Integer> status, Pageable pageable); // List WITH search term
+	Slice<User> findByTermsContaining(String searchTerm, List<Integer> status, Pageable pageable); // List WITH search term
+	
+	/**
+	 * Count by terms containing.
+	 *
+	 * @param searchTerm the search term
+	 * @param status the status
+	 * @return the long
+	 */
+	@Query("SELECT COUNT(u) FROM User u WHERE ( LOWER(u.name) LIKE LOWER(concat('%', concat(?1, '%'))) OR "
+			+ "LOWER(u.lastName) LIKE LOWER(concat('%', concat(?1, '%'))) ) AND u.status IN(?2)")
+	long countByTermsContaining(String searchTerm, List<Integer> status); // Total WITH search term
+	
+	/**
+	 * Find by status after id.
+	 *
+	 * @param status the status
+	 * @param afterId the last id of the previous page
+	 * @param pageable the pageable, only its size is used
+	 * @return the list
+	 */
+	@Query("SELECT u FROM User u WHERE u.status IN(?1) AND u.id < ?2 ORDER BY u.id DESC")
+	List<User> findByStatusAfterId(List<Integer> status, Long afterId, Pageable pageable); // Keyset no search term
+	
+	/**
+	 * Find by terms containing after id.
+	 *
+	 * @param searchTerm the search term
+	 * @param status the status
+	 * @param afterId the last id of the previous page
+	 * @param pageable the pageable, only its size is used
+	 * @return the list
+	 */
+	@Query("SELECT u FROM User u WHERE ( LOWER(u.name) LIKE LOWER(concat('%', concat(?1, '%'))) OR "
+			+ "LOWER(u.lastName) LIKE LOWER(concat('%', concat(?1, '%'))) ) AND u.status IN(?2) AND u.id < ?3 ORDER BY u.id DESC")
+	List<User> findByTermsContainingAfterId(String searchTerm, List<Integer> status, Long afterId, Pageable pageable); // Keyset WITH search term
 	
 	
 	/**
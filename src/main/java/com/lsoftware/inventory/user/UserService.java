@@ -10,13 +10,12 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -28,12 +27,14 @@ import com.lsoftware.inventory.exception.ExceptionObjectNotFound;
 import com.lsoftware.inventory.exception.ExceptionValueNotPermitted;
 import com.lsoftware.inventory.role.Role;
 import com.lsoftware.inventory.role.RoleRepository;
+import com.lsoftware.inventory.shared.pagination.PaginationCountCache;
 import com.lsoftware.inventory.shared.request.RequestPaginationAndSortDTO;
 import com.lsoftware.inventory.shared.response.ResponsePaginationAndSortDTO;
 import com.lsoftware.inventory.shared.service.ServiceMethods;
 import com.lsoftware.inventory.shared.service.ServicePaginatedMethods;
 import com.lsoftware.inventory.shared.service.ServiceUserPasswordChangeMethods;
 import com.lsoftware.inventory.shared.status.Status;
+import com.lsoftware.inventory.shared.transaction.TransactionAfterCommit;
 
 /**
  * The Class UserService.
@@ -49,11 +50,14 @@ public class UserService implements ServicePaginatedMethods<UserDTO>, ServiceMet
 	/** The Constant ERROR_NOT_FOUND_NAME. */
 	private static final String ERROR_NOT_FOUND_NAME = "error.notFound";
 	
+	/** The Constant USER_TEXT. */
+	private static final String USER_TEXT = "User";
+	
 	/** The user repository. */
 	private UserRepository userRepository;
 	
-	/** The model mapper. */
-	private ModelMapper modelMapper;
+	/** The user mapper. */
+	private UserMapper userMapper;
 	
 	/** The message source. */
 	private MessageSource messageSource;
@@ -67,26 +71,39 @@ public class UserService implements ServicePaginatedMethods<UserDTO>, ServiceMet
 	/** The role repository. */
 	private RoleRepository roleRepository;
 	
+	/** The pagination count cache. */
+	private PaginationCountCache paginationCountCache;
+	
+	/** The user credentials cache. */
+	private UserCredentialsCache userCredentialsCache;
 	
 	/**
 	 * Instantiates a new user service.
 	 *
 	 * @param userRepository the user repository
-	 * @param modelMapper the model mapper
+	 * @param userMapper the user mapper
 	 * @param messageSource the message source
 	 * @param passwordEncoder the password encoder
+	 * @param authenticationHolderProvider the authentication holder provider
+	 * @param roleRepository the role repository
+	 * @param paginationCountCache the pagination count cache
+	 * @param userCredentialsCache the user credentials cache
 	 */
-	public UserService(UserRepository userRepository, ModelMapper modelMapper,
+	public UserService(UserRepository userRepository, UserMapper userMapper,
 			MessageSource messageSource,
 			PasswordEncoder passwordEncoder,
 			AuthenticationHolderProvider authenticationHolderProvider,
-			RoleRepository roleRepository) {
+			RoleRepository roleRepository,
+			PaginationCountCache paginationCountCache,
+			UserCredentialsCache userCredentialsCache) {
 		this.userRepository = userRepository;
-		this.modelMapper = modelMapper;
+		this.userMapper = userMapper;
 		this.messageSource = messageSource;
 		this.passwordEncoder = passwordEncoder;
 		this.authenticationHolderProvider = authenticationHolderProvider;
 		this.roleRepository = roleRepository;
+		this.paginationCountCache = paginationCountCache;
+		this.userCredentialsCache = userCredentialsCache;
 	}
 	
 	/**
@@ -108,7 +125,7 @@ public class UserService implements ServicePaginatedMethods<UserDTO>, ServiceMet
 					messageSource.getMessage("error.alreadyExist", new String[] {"User"}, LocaleContextHolder.getLocale())
 			);
 		
-		User user = modelMapper.map(obj, User.class);
+		User user = userMapper.toEntity(obj);
 		
 		user.setUsername(obj.getUsername().toUpperCase());
 		user.setPassword(passwordEncoder.encode(obj.getPassword()));
@@ -126,8 +143,10 @@ public class UserService implements ServicePaginatedMethods<UserDTO>, ServiceMet
 		user.setRoles(filtered1);
 		
 		User saved = userRepository.save(user);
+		TransactionAfterCommit.execute(() -> paginationCountCache.evict(USER_TEXT));
+		TransactionAfterCommit.execute(() -> userCredentialsCache.evict(saved.getUsername()));
 		saved.setPassword("000");
-		return modelMapper.map(saved, UserDTO.class);
+		return userMapper.toDTO(saved);
 	}
 
 	/**
@@ -165,8 +184,10 @@ public class UserService implements ServicePaginatedMethods<UserDTO>, ServiceMet
 		foundObj.setRoles(filtered);
 		
 		User saved = userRepository.save(foundObj);
+		TransactionAfterCommit.execute(() -> paginationCountCache.evict(USER_TEXT));
+		TransactionAfterCommit.execute(() -> userCredentialsCache.evict(saved.getUsername()));
 		saved.setPassword("000");
-		return modelMapper.map(saved, UserDTO.class);
+		return userMapper.toDTO(saved);
 	}
 	
 	
@@ -214,6 +235,9 @@ public class UserService implements ServicePaginatedMethods<UserDTO>, ServiceMet
 		int result = userRepository.setStatusById(Status.DELETED.getDigit(), user.get().getId());
 		if (result < 1) throw new ExceptionInternalServerError(
 				messageSource.getMessage("error.notDeleted", new String[] {"User"}, LocaleContextHolder.getLocale()));
+		
+		TransactionAfterCommit.execute(() -> paginationCountCache.evict(USER_TEXT));
+		TransactionAfterCommit.execute(() -> userCredentialsCache.evict(user.get().getUsername()));
 	}
 
 	/**
@@ -226,25 +250,21 @@ public class UserService implements ServicePaginatedMethods<UserDTO>, ServiceMet
 	public ResponsePaginationAndSortDTO<UserDTO> findAll(RequestPaginationAndSortDTO pageAndSort) {
 		LOG.info("method: findAll");
 		
-		Page<User> results = userRepository
-				.findByStatus(List.of(Status.ACTIVE.getDigit(), Status.INACTIVE.getDigit()), 
-						PageRequest.of(pageAndSort.getPage(), pageAndSort.getSize()));
+		if (pageAndSort.isKeyset()) {
+			List<User> rows = userRepository.findByStatusAfterId(
+					List.of(Status.ACTIVE.getDigit(), Status.INACTIVE.getDigit()), 
+					pageAndSort.keysetAfterId(), pageAndSort.keysetPageable());
+			return ResponsePaginationAndSortDTO.keyset(rows, pageAndSort.getSize(), User::getId, this::toListedDTO);
+		}
+		
+		List<Integer> status = List.of(Status.ACTIVE.getDigit(), Status.INACTIVE.getDigit());
+		Slice<User> results = userRepository
+				.findByStatus(status, PageRequest.of(pageAndSort.getPage(), pageAndSort.getSize()));
 		
-		List<UserDTO> mapped = results.getContent()
-			.stream()
-			.map(c -> {
-				UserDTO dto = modelMapper.map(c, UserDTO.class);
-				dto.setPassword("");
-				return dto;
-			})
-			.collect(Collectors.toList());
-		
-		ResponsePaginationAndSortDTO<UserDTO> resultData = new ResponsePaginationAndSortDTO<>();
-		resultData.setResult(mapped);
-		resultData.setCurrentPage(results.getNumber());
-		resultData.setTotalItems(results.getTotalElements());
-		resultData.setTotalPages(results.getTotalPages());
-		return resultData;
+		Long total = pageAndSort.isSkipTotals() ? null 
+				: paginationCountCache.count(USER_TEXT, status, null, () -> userRepository.countByStatus(status));
+		
+		return ResponsePaginationAndSortDTO.slice(results, total, this::toListedDTO);
 	}
 
 	/**
@@ -259,25 +279,39 @@ public class UserService implements ServicePaginatedMethods<UserDTO>, ServiceMet
 			RequestPaginationAndSortDTO pageAndSort) {
 		LOG.info("method: findByTermContaining");
 		
-		Page<User> results = userRepository
+		if (pageAndSort.isKeyset()) {
+			List<User> rows = userRepository.findByTermsContainingAfterId(searchTerm, 
+					List.of(Status.ACTIVE.getDigit(), Status.INACTIVE.getDigit()), 
+					pageAndSort.keysetAfterId(), pageAndSort.keysetPageable());
+			return ResponsePaginationAndSortDTO.keyset(rows, pageAndSort.getSize(), User::getId, this::toListedDTO);
+		}
+		
+		List<Integer> status = List.of(Status.ACTIVE.getDigit(), Status.INACTIVE.getDigit());
+		Slice<User> results = userRepository
 				.findByTermsContaining(
 						searchTerm, 
-						List.of(Status.ACTIVE.getDigit(), Status.INACTIVE.getDigit()), 
+						status, 
 						PageRequest.of(pageAndSort.getPage(), pageAndSort.getSize()));
 		
-		List<UserDTO> mapped = results.getContent()
-			.stream()
-			.map(c -> {
-				UserDTO dto = modelMapper.map(c, UserDTO.class);
-				dto.setPassword("");
-				return dto;
-			})
-			.collect(Collectors.toList());
-		
-		return new ResponsePaginationAndSortDTO<>(mapped, results.getNumber(), 
-						results.getTotalElements(), results.getTotalPages());		
+		Long total = pageAndSort.isSkipTotals() ? null 
+				: paginationCountCache.count(USER_TEXT, status, searchTerm, 
+						() -> userRepository.countByTermsContaining(searchTerm, status));
+		
+		return ResponsePaginationAndSortDTO.slice(results, total, this::toListedDTO);
 	}
 
+	/**
+	 * To listed DTO.
+	 *
+	 * @param user the user
+	 * @return the user DTO without its password
+	 */
+	private UserDTO toListedDTO(User user) {
+		UserDTO dto = userMapper.toDTO(user);
+		dto.setPassword("");
+		return dto;
+	}
+	
 	/**
 	 * Update password.
 	 *
@@ -309,6 +343,8 @@ public class UserService implements ServicePaginatedMethods<UserDTO>, ServiceMet
 				foundUser.get().getId());
 		if (result < 1) throw new ExceptionInternalServerError(
 				messageSource.getMessage("error.passwordNotChanged", new String[] {"Password"}, LocaleContextHolder.getLocale()));
+		
+		TransactionAfterCommit.execute(() -> userCredentialsCache.evict(foundUser.get().getUsername()));
 	}
 	
 }
@@ -5,21 +5,31 @@
 package com.lsoftware.inventory.authentication.authorities;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 //import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.GrantedAuthority;
 
+import com.lsoftware.inventory.jwt.JWTConfig;
+import com.lsoftware.inventory.role.Role;
+import com.lsoftware.inventory.role.RoleRepository;
+
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
@@ -40,6 +50,13 @@ class AuthoritiesClaimsProviderTest {
 	
 	/** The under test. */
 	AuthoritiesClaimsProvider underTest;
+	
+	/** The jwt config. */
+	private JWTConfig jwtConfig;
+	
+	/** The role repository. */
+	@Mock
+	private RoleRepository roleRepository;
 
 	/**
 	 * Sets the up.
@@ -48,7 +65,8 @@ class AuthoritiesClaimsProviderTest {
 	 */
 	@BeforeEach
 	void setUp() throws Exception {
-		underTest = new AuthoritiesClaimsProvider();
+		jwtConfig = new JWTConfig();
+		underTest = new AuthoritiesClaimsProvider(jwtConfig, new AuthoritiesRoleDictionary(roleRepository));
 	}
 	
 
@@ -67,4 +85,98 @@ class AuthoritiesClaimsProviderTest {
 		assertEquals(1, authorities.size());
 	}
 
+	/**
+	 * It should issue and read the role mask.
+	 */
+	@Test
+	void itShouldIssueAndReadTheRoleMask() {
+		jwtConfig.setAuthoritiesClaimFormat(AuthoritiesClaimsProvider.FORMAT_BITMASK);
+		BDDMockito.given(roleRepository.findAll()).willReturn(getRoles());
+		
+		Map<String, Object> claims = underTest.provideClaims(Set.of("ADMIN", "SUPERVISOR"));
+		assertThat(claims).containsEntry("rm", 6L).containsKey("rv").doesNotContainKey("authorities");
+		
+		Claims body = parse(claims);
+		Set<GrantedAuthority> first = underTest.provideGrantedAuthorities(body);
+		Set<GrantedAuthority> second = underTest.provideGrantedAuthorities(body);
+		
+		assertThat(first).extracting(GrantedAuthority::getAuthority).containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_SUPERVISOR");
+		assertThat(second).isSameAs(first);
+	}
+	
+	/**
+	 * It should refuse A mask of another dictionary.
+	 */
+	@Test
+	void itShouldRefuseAMaskOfAnotherDictionary() {
+		BDDMockito.given(roleRepository.findAll()).willReturn(getRoles());
+		
+		Claims body = parse(Map.of("rm", 2L, "rv", "other"));
+		
+		assertThatThrownBy(() -> underTest.provideGrantedAuthorities(body))
+			.isInstanceOf(JwtException.class);
+	}
+	
+	/**
+	 * It should read the masks issued before A role was added.
+	 *
+	 * @throws InterruptedException the interrupted exception
+	 */
+	@Test
+	void itShouldReadTheMasksIssuedBeforeARoleWasAdded() throws InterruptedException {
+		jwtConfig.setAuthoritiesClaimFormat(AuthoritiesClaimsProvider.FORMAT_BITMASK);
+		BDDMockito.given(roleRepository.findAll()).willReturn(getRoles());
+		Claims before = parse(underTest.provideClaims(Set.of("SUPERVISOR")));
+		
+		List<Role> roles = List.of(new Role(1L, "ADMIN", "DESCRIPTION"), new Role(2L, "SUPERVISOR", "DESCRIPTION"),
+				new Role(3L, "AUDITOR", "DESCRIPTION"));
+		BDDMockito.given(roleRepository.findAll()).willReturn(roles);
+		AuthoritiesClaimsProvider reloaded = new AuthoritiesClaimsProvider(jwtConfig, new AuthoritiesRoleDictionary(roleRepository));
+		Claims after = parse(reloaded.provideClaims(Set.of("AUDITOR")));
+		assertThat(after.get("rv")).isNotEqualTo(before.get("rv"));
+		Thread.sleep(1100);
+		
+		assertThat(underTest.provideGrantedAuthorities(after)).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_AUDITOR");
+		assertThat(underTest.provideGrantedAuthorities(before)).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_SUPERVISOR");
+	}
+	
+	/**
+	 * It should keep the names by default.
+	 */
+	@Test
+	void itShouldKeepTheNamesByDefault() {
+		Map<String, Object> claims = underTest.provideClaims(Set.of("ADMIN"));
+		
+		assertThat(claims).containsOnlyKeys("authorities");
+		assertThat(underTest.provideGrantedAuthorities(parse(claims))).hasSize(1);
+	}
+	
+	/**
+	 * Parses the.
+	 *
+	 * @param claims the claims
+	 * @return the claims
+	 */
+	private Claims parse(Map<String, Object> claims) {
+		String token = Jwts.builder()
+				.setSubject("LUIS3")
+				.addClaims(claims)
+				.signWith(Keys.hmacShaKeyFor(SECRET_KEY.getBytes()))
+				.compact();
+		
+		return Jwts.parser()
+				.setSigningKey(Keys.hmacShaKeyFor(SECRET_KEY.getBytes()))
+				.parseClaimsJws(token)
+				.getBody();
+	}
+	
+	/**
+	 * Gets the roles.
+	 *
+	 * @return the roles
+	 */
+	private List<Role> getRoles() {
+		return List.of(new Role(1L, "ADMIN", "DESCRIPTION"), new Role(2L, "SUPERVISOR", "DESCRIPTION"));
+	}
+
 }
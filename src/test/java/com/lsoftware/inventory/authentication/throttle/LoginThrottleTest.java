@@ -0,0 +1,118 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.authentication.throttle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import com.lsoftware.inventory.exception.ExceptionTooManyRequests;
+import com.lsoftware.inventory.user.UserCredentialsCache;
+
+/**
+ * The Class LoginThrottleTest.
+ *
+ * @author Luis Espinosa
+ */
+@ExtendWith(MockitoExtension.class)
+class LoginThrottleTest {
+
+	/** The Constant SECOND. */
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	/** The under test. */
+	private LoginThrottle underTest;
+
+	/** The user credentials cache. */
+	@Mock
+	private UserCredentialsCache userCredentialsCache;
+
+	/**
+	 * Sets the up.
+	 */
+	@BeforeEach
+	void setUp() {
+		LoginThrottleConfig config = new LoginThrottleConfig();
+		config.setWindowSeconds(100L);
+		config.setMaximumFailuresPerUsername(3);
+		config.setMaximumFailuresPerAddress(5);
+		underTest = new LoginThrottle(config, userCredentialsCache);
+	}
+
+	/**
+	 * It should throttle the username until its failures leave the window.
+	 */
+	@Test
+	void itShouldThrottleTheUsernameUntilItsFailuresLeaveTheWindow() {
+		underTest.recordFailure("luis", "10.0.0.1", 0L);
+		underTest.recordFailure("LUIS", "10.0.0.2", 45 * SECOND);
+		underTest.check("luis", "10.0.0.3", 46 * SECOND);
+		underTest.recordFailure("Luis", "10.0.0.3", 46 * SECOND);
+
+		assertThatThrownBy(() -> underTest.check("luis", "10.0.0.4", 50 * SECOND))
+			.isInstanceOf(ExceptionTooManyRequests.class)
+			.extracting("retryAfterSeconds").isEqualTo(50L);
+
+		// The first failure left the window with its slot
+		underTest.check("luis", "10.0.0.4", 100 * SECOND);
+	}
+
+	/**
+	 * It should throttle the address across usernames.
+	 */
+	@Test
+	void itShouldThrottleTheAddressAcrossUsernames() {
+		for (int i = 0; i < 5; i++) {
+			underTest.recordFailure("user" + i, "10.0.0.1", i * SECOND);
+		}
+
+		assertThatThrownBy(() -> underTest.check("other", "10.0.0.1", 5 * SECOND))
+			.isInstanceOf(ExceptionTooManyRequests.class);
+		underTest.check("other", "10.0.0.2", 5 * SECOND);
+	}
+
+	/**
+	 * It should clear the username on success.
+	 */
+	@Test
+	void itShouldClearTheUsernameOnSuccess() {
+		for (int i = 0; i < 3; i++) {
+			underTest.recordFailure("luis", "10.0.0.1", 0L);
+		}
+
+		underTest.recordSuccess("luis");
+
+		underTest.check("luis", "10.0.0.2", SECOND);
+	}
+
+	/**
+	 * It should refuse the unknown usernames.
+	 */
+	@Test
+	void itShouldRefuseTheUnknownUsernames() {
+		BDDMockito.given(userCredentialsCache.isUnknown("ghost")).willReturn(true);
+
+		for (int i = 0; i < 3; i++) {
+			assertThatThrownBy(() -> underTest.check("ghost", "10.0.0.1", 0L))
+				.isInstanceOf(BadCredentialsException.class);
+		}
+		assertThatThrownBy(() -> underTest.check("ghost", "10.0.0.1", 0L))
+			.isInstanceOf(ExceptionTooManyRequests.class);
+
+		assertThat(underTest.getMetrics())
+			.containsEntry("unknownUsernames", 3L)
+			.containsEntry("throttled", 1L);
+	}
+
+}
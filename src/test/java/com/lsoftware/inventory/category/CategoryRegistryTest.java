@@ -0,0 +1,116 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.category;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.lsoftware.inventory.shared.status.Status;
+
+/**
+ * The Class CategoryRegistryTest.
+ *
+ * @author Luis Espinosa
+ */
+@ExtendWith(MockitoExtension.class)
+class CategoryRegistryTest {
+
+	/** The under test. */
+	private CategoryRegistry underTest;
+
+	/** The category repository. */
+	@Mock
+	private CategoryRepository categoryRepository;
+
+	/**
+	 * Sets the up.
+	 */
+	@BeforeEach
+	void setUp() {
+		underTest = new CategoryRegistry(categoryRepository);
+	}
+
+	/**
+	 * It should resolve every category with A single query.
+	 */
+	@Test
+	void itShouldResolveEveryCategoryWithASingleQuery() {
+		BDDMockito.given(categoryRepository.findByStatus(Status.ACTIVE.getDigit()))
+			.willReturn(getCategoryList());
+
+		// Ids above the Long cache must match by value
+		assertThat(underTest.findActive(Long.valueOf(1000L))).isPresent();
+		assertThat(underTest.findActive(Long.valueOf(1000L)).get().getName()).isEqualTo("CATEGORY 1000");
+		assertThat(underTest.findActive(2L)).isPresent();
+
+		verify(categoryRepository, times(1)).findByStatus(Status.ACTIVE.getDigit());
+	}
+
+	/**
+	 * It should fall back to the database on A miss.
+	 */
+	@Test
+	void itShouldFallBackToTheDatabaseOnAMiss() {
+		BDDMockito.given(categoryRepository.findByStatus(Status.ACTIVE.getDigit()))
+			.willReturn(getCategoryList());
+		BDDMockito.given(categoryRepository.findByIdAndStatus(3L, Status.ACTIVE.getDigit()))
+			.willReturn(Optional.empty());
+
+		assertThat(underTest.findActive(3L)).isEmpty();
+		verify(categoryRepository, times(1)).findByIdAndStatus(3L, Status.ACTIVE.getDigit());
+	}
+
+	/**
+	 * It should load again after A refresh.
+	 */
+	@Test
+	void itShouldLoadAgainAfterARefresh() {
+		BDDMockito.given(categoryRepository.findByStatus(Status.ACTIVE.getDigit()))
+			.willReturn(getCategoryList());
+
+		underTest.findActive(2L);
+		underTest.refresh();
+		underTest.findActive(2L);
+
+		verify(categoryRepository, times(2)).findByStatus(Status.ACTIVE.getDigit());
+	}
+
+	/**
+	 * It should not expose the registered instances.
+	 */
+	@Test
+	void itShouldNotExposeTheRegisteredInstances() {
+		BDDMockito.given(categoryRepository.findByStatus(Status.ACTIVE.getDigit()))
+			.willReturn(getCategoryList());
+
+		underTest.findActive(2L).get().setName("CHANGED");
+
+		assertThat(underTest.findActive(2L).get().getName()).isEqualTo("CATEGORY 2");
+	}
+
+	/**
+	 * Gets the category list.
+	 *
+	 * @return the category list
+	 */
+	private List<Category> getCategoryList() {
+		return List.of(
+				new Category(1000L, "CATEGORY 1000", Status.ACTIVE.getDigit()),
+				new Category(2L, "CATEGORY 2", Status.ACTIVE.getDigit())
+		);
+	}
+
+}
@@ -14,8 +14,8 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 
 import com.lsoftware.inventory.shared.status.Status;
 
@@ -89,7 +89,7 @@ class CategoryRepositoryTest {
 		
 		PageRequest pageable = PageRequest.of(0, 2);
 		
-		Page<Category> result = underTest.findByTermsContaining("C", List.of(Status.ACTIVE.getDigit()), pageable);
+		Slice<Category> result = underTest.findByTermsContaining("C", List.of(Status.ACTIVE.getDigit()), pageable);
 		assertEquals(false, result.getContent().isEmpty());
 		assertEquals(1, result.getContent().size());
 	}
@@ -119,7 +119,7 @@ class CategoryRepositoryTest {
 		underTest.save(new Category(4L, "CATEGORY4", Status.ACTIVE.getDigit()));
 		underTest.save(new Category(5L, "CATEGORY5", Status.DELETED.getDigit()));
 		
-		Page<Category> results = underTest.findByStatus(Status.ACTIVE.getDigit(),
+		Slice<Category> results = underTest.findByStatus(Status.ACTIVE.getDigit(),
 				PageRequest.of(0, 2));
 		assertThat(results.get().count()).isEqualTo(2);
 	}
@@ -12,7 +12,6 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -26,7 +25,6 @@ import org.mockito.BDDMockito;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.context.MessageSource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -35,6 +33,8 @@ import com.lsoftware.inventory.exception.ExceptionInternalServerError;
 import com.lsoftware.inventory.exception.ExceptionObjectNotFound;
 import com.lsoftware.inventory.exception.ExceptionValueNotPermitted;
 import com.lsoftware.inventory.product.ProductRepository;
+import com.lsoftware.inventory.shared.pagination.PaginationConfig;
+import com.lsoftware.inventory.shared.pagination.PaginationCountCache;
 import com.lsoftware.inventory.shared.request.RequestPaginationAndSortDTO;
 import com.lsoftware.inventory.shared.response.ResponsePaginationAndSortDTO;
 import com.lsoftware.inventory.shared.status.Status;
@@ -54,9 +54,9 @@ class CategoryServiceTest {
 	@Mock
 	private CategoryRepository categoryRepository;
 
-	/** The model mapper. */
+	/** The category mapper. */
 	@Mock
-	private ModelMapper modelMapper;
+	private CategoryMapper categoryMapper;
 	
 	/** The message source. */
 	@Mock
@@ -73,7 +73,8 @@ class CategoryServiceTest {
 	 */
 	@BeforeEach
 	void setUp() throws Exception {
-		underTest = new CategoryService(categoryRepository, modelMapper, messageSource, productRepository);
+		underTest = new CategoryService(categoryRepository, categoryMapper, messageSource, productRepository,
+				new CategoryRegistry(categoryRepository), new PaginationCountCache(new PaginationConfig()));
 	}
 
 	/**
@@ -92,7 +93,7 @@ class CategoryServiceTest {
 		BDDMockito.given(categoryRepository.findByNameAndStatus(anyString(), anyInt()))
 			.willReturn(Optional.empty());
 		
-		BDDMockito.given(modelMapper.map(any(), eq(Category.class)))
+		BDDMockito.given(categoryMapper.toEntity(any()))
 			.willReturn(category);
 		
 		category.setId(1L);
@@ -103,7 +104,7 @@ class CategoryServiceTest {
 		dto.setId(1L);
 		dto.setStatus(Status.ACTIVE.getDigit());
 		dto.setName("CATEGORY1");
-		BDDMockito.given(modelMapper.map(any(), eq(CategoryDTO.class)))
+		BDDMockito.given(categoryMapper.toDTO(any()))
 			.willReturn(dto);
 		
 		CategoryDTO result = underTest.add(dto);
@@ -166,7 +167,7 @@ class CategoryServiceTest {
 		BDDMockito.given(categoryRepository.save(any()))
 			.willReturn(category);
 
-		BDDMockito.given(modelMapper.map(any(), eq(CategoryDTO.class)))
+		BDDMockito.given(categoryMapper.toDTO(any()))
 			.willReturn(returned);
 		
 		CategoryDTO result = underTest.update(dto);
@@ -292,7 +293,7 @@ class CategoryServiceTest {
 		BDDMockito.given(categoryRepository.findByStatus(anyInt(), any()))
 			.willReturn(page);
 		
-		BDDMockito.given(modelMapper.map(any(), eq(CategoryDTO.class)))
+		BDDMockito.given(categoryMapper.toDTO(any()))
 		.willReturn(dto);
 		
 		RequestPaginationAndSortDTO request = new RequestPaginationAndSortDTO();
@@ -320,7 +321,7 @@ class CategoryServiceTest {
 		BDDMockito.given(categoryRepository.findByTermsContaining(anyString(), anyList(), any()))
 			.willReturn(page);
 		
-		BDDMockito.given(modelMapper.map(any(), eq(CategoryDTO.class)))
+		BDDMockito.given(categoryMapper.toDTO(any()))
 		.willReturn(dto);
 		
 		RequestPaginationAndSortDTO request = new RequestPaginationAndSortDTO();
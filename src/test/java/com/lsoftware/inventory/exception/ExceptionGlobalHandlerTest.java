@@ -68,6 +68,16 @@ class ExceptionGlobalHandlerTest {
 		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
 	}
 	
+	/**
+	 * Checks if is should handle service unavailable exception.
+	 */
+	@Test
+	void isShouldHandleServiceUnavailableException() {
+		ResponseEntity<ApiCustomResponse> response = underTest.handleServiceUnavailableException(new ExceptionServiceUnavailable("dummy", 2L));
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+		assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+	}
+	
 	/**
 	 * Checks if is should handle internal server error exception.
 	 */
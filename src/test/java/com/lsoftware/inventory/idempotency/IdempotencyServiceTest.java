@@ -0,0 +1,166 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import com.lsoftware.inventory.exception.ExceptionValueNotPermitted;
+
+/**
+ * The Class IdempotencyServiceTest.
+ * Not transactional, the key has to be committed to be seen by the repeats.
+ *
+ * @author Luis Espinosa
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:idempotencyDB;DB_CLOSE_DELAY=-1")
+class IdempotencyServiceTest {
+
+	/** The under test. */
+	@Autowired
+	private IdempotencyService underTest;
+
+	/** The idempotency record repository. */
+	@Autowired
+	private IdempotencyRecordRepository idempotencyRecordRepository;
+
+	/**
+	 * Tear down.
+	 */
+	@AfterEach
+	void tearDown() {
+		idempotencyRecordRepository.deleteAll();
+	}
+
+	/**
+	 * It should replay the first result without running again.
+	 */
+	@Test
+	@WithMockUser(username = "VALEN4")
+	void itShouldReplayTheFirstResultWithoutRunningAgain() {
+		AtomicInteger runs = new AtomicInteger();
+
+		IdempotencyResult<Integer> first = underTest.execute("KEY-1", "REQUEST", Integer.class, runs::incrementAndGet);
+		IdempotencyResult<Integer> second = underTest.execute("KEY-1", "REQUEST", Integer.class, runs::incrementAndGet);
+
+		assertThat(first).isEqualTo(new IdempotencyResult<>(1, false));
+		assertThat(second).isEqualTo(new IdempotencyResult<>(1, true));
+		assertThat(runs).hasValue(1);
+		assertThat(idempotencyRecordRepository.findByUsernameAndKey("VALEN4", "KEY-1"))
+			.hasValueSatisfying(record -> assertThat(record.getResponse()).isEqualTo("1"));
+	}
+
+	/**
+	 * It should refuse A key reused for another request.
+	 */
+	@Test
+	@WithMockUser(username = "VALEN4")
+	void itShouldRefuseAKeyReusedForAnotherRequest() {
+		underTest.execute("KEY-2", "REQUEST", Integer.class, () -> 1);
+
+		assertThatThrownBy(() -> underTest.execute("KEY-2", "OTHER REQUEST", Integer.class, () -> 2))
+			.isInstanceOf(ExceptionValueNotPermitted.class)
+			.hasMessageContaining("Idempotency-Key");
+	}
+
+	/**
+	 * It should keep the keys of every user apart.
+	 */
+	@Test
+	@WithMockUser(username = "VALEN4")
+	void itShouldKeepTheKeysOfEveryUserApart() {
+		underTest.execute("KEY-3", "REQUEST", Integer.class, () -> 1);
+
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken("OTHER", "123456", List.of()));
+		IdempotencyResult<Integer> other = underTest.execute("KEY-3", "REQUEST", Integer.class, () -> 2);
+
+		assertThat(other).isEqualTo(new IdempotencyResult<>(2, false));
+	}
+
+	/**
+	 * It should run again after A failure.
+	 */
+	@Test
+	@WithMockUser(username = "VALEN4")
+	void itShouldRunAgainAfterAFailure() {
+		assertThatThrownBy(() -> underTest.execute("KEY-4", "REQUEST", Integer.class, () -> {
+			throw new IllegalStateException("failed");
+		})).isInstanceOf(IllegalStateException.class);
+
+		assertThat(idempotencyRecordRepository.findByUsernameAndKey("VALEN4", "KEY-4")).isEmpty();
+		assertThat(underTest.execute("KEY-4", "REQUEST", Integer.class, () -> 1))
+			.isEqualTo(new IdempotencyResult<>(1, false));
+	}
+
+	/**
+	 * It should run concurrent repeats once.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	@WithMockUser(username = "VALEN4")
+	void itShouldRunConcurrentRepeatsOnce() throws Exception {
+		int repeats = 8;
+		AtomicInteger runs = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(repeats);
+		UsernamePasswordAuthenticationToken user = new UsernamePasswordAuthenticationToken("VALEN4", "123456", List.of());
+
+		List<Future<IdempotencyResult<Integer>>> futures = new ArrayList<>();
+		for (int i = 0; i < repeats; i++) {
+			futures.add(executor.submit(() -> {
+				SecurityContextHolder.getContext().setAuthentication(user);
+				start.await();
+				return underTest.execute("KEY-5", "REQUEST", Integer.class, () -> {
+					sleep();
+					return runs.incrementAndGet();
+				});
+			}));
+		}
+		start.countDown();
+
+		int replayed = 0;
+		for (Future<IdempotencyResult<Integer>> future : futures) {
+			IdempotencyResult<Integer> result = future.get(30, TimeUnit.SECONDS);
+			assertThat(result.getValue()).isEqualTo(1);
+			if (result.isReplayed()) replayed++;
+		}
+		executor.shutdown();
+
+		assertThat(runs).hasValue(1);
+		assertThat(replayed).isEqualTo(repeats - 1);
+	}
+
+	/**
+	 * Sleep.
+	 * Keeps the first request running while the repeats arrive.
+	 */
+	private static void sleep() {
+		try {
+			Thread.sleep(200);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
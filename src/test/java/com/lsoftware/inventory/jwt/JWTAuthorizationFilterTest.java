@@ -4,6 +4,7 @@
  */
 package com.lsoftware.inventory.jwt;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.times;
@@ -23,8 +24,11 @@ import org.mockito.BDDMockito;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 import com.lsoftware.inventory.authentication.authorities.AuthoritiesCustomProvider;
+import com.lsoftware.inventory.revocation.RevocationRegistry;
 
 import io.jsonwebtoken.security.Keys;
 
@@ -67,6 +71,10 @@ class JWTAuthorizationFilterTest {
 	/** The authorities custom provider. */
 	@Mock
 	private AuthoritiesCustomProvider authoritiesCustomProvider;
+	
+	/** The revocation registry. */
+	@Mock
+	private RevocationRegistry revocationRegistry;
 
 	/**
 	 * Sets the up.
@@ -75,8 +83,8 @@ class JWTAuthorizationFilterTest {
 	 */
 	@BeforeEach
 	void setUp() throws Exception {
-		underTest = new JWTAuthorizationFilter(Keys.hmacShaKeyFor(SECRET_KEY.getBytes()), jwtConfig,
-				authoritiesCustomProvider);
+		underTest = new JWTAuthorizationFilter(jwtConfig, new JWTTokenVerifier(new JWTKeyRing(Keys.hmacShaKeyFor(SECRET_KEY.getBytes())),
+				authoritiesCustomProvider, new JWTConfig(), revocationRegistry));
 	}
 
 	/**
@@ -135,5 +143,57 @@ class JWTAuthorizationFilterTest {
 		verify(authoritiesCustomProvider, times(0)).provideGrantedAuthorities(any());
 		verify(filterChain, times(0)).doFilter(any(HttpServletRequest.class), any(HttpServletResponse.class));
 	}
+	
+	/**
+	 * It should verify A reused token once.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 * @throws ServletException the servlet exception
+	 */
+	@Test
+	void itShouldVerifyAReusedTokenOnce() throws IOException, ServletException {
+		
+		BDDMockito.given(httpServletRequest.getHeader(any()))
+			.willReturn(TOKEN_EXAMPLE);
+		
+		BDDMockito.given(jwtConfig.getTokenPrefix())
+			.willReturn("Bearer");
+		
+		underTest.doFilterInternal(httpServletRequest, httpServletResponse, filterChain);
+		Authentication first = SecurityContextHolder.getContext().getAuthentication();
+		underTest.doFilterInternal(httpServletRequest, httpServletResponse, filterChain);
+		Authentication second = SecurityContextHolder.getContext().getAuthentication();
+		SecurityContextHolder.clearContext();
+		
+		verify(authoritiesCustomProvider, times(1)).provideGrantedAuthorities(any());
+		verify(filterChain, times(2)).doFilter(any(HttpServletRequest.class), any(HttpServletResponse.class));
+		assertThat(second).isNotSameAs(first);
+		assertThat(second.getName()).isEqualTo("LUIS3");
+	}
+
+	/**
+	 * It should deny A revoked token.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 * @throws ServletException the servlet exception
+	 */
+	@Test
+	void itShouldDenyARevokedToken() throws IOException, ServletException {
+		
+		BDDMockito.given(httpServletRequest.getHeader(any()))
+			.willReturn(TOKEN_EXAMPLE);
+		
+		BDDMockito.given(jwtConfig.getTokenPrefix())
+			.willReturn("Bearer");
+		
+		// Issued without an id, revoked through its user
+		BDDMockito.given(revocationRegistry.isRevoked(null, "LUIS3", 1651453801000L))
+			.willReturn(true);
+		
+		assertThatThrownBy(() -> underTest.doFilterInternal(httpServletRequest, httpServletResponse, filterChain))
+			.isInstanceOf(AccessDeniedException.class);
+		
+		verify(filterChain, times(0)).doFilter(any(HttpServletRequest.class), any(HttpServletResponse.class));
+	}
 
 }
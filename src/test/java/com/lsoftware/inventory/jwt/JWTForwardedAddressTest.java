@@ -0,0 +1,55 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.jwt;
+
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import com.lsoftware.inventory.authentication.throttle.LoginThrottle;
+
+/**
+ * The Class JWTForwardedAddressTest.
+ * Runs on a real server, the forwarded address is resolved by Tomcat and
+ * not by the filter.
+ *
+ * @author Luis Espinosa
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,
+		properties = "spring.datasource.url=jdbc:h2:mem:forwardedAddressDB;DB_CLOSE_DELAY=-1")
+class JWTForwardedAddressTest {
+
+	/** The rest template. */
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	/** The login throttle. */
+	@MockBean
+	private LoginThrottle loginThrottle;
+
+	/**
+	 * It should throttle the address forwarded by A trusted proxy.
+	 */
+	@Test
+	void itShouldThrottleTheAddressForwardedByATrustedProxy() {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.APPLICATION_JSON);
+		headers.add("X-Forwarded-For", "203.0.113.7");
+
+		restTemplate.postForEntity("/login",
+				new HttpEntity<>("{\"username\":\"NOBODY\",\"password\":\"123456\"}", headers), String.class);
+
+		verify(loginThrottle).check("NOBODY", "203.0.113.7");
+	}
+
+}
@@ -0,0 +1,194 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * The Class JWTSecretKeyConfigTest.
+ *
+ * @author Luis Espinosa
+ */
+class JWTSecretKeyConfigTest {
+
+	/** The Constant SECRET_KEY. */
+	private static final String SECRET_KEY = "securesecuresecuresecuresecuresecuresecuresecuresecuresecuresecure";
+
+	/** The Constant OLD_SECRET. */
+	private static final String OLD_SECRET = "oldsecretoldsecretoldsecretoldsecretoldsecretoldsecretoldsecret";
+
+	/** The Constant NEW_SECRET. */
+	private static final String NEW_SECRET = "newsecretnewsecretnewsecretnewsecretnewsecretnewsecretnewsecret";
+
+	/**
+	 * It should keep verifying the old tokens after A rotation.
+	 */
+	@Test
+	void itShouldKeepVerifyingTheOldTokensAfterARotation() {
+		JWTKeyRing before = keyRing("2022-01", hmac("2022-01", OLD_SECRET));
+		String oldToken = sign(before, "LUIS");
+
+		JWTKeyRing after = keyRing("2022-02", hmac("2022-01", OLD_SECRET), hmac("2022-02", NEW_SECRET));
+		String newToken = sign(after, "LUIS");
+
+		assertThat(subject(after, oldToken)).isEqualTo("LUIS");
+		assertThat(subject(after, newToken)).isEqualTo("LUIS");
+	}
+
+	/**
+	 * It should refuse an unknown key id.
+	 */
+	@Test
+	void itShouldRefuseAnUnknownKeyId() {
+		String token = sign(keyRing("2022-01", hmac("2022-01", OLD_SECRET)), "LUIS");
+		JWTKeyRing retired = keyRing("2022-02", hmac("2022-02", NEW_SECRET));
+
+		assertThatThrownBy(() -> subject(retired, token))
+			.isInstanceOf(JwtException.class)
+			.hasMessageContaining("2022-01");
+	}
+
+	/**
+	 * It should verify the tokens issued before key ids with the secret key.
+	 */
+	@Test
+	void itShouldVerifyTheTokensIssuedBeforeKeyIdsWithTheSecretKey() {
+		String token = Jwts.builder()
+				.setSubject("LUIS")
+				.signWith(Keys.hmacShaKeyFor(SECRET_KEY.getBytes()))
+				.compact();
+
+		JWTConfig jwtConfig = config("2022-01", hmac("2022-01", NEW_SECRET));
+		jwtConfig.setSecretKey(SECRET_KEY);
+
+		assertThat(subject(new JWTSecretKeyConfig(jwtConfig).keyRing(), token)).isEqualTo("LUIS");
+		assertThatThrownBy(() -> subject(keyRing("2022-01", hmac("2022-01", NEW_SECRET)), token))
+			.isInstanceOf(JwtException.class);
+	}
+
+	/**
+	 * It should sign with the private key and verify with the public one.
+	 *
+	 * @throws NoSuchAlgorithmException the no such algorithm exception
+	 */
+	@Test
+	void itShouldSignWithThePrivateKeyAndVerifyWithThePublicOne() throws NoSuchAlgorithmException {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(2048);
+		KeyPair pair = generator.generateKeyPair();
+
+		JWTKeyProperties rsa = new JWTKeyProperties();
+		rsa.setId("rsa-1");
+		rsa.setAlgorithm("RSA");
+		rsa.setPublicKey(Base64.getEncoder().encodeToString(pair.getPublic().getEncoded()));
+		rsa.setPrivateKey(Base64.getEncoder().encodeToString(pair.getPrivate().getEncoded()));
+
+		JWTKeyRing keyRing = keyRing("rsa-1", rsa);
+		String token = sign(keyRing, "LUIS");
+
+		assertThat(subject(keyRing, token)).isEqualTo("LUIS");
+
+		// A verifying instance only needs the public key
+		rsa.setPrivateKey(null);
+		JWTKeyRing verifying = keyRing("2022-01", rsa, hmac("2022-01", NEW_SECRET));
+		assertThat(subject(verifying, token)).isEqualTo("LUIS");
+	}
+
+	/**
+	 * It should fail without the signing key.
+	 */
+	@Test
+	void itShouldFailWithoutTheSigningKey() {
+		JWTSecretKeyConfig underTest = new JWTSecretKeyConfig(config("2022-03", hmac("2022-01", OLD_SECRET)));
+
+		assertThatThrownBy(underTest::keyRing)
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("2022-03");
+	}
+
+	/**
+	 * Key ring.
+	 *
+	 * @param signingKeyId the signing key id
+	 * @param keys the keys
+	 * @return the JWT key ring
+	 */
+	private static JWTKeyRing keyRing(String signingKeyId, JWTKeyProperties... keys) {
+		return new JWTSecretKeyConfig(config(signingKeyId, keys)).keyRing();
+	}
+
+	/**
+	 * Config.
+	 *
+	 * @param signingKeyId the signing key id
+	 * @param keys the keys
+	 * @return the JWT config
+	 */
+	private static JWTConfig config(String signingKeyId, JWTKeyProperties... keys) {
+		JWTConfig jwtConfig = new JWTConfig();
+		jwtConfig.setSigningKeyId(signingKeyId);
+		jwtConfig.setKeys(List.of(keys));
+		return jwtConfig;
+	}
+
+	/**
+	 * Hmac.
+	 *
+	 * @param id the id
+	 * @param secret the secret
+	 * @return the JWT key properties
+	 */
+	private static JWTKeyProperties hmac(String id, String secret) {
+		JWTKeyProperties key = new JWTKeyProperties();
+		key.setId(id);
+		key.setSecret(secret);
+		return key;
+	}
+
+	/**
+	 * Sign.
+	 *
+	 * @param keyRing the key ring
+	 * @param subject the subject
+	 * @return the token
+	 */
+	private static String sign(JWTKeyRing keyRing, String subject) {
+		return Jwts.builder()
+				.setHeaderParam(JwsHeader.KEY_ID, keyRing.getSigningKeyId())
+				.setSubject(subject)
+				.signWith(keyRing.getSigningKey())
+				.compact();
+	}
+
+	/**
+	 * Subject.
+	 *
+	 * @param keyRing the key ring
+	 * @param token the token
+	 * @return the subject
+	 */
+	private static String subject(JWTKeyRing keyRing, String token) {
+		return Jwts.parser()
+				.setSigningKeyResolver(keyRing.getResolver())
+				.parseClaimsJws(token)
+				.getBody()
+				.getSubject();
+	}
+
+}
@@ -6,9 +6,11 @@ package com.lsoftware.inventory.jwt;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -17,9 +19,11 @@ import static org.mockito.Mockito.times;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -33,7 +37,11 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.BDDMockito;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.GrantedAuthority;
@@ -42,8 +50,14 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lsoftware.inventory.authentication.authorities.AuthoritiesClaimsProvider;
+import com.lsoftware.inventory.authentication.authorities.AuthoritiesRoleDictionary;
 import com.lsoftware.inventory.authentication.request.RequestAuthenticationData;
+import com.lsoftware.inventory.authentication.throttle.LoginThrottle;
+import com.lsoftware.inventory.exception.ExceptionTooManyRequests;
 import com.lsoftware.inventory.mappings.MappingsCustom;
+import com.lsoftware.inventory.ratelimit.RateLimitClass;
+import com.lsoftware.inventory.ratelimit.RateLimiter;
 
 import io.jsonwebtoken.security.Keys;
 
@@ -93,9 +107,21 @@ class JWTUsernameAndPasswordAuthenticationFilterTest {
 	@Mock
 	private FilterChain filterChain;
 	
+	/** The role dictionary. */
+	@Mock
+	private AuthoritiesRoleDictionary roleDictionary;
+	
 	/** The authentication exception. */
 	@Mock
 	private AuthenticationException authenticationException;
+	
+	/** The rate limiter. */
+	@Mock
+	private RateLimiter rateLimiter;
+	
+	/** The login throttle. */
+	@Mock
+	private LoginThrottle loginThrottle;
 
 	/**
 	 * Sets the up.
@@ -105,7 +131,8 @@ class JWTUsernameAndPasswordAuthenticationFilterTest {
 	@BeforeEach
 	void setUp() throws Exception {
 		underTest = new JWTUsernameAndPasswordAuthenticationFilter(authenticationManager, jwtConfig, 
-				Keys.hmacShaKeyFor(SECRET_KEY.getBytes()), mappingsCustom, objectMapper);
+				new JWTKeyRing(Keys.hmacShaKeyFor(SECRET_KEY.getBytes())), mappingsCustom, objectMapper,
+				new AuthoritiesClaimsProvider(jwtConfig, roleDictionary), rateLimiter, loginThrottle);
 	}
 
 	/**
@@ -143,9 +170,68 @@ class JWTUsernameAndPasswordAuthenticationFilterTest {
 		Authentication response = underTest.attemptAuthentication(httpServletRequest, httpServletResponse);
 		
 		verify(authenticationManager, times(1)).authenticate(any());
+		verify(loginThrottle).recordSuccess("luis3");
 		assertThat(response.getPrincipal()).isEqualTo("luis3");
 	}
 	
+	/**
+	 * It should count the failed login.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	void itShouldCountTheFailedLogin() throws IOException {
+		
+		RequestAuthenticationData request = new RequestAuthenticationData();
+		request.setUsername("luis3");
+		request.setPassword("wrong");
+		
+		when(mappingsCustom.readValue(any(), any())).thenReturn(request);
+		BDDMockito.given(httpServletRequest.getRemoteAddr()).willReturn("10.0.0.1");
+		BDDMockito.given(authenticationManager.authenticate(any())).willThrow(new BadCredentialsException("Bad credentials"));
+		
+		assertThatThrownBy(() -> underTest.attemptAuthentication(httpServletRequest, httpServletResponse))
+			.isInstanceOf(AccessDeniedException.class);
+		
+		verify(loginThrottle).check("luis3", "10.0.0.1");
+		verify(loginThrottle).recordFailure("luis3", "10.0.0.1");
+		verify(loginThrottle, never()).recordSuccess(any());
+	}
+	
+	
+	/**
+	 * It should refuse the login when rate limited.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 * @throws ServletException the servlet exception
+	 */
+	@Test
+	void itShouldRefuseTheLoginWhenRateLimited() throws IOException, ServletException {
+		
+		RequestAuthenticationData request = new RequestAuthenticationData();
+		request.setUsername("luis3");
+		request.setPassword("123456");
+		
+		when(mappingsCustom.readValue(any(), any())).thenReturn(request);
+		BDDMockito.given(httpServletRequest.getRemoteAddr()).willReturn("10.0.0.1");
+		BDDMockito.given(rateLimiter.tryAcquire(eq(RateLimitClass.LOGINS), eq("10.0.0.1"), any()))
+			.willReturn(TimeUnit.MILLISECONDS.toNanos(2500));
+		
+		Throwable thrown = catchThrowable(() -> underTest.attemptAuthentication(httpServletRequest, httpServletResponse));
+		
+		assertThat(thrown).isInstanceOf(AuthenticationServiceException.class)
+			.hasCauseInstanceOf(ExceptionTooManyRequests.class);
+		verify(authenticationManager, never()).authenticate(any());
+		verify(loginThrottle, never()).check(any(), any());
+		
+		StringWriter body = new StringWriter();
+		BDDMockito.given(httpServletResponse.getWriter()).willReturn(new PrintWriter(body));
+		
+		underTest.unsuccessfulAuthentication(httpServletRequest, httpServletResponse, (AuthenticationException) thrown);
+		
+		verify(httpServletResponse).setStatus(429);
+		verify(httpServletResponse).setHeader(HttpHeaders.RETRY_AFTER, "3");
+	}
 	
 	/**
 	 * It should configure token no authorities.
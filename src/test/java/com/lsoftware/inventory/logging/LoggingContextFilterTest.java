@@ -0,0 +1,79 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.servlet.ServletException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * The Class LoggingContextFilterTest.
+ *
+ * @author Luis Espinosa
+ */
+class LoggingContextFilterTest {
+
+	/** The under test. */
+	private LoggingContextFilter underTest;
+
+	/**
+	 * Sets the up.
+	 */
+	@BeforeEach
+	void setUp() {
+		underTest = new LoggingContextFilter(new LoggingConfig());
+	}
+
+	/**
+	 * It should keep the request id while the request runs.
+	 *
+	 * @throws ServletException the servlet exception
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	void itShouldKeepTheRequestIdWhileTheRequestRuns() throws ServletException, IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products");
+		request.addHeader("X-Request-Id", "abc-123");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		Map<String, String> seen = new HashMap<>();
+
+		underTest.doFilter(request, response, (req, res) -> seen.putAll(MDC.getCopyOfContextMap()));
+
+		assertThat(seen)
+			.containsEntry(LoggingContextFilter.REQUEST_ID, "abc-123")
+			.containsEntry(LoggingContextFilter.ENDPOINT, "GET /api/v1/products");
+		assertThat(response.getHeader("X-Request-Id")).isEqualTo("abc-123");
+		assertThat(MDC.get(LoggingContextFilter.REQUEST_ID)).isNull();
+	}
+
+	/**
+	 * It should replace an invalid request id.
+	 *
+	 * @throws ServletException the servlet exception
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	void itShouldReplaceAnInvalidRequestId() throws ServletException, IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products");
+		request.addHeader("X-Request-Id", "forged\nline");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		underTest.doFilter(request, response, (req, res) -> MDC.put(LoggingContextFilter.USER, "LUIS"));
+
+		assertThat(response.getHeader("X-Request-Id")).isNotEqualTo("forged\nline").hasSize(36);
+		assertThat(MDC.get(LoggingContextFilter.USER)).isNull();
+	}
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * The Class LoggingProdProfileTest.
+ *
+ * @author Luis Espinosa
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:prodProfileDB;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("prod")
+class LoggingProdProfileTest {
+
+	/** The entity manager factory. */
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	/**
+	 * It should log the slow queries.
+	 */
+	@Test
+	void itShouldLogTheSlowQueries() {
+		assertThat(entityManagerFactory.getProperties())
+			.containsEntry("hibernate.session.events.log.LOG_QUERIES_SLOWER_THAN_MS", "200")
+			.doesNotContainKey("hibernate.hibernate.session.events.log.LOG_QUERIES_SLOWER_THAN_MS");
+	}
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * The Class LoggingSamplingFilterTest.
+ *
+ * @author Luis Espinosa
+ */
+class LoggingSamplingFilterTest {
+
+	/** The Constant MESSAGE. */
+	private static final String MESSAGE = "method: list";
+
+	/** The under test. */
+	private LoggingSamplingFilter underTest;
+
+	/** The logger context. */
+	private LoggerContext loggerContext;
+
+	/**
+	 * Sets the up.
+	 */
+	@BeforeEach
+	void setUp() {
+		loggerContext = new LoggerContext();
+		underTest = new LoggingSamplingFilter();
+		underTest.setContext(loggerContext);
+		underTest.setSamples("com.lsoftware.inventory=1000000, com.lsoftware.inventory.logging=1");
+		underTest.start();
+	}
+
+	/**
+	 * It should sample the messages below warn.
+	 */
+	@Test
+	void itShouldSampleTheMessagesBelowWarn() {
+		int passed = 0;
+		for (int i = 0; i < 1000; i++) {
+			if (decide("com.lsoftware.inventory.product.ProductService", Level.INFO, MESSAGE) == FilterReply.NEUTRAL) passed++;
+		}
+
+		assertThat(passed).isLessThan(10);
+	}
+
+	/**
+	 * It should always pass warnings and errors.
+	 */
+	@Test
+	void itShouldAlwaysPassWarningsAndErrors() {
+		for (int i = 0; i < 100; i++) {
+			assertThat(decide("com.lsoftware.inventory.product.ProductService", Level.WARN, MESSAGE)).isEqualTo(FilterReply.NEUTRAL);
+			assertThat(decide("com.lsoftware.inventory.product.ProductService", Level.ERROR, MESSAGE)).isEqualTo(FilterReply.NEUTRAL);
+		}
+	}
+
+	/**
+	 * It should apply the longest matching prefix.
+	 */
+	@Test
+	void itShouldApplyTheLongestMatchingPrefix() {
+		for (int i = 0; i < 100; i++) {
+			assertThat(decide("com.lsoftware.inventory.logging.LoggingContextFilter", Level.INFO, MESSAGE)).isEqualTo(FilterReply.NEUTRAL);
+			assertThat(decide("com.lsoftware.inventoryx.Other", Level.INFO, MESSAGE)).isEqualTo(FilterReply.NEUTRAL);
+			assertThat(decide("org.hibernate.SQL", Level.DEBUG, MESSAGE)).isEqualTo(FilterReply.NEUTRAL);
+		}
+	}
+
+	/**
+	 * It should not sample the enabled checks.
+	 */
+	@Test
+	void itShouldNotSampleTheEnabledChecks() {
+		for (int i = 0; i < 100; i++) {
+			assertThat(decide("com.lsoftware.inventory.product.ProductService", Level.INFO, null)).isEqualTo(FilterReply.NEUTRAL);
+		}
+	}
+
+	/**
+	 * It should skip the invalid samples.
+	 */
+	@Test
+	void itShouldSkipTheInvalidSamples() {
+		underTest.setSamples("com.lsoftware.inventory, org.hibernate.SQL=abc, =5");
+
+		assertThat(decide("com.lsoftware.inventory.product.ProductService", Level.INFO, MESSAGE)).isEqualTo(FilterReply.NEUTRAL);
+		assertThat(decide("org.hibernate.SQL", Level.DEBUG, MESSAGE)).isEqualTo(FilterReply.NEUTRAL);
+	}
+
+	/**
+	 * Decide.
+	 *
+	 * @param logger the logger
+	 * @param level the level
+	 * @param format the format
+	 * @return the filter reply
+	 */
+	private FilterReply decide(String logger, Level level, String format) {
+		return underTest.decide(null, loggerContext.getLogger(logger), level, format, null, null);
+	}
+
+}
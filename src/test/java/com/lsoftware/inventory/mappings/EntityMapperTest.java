@@ -0,0 +1,156 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.mappings;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import com.lsoftware.inventory.category.Category;
+import com.lsoftware.inventory.category.CategoryDTO;
+import com.lsoftware.inventory.category.CategoryMapper;
+import com.lsoftware.inventory.movement.Movement;
+import com.lsoftware.inventory.movement.MovementDTO;
+import com.lsoftware.inventory.movement.MovementDetail;
+import com.lsoftware.inventory.movement.MovementDetailDTO;
+import com.lsoftware.inventory.movement.MovementMapper;
+import com.lsoftware.inventory.product.Product;
+import com.lsoftware.inventory.product.ProductDTO;
+import com.lsoftware.inventory.product.ProductMapper;
+import com.lsoftware.inventory.product.ProductSimpleDTO;
+import com.lsoftware.inventory.role.Role;
+import com.lsoftware.inventory.shared.status.Status;
+import com.lsoftware.inventory.user.User;
+import com.lsoftware.inventory.user.UserDTO;
+import com.lsoftware.inventory.user.UserMapper;
+import com.lsoftware.inventory.user.UserSimpleDTO;
+
+/**
+ * The Class EntityMapperTest.
+ * Every mapper must give the same result the ModelMapper gave before it.
+ *
+ * @author Luis Espinosa
+ */
+class EntityMapperTest {
+
+	/** The model mapper. */
+	private ModelMapper modelMapper = new ModelMapper();
+
+	/** The product mapper. */
+	private ProductMapper productMapper = new ProductMapper();
+
+	/** The user mapper. */
+	private UserMapper userMapper = new UserMapper();
+
+	/**
+	 * It should map categories as the model mapper.
+	 */
+	@Test
+	void itShouldMapCategoriesAsTheModelMapper() {
+		CategoryMapper underTest = new CategoryMapper();
+		Category category = getCategory();
+		CategoryDTO dto = new CategoryDTO(null, "Category1", 0);
+
+		assertThat(underTest.toDTO(category)).isEqualTo(modelMapper.map(category, CategoryDTO.class));
+		assertThat(underTest.toEntity(dto)).isEqualTo(modelMapper.map(dto, Category.class));
+	}
+
+	/**
+	 * It should map products as the model mapper.
+	 */
+	@Test
+	void itShouldMapProductsAsTheModelMapper() {
+		Product product = getProduct();
+		ProductDTO dto = new ProductDTO(null, "Product1", "12000.50", 0, getCategory(), 0);
+
+		assertThat(productMapper.toDTO(product)).isEqualTo(modelMapper.map(product, ProductDTO.class));
+		assertThat(productMapper.toEntity(dto)).isEqualTo(modelMapper.map(dto, Product.class));
+		assertThat(productMapper.toSimpleDTO(product)).isEqualTo(modelMapper.map(product, ProductSimpleDTO.class));
+	}
+
+	/**
+	 * It should map users as the model mapper.
+	 */
+	@Test
+	void itShouldMapUsersAsTheModelMapper() {
+		User user = getUser();
+		UserDTO dto = new UserDTO(null, "123456789", "Luis", "Espinosa", "luis3", "123456", 0, 
+				Set.of(new Role(2L, "SUPERVISOR", "DESCRIPTION")));
+
+		assertThat(userMapper.toDTO(user)).isEqualTo(modelMapper.map(user, UserDTO.class));
+		assertThat(userMapper.toEntity(dto)).isEqualTo(modelMapper.map(dto, User.class));
+		assertThat(userMapper.toSimpleDTO(user)).isEqualTo(modelMapper.map(user, UserSimpleDTO.class));
+	}
+
+	/**
+	 * It should map movements as the model mapper.
+	 */
+	@Test
+	void itShouldMapMovementsAsTheModelMapper() {
+		MovementMapper underTest = new MovementMapper(userMapper, productMapper);
+
+		MovementDetail detail = new MovementDetail();
+		detail.setId(7L);
+		detail.setProduct(getProduct());
+		detail.setQuantity(3);
+		Movement movement = new Movement(5L, LocalDateTime.now(), "INPUT", getUser(), "CODE", List.of(detail));
+
+		UserSimpleDTO user = new UserSimpleDTO();
+		user.setId(1L);
+		ProductSimpleDTO product = new ProductSimpleDTO();
+		product.setId(1L);
+		product.setPrice("10");
+		MovementDTO dto = new MovementDTO(0L, "OUTPUT", user, "", List.of(new MovementDetailDTO(null, product, 4)));
+
+		assertThat(underTest.toDTO(movement)).isEqualTo(modelMapper.map(movement, MovementDTO.class));
+		assertThat(underTest.toEntity(dto))
+			.usingRecursiveComparison()
+			.isEqualTo(modelMapper.map(dto, Movement.class));
+	}
+
+	/**
+	 * It should map null to null.
+	 */
+	@Test
+	void itShouldMapNullToNull() {
+		assertThat(productMapper.toDTO(null)).isNull();
+		assertThat(userMapper.toEntity((UserDTO) null)).isNull();
+	}
+
+	/**
+	 * Gets the category.
+	 *
+	 * @return the category
+	 */
+	private Category getCategory() {
+		return new Category(1L, "CATEGORY1", Status.ACTIVE.getDigit());
+	}
+
+	/**
+	 * Gets the product.
+	 *
+	 * @return the product
+	 */
+	private Product getProduct() {
+		return new Product(1L, "PRODUCT1", new BigDecimal("12000.00"), 2, getCategory(), Status.ACTIVE.getDigit());
+	}
+
+	/**
+	 * Gets the user.
+	 *
+	 * @return the user
+	 */
+	private User getUser() {
+		return new User(1L, "123456789", "Luis", "Espinosa", "LUIS3", "{bcrypt}hash", Status.ACTIVE.getDigit(),
+				Set.of(new Role(1L, "ADMIN", "DESCRIPTION")));
+	}
+
+}
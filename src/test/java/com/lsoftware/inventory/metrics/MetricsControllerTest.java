@@ -0,0 +1,59 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.metrics;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+/**
+ * The Class MetricsControllerTest.
+ *
+ * @author Luis Espinosa
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class MetricsControllerTest {
+
+	/** The mock mvc. */
+	@Autowired
+	private MockMvc mockMvc;
+
+	/**
+	 * It should list the metrics.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	@WithMockUser(username = "luis3", password = "123456", roles = "ADMIN")
+	void itShouldListTheMetrics() throws Exception {
+		mockMvc.perform(get("/api/v1/metrics"))
+				.andDo(MockMvcResultHandlers.print())
+				.andExpect(status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("$.message").value("Metrics List"))
+				.andExpect(MockMvcResultMatchers.jsonPath("$.data.productCatalogCache.hits").exists());
+	}
+
+	/**
+	 * It should deny the metrics to A supervisor.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	@WithMockUser(username = "valen4", password = "123456", roles = "SUPERVISOR")
+	void itShouldDenyTheMetricsToASupervisor() throws Exception {
+		mockMvc.perform(get("/api/v1/metrics"))
+				.andExpect(status().isForbidden());
+	}
+
+}
@@ -0,0 +1,252 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.movement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lsoftware.inventory.category.Category;
+import com.lsoftware.inventory.category.CategoryRepository;
+import com.lsoftware.inventory.product.Product;
+import com.lsoftware.inventory.product.ProductRepository;
+import com.lsoftware.inventory.product.ProductSimpleDTO;
+import com.lsoftware.inventory.shared.status.Status;
+import com.lsoftware.inventory.stock.StockLedgerRepository;
+import com.lsoftware.inventory.user.User;
+import com.lsoftware.inventory.user.UserRepository;
+import com.lsoftware.inventory.user.UserSimpleDTO;
+
+/**
+ * The Class MovementBulkServiceTest.
+ *
+ * @author Luis Espinosa
+ */
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:bulkDB;DB_CLOSE_DELAY=-1",
+		"application.movements.bulkBatchSize=4" })
+class MovementBulkServiceTest {
+
+	/** The under test. */
+	@Autowired
+	private MovementBulkService underTest;
+
+	/** The movement repository. */
+	@Autowired
+	private MovementRepository movementRepository;
+
+	/** The product repository. */
+	@Autowired
+	private ProductRepository productRepository;
+
+	/** The category repository. */
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	/** The user repository. */
+	@Autowired
+	private UserRepository userRepository;
+
+	/** The stock ledger repository. */
+	@Autowired
+	private StockLedgerRepository stockLedgerRepository;
+
+	/** The object mapper. */
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	/** The user. */
+	private User user;
+
+	/** The category. */
+	private Category category;
+
+	/** The product. */
+	private Product product;
+
+	/**
+	 * Sets the up.
+	 */
+	@BeforeEach
+	void setUp() {
+		user = new User();
+		user.setDocument("123456789");
+		user.setName("Luis");
+		user.setLastName("Espinosa");
+		user.setUsername("LUIS4");
+		user.setPassword("123456");
+		user.setStatus(Status.ACTIVE.getDigit());
+		userRepository.save(user);
+
+		category = categoryRepository.save(new Category(null, "CATEGORY 1", Status.ACTIVE.getDigit()));
+		product = productRepository.save(Product.builder().name("PRODUCT 1")
+				.price(new BigDecimal("12000"))
+				.quantity(5)
+				.category(category)
+				.status(Status.ACTIVE.getDigit())
+				.build());
+	}
+
+	/**
+	 * Tear down.
+	 */
+	@AfterEach
+	void tearDown() {
+		stockLedgerRepository.deleteAll();
+		movementRepository.deleteAll();
+		productRepository.deleteAll();
+		categoryRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+
+	/**
+	 * It should ingest A JSON array across batches.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	void itShouldIngestAJsonArrayAcrossBatches() throws Exception {
+		List<MovementDTO> movements = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			movements.add(getMovementDTO("INPUT", 1));
+		}
+
+		MovementBulkResultDTO result = underTest.ingest(stream(objectMapper.writeValueAsString(movements)));
+
+		assertThat(result.getReceived()).isEqualTo(10);
+		assertThat(result.getCreated()).isEqualTo(10);
+		assertThat(result.getRejected()).isZero();
+		assertThat(movementRepository.count()).isEqualTo(10);
+		assertThat(productRepository.findById(product.getId()).get().getQuantity()).isEqualTo(15);
+	}
+
+	/**
+	 * It should reject only the failing movements of A batch.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	void itShouldRejectOnlyTheFailingMovementsOfABatch() throws Exception {
+		List<MovementDTO> movements = List.of(
+				getMovementDTO("OUTPUT", 3),
+				getMovementDTO("OUTPUT", 3),
+				getMovementDTO("TRANSFER", 1),
+				getMovementDTO("OUTPUT", 2),
+				new MovementDTO(null, "INPUT", null, "", List.of()));
+
+		String ndjson = movements.stream().map(this::write).collect(Collectors.joining("\n"));
+		MovementBulkResultDTO result = underTest.ingest(stream(ndjson));
+
+		assertThat(result.getReceived()).isEqualTo(5);
+		assertThat(result.getCreated()).isEqualTo(2);
+		assertThat(result.getRejected()).isEqualTo(3);
+		assertThat(result.getRejections()).extracting(MovementBulkItemDTO::getIndex).containsExactly(1L, 2L, 4L);
+		assertThat(movementRepository.count()).isEqualTo(2);
+		assertThat(productRepository.findById(product.getId()).get().getQuantity()).isZero();
+	}
+
+	/**
+	 * It should keep the earlier movements when A later product rejects one.
+	 * The rejected movement changes the stock of its first product before
+	 * the second one rejects it, the earlier movement of the batch must
+	 * survive the rollback of its savepoint.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	void itShouldKeepTheEarlierMovementsWhenALaterProductRejectsOne() throws Exception {
+		Product empty = productRepository.save(Product.builder().name("PRODUCT 2")
+				.price(new BigDecimal("12000"))
+				.quantity(0)
+				.category(category)
+				.status(Status.ACTIVE.getDigit())
+				.build());
+
+		MovementDTO rejected = getMovementDTO("OUTPUT", 1);
+		rejected.setDetails(new ArrayList<>(rejected.getDetails()));
+		rejected.getDetails().add(getMovementDTO("OUTPUT", 5).getDetails().get(0));
+		rejected.getDetails().get(1).getProduct().setId(empty.getId());
+
+		String ndjson = write(getMovementDTO("INPUT", 1)) + "\n" + write(rejected);
+		MovementBulkResultDTO result = underTest.ingest(stream(ndjson));
+
+		assertThat(result.getCreated()).isEqualTo(1);
+		assertThat(result.getRejected()).isEqualTo(1);
+		assertThat(movementRepository.count()).isEqualTo(1);
+		assertThat(stockLedgerRepository.count()).isEqualTo(1);
+		assertThat(productRepository.findQuantityById(product.getId())).isEqualTo(6);
+		assertThat(productRepository.findQuantityById(empty.getId())).isZero();
+	}
+
+	/**
+	 * It should keep what was read before A malformed movement.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	void itShouldKeepWhatWasReadBeforeAMalformedMovement() throws Exception {
+		String payload = "[" + write(getMovementDTO("INPUT", 1)) + ", {\"type\": ]";
+
+		MovementBulkResultDTO result = underTest.ingest(stream(payload));
+
+		assertThat(result.getReceived()).isEqualTo(2);
+		assertThat(result.getCreated()).isEqualTo(1);
+		assertThat(result.getRejections()).extracting(MovementBulkItemDTO::getIndex).containsExactly(1L);
+		assertThat(movementRepository.count()).isEqualTo(1);
+	}
+
+	/**
+	 * Stream.
+	 *
+	 * @param payload the payload
+	 * @return the byte array input stream
+	 */
+	private ByteArrayInputStream stream(String payload) {
+		return new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Write.
+	 *
+	 * @param movement the movement
+	 * @return the string
+	 */
+	private String write(MovementDTO movement) {
+		try {
+			return objectMapper.writeValueAsString(movement);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Gets the movement DTO.
+	 *
+	 * @param type the type
+	 * @param quantity the quantity
+	 * @return the movement DTO
+	 */
+	private MovementDTO getMovementDTO(String type, int quantity) {
+		UserSimpleDTO userDTO = new UserSimpleDTO();
+		userDTO.setId(user.getId());
+
+		ProductSimpleDTO productDTO = new ProductSimpleDTO();
+		productDTO.setId(product.getId());
+
+		return new MovementDTO(null, type, userDTO, "", List.of(new MovementDetailDTO(null, productDTO, quantity)));
+	}
+
+}
@@ -6,9 +6,12 @@ package com.lsoftware.inventory.movement;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
@@ -26,6 +29,8 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lsoftware.inventory.idempotency.IdempotencyResult;
+import com.lsoftware.inventory.idempotency.IdempotencyService;
 import com.lsoftware.inventory.product.ProductSimpleDTO;
 import com.lsoftware.inventory.user.UserSimpleDTO;
 
@@ -42,6 +47,22 @@ class MovementControllerTest {
 	@MockBean
 	private MovementService movementService; 
 	
+	/** The movement bulk service. */
+	@MockBean
+	private MovementBulkService movementBulkService;
+	
+	/** The movement history service. */
+	@MockBean
+	private MovementHistoryService movementHistoryService;
+	
+	/** The idempotency service. */
+	@MockBean
+	private IdempotencyService idempotencyService;
+	
+	/** The movement pipeline. */
+	@MockBean
+	private MovementPipeline movementPipeline;
+	
 	/** The mock mvc. */
 	@Autowired
 	private MockMvc mockMvc;
@@ -74,6 +95,154 @@ class MovementControllerTest {
 		assertThat(response).isNotNull();	
 	}
 	
+	/**
+	 * It should replay A movement created with the same key.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	@WithMockUser(username = "VALEN4", password = "123456", roles = "SUPERVISOR")
+	void itShouldReplayAMovementCreatedWithTheSameKey() throws Exception {
+		
+		Mockito.when(idempotencyService.execute(Mockito.eq("KEY-1"), any(), Mockito.eq(MovementDTO.class), any()))
+			.thenReturn(new IdempotencyResult<>(getMovementDTO("INPUT", 5), true));
+		
+		mockMvc.perform(post("/api/v1/movements/")
+				.header(IdempotencyService.HEADER, "KEY-1")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(getMovementDTO("INPUT", 5))))
+	        	.andExpect(status().isOk())
+	        	.andExpect(header().string("Idempotent-Replayed", "true"))
+	        	.andExpect(MockMvcResultMatchers.jsonPath("$.data.type").value("INPUT"));
+		
+		Mockito.verifyNoInteractions(movementService);
+	}
+	
+	/**
+	 * It should accept A movement with the pipeline enabled.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	@WithMockUser(username = "VALEN4", password = "123456", roles = "SUPERVISOR")
+	void itShouldAcceptAMovementWithThePipelineEnabled() throws Exception {
+		
+		Mockito.when(movementPipeline.isEnabled()).thenReturn(true);
+		Mockito.when(movementPipeline.submit(any())).thenReturn(
+				new MovementPipelineStatusDTO("ID-1", MovementPipelineStatusDTO.PENDING, null, null));
+		
+		mockMvc.perform(post("/api/v1/movements/")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(getMovementDTO("INPUT", 5))))
+	        	.andExpect(status().isAccepted())
+	        	.andExpect(header().string("Location", "/api/v1/movements/pipeline/ID-1"))
+	        	.andExpect(MockMvcResultMatchers.jsonPath("$.message").value("Movement accepted"))
+	        	.andExpect(MockMvcResultMatchers.jsonPath("$.data.status").value("PENDING"));
+		
+		Mockito.verifyNoInteractions(movementService);
+	}
+	
+	/**
+	 * It should refuse A movement detail without product.
+	 * Refused before it is accepted, the writer would never be able to apply it.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	@WithMockUser(username = "VALEN4", password = "123456", roles = "SUPERVISOR")
+	void itShouldRefuseAMovementDetailWithoutProduct() throws Exception {
+		
+		Mockito.when(movementPipeline.isEnabled()).thenReturn(true);
+		MovementDTO movement = getMovementDTO("INPUT", 5);
+		movement.getDetails().get(0).setProduct(null);
+		
+		mockMvc.perform(post("/api/v1/movements/")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(movement)))
+	        	.andExpect(status().isBadRequest());
+		
+		Mockito.verify(movementPipeline, Mockito.never()).submit(any());
+	}
+	
+	/**
+	 * It should find the pipeline status.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	@WithMockUser(username = "VALEN4", password = "123456", roles = "SUPERVISOR")
+	void itShouldFindThePipelineStatus() throws Exception {
+		
+		Mockito.when(movementPipeline.findStatus("ID-1")).thenReturn(
+				new MovementPipelineStatusDTO("ID-1", MovementPipelineStatusDTO.APPLIED, 7L, null));
+		
+		mockMvc.perform(get("/api/v1/movements/pipeline/ID-1"))
+	        	.andExpect(status().isOk())
+	        	.andExpect(MockMvcResultMatchers.jsonPath("$.message").value("Movement status"))
+	        	.andExpect(MockMvcResultMatchers.jsonPath("$.data.movementId").value(7));
+	}
+	
+	/**
+	 * It should create movements in bulk.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	@WithMockUser(username = "VALEN4", password = "123456", roles = "SUPERVISOR")
+	void itShouldCreateMovementsInBulk() throws Exception {
+		
+		Mockito.when(movementBulkService.ingest(any())).thenReturn(new MovementBulkResultDTO(2, 1, 1,
+				List.of(new MovementBulkItemDTO(1, "Movement type is not valid."))));
+		
+		String ndjson = objectMapper.writeValueAsString(getMovementDTO("INPUT", 5)) + "\n"
+				+ objectMapper.writeValueAsString(getMovementDTO("TRANSFER", 5));
+		
+		mockMvc.perform(post("/api/v1/movements/bulk")
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.content(ndjson))
+				.andDo(MockMvcResultHandlers.print())
+	        	.andExpect(status().isOk())
+	        	.andExpect(MockMvcResultMatchers.jsonPath("$.message").value("Movements processed"))
+	        	.andExpect(MockMvcResultMatchers.jsonPath("$.data.created").value(1))
+	        	.andExpect(MockMvcResultMatchers.jsonPath("$.data.rejections[0].index").value(1));
+	}
+	
+	/**
+	 * It should find the movement history.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	@WithMockUser(username = "VALEN4", password = "123456", roles = "ADMIN")
+	void itShouldFindTheMovementHistory() throws Exception {
+		MovementHistoryDTO movement = new MovementHistoryDTO(7L, LocalDateTime.of(2022, 5, 1, 8, 0), "INPUT", "CODE-7", "VALEN4");
+		movement.getDetails().add(new MovementHistoryDetailDTO(7L, 1L, "PRODUCT 1", 3));
+		Mockito.when(movementHistoryService.find(any())).thenReturn(
+				new MovementHistoryPageDTO(List.of(movement), "2022-05-01T08:00,7"));
+		
+		mockMvc.perform(get("/api/v1/movements")
+				.param("from", "2022-05-01T00:00:00")
+				.param("type", "input")
+				.param("size", "1"))
+	        	.andExpect(status().isOk())
+	        	.andExpect(MockMvcResultMatchers.jsonPath("$.message").value("Movements found"))
+	        	.andExpect(MockMvcResultMatchers.jsonPath("$.data.result[0].details[0].productName").value("PRODUCT 1"))
+	        	.andExpect(MockMvcResultMatchers.jsonPath("$.data.nextCursor").value("2022-05-01T08:00,7"));
+	}
+	
+	/**
+	 * It should refuse A history page that is too large.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	@WithMockUser(username = "VALEN4", password = "123456", roles = "ADMIN")
+	void itShouldRefuseAHistoryPageThatIsTooLarge() throws Exception {
+		mockMvc.perform(get("/api/v1/movements").param("size", "501"))
+	        	.andExpect(status().isBadRequest())
+	        	.andExpect(MockMvcResultMatchers.jsonPath("$.validationErrors.size").exists());
+	}
+	
 	/**
 	 * Gets the movement DTO.
 	 *
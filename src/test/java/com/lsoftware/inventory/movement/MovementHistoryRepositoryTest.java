@@ -0,0 +1,203 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.movement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import com.lsoftware.inventory.category.Category;
+import com.lsoftware.inventory.category.CategoryRepository;
+import com.lsoftware.inventory.product.Product;
+import com.lsoftware.inventory.product.ProductRepository;
+import com.lsoftware.inventory.shared.status.Status;
+import com.lsoftware.inventory.user.User;
+import com.lsoftware.inventory.user.UserRepository;
+
+/**
+ * The Class MovementHistoryRepositoryTest.
+ *
+ * @author Luis Espinosa
+ */
+@DataJpaTest
+@Import(MovementHistoryRepository.class)
+class MovementHistoryRepositoryTest {
+
+	/** The Constant START. */
+	private static final LocalDateTime START = LocalDateTime.of(2022, 5, 1, 8, 0);
+
+	/** The under test. */
+	@Autowired
+	private MovementHistoryRepository underTest;
+
+	/** The movement repository. */
+	@Autowired
+	private MovementRepository movementRepository;
+
+	/** The product repository. */
+	@Autowired
+	private ProductRepository productRepository;
+
+	/** The category repository. */
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	/** The user repository. */
+	@Autowired
+	private UserRepository userRepository;
+
+	/** The entity manager. */
+	@Autowired
+	private EntityManager entityManager;
+
+	/** The first product. */
+	private Product first;
+
+	/** The second product. */
+	private Product second;
+
+	/** The movements, oldest first. */
+	private List<Movement> movements;
+
+	/**
+	 * Sets the up.
+	 * Six movements an hour apart, the first two at the same time,
+	 * alternating input and output and the first and second product.
+	 */
+	@BeforeEach
+	void setUp() {
+		User user = new User();
+		user.setDocument("123456789");
+		user.setName("Luis");
+		user.setLastName("Espinosa");
+		user.setUsername("LUIS6");
+		user.setPassword("123456");
+		user.setStatus(Status.ACTIVE.getDigit());
+		userRepository.save(user);
+
+		Category category = categoryRepository.save(new Category(null, "CATEGORY 1", Status.ACTIVE.getDigit()));
+		first = productRepository.save(product("PRODUCT 1", category));
+		second = productRepository.save(product("PRODUCT 2", category));
+
+		movements = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			Movement movement = Movement.builder().type(i % 2 == 0 ? "INPUT" : "OUTPUT").user(user)
+					.code("CODE-" + i).details(new ArrayList<>()).build();
+			MovementDetail detail = new MovementDetail();
+			detail.setMovement(movement);
+			detail.setProduct(i % 2 == 0 ? first : second);
+			detail.setQuantity(i + 1);
+			movement.getDetails().add(detail);
+			movements.add(movementRepository.save(movement));
+		}
+		entityManager.flush();
+
+		for (int i = 0; i < movements.size(); i++) {
+			entityManager.createQuery("UPDATE Movement m SET m.timestamp = :timestamp WHERE m.id = :id")
+				.setParameter("timestamp", START.plusHours(Math.max(i, 1)))
+				.setParameter("id", movements.get(i).getId())
+				.executeUpdate();
+		}
+		entityManager.clear();
+	}
+
+	/**
+	 * It should page the newest first without overlapping.
+	 */
+	@Test
+	void itShouldPageTheNewestFirstWithoutOverlapping() {
+		MovementHistoryFilterDTO filter = new MovementHistoryFilterDTO();
+		List<Long> seen = new ArrayList<>();
+
+		MovementHistoryCursor after = null;
+		List<MovementHistoryDTO> page;
+		do {
+			page = underTest.findMovements(filter, after, 2);
+			seen.addAll(ids(page));
+			if (!page.isEmpty()) {
+				MovementHistoryDTO last = page.get(page.size() - 1);
+				after = new MovementHistoryCursor(last.getTimestamp(), last.getId());
+			}
+		} while (page.size() == 2);
+
+		// The first two movements share the timestamp, the id breaks the tie
+		assertThat(seen).containsExactly(movements.get(5).getId(), movements.get(4).getId(),
+				movements.get(3).getId(), movements.get(2).getId(),
+				movements.get(1).getId(), movements.get(0).getId());
+	}
+
+	/**
+	 * It should filter by the date range and type.
+	 */
+	@Test
+	void itShouldFilterByTheDateRangeAndType() {
+		MovementHistoryFilterDTO filter = new MovementHistoryFilterDTO();
+		filter.setFrom(START.plusHours(2));
+		filter.setTo(START.plusHours(5));
+		filter.setType("INPUT");
+
+		List<MovementHistoryDTO> result = underTest.findMovements(filter, null, 10);
+
+		assertThat(ids(result)).containsExactly(movements.get(4).getId(), movements.get(2).getId());
+		assertThat(result.get(0).getUsername()).isEqualTo("LUIS6");
+	}
+
+	/**
+	 * It should filter by product and return the details.
+	 */
+	@Test
+	void itShouldFilterByProductAndReturnTheDetails() {
+		MovementHistoryFilterDTO filter = new MovementHistoryFilterDTO();
+		filter.setProductId(second.getId());
+		filter.setUsername("LUIS6");
+
+		List<MovementHistoryDTO> result = underTest.findMovements(filter, null, 10);
+		assertThat(ids(result)).containsExactly(movements.get(5).getId(), movements.get(3).getId(),
+				movements.get(1).getId());
+
+		List<MovementHistoryDetailDTO> details = underTest.findDetails(ids(result));
+		assertThat(details).hasSize(3)
+			.allSatisfy(detail -> assertThat(detail.getProductName()).isEqualTo("PRODUCT 2"));
+	}
+
+	/**
+	 * Ids.
+	 *
+	 * @param rows the rows
+	 * @return the ids
+	 */
+	private static List<Long> ids(List<MovementHistoryDTO> rows) {
+		return rows.stream().map(MovementHistoryDTO::getId).collect(Collectors.toList());
+	}
+
+	/**
+	 * Product.
+	 *
+	 * @param name the name
+	 * @param category the category
+	 * @return the product
+	 */
+	private static Product product(String name, Category category) {
+		return Product.builder().name(name)
+				.price(new BigDecimal("12000"))
+				.quantity(0)
+				.category(category)
+				.status(Status.ACTIVE.getDigit())
+				.build();
+	}
+
+}
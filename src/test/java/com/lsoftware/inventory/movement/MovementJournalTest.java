@@ -0,0 +1,171 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.movement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The Class MovementJournalTest.
+ *
+ * @author Luis Espinosa
+ */
+class MovementJournalTest {
+
+	/** The journal directory. */
+	@TempDir
+	Path journalDirectory;
+
+	/**
+	 * It should keep only the pending movements.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	void itShouldKeepOnlyThePendingMovements() throws Exception {
+		MovementJournal underTest = journal(Long.MAX_VALUE);
+		assertThat(underTest.open()).isEmpty();
+
+		List<CompletableFuture<Void>> synced = new ArrayList<>();
+		for (int i = 0; i < 5; i++) synced.add(underTest.append(MovementJournalRecord.accepted("ID-" + i, movement())));
+		underTest.done("ID-1");
+		underTest.done("ID-3");
+		CompletableFuture.allOf(synced.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+		underTest.close();
+
+		MovementJournal reopened = journal(Long.MAX_VALUE);
+		List<MovementJournalRecord> pending = reopened.open();
+		reopened.close();
+
+		assertThat(pending).extracting(MovementJournalRecord::getId).containsExactly("ID-0", "ID-2", "ID-4");
+		assertThat(pending.get(0).getMovement()).isEqualTo(movement());
+		assertThat(Files.readAllLines(journalDirectory.resolve(MovementJournal.FILE_NAME))).hasSize(3);
+	}
+
+	/**
+	 * It should skip A torn line in the middle.
+	 * The records written after a failed write are not lost.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	void itShouldSkipATornLineInTheMiddle() throws Exception {
+		ObjectMapper objectMapper = new ObjectMapper();
+		List<String> lines = new ArrayList<>();
+		lines.add(objectMapper.writeValueAsString(MovementJournalRecord.accepted("ID-0", movement())));
+		lines.add("{\"type\":\"ACCEPTED\",\"id\":\"TO");
+		lines.add(objectMapper.writeValueAsString(MovementJournalRecord.accepted("ID-1", movement())));
+		lines.add(objectMapper.writeValueAsString(MovementJournalRecord.done("ID-0")));
+		Files.write(journalDirectory.resolve(MovementJournal.FILE_NAME), lines, StandardCharsets.UTF_8);
+
+		MovementJournal underTest = journal(Long.MAX_VALUE);
+		List<MovementJournalRecord> pending = underTest.open();
+		underTest.close();
+
+		assertThat(pending).extracting(MovementJournalRecord::getId).containsExactly("ID-1");
+	}
+
+	/**
+	 * It should empty the journal once nothing is pending.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	void itShouldEmptyTheJournalOnceNothingIsPending() throws Exception {
+		MovementJournal underTest = journal(1L);
+		underTest.open();
+
+		underTest.append(MovementJournalRecord.accepted("ID-0", movement())).get(10, TimeUnit.SECONDS);
+		underTest.done("ID-0");
+		underTest.close();
+
+		assertThat(Files.size(journalDirectory.resolve(MovementJournal.FILE_NAME))).isZero();
+		assertThat(underTest.getCompactions()).isEqualTo(1L);
+		assertThat(underTest.getSyncs()).isEqualTo(1L);
+	}
+
+	/**
+	 * It should compact the journal while movements are pending.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	void itShouldCompactTheJournalWhileMovementsArePending() throws Exception {
+		MovementJournal underTest = journal(1L);
+		underTest.open();
+
+		underTest.append(MovementJournalRecord.accepted("ID-0", movement())).get(10, TimeUnit.SECONDS);
+		underTest.append(MovementJournalRecord.accepted("ID-1", movement())).get(10, TimeUnit.SECONDS);
+		underTest.done("ID-0");
+		underTest.close();
+
+		assertThat(underTest.getCompactions()).isPositive();
+		assertThat(Files.readAllLines(journalDirectory.resolve(MovementJournal.FILE_NAME))).hasSize(1);
+
+		MovementJournal reopened = journal(Long.MAX_VALUE);
+		List<MovementJournalRecord> pending = reopened.open();
+		reopened.close();
+		assertThat(pending).extracting(MovementJournalRecord::getId).containsExactly("ID-1");
+	}
+
+	/**
+	 * It should keep the rejections through A compaction.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	void itShouldKeepTheRejectionsThroughACompaction() throws Exception {
+		MovementJournal underTest = journal(1L);
+		underTest.open();
+
+		underTest.append(MovementJournalRecord.accepted("ID-0", movement())).get(10, TimeUnit.SECONDS);
+		underTest.rejected("ID-0", "Not enough stock").get(10, TimeUnit.SECONDS);
+		underTest.close();
+
+		MovementJournal reopened = journal(Long.MAX_VALUE);
+		List<MovementJournalRecord> pending = reopened.open();
+		reopened.close();
+
+		assertThat(underTest.getCompactions()).isPositive();
+		assertThat(pending).isEmpty();
+		assertThat(reopened.getRejections()).containsExactly(Map.entry("ID-0", "Not enough stock"));
+	}
+
+	/**
+	 * Journal.
+	 *
+	 * @param compactionBytes the compaction bytes
+	 * @return the movement journal
+	 */
+	private MovementJournal journal(long compactionBytes) {
+		MovementPipelineConfig config = new MovementPipelineConfig();
+		config.setJournalDirectory(journalDirectory.toString());
+		config.setCompactionBytes(compactionBytes);
+		return new MovementJournal(new ObjectMapper(), config);
+	}
+
+	/**
+	 * Movement.
+	 *
+	 * @return the movement DTO
+	 */
+	private MovementDTO movement() {
+		return new MovementDTO(null, "INPUT", null, "", new ArrayList<>());
+	}
+
+}
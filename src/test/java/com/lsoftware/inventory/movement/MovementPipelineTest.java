@@ -0,0 +1,428 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.movement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.MessageSource;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lsoftware.inventory.category.Category;
+import com.lsoftware.inventory.category.CategoryRepository;
+import com.lsoftware.inventory.exception.ExceptionObjectNotFound;
+import com.lsoftware.inventory.product.Product;
+import com.lsoftware.inventory.product.ProductRepository;
+import com.lsoftware.inventory.product.ProductSimpleDTO;
+import com.lsoftware.inventory.shared.status.Status;
+import com.lsoftware.inventory.stock.StockLedgerRepository;
+import com.lsoftware.inventory.user.User;
+import com.lsoftware.inventory.user.UserRepository;
+import com.lsoftware.inventory.user.UserSimpleDTO;
+
+/**
+ * The Class MovementPipelineTest.
+ * Not transactional, the movements are applied by the writers. Every test
+ * starts its own pipeline on a temporary journal, the one of the context
+ * is disabled.
+ *
+ * @author Luis Espinosa
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:pipelineDB;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000")
+class MovementPipelineTest {
+
+	/** The Constant TIMEOUT_MILLIS. */
+	private static final long TIMEOUT_MILLIS = 30000;
+
+	/** The journal directory. */
+	@TempDir
+	Path journalDirectory;
+
+	/** The movement service, fails on demand. */
+	@SpyBean
+	private MovementService movementService;
+
+	/** The movement bulk service. */
+	@Autowired
+	private MovementBulkService movementBulkService;
+
+	/** The movement repository. */
+	@Autowired
+	private MovementRepository movementRepository;
+
+	/** The product repository. */
+	@Autowired
+	private ProductRepository productRepository;
+
+	/** The category repository. */
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	/** The user repository. */
+	@Autowired
+	private UserRepository userRepository;
+
+	/** The stock ledger repository. */
+	@Autowired
+	private StockLedgerRepository stockLedgerRepository;
+
+	/** The object mapper. */
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	/** The message source. */
+	@Autowired
+	private MessageSource messageSource;
+
+	/** The under test. */
+	private MovementPipeline underTest;
+
+	/** The movement journal. */
+	private MovementJournal movementJournal;
+
+	/** The user. */
+	private User user;
+
+	/** The category. */
+	private Category category;
+
+	/**
+	 * Sets the up.
+	 */
+	@BeforeEach
+	void setUp() {
+		user = new User();
+		user.setDocument("123456789");
+		user.setName("Luis");
+		user.setLastName("Espinosa");
+		user.setUsername("LUIS5");
+		user.setPassword("123456");
+		user.setStatus(Status.ACTIVE.getDigit());
+		userRepository.save(user);
+
+		category = categoryRepository.save(new Category(null, "CATEGORY 1", Status.ACTIVE.getDigit()));
+	}
+
+	/**
+	 * Tear down.
+	 *
+	 * @throws Exception the exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+		if (underTest != null) underTest.shutdown();
+		if (movementJournal != null) movementJournal.close();
+
+		stockLedgerRepository.deleteAll();
+		movementRepository.deleteAll();
+		productRepository.deleteAll();
+		categoryRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+
+	/**
+	 * It should apply every accepted movement.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	void itShouldApplyEveryAcceptedMovement() throws Exception {
+		Product first = saveProduct("PRODUCT 1");
+		Product second = saveProduct("PRODUCT 2");
+		start();
+
+		List<String> ids = new ArrayList<>();
+		for (int i = 0; i < 30; i++) ids.add(underTest.submit(getMovementDTO("INPUT", i % 3 == 0 ? second : first)).getId());
+
+		for (String id : ids) {
+			MovementPipelineStatusDTO status = await(id);
+			assertThat(status.getStatus()).isEqualTo(MovementPipelineStatusDTO.APPLIED);
+			assertThat(status.getMovementId()).isNotNull();
+		}
+		assertThat(productRepository.findQuantityById(first.getId())).isEqualTo(20);
+		assertThat(productRepository.findQuantityById(second.getId())).isEqualTo(10);
+	}
+
+	/**
+	 * It should reject A movement that exceeds the stock.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	void itShouldRejectAMovementThatExceedsTheStock() throws Exception {
+		Product product = saveProduct("PRODUCT 1");
+		start();
+
+		String input = underTest.submit(getMovementDTO("INPUT", product)).getId();
+		String output = underTest.submit(getMovementDTO("OUTPUT", product)).getId();
+		String exceeding = underTest.submit(getMovementDTO("OUTPUT", product)).getId();
+
+		assertThat(await(input).getStatus()).isEqualTo(MovementPipelineStatusDTO.APPLIED);
+		assertThat(await(output).getStatus()).isEqualTo(MovementPipelineStatusDTO.APPLIED);
+		assertThat(await(exceeding).getStatus()).isEqualTo(MovementPipelineStatusDTO.REJECTED);
+		assertThat(await(exceeding).getRejection()).isNotBlank();
+		assertThat(productRepository.findQuantityById(product.getId())).isZero();
+	}
+
+	/**
+	 * It should answer for A rejection after A restart.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	void itShouldAnswerForARejectionAfterARestart() throws Exception {
+		Product product = saveProduct("PRODUCT 1");
+		start();
+		String exceeding = underTest.submit(getMovementDTO("OUTPUT", product)).getId();
+		String rejection = await(exceeding).getRejection();
+		underTest.shutdown();
+		movementJournal.close();
+
+		start();
+
+		MovementPipelineStatusDTO status = underTest.findStatus(exceeding);
+		assertThat(status.getStatus()).isEqualTo(MovementPipelineStatusDTO.REJECTED);
+		assertThat(status.getRejection()).isNotBlank().isEqualTo(rejection);
+		assertThat(underTest.getMetrics()).containsEntry("applied", 0L);
+		assertThat(productRepository.findQuantityById(product.getId())).isZero();
+	}
+
+	/**
+	 * It should retry A movement the database failed under.
+	 * Both the batch and the replay of the movement alone fail, it must be
+	 * kept pending and applied once the database is back.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	void itShouldRetryAMovementTheDatabaseFailedUnder() throws Exception {
+		Product product = saveProduct("PRODUCT 1");
+		DataAccessResourceFailureException lost = new DataAccessResourceFailureException("Connection lost");
+		Mockito.doThrow(lost).doThrow(lost).doCallRealMethod().when(movementService).register(any(), anyString());
+		start();
+
+		String id = underTest.submit(getMovementDTO("INPUT", product)).getId();
+
+		assertThat(await(id).getStatus()).isEqualTo(MovementPipelineStatusDTO.APPLIED);
+		assertThat(productRepository.findQuantityById(product.getId())).isEqualTo(1);
+		assertThat(underTest.getMetrics()).containsEntry("applied", 1L).containsEntry("rejected", 0L)
+			.containsEntry("retries", 1L);
+	}
+
+	/**
+	 * It should try again right away A movement that lost A deadlock.
+	 * The writer of another of its products held the rows.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	void itShouldTryAgainRightAwayAMovementThatLostADeadlock() throws Exception {
+		Product product = saveProduct("PRODUCT 1");
+		CannotAcquireLockException deadlock = new CannotAcquireLockException("Deadlock");
+		Mockito.doThrow(deadlock).doThrow(deadlock).doCallRealMethod().when(movementService).register(any(), anyString());
+		start();
+
+		String id = underTest.submit(getMovementDTO("INPUT", product)).getId();
+
+		assertThat(await(id).getStatus()).isEqualTo(MovementPipelineStatusDTO.APPLIED);
+		assertThat(underTest.getMetrics()).containsEntry("retries", 0L);
+	}
+
+	/**
+	 * It should reject A movement that fails the same way on every try.
+	 * The writer goes on with the next movement.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	void itShouldRejectAMovementThatFailsTheSameWayOnEveryTry() throws Exception {
+		Product product = saveProduct("PRODUCT 1");
+		IllegalStateException broken = new IllegalStateException("Broken");
+		Mockito.doThrow(broken).doThrow(broken).doCallRealMethod().when(movementService).register(any(), anyString());
+		start();
+
+		String failing = underTest.submit(getMovementDTO("INPUT", product)).getId();
+		assertThat(await(failing).getStatus()).isEqualTo(MovementPipelineStatusDTO.REJECTED);
+		String next = underTest.submit(getMovementDTO("INPUT", product)).getId();
+
+		assertThat(await(next).getStatus()).isEqualTo(MovementPipelineStatusDTO.APPLIED);
+		assertThat(productRepository.findQuantityById(product.getId())).isEqualTo(1);
+		assertThat(underTest.getMetrics()).containsEntry("retries", 0L);
+	}
+
+	/**
+	 * It should queue again A movement past its retries.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	void itShouldQueueAgainAMovementPastItsRetries() throws Exception {
+		Product product = saveProduct("PRODUCT 1");
+		DataAccessResourceFailureException lost = new DataAccessResourceFailureException("Connection lost");
+		Mockito.doThrow(lost).doThrow(lost).doThrow(lost).doThrow(lost).doCallRealMethod()
+			.when(movementService).register(any(), anyString());
+		start(1);
+
+		String id = underTest.submit(getMovementDTO("INPUT", product)).getId();
+
+		assertThat(await(id).getStatus()).isEqualTo(MovementPipelineStatusDTO.APPLIED);
+		assertThat(productRepository.findQuantityById(product.getId())).isEqualTo(1);
+		assertThat(underTest.getMetrics()).containsEntry("retries", 1L).containsEntry("requeued", 1L);
+	}
+
+	/**
+	 * It should replay the journal without duplicates.
+	 * The journal left by a crash holds a movement already committed, one
+	 * not applied yet, one done and a torn last line.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	void itShouldReplayTheJournalWithoutDuplicates() throws Exception {
+		Product product = saveProduct("PRODUCT 1");
+		MovementDTO movement = getMovementDTO("INPUT", product);
+		movementBulkService.commit(List.of(movement), List.of("COMMITTED"));
+
+		List<String> lines = new ArrayList<>();
+		lines.add(objectMapper.writeValueAsString(MovementJournalRecord.accepted("COMMITTED", movement)));
+		lines.add(objectMapper.writeValueAsString(MovementJournalRecord.accepted("PENDING", movement)));
+		lines.add(objectMapper.writeValueAsString(MovementJournalRecord.accepted("DONE", movement)));
+		lines.add(objectMapper.writeValueAsString(MovementJournalRecord.done("DONE")));
+		lines.add("{\"type\":\"ACCEPTED\",\"id\":\"TO");
+		Files.write(journalDirectory.resolve(MovementJournal.FILE_NAME), lines, StandardCharsets.UTF_8);
+
+		start();
+
+		assertThat(await("COMMITTED").getStatus()).isEqualTo(MovementPipelineStatusDTO.APPLIED);
+		assertThat(await("PENDING").getStatus()).isEqualTo(MovementPipelineStatusDTO.APPLIED);
+		assertThatThrownBy(() -> underTest.findStatus("DONE")).isInstanceOf(ExceptionObjectNotFound.class);
+		assertThat(productRepository.findQuantityById(product.getId())).isEqualTo(2);
+		assertThat(underTest.getMetrics()).containsEntry("skipped", 1L).containsEntry("applied", 1L);
+	}
+
+	/**
+	 * It should replay what was pending at the shutdown.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	void itShouldReplayWhatWasPendingAtTheShutdown() throws Exception {
+		Product product = saveProduct("PRODUCT 1");
+		start();
+		String applied = underTest.submit(getMovementDTO("INPUT", product)).getId();
+		await(applied);
+		underTest.shutdown();
+
+		String accepted = underTest.submit(getMovementDTO("INPUT", product)).getId();
+		movementJournal.close();
+		assertThat(productRepository.findQuantityById(product.getId())).isEqualTo(1);
+
+		start();
+
+		assertThat(await(accepted).getStatus()).isEqualTo(MovementPipelineStatusDTO.APPLIED);
+		assertThat(productRepository.findQuantityById(product.getId())).isEqualTo(2);
+		assertThat(underTest.getMetrics()).containsEntry("applied", 1L).containsEntry("skipped", 0L);
+	}
+
+	/**
+	 * Start.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private void start() throws IOException {
+		start(5);
+	}
+
+	/**
+	 * Start.
+	 *
+	 * @param maximumRetries the maximum retries
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private void start(int maximumRetries) throws IOException {
+		MovementPipelineConfig config = new MovementPipelineConfig();
+		config.setEnabled(true);
+		config.setJournalDirectory(journalDirectory.toString());
+		config.setShards(2);
+		config.setBatchSize(10);
+		config.setRetryAfterSeconds(0L);
+		config.setMaximumRetries(maximumRetries);
+
+		movementJournal = new MovementJournal(objectMapper, config);
+		underTest = new MovementPipeline(movementBulkService, movementRepository, movementJournal, messageSource, config);
+	}
+
+	/**
+	 * Await.
+	 *
+	 * @param id the id
+	 * @return the first status that is not pending
+	 * @throws InterruptedException the interrupted exception
+	 */
+	private MovementPipelineStatusDTO await(String id) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		MovementPipelineStatusDTO status = underTest.findStatus(id);
+		while (MovementPipelineStatusDTO.PENDING.equals(status.getStatus()) && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+			status = underTest.findStatus(id);
+		}
+		return status;
+	}
+
+	/**
+	 * Save product.
+	 *
+	 * @param name the name
+	 * @return the product
+	 */
+	private Product saveProduct(String name) {
+		return productRepository.save(Product.builder().name(name)
+				.price(new BigDecimal("12000"))
+				.quantity(0)
+				.category(category)
+				.status(Status.ACTIVE.getDigit())
+				.build());
+	}
+
+	/**
+	 * Gets the movement DTO.
+	 *
+	 * @param type the type
+	 * @param product the product
+	 * @return the movement DTO
+	 */
+	private MovementDTO getMovementDTO(String type, Product product) {
+		UserSimpleDTO userDTO = new UserSimpleDTO();
+		userDTO.setId(user.getId());
+
+		ProductSimpleDTO productDTO = new ProductSimpleDTO();
+		productDTO.setId(product.getId());
+
+		List<MovementDetailDTO> details = new ArrayList<>();
+		details.add(new MovementDetailDTO(null, productDTO, 1));
+		return new MovementDTO(null, type, userDTO, "", details);
+	}
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.movement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import com.lsoftware.inventory.category.Category;
+import com.lsoftware.inventory.category.CategoryRepository;
+import com.lsoftware.inventory.product.Product;
+import com.lsoftware.inventory.product.ProductRepository;
+import com.lsoftware.inventory.shared.status.Status;
+import com.lsoftware.inventory.user.User;
+import com.lsoftware.inventory.user.UserRepository;
+
+/**
+ * The Class MovementRepositoryTest.
+ *
+ * @author Luis Espinosa
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class MovementRepositoryTest {
+
+	/** The Constant DETAILS. */
+	private static final int DETAILS = 30;
+
+	/** The under test. */
+	@Autowired
+	private MovementRepository underTest;
+
+	/** The product repository. */
+	@Autowired
+	private ProductRepository productRepository;
+
+	/** The category repository. */
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	/** The user repository. */
+	@Autowired
+	private UserRepository userRepository;
+
+	/** The entity manager. */
+	@Autowired
+	private EntityManager entityManager;
+
+	/**
+	 * It should insert the details of A movement in batches.
+	 */
+	@Test
+	void itShouldInsertTheDetailsOfAMovementInBatches() {
+		User user = new User();
+		user.setDocument("123456789");
+		user.setName("Luis");
+		user.setLastName("Espinosa");
+		user.setUsername("LUIS5");
+		user.setPassword("123456");
+		user.setStatus(Status.ACTIVE.getDigit());
+		userRepository.save(user);
+
+		Category category = categoryRepository.save(new Category(null, "CATEGORY 1", Status.ACTIVE.getDigit()));
+		Product product = productRepository.save(Product.builder().name("PRODUCT 1")
+				.price(new BigDecimal("12000"))
+				.quantity(0)
+				.category(category)
+				.status(Status.ACTIVE.getDigit())
+				.build());
+		entityManager.flush();
+
+		Movement movement = Movement.builder().type("INPUT").user(user).code("CODE-1").details(new ArrayList<>()).build();
+		for (int i = 0; i < DETAILS; i++) {
+			MovementDetail detail = new MovementDetail();
+			detail.setMovement(movement);
+			detail.setProduct(product);
+			detail.setQuantity(1);
+			movement.getDetails().add(detail);
+		}
+
+		Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		underTest.save(movement);
+		entityManager.flush();
+
+		assertThat(statistics.getEntityInsertCount()).isEqualTo(DETAILS + 1L);
+		// Two sequence calls at most per entity plus one statement per table
+		assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+
+		List<MovementDetail> saved = underTest.findById(movement.getId()).get().getDetails();
+		assertThat(saved).hasSize(DETAILS);
+	}
+
+}
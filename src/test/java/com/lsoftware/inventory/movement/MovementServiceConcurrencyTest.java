@@ -0,0 +1,247 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.movement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.lsoftware.inventory.category.Category;
+import com.lsoftware.inventory.category.CategoryRepository;
+import com.lsoftware.inventory.exception.ExceptionValueNotPermitted;
+import com.lsoftware.inventory.product.Product;
+import com.lsoftware.inventory.product.ProductRepository;
+import com.lsoftware.inventory.product.ProductSimpleDTO;
+import com.lsoftware.inventory.shared.status.Status;
+import com.lsoftware.inventory.stock.StockLedgerEntry;
+import com.lsoftware.inventory.stock.StockLedgerRepository;
+import com.lsoftware.inventory.user.User;
+import com.lsoftware.inventory.user.UserRepository;
+import com.lsoftware.inventory.user.UserSimpleDTO;
+
+/**
+ * The Class MovementServiceConcurrencyTest.
+ *
+ * @author Luis Espinosa
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:concurrencyDB;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000")
+class MovementServiceConcurrencyTest {
+
+	/** The Constant THREADS. */
+	private static final int THREADS = 8;
+
+	/** The Constant MOVEMENTS. */
+	private static final int MOVEMENTS = 40;
+
+	/** The under test. */
+	@Autowired
+	private MovementService underTest;
+
+	/** The movement repository. */
+	@Autowired
+	private MovementRepository movementRepository;
+
+	/** The product repository. */
+	@Autowired
+	private ProductRepository productRepository;
+
+	/** The category repository. */
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	/** The user repository. */
+	@Autowired
+	private UserRepository userRepository;
+
+	/** The stock ledger repository. */
+	@Autowired
+	private StockLedgerRepository stockLedgerRepository;
+
+	/** The user. */
+	private User user;
+
+	/** The category. */
+	private Category category;
+
+	/**
+	 * Sets the up.
+	 */
+	@BeforeEach
+	void setUp() {
+		user = new User();
+		user.setDocument("123456789");
+		user.setName("Luis");
+		user.setLastName("Espinosa");
+		user.setUsername("LUIS3");
+		user.setPassword("123456");
+		user.setStatus(Status.ACTIVE.getDigit());
+		userRepository.save(user);
+
+		category = categoryRepository.save(new Category(null, "CATEGORY 1", Status.ACTIVE.getDigit()));
+	}
+
+	/**
+	 * Tear down.
+	 */
+	@AfterEach
+	void tearDown() {
+		stockLedgerRepository.deleteAll();
+		movementRepository.deleteAll();
+		productRepository.deleteAll();
+		categoryRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+
+	/**
+	 * It should not lose updates under parallel movements.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	void itShouldNotLoseUpdatesUnderParallelMovements() throws Exception {
+		Product first = saveProduct("PRODUCT 1", 0);
+		Product second = saveProduct("PRODUCT 2", 0);
+
+		List<Callable<MovementDTO>> tasks = new ArrayList<>();
+		for (int i = 0; i < MOVEMENTS; i++) {
+			// Half of the movements list the products in reverse order
+			Product a = i % 2 == 0 ? first : second;
+			Product b = i % 2 == 0 ? second : first;
+			tasks.add(() -> underTest.add(getMovementDTO("INPUT", a, b)));
+		}
+
+		int failures = runAll(tasks);
+
+		assertThat(failures).isZero();
+		assertThat(productRepository.findById(first.getId()).get().getQuantity()).isEqualTo(MOVEMENTS);
+		assertThat(productRepository.findById(second.getId()).get().getQuantity()).isEqualTo(MOVEMENTS);
+		assertLedgerChains(first.getId(), 0, MOVEMENTS);
+		assertLedgerChains(second.getId(), 0, MOVEMENTS);
+	}
+
+	/**
+	 * It should never output more than the stock.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	void itShouldNeverOutputMoreThanTheStock() throws Exception {
+		int stock = MOVEMENTS / 4;
+		Product product = saveProduct("PRODUCT 1", stock);
+
+		List<Callable<MovementDTO>> tasks = new ArrayList<>();
+		for (int i = 0; i < MOVEMENTS; i++) {
+			tasks.add(() -> underTest.add(getMovementDTO("OUTPUT", product)));
+		}
+
+		int failures = runAll(tasks);
+
+		assertThat(failures).isEqualTo(MOVEMENTS - stock);
+		assertThat(productRepository.findById(product.getId()).get().getQuantity()).isZero();
+		assertThat(movementRepository.count()).isEqualTo(stock);
+		assertLedgerChains(product.getId(), stock, 0);
+	}
+
+	/**
+	 * Assert ledger chains.
+	 * Every entry must start from the balance the previous one left.
+	 *
+	 * @param productId the product id
+	 * @param opening the quantity before the movements
+	 * @param head the quantity of the product
+	 */
+	private void assertLedgerChains(Long productId, int opening, int head) {
+		List<StockLedgerEntry> entries = stockLedgerRepository.findAll().stream()
+				.filter(entry -> entry.getProductId().equals(productId))
+				.sorted((a, b) -> Long.compare(a.getSequence(), b.getSequence()))
+				.collect(Collectors.toList());
+
+		int balance = opening;
+		for (int i = 0; i < entries.size(); i++) {
+			assertThat(entries.get(i).getSequence()).isEqualTo(i + 1L);
+			balance += entries.get(i).getDelta();
+			assertThat(entries.get(i).getBalance()).isEqualTo(balance);
+		}
+		assertThat(balance).isEqualTo(head);
+	}
+
+	/**
+	 * Run all.
+	 *
+	 * @param tasks the tasks
+	 * @return the number of movements rejected by the stock rules
+	 * @throws Exception the exception
+	 */
+	private int runAll(List<Callable<MovementDTO>> tasks) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		int failures = 0;
+		try {
+			for (Future<MovementDTO> future : executor.invokeAll(tasks)) {
+				try {
+					future.get();
+				} catch (java.util.concurrent.ExecutionException e) {
+					assertThat(e.getCause()).isInstanceOf(ExceptionValueNotPermitted.class);
+					failures++;
+				}
+			}
+		} finally {
+			executor.shutdown();
+			executor.awaitTermination(30, TimeUnit.SECONDS);
+		}
+		return failures;
+	}
+
+	/**
+	 * Save product.
+	 *
+	 * @param name the name
+	 * @param quantity the quantity
+	 * @return the product
+	 */
+	private Product saveProduct(String name, int quantity) {
+		return productRepository.save(Product.builder().name(name)
+				.price(new BigDecimal("12000"))
+				.quantity(quantity)
+				.category(category)
+				.status(Status.ACTIVE.getDigit())
+				.build());
+	}
+
+	/**
+	 * Gets the movement DTO.
+	 *
+	 * @param type the type
+	 * @param products the products
+	 * @return the movement DTO
+	 */
+	private MovementDTO getMovementDTO(String type, Product... products) {
+		UserSimpleDTO userDTO = new UserSimpleDTO();
+		userDTO.setId(user.getId());
+
+		List<MovementDetailDTO> details = new ArrayList<>();
+		for (Product product : products) {
+			ProductSimpleDTO productDTO = new ProductSimpleDTO();
+			productDTO.setId(product.getId());
+			details.add(new MovementDetailDTO(null, productDTO, 1));
+		}
+
+		return new MovementDTO(null, type, userDTO, "", details);
+	}
+
+}
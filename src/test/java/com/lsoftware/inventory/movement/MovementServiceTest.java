@@ -7,6 +7,7 @@ package com.lsoftware.inventory.movement;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.times;
@@ -28,16 +29,22 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.BDDMockito;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.context.MessageSource;
 
 import com.lsoftware.inventory.category.Category;
 import com.lsoftware.inventory.exception.ExceptionValueNotPermitted;
 import com.lsoftware.inventory.product.Product;
+import com.lsoftware.inventory.product.ProductCatalogGuavaCache;
+import com.lsoftware.inventory.product.ProductConfig;
+import com.lsoftware.inventory.product.ProductMapper;
 import com.lsoftware.inventory.product.ProductRepository;
 import com.lsoftware.inventory.product.ProductSimpleDTO;
 import com.lsoftware.inventory.shared.status.Status;
+import com.lsoftware.inventory.stock.StockLedger;
+import com.lsoftware.inventory.stock.StockLedgerEntry;
+import com.lsoftware.inventory.stock.StockLedgerRepository;
 import com.lsoftware.inventory.user.User;
+import com.lsoftware.inventory.user.UserMapper;
 import com.lsoftware.inventory.user.UserSimpleDTO;
 
 /**
@@ -55,8 +62,8 @@ class MovementServiceTest {
 	@Mock
 	private MovementRepository movementRepository;
 
-	/** The model mapper. */
-	private ModelMapper modelMapper;
+	/** The movement mapper. */
+	private MovementMapper movementMapper;
 	
 	/** The message source. */
 	@Mock
@@ -65,6 +72,10 @@ class MovementServiceTest {
 	/** The category repository. */
 	@Mock
 	private ProductRepository productRepository;
+	
+	/** The stock ledger repository. */
+	@Mock
+	private StockLedgerRepository stockLedgerRepository;
 
 	/**
 	 * Sets the up.
@@ -73,23 +84,25 @@ class MovementServiceTest {
 	 */
 	@BeforeEach
 	void setUp() throws Exception {
-		modelMapper = new ModelMapper();
-		underTest = new MovementService(productRepository, movementRepository, modelMapper, messageSource);
+		movementMapper = new MovementMapper(new UserMapper(), new ProductMapper());
+		StockLedger stockLedger = new StockLedger(stockLedgerRepository, productRepository);
+		underTest = new MovementService(movementRepository, new MovementStockEngine(productRepository,
+				new ProductCatalogGuavaCache(productRepository, new ProductConfig()), messageSource, stockLedger),
+				movementMapper, stockLedger);
 	}
 	
 	/**
 	 * It should add new movement INPUT action.
 	 *
 	 * @param type the type
-	 * @param expected the expected
-	 * @param productQuantity the product quantity
+	 * @param expected the expected delta
 	 * @param movementQuantity the movement quantity
 	 */
 	@ParameterizedTest
 	@MethodSource("movementActionsDataTestProvider")
-	void itShouldAddNewMovementINPUTAction(String type, int expected, int productQuantity, int movementQuantity) {
-		BDDMockito.given(productRepository.findByIdAndStatus(anyLong(), anyList()))
-			.willReturn(Optional.of(getCompleteProduct(productQuantity)));
+	void itShouldAddNewMovementINPUTAction(String type, int expected, int movementQuantity) {
+		BDDMockito.given(productRepository.addStock(anyInt(), anyLong(), anyList()))
+			.willReturn(1);
 		
 		BDDMockito.given(movementRepository.save(any()))
 			.willReturn(getMovementEntitySaved(type));
@@ -97,14 +110,63 @@ class MovementServiceTest {
 		MovementDTO result = underTest.add(getMovementDTO(type, movementQuantity));
 		assertThat(result.getCode()).isEqualTo(getMovementEntitySaved(type).getCode());
 		verify(movementRepository, times(1)).save(any());
+		verify(productRepository, times(0)).findById(anyLong());
 		
 		ArgumentCaptor<Integer> argumentCaptor = ArgumentCaptor.forClass(Integer.class);
-		verify(productRepository).updateStock(argumentCaptor.capture(), anyLong());
+		verify(productRepository).addStock(argumentCaptor.capture(), anyLong(), anyList());
 		
 		Integer captured = argumentCaptor.getValue();
 		assertThat(captured).isEqualTo(expected);
 	}
 	
+	/**
+	 * It should aggregate details of the same product.
+	 */
+	@Test
+	void itShouldAggregateDetailsOfTheSameProduct() {
+		BDDMockito.given(productRepository.addStock(anyInt(), anyLong(), anyList()))
+			.willReturn(1);
+		
+		BDDMockito.given(movementRepository.save(any()))
+			.willReturn(getMovementEntitySaved("OUTPUT"));
+		
+		MovementDTO dto = getMovementDTO("OUTPUT", 3);
+		dto.setDetails(List.of(dto.getDetails().get(0), dto.getDetails().get(0)));
+		
+		underTest.add(dto);
+		verify(productRepository, times(1)).addStock(-6, 1L, List.of(Status.ACTIVE.getDigit()));
+	}
+	
+	/**
+	 * It should record every line in the stock ledger.
+	 */
+	@Test
+	@SuppressWarnings("unchecked")
+	void itShouldRecordEveryLineInTheStockLedger() {
+		BDDMockito.given(productRepository.addStock(anyInt(), anyLong(), anyList()))
+			.willReturn(1);
+		BDDMockito.given(productRepository.findQuantityById(1L))
+			.willReturn(14);
+		BDDMockito.given(stockLedgerRepository.findLastSequence(1L))
+			.willReturn(Optional.of(7L));
+		BDDMockito.given(movementRepository.save(any()))
+			.willReturn(getMovementEntitySaved("OUTPUT"));
+		
+		MovementDTO dto = getMovementDTO("OUTPUT", 3);
+		dto.setDetails(List.of(dto.getDetails().get(0), dto.getDetails().get(0)));
+		
+		underTest.add(dto);
+		
+		ArgumentCaptor<List<StockLedgerEntry>> argumentCaptor = ArgumentCaptor.forClass(List.class);
+		verify(stockLedgerRepository).saveAll(argumentCaptor.capture());
+		
+		List<StockLedgerEntry> entries = argumentCaptor.getValue();
+		assertThat(entries).extracting(StockLedgerEntry::getSequence).containsExactly(8L, 9L);
+		assertThat(entries).extracting(StockLedgerEntry::getDelta).containsExactly(-3, -3);
+		assertThat(entries).extracting(StockLedgerEntry::getBalance).containsExactly(17, 14);
+		assertThat(entries).extracting(StockLedgerEntry::getMovementId).containsOnly(1L);
+	}
+	
 	/**
 	 * Movement actions data test provider.
 	 *
@@ -112,8 +174,8 @@ class MovementServiceTest {
 	 */
 	private static Stream<Arguments> movementActionsDataTestProvider(){
 		return Stream.of(
-				Arguments.of("INPUT", 25, 20, 5),
-				Arguments.of("OUTPUT", 15, 20, 5)
+				Arguments.of("INPUT", 5, 5),
+				Arguments.of("OUTPUT", -5, 5)
 		);
 	}
 	
@@ -125,7 +187,10 @@ class MovementServiceTest {
 	 */
 	@Test
 	void itShouldFailCreatingNewMovementStockInsufficient() {
-		BDDMockito.given(productRepository.findByIdAndStatus(anyLong(), anyList()))
+		BDDMockito.given(productRepository.addStock(anyInt(), anyLong(), anyList()))
+			.willReturn(0);
+		
+		BDDMockito.given(productRepository.findById(anyLong()))
 			.willReturn(Optional.of(getCompleteProduct(20)));
 		
 		MovementDTO dto = getMovementDTO("OUTPUT", 21);
@@ -134,6 +199,7 @@ class MovementServiceTest {
 			.isInstanceOf(ExceptionValueNotPermitted.class);
 				
 		verify(movementRepository, times(0)).save(any());
+		verify(stockLedgerRepository, times(0)).saveAll(any());
 	}
 	
 	
@@ -142,7 +208,10 @@ class MovementServiceTest {
 	 */
 	@Test
 	void itShouldFailCreatingNewMovementProductDoesNotExists() {
-		BDDMockito.given(productRepository.findByIdAndStatus(anyLong(), anyList()))
+		BDDMockito.given(productRepository.addStock(anyInt(), anyLong(), anyList()))
+			.willReturn(0);
+		
+		BDDMockito.given(productRepository.findById(anyLong()))
 			.willReturn(Optional.empty());
 		
 		MovementDTO dto = getMovementDTO("OUTPUT", 21);
@@ -154,6 +223,20 @@ class MovementServiceTest {
 	}
 	
 	
+	/**
+	 * It should fail creating new movement type not valid.
+	 */
+	@Test
+	void itShouldFailCreatingNewMovementTypeNotValid() {
+		MovementDTO dto = getMovementDTO("TRANSFER", 1);
+		
+		assertThatThrownBy(() -> underTest.add(dto))
+			.isInstanceOf(ExceptionValueNotPermitted.class);
+		
+		verify(movementRepository, times(0)).save(any());
+	}
+	
+	
 	/**
 	 * Gets the movement DTO.
 	 *
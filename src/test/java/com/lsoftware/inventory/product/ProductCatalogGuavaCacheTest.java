@@ -0,0 +1,145 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.product;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.lsoftware.inventory.category.Category;
+import com.lsoftware.inventory.shared.status.Status;
+
+/**
+ * The Class ProductCatalogGuavaCacheTest.
+ *
+ * @author Luis Espinosa
+ */
+@ExtendWith(MockitoExtension.class)
+class ProductCatalogGuavaCacheTest {
+
+	/** The under test. */
+	private ProductCatalogGuavaCache underTest;
+
+	/** The product repository. */
+	@Mock
+	private ProductRepository productRepository;
+
+	/**
+	 * Sets the up.
+	 */
+	@BeforeEach
+	void setUp() {
+		underTest = new ProductCatalogGuavaCache(productRepository, new ProductConfig());
+	}
+
+	/**
+	 * It should serve repeated lookups from memory.
+	 */
+	@Test
+	void itShouldServeRepeatedLookupsFromMemory() {
+		BDDMockito.given(productRepository.findById(1L))
+			.willReturn(Optional.of(getProduct(Status.ACTIVE.getDigit())));
+
+		underTest.findById(1L, List.of(Status.ACTIVE.getDigit()));
+		Optional<Product> result = underTest.findById(1L, List.of(Status.ACTIVE.getDigit()));
+
+		assertThat(result).isPresent();
+		verify(productRepository, times(1)).findById(1L);
+		assertThat(underTest.getMetrics()).containsEntry("hits", 1L).containsEntry("misses", 1L);
+	}
+
+	/**
+	 * It should share the entry between id and name.
+	 */
+	@Test
+	void itShouldShareTheEntryBetweenIdAndName() {
+		BDDMockito.given(productRepository.findByNameAndStatus(anyString(), anyList()))
+			.willReturn(Optional.of(getProduct(Status.ACTIVE.getDigit())));
+
+		underTest.findByName("PRODUCT 1", List.of(Status.ACTIVE.getDigit()));
+		Optional<Product> result = underTest.findById(1L, List.of(Status.ACTIVE.getDigit()));
+
+		assertThat(result).isPresent();
+		verify(productRepository, times(0)).findById(1L);
+	}
+
+	/**
+	 * It should filter by status.
+	 */
+	@Test
+	void itShouldFilterByStatus() {
+		BDDMockito.given(productRepository.findById(1L))
+			.willReturn(Optional.of(getProduct(Status.DELETED.getDigit())));
+
+		Optional<Product> result = underTest.findById(1L, List.of(Status.ACTIVE.getDigit()));
+
+		assertThat(result).isEmpty();
+	}
+
+	/**
+	 * It should read again after an eviction.
+	 */
+	@Test
+	void itShouldReadAgainAfterAnEviction() {
+		BDDMockito.given(productRepository.findById(1L))
+			.willReturn(Optional.of(getProduct(Status.ACTIVE.getDigit())));
+		BDDMockito.given(productRepository.findByStatus(Status.ACTIVE.getDigit()))
+			.willReturn(List.of(getProduct(Status.ACTIVE.getDigit())));
+
+		underTest.findById(1L, List.of(Status.ACTIVE.getDigit()));
+		underTest.findByStatus(Status.ACTIVE.getDigit());
+		underTest.evict(1L);
+		underTest.findById(1L, List.of(Status.ACTIVE.getDigit()));
+		underTest.findByStatus(Status.ACTIVE.getDigit());
+
+		verify(productRepository, times(2)).findById(1L);
+		verify(productRepository, times(2)).findByStatus(Status.ACTIVE.getDigit());
+	}
+
+	/**
+	 * It should not share the cached snapshot with the persistence context.
+	 */
+	@Test
+	void itShouldNotShareTheCachedSnapshotWithThePersistenceContext() {
+		Product managed = getProduct(Status.ACTIVE.getDigit());
+		BDDMockito.given(productRepository.findById(1L))
+			.willReturn(Optional.of(managed));
+
+		underTest.findById(1L, List.of(Status.ACTIVE.getDigit()));
+		managed.setQuantity(99);
+
+		assertThat(underTest.findById(1L, List.of(Status.ACTIVE.getDigit())).get().getQuantity()).isEqualTo(5);
+	}
+
+	/**
+	 * Gets the product.
+	 *
+	 * @param status the status
+	 * @return the product
+	 */
+	private Product getProduct(int status) {
+		return Product.builder().id(1L)
+				.name("PRODUCT 1")
+				.price(new BigDecimal("12000"))
+				.quantity(5)
+				.category(new Category(1L, "CATEGORY 1", Status.ACTIVE.getDigit()))
+				.status(status)
+				.build();
+	}
+
+}
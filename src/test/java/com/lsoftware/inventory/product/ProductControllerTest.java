@@ -206,7 +206,28 @@ class ProductControllerTest {
 	     assertThat(response).isNotNull();	
 	}
 
-	
+	/**
+	 * It should refuse A page without rows.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	@WithMockUser(username = "LUIS3", password = "12345678", roles = "ADMIN")
+	void itShouldRefuseAPageWithoutRows() throws Exception {
+		
+		RequestPaginationAndSortDTO pageAndSort = new RequestPaginationAndSortDTO();
+		pageAndSort.setPage(0);
+		pageAndSort.setSize(0);
+		pageAndSort.setKeyset(true);
+		
+		mockMvc.perform(post("/api/v1/products/paginate")
+			.contentType(MediaType.APPLICATION_JSON)
+			.content(objectMapper.writeValueAsString(pageAndSort)))
+        	.andExpect(status().isBadRequest())
+        	.andExpect(MockMvcResultMatchers.jsonPath("$.validationErrors.size").exists());
+		
+		Mockito.verifyNoInteractions(productService);
+	}
 	
 	/**
 	 * It should list all available.
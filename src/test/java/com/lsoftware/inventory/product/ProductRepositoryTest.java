@@ -11,6 +11,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 
 import com.lsoftware.inventory.category.Category;
 import com.lsoftware.inventory.category.CategoryRepository;
@@ -58,5 +59,63 @@ class ProductRepositoryTest {
 		assertThat(result.get().getName()).isEqualTo(prod.getName());
 		assertThat(result.get().getStatus()).isEqualTo(prod.getStatus());
 	}
+	
+	/**
+	 * It should read every product once by keyset.
+	 */
+	@Test
+	void itShouldReadEveryProductOnceByKeyset() {
+		Category cat = categoryRepository.save(new Category(null, "CATEGORY2", Status.ACTIVE.getDigit()));
+		for (int i = 0; i < 5; i++) {
+			underTest.save(new Product(null, "PRODUCT" + i, new BigDecimal("12000"), 2, cat, Status.ACTIVE.getDigit()));
+		}
+		
+		List<Integer> status = List.of(Status.ACTIVE.getDigit());
+		List<Product> first = underTest.findByStatusAfterId(status, Long.MAX_VALUE, PageRequest.of(0, 3));
+		List<Product> second = underTest.findByStatusAfterId(status, first.get(2).getId(), PageRequest.of(0, 3));
+		
+		assertThat(first).hasSize(3);
+		assertThat(second).hasSize(2);
+		assertThat(first.get(0).getId()).isGreaterThan(first.get(2).getId());
+		assertThat(second.get(0).getId()).isLessThan(first.get(2).getId());
+	}
+	
+	/**
+	 * It should count the products matching the search term.
+	 */
+	@Test
+	void itShouldCountTheProductsMatchingTheSearchTerm() {
+		Category cat = categoryRepository.save(new Category(null, "CATEGORY3", Status.ACTIVE.getDigit()));
+		underTest.save(new Product(null, "KEYBOARD", new BigDecimal("12000"), 2, cat, Status.ACTIVE.getDigit()));
+		underTest.save(new Product(null, "KEYPAD", new BigDecimal("12000"), 2, cat, Status.ACTIVE.getDigit()));
+		underTest.save(new Product(null, "MOUSE", new BigDecimal("12000"), 2, cat, Status.ACTIVE.getDigit()));
+		
+		List<Integer> status = List.of(Status.ACTIVE.getDigit());
+		
+		assertThat(underTest.countByTermsContaining("key", status)).isEqualTo(2);
+		assertThat(underTest.findByTermsContaining("key", status, PageRequest.of(0, 1)).hasNext()).isTrue();
+	}
+	
+	/**
+	 * It should search the products through the trigram queries.
+	 */
+	@Test
+	void itShouldSearchTheProductsThroughTheTrigramQueries() {
+		Category cat = categoryRepository.save(new Category(null, "CATEGORY4", Status.ACTIVE.getDigit()));
+		underTest.save(new Product(null, "KEYBOARD", new BigDecimal("12000"), 2, cat, Status.ACTIVE.getDigit()));
+		underTest.save(new Product(null, "MONKEY", new BigDecimal("12000"), 2, cat, Status.ACTIVE.getDigit()));
+		underTest.save(new Product(null, "MOUSE_PAD", new BigDecimal("12000"), 2, cat, Status.ACTIVE.getDigit()));
+		
+		ProductSearchService search = new ProductSearchTrigramService(underTest);
+		List<Integer> status = List.of(Status.ACTIVE.getDigit());
+		
+		// Three characters or more match anywhere, shorter terms only the start
+		assertThat(search.count("key", status)).isEqualTo(2);
+		assertThat(search.count("ke", status)).isEqualTo(1);
+		assertThat(search.count("e_p", status)).isEqualTo(1);
+		assertThat(search.search("key", status, PageRequest.of(0, 1)).hasNext()).isTrue();
+		assertThat(search.searchAfterId("key", status, Long.MAX_VALUE, PageRequest.of(0, 5)).get(0).getName())
+			.isEqualTo("MONKEY");
+	}
 
 }
@@ -12,6 +12,7 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -24,16 +25,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.BDDMockito;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.context.MessageSource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 
 import com.lsoftware.inventory.category.Category;
+import com.lsoftware.inventory.category.CategoryRegistry;
 import com.lsoftware.inventory.category.CategoryRepository;
 import com.lsoftware.inventory.exception.ExceptionInternalServerError;
 import com.lsoftware.inventory.exception.ExceptionObjectNotFound;
 import com.lsoftware.inventory.exception.ExceptionValueNotPermitted;
+import com.lsoftware.inventory.shared.pagination.PaginationConfig;
+import com.lsoftware.inventory.shared.pagination.PaginationCountCache;
 import com.lsoftware.inventory.shared.request.RequestPaginationAndSortDTO;
 import com.lsoftware.inventory.shared.response.ResponsePaginationAndSortDTO;
 import com.lsoftware.inventory.shared.status.Status;
@@ -53,8 +58,8 @@ class ProductServiceTest {
 	@Mock
 	private ProductRepository productRepository;
 
-	/** The model mapper. */
-	private ModelMapper modelMapper;
+	/** The product mapper. */
+	private ProductMapper productMapper;
 	
 	/** The message source. */
 	@Mock
@@ -71,8 +76,10 @@ class ProductServiceTest {
 	 */
 	@BeforeEach
 	void setUp() throws Exception {
-		modelMapper = new ModelMapper();
-		underTest = new ProductService(productRepository, modelMapper, messageSource, categoryRepository);
+		productMapper = new ProductMapper();
+		underTest = new ProductService(productRepository, productMapper, messageSource, new CategoryRegistry(categoryRepository),
+				new ProductCatalogGuavaCache(productRepository, new ProductConfig()),
+				new PaginationCountCache(new PaginationConfig()), new ProductSearchLikeService(productRepository));
 	}
 
 	/**
@@ -83,7 +90,7 @@ class ProductServiceTest {
 		BDDMockito.given(productRepository.findByNameAndStatus(anyString(), anyList()))
 		.willReturn(Optional.empty());
 		
-		BDDMockito.given(categoryRepository.findAll())
+		BDDMockito.given(categoryRepository.findByStatus(Status.ACTIVE.getDigit()))
 		.willReturn(getCategoryList());
 		
 		BDDMockito.given(productRepository.save(any()))
@@ -122,7 +129,7 @@ class ProductServiceTest {
 		BDDMockito.given(productRepository.findByNameAndStatus(anyString(), anyList()))
 			.willReturn(Optional.empty());
 		
-		BDDMockito.given(categoryRepository.findAll())
+		BDDMockito.given(categoryRepository.findByStatus(Status.ACTIVE.getDigit()))
 		.willReturn(List.of());
 		
 		ProductDTO dto = getProductDTO();
@@ -143,7 +150,7 @@ class ProductServiceTest {
 		BDDMockito.given(productRepository.findByIdAndStatus(anyLong(), anyList()))
 			.willReturn(Optional.of(getProductEntitySaved()));
 		
-		BDDMockito.given(categoryRepository.findAll())
+		BDDMockito.given(categoryRepository.findByStatus(Status.ACTIVE.getDigit()))
 			.willReturn(getCategoryList());
 		
 		BDDMockito.given(productRepository.save(any()))
@@ -183,7 +190,7 @@ class ProductServiceTest {
 		BDDMockito.given(productRepository.findByIdAndStatus(anyLong(), anyList()))
 			.willReturn(Optional.of(getProductEntitySaved()));
 		
-		BDDMockito.given(categoryRepository.findAll())
+		BDDMockito.given(categoryRepository.findByStatus(Status.ACTIVE.getDigit()))
 			.willReturn(getCategoryList());
 		
 		ProductDTO dto = getProductDTODifferentCategory();
@@ -291,6 +298,93 @@ class ProductServiceTest {
 		assertEquals(2, results.getResult().size());
 	}
 	
+	/**
+	 * It should list products by keyset without counting them.
+	 */
+	@Test
+	void itShouldListProductsByKeysetWithoutCountingThem(){
+		
+		BDDMockito.given(productRepository.findByStatusAfterId(anyList(), anyLong(), any()))
+			.willReturn(List.of(
+					new Product(9L, "PRODUCT 9", new BigDecimal("12000"), 2, new Category(1L, "CATEGORY 1", 1), Status.ACTIVE.getDigit()),
+					new Product(7L, "PRODUCT 7", new BigDecimal("12000"), 2, new Category(1L, "CATEGORY 1", 1), Status.ACTIVE.getDigit()),
+					new Product(4L, "PRODUCT 4", new BigDecimal("12000"), 2, new Category(1L, "CATEGORY 1", 1), Status.ACTIVE.getDigit())
+			));
+		
+		RequestPaginationAndSortDTO request = new RequestPaginationAndSortDTO();
+		request.setSize(2);
+		request.setKeyset(true);
+		request.setAfterId(10L);
+		ResponsePaginationAndSortDTO<ProductDTO> results = underTest.findAll(request);
+		
+		assertEquals(2, results.getResult().size());
+		assertThat(results.getHasNext()).isTrue();
+		assertThat(results.getNextAfterId()).isEqualTo(7L);
+		verify(productRepository).findByStatusAfterId(anyList(), eq(10L), 
+				eq(PageRequest.of(0, 3)));
+		verify(productRepository, times(0)).findByStatus(anyList(), any());
+	}
+	
+	/**
+	 * It should end the keyset on the last page.
+	 */
+	@Test
+	void itShouldEndTheKeysetOnTheLastPage(){
+		
+		BDDMockito.given(productRepository.findByTermsContainingAfterId(anyString(), anyList(), anyLong(), any()))
+			.willReturn(List.of(getProductEntitySaved()));
+		
+		RequestPaginationAndSortDTO request = new RequestPaginationAndSortDTO("PRODUCT", 0, 2);
+		request.setKeyset(true);
+		ResponsePaginationAndSortDTO<ProductDTO> results = underTest.findByTermContaining("PRODUCT", request);
+		
+		assertEquals(1, results.getResult().size());
+		assertThat(results.getHasNext()).isFalse();
+		assertThat(results.getNextAfterId()).isNull();
+		verify(productRepository).findByTermsContainingAfterId(anyString(), anyList(), 
+				eq(Long.MAX_VALUE), any());
+	}
+	
+	/**
+	 * It should list products without counting them when totals are skipped.
+	 */
+	@Test
+	void itShouldListProductsWithoutCountingThemWhenTotalsAreSkipped(){
+		
+		BDDMockito.given(productRepository.findByStatus(anyList(), any()))
+			.willReturn(new SliceImpl<>(List.of(getProductEntitySaved()), PageRequest.of(0, 1), true));
+		
+		RequestPaginationAndSortDTO request = new RequestPaginationAndSortDTO(null, 0, 1);
+		request.setSkipTotals(true);
+		ResponsePaginationAndSortDTO<ProductDTO> results = underTest.findAll(request);
+		
+		assertEquals(1, results.getResult().size());
+		assertThat(results.getHasNext()).isTrue();
+		assertThat(results.getTotalItems()).isEqualTo(-1);
+		verify(productRepository, times(0)).countByStatus(anyList());
+	}
+	
+	/**
+	 * It should count the products once while paging.
+	 */
+	@Test
+	void itShouldCountTheProductsOnceWhilePaging(){
+		
+		BDDMockito.given(productRepository.findByTermsContaining(anyString(), anyList(), any()))
+			.willReturn(new SliceImpl<>(List.of(getProductEntitySaved()), PageRequest.of(0, 2), true));
+		BDDMockito.given(productRepository.countByTermsContaining(anyString(), anyList()))
+			.willReturn(5L);
+		
+		underTest.findByTermContaining("product", new RequestPaginationAndSortDTO("product", 0, 2));
+		ResponsePaginationAndSortDTO<ProductDTO> results = 
+				underTest.findByTermContaining("PRODUCT", new RequestPaginationAndSortDTO("PRODUCT", 1, 2));
+		
+		assertThat(results.getTotalItems()).isEqualTo(5L);
+		assertThat(results.getTotalPages()).isEqualTo(3);
+		assertThat(results.getHasNext()).isNull();
+		verify(productRepository, times(1)).countByTermsContaining(anyString(), anyList());
+	}
+	
 	/**
 	 * It should list products by status and pageable and search term.
 	 */
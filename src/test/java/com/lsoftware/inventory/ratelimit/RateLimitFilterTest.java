@@ -0,0 +1,137 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.List;
+
+import javax.servlet.ServletException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The Class RateLimitFilterTest.
+ *
+ * @author Luis Espinosa
+ */
+class RateLimitFilterTest {
+
+	/** The under test. */
+	private RateLimitFilter underTest;
+
+	/**
+	 * Sets the up.
+	 */
+	@BeforeEach
+	void setUp() {
+		RateLimitConfig rateLimitConfig = new RateLimitConfig();
+		rateLimitConfig.setReads(new RateLimitProperties(1L, 0.1D));
+		underTest = new RateLimitFilter(new RateLimiter(rateLimitConfig), new ObjectMapper());
+	}
+
+	/**
+	 * Tear down.
+	 */
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	/**
+	 * It should answer too many requests once the bucket is empty.
+	 *
+	 * @throws ServletException the servlet exception
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	void itShouldAnswerTooManyRequestsOnceTheBucketIsEmpty() throws ServletException, IOException {
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("luis", null,
+				List.of(new SimpleGrantedAuthority("ROLE_SUPERVISOR"))));
+
+		MockHttpServletResponse first = filter("GET");
+		MockHttpServletResponse second = filter("GET");
+		MockHttpServletResponse write = filter("POST");
+
+		assertThat(first.getStatus()).isEqualTo(200);
+		assertThat(second.getStatus()).isEqualTo(429);
+		assertThat(second.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("10");
+		assertThat(second.getContentAsString()).contains("TOO_MANY_REQUESTS");
+		assertThat(write.getStatus()).isEqualTo(200);
+	}
+
+	/**
+	 * It should charge A listing to the reads.
+	 * The listings are posted, they must not spend the writes.
+	 *
+	 * @throws ServletException the servlet exception
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	void itShouldChargeAListingToTheReads() throws ServletException, IOException {
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("luis", null,
+				List.of(new SimpleGrantedAuthority("ROLE_SUPERVISOR"))));
+
+		MockHttpServletResponse listing = filter("POST", "/api/v1/products/paginate");
+		MockHttpServletResponse read = filter("GET", "/api/v1/products");
+		MockHttpServletResponse write = filter("POST", "/api/v1/products");
+
+		assertThat(listing.getStatus()).isEqualTo(200);
+		assertThat(read.getStatus()).isEqualTo(429);
+		assertThat(write.getStatus()).isEqualTo(200);
+	}
+
+	/**
+	 * It should let the anonymous requests pass.
+	 *
+	 * @throws ServletException the servlet exception
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Test
+	void itShouldLetTheAnonymousRequestsPass() throws ServletException, IOException {
+		assertThat(filter("GET").getStatus()).isEqualTo(200);
+		assertThat(filter("GET").getStatus()).isEqualTo(200);
+	}
+
+	/**
+	 * Filter.
+	 *
+	 * @param method the method
+	 * @return the mock http servlet response
+	 * @throws ServletException the servlet exception
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private MockHttpServletResponse filter(String method) throws ServletException, IOException {
+		return filter(method, "/api/v1/products");
+	}
+
+	/**
+	 * Filter.
+	 *
+	 * @param method the method
+	 * @param path the path
+	 * @return the mock http servlet response
+	 * @throws ServletException the servlet exception
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private MockHttpServletResponse filter(String method, String path) throws ServletException, IOException {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		underTest.doFilter(new MockHttpServletRequest(method, path), response, new MockFilterChain());
+		return response;
+	}
+
+}
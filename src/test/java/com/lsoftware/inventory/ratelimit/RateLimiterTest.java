@@ -0,0 +1,115 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * The Class RateLimiterTest.
+ *
+ * @author Luis Espinosa
+ */
+class RateLimiterTest {
+
+	/** The Constant SECOND. */
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	/** The under test. */
+	private RateLimiter underTest;
+
+	/** The rate limit config. */
+	private RateLimitConfig rateLimitConfig;
+
+	/**
+	 * Sets the up.
+	 */
+	@BeforeEach
+	void setUp() {
+		rateLimitConfig = new RateLimitConfig();
+		rateLimitConfig.setReads(new RateLimitProperties(3L, 1D));
+		rateLimitConfig.setWrites(new RateLimitProperties(1L, 0.5D));
+		rateLimitConfig.setRoles(Map.of("ADMIN", Map.of("reads", new RateLimitProperties(10L, 5D))));
+		underTest = new RateLimiter(rateLimitConfig);
+	}
+
+	/**
+	 * It should allow A burst and then the refill rate.
+	 */
+	@Test
+	void itShouldAllowABurstAndThenTheRefillRate() {
+		long now = -SECOND;
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(underTest.tryAcquire(RateLimitClass.READS, "luis", Set.of(), now)).isZero();
+		}
+		assertThat(underTest.tryAcquire(RateLimitClass.READS, "LUIS", Set.of(), now)).isEqualTo(SECOND);
+
+		assertThat(underTest.tryAcquire(RateLimitClass.READS, "luis", Set.of(), now + SECOND)).isZero();
+		assertThat(underTest.tryAcquire(RateLimitClass.READS, "luis", Set.of(), now + SECOND)).isPositive();
+	}
+
+	/**
+	 * It should keep the endpoint classes and the users apart.
+	 */
+	@Test
+	void itShouldKeepTheEndpointClassesAndTheUsersApart() {
+		assertThat(underTest.tryAcquire(RateLimitClass.WRITES, "luis", Set.of(), 0L)).isZero();
+		assertThat(underTest.tryAcquire(RateLimitClass.WRITES, "luis", Set.of(), 0L)).isEqualTo(2 * SECOND);
+
+		assertThat(underTest.tryAcquire(RateLimitClass.READS, "luis", Set.of(), 0L)).isZero();
+		assertThat(underTest.tryAcquire(RateLimitClass.WRITES, "maria", Set.of(), 0L)).isZero();
+	}
+
+	/**
+	 * It should apply the most generous role.
+	 */
+	@Test
+	void itShouldApplyTheMostGenerousRole() {
+		List<SimpleGrantedAuthority> authorities = List.of(
+				new SimpleGrantedAuthority("ROLE_SUPERVISOR"), new SimpleGrantedAuthority("ROLE_ADMIN"));
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(underTest.tryAcquire(RateLimitClass.READS, "luis", authorities, 0L)).isZero();
+		}
+		assertThat(underTest.tryAcquire(RateLimitClass.READS, "luis", authorities, 0L)).isEqualTo(SECOND / 5);
+
+		assertThat(underTest.getMetrics())
+			.containsEntry("allowed", 10L)
+			.containsEntry("limited", 1L)
+			.containsEntry("readsBuckets", 1L);
+	}
+
+	/**
+	 * It should allow everything when disabled.
+	 */
+	@Test
+	void itShouldAllowEverythingWhenDisabled() {
+		rateLimitConfig.setEnabled(false);
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(underTest.tryAcquire(RateLimitClass.WRITES, "luis", Set.of(), 0L)).isZero();
+		}
+	}
+
+	/**
+	 * It should round the retry after up.
+	 */
+	@Test
+	void itShouldRoundTheRetryAfterUp() {
+		assertThat(RateLimiter.retryAfterSeconds(1L)).isEqualTo(1L);
+		assertThat(RateLimiter.retryAfterSeconds(SECOND)).isEqualTo(1L);
+		assertThat(RateLimiter.retryAfterSeconds(SECOND + 1)).isEqualTo(2L);
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.revocation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+/**
+ * The Class RevocationControllerTest.
+ *
+ * @author Luis Espinosa
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class RevocationControllerTest {
+
+	/** The mock mvc. */
+	@Autowired
+	private MockMvc mockMvc;
+
+	/** The revocation registry. */
+	@Autowired
+	private RevocationRegistry revocationRegistry;
+
+	/** The revoked token repository. */
+	@Autowired
+	private RevokedTokenRepository revokedTokenRepository;
+
+	/**
+	 * Tear down.
+	 */
+	@AfterEach
+	void tearDown() {
+		revokedTokenRepository.deleteAll();
+	}
+
+	/**
+	 * It should revoke the tokens of A user.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	@WithMockUser(username = "luis3", password = "123456", roles = "ADMIN")
+	void itShouldRevokeTheTokensOfAUser() throws Exception {
+		long issuedAt = System.currentTimeMillis() - 1000;
+
+		mockMvc.perform(post("/api/v1/revocations/users/valen4"))
+				.andExpect(status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("$.message").value("User tokens revoked"));
+
+		assertThat(revocationRegistry.isRevoked(null, "VALEN4", issuedAt)).isTrue();
+	}
+
+	/**
+	 * It should revoke A token.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	@WithMockUser(username = "luis3", password = "123456", roles = "ADMIN")
+	void itShouldRevokeAToken() throws Exception {
+		mockMvc.perform(post("/api/v1/revocations/tokens/9b2c7c52-3f0e-4a55-8d7e-2f8a0c6b1e11"))
+				.andExpect(status().isOk());
+
+		assertThat(revocationRegistry.isRevoked("9b2c7c52-3f0e-4a55-8d7e-2f8a0c6b1e11", "LUIS3", 0L)).isTrue();
+	}
+
+	/**
+	 * It should deny revocations to A supervisor.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	@WithMockUser(username = "valen4", password = "123456", roles = "SUPERVISOR")
+	void itShouldDenyRevocationsToASupervisor() throws Exception {
+		mockMvc.perform(post("/api/v1/revocations/users/luis3"))
+				.andExpect(status().isForbidden());
+	}
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.revocation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * The Class RevocationRegistryTest.
+ *
+ * @author Luis Espinosa
+ */
+@ExtendWith(MockitoExtension.class)
+class RevocationRegistryTest {
+
+	/** The under test. */
+	private RevocationRegistry underTest;
+
+	/** The revoked token repository. */
+	@Mock
+	private RevokedTokenRepository revokedTokenRepository;
+
+	/** The revocation config. */
+	private RevocationConfig revocationConfig;
+
+	/**
+	 * Sets the up.
+	 */
+	@BeforeEach
+	void setUp() {
+		revocationConfig = new RevocationConfig();
+		revocationConfig.setReloadIntervalSeconds(60L);
+		underTest = new RevocationRegistry(revokedTokenRepository, revocationConfig);
+	}
+
+	/**
+	 * It should accept A token never revoked without A query.
+	 */
+	@Test
+	void itShouldAcceptATokenNeverRevokedWithoutAQuery() {
+		BDDMockito.given(revokedTokenRepository.findByCreatedAtAfter(any()))
+			.willReturn(List.of(getTokenRevocation(1L, "revoked")));
+
+		assertThat(underTest.isRevoked("valid", "LUIS3", System.currentTimeMillis())).isFalse();
+		verify(revokedTokenRepository, never()).existsByTokenId(anyString());
+	}
+
+	/**
+	 * It should confirm A revoked token once.
+	 */
+	@Test
+	void itShouldConfirmARevokedTokenOnce() {
+		BDDMockito.given(revokedTokenRepository.findByCreatedAtAfter(any()))
+			.willReturn(List.of(getTokenRevocation(1L, "revoked")));
+		BDDMockito.given(revokedTokenRepository.existsByTokenId("revoked"))
+			.willReturn(true);
+
+		assertThat(underTest.isRevoked("revoked", "LUIS3", System.currentTimeMillis())).isTrue();
+		assertThat(underTest.isRevoked("revoked", "LUIS3", System.currentTimeMillis())).isTrue();
+		verify(revokedTokenRepository, times(1)).existsByTokenId("revoked");
+	}
+
+	/**
+	 * It should revoke the tokens of A user issued before.
+	 */
+	@Test
+	void itShouldRevokeTheTokensOfAUserIssuedBefore() {
+		Instant revokedAt = Instant.ofEpochMilli(1651453801250L);
+		BDDMockito.given(revokedTokenRepository.findByCreatedAtAfter(any()))
+			.willReturn(List.of(new RevokedToken(1L, null, "LUIS3", revokedAt, revokedAt.plusSeconds(60), revokedAt)));
+
+		assertThat(underTest.isRevoked(null, "luis3", 1651453800000L)).isTrue();
+		// The issued at has whole seconds, a token of the same second came after it
+		assertThat(underTest.isRevoked(null, "LUIS3", 1651453801000L)).isFalse();
+		assertThat(underTest.isRevoked(null, "VALEN4", 0L)).isFalse();
+	}
+
+	/**
+	 * It should reload the revocations committed out of order.
+	 * The second reload reads again the overlap before the first one, a
+	 * revocation with a lower id that committed late is still found.
+	 */
+	@Test
+	void itShouldReloadTheRevocationsCommittedOutOfOrder() {
+		ArgumentCaptor<Instant> since = ArgumentCaptor.forClass(Instant.class);
+		BDDMockito.given(revokedTokenRepository.findByCreatedAtAfter(since.capture()))
+			.willReturn(List.of(getTokenRevocation(8L, "later")))
+			.willReturn(List.of(getTokenRevocation(7L, "late"), getTokenRevocation(8L, "later")));
+		BDDMockito.given(revokedTokenRepository.existsByTokenId("late"))
+			.willReturn(true);
+
+		Instant before = Instant.now();
+		underTest.isRevoked("valid", null, 0L);
+		underTest.reload();
+
+		assertThat(underTest.isRevoked("late", null, 0L)).isTrue();
+		assertThat(since.getAllValues().get(0)).isBefore(before.minusSeconds(60));
+		assertThat(since.getAllValues().get(1)).isBeforeOrEqualTo(before.minusSeconds(55))
+			.isAfter(before.minusSeconds(61));
+		verify(revokedTokenRepository, never()).findByExpiresAtAfter(any());
+	}
+
+	/**
+	 * It should keep the revoked users while rebuilding.
+	 */
+	@Test
+	void itShouldKeepTheRevokedUsersWhileRebuilding() {
+		revocationConfig.setExpectedTokens(1L);
+		underTest = new RevocationRegistry(revokedTokenRepository, revocationConfig);
+		Instant revokedAt = Instant.now();
+		List<RevokedToken> revoked = List.of(getTokenRevocation(1L, "a"), getTokenRevocation(2L, "b"),
+				new RevokedToken(3L, null, "LUIS3", revokedAt, revokedAt.plusSeconds(60), revokedAt));
+		BDDMockito.given(revokedTokenRepository.findByCreatedAtAfter(any()))
+			.willReturn(revoked);
+		BDDMockito.given(revokedTokenRepository.findByExpiresAtAfter(any()))
+			.willReturn(revoked);
+
+		underTest.reload();
+
+		assertThat(underTest.isRevoked(null, "LUIS3", revokedAt.toEpochMilli() - 1000)).isTrue();
+		assertThat(underTest.getMetrics().get("users")).isEqualTo(1L);
+	}
+
+	/**
+	 * It should rebuild the filter once full.
+	 */
+	@Test
+	void itShouldRebuildTheFilterOnceFull() {
+		revocationConfig.setExpectedTokens(2L);
+		underTest = new RevocationRegistry(revokedTokenRepository, revocationConfig);
+		List<RevokedToken> revoked = List.of(getTokenRevocation(1L, "a"), getTokenRevocation(2L, "b"),
+				getTokenRevocation(3L, "c"));
+		BDDMockito.given(revokedTokenRepository.findByCreatedAtAfter(any()))
+			.willReturn(revoked);
+		BDDMockito.given(revokedTokenRepository.findByExpiresAtAfter(any()))
+			.willReturn(revoked);
+
+		underTest.reload();
+
+		verify(revokedTokenRepository, times(1)).findByExpiresAtAfter(any());
+		assertThat(underTest.getMetrics().get("capacity")).isEqualTo(6L);
+		assertThat(underTest.getMetrics().get("tokens")).isEqualTo(3L);
+	}
+
+	/**
+	 * Gets the token revocation.
+	 *
+	 * @param id the id
+	 * @param tokenId the token id
+	 * @return the token revocation
+	 */
+	private RevokedToken getTokenRevocation(Long id, String tokenId) {
+		return new RevokedToken(id, tokenId, null, null, Instant.now().plusSeconds(60), Instant.now());
+	}
+
+}
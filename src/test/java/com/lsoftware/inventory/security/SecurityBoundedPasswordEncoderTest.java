@@ -0,0 +1,123 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.lsoftware.inventory.exception.ExceptionServiceUnavailable;
+
+/**
+ * The Class SecurityBoundedPasswordEncoderTest.
+ *
+ * @author Luis Espinosa
+ */
+class SecurityBoundedPasswordEncoderTest {
+
+	/** The under test. */
+	private SecurityBoundedPasswordEncoder underTest;
+
+	/**
+	 * Tear down.
+	 */
+	@AfterEach
+	void tearDown() {
+		if (underTest != null) underTest.shutdown();
+	}
+
+	/**
+	 * It should encode and match through the pool.
+	 */
+	@Test
+	void itShouldEncodeAndMatchThroughThePool() {
+		underTest = new SecurityBoundedPasswordEncoder(new BCryptPasswordEncoder(4), getConfig(1, 1));
+
+		String encoded = underTest.encode("password");
+
+		assertThat(underTest.matches("password", encoded)).isTrue();
+		assertThat(underTest.matches("other", encoded)).isFalse();
+		assertThat(underTest.getMetrics().get("hashes")).isEqualTo(3L);
+		assertThat(underTest.getMetrics().get("rejected")).isZero();
+	}
+
+	/**
+	 * It should reject when the pool and the queue are full.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	void itShouldRejectWhenThePoolAndTheQueueAreFull() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		underTest = new SecurityBoundedPasswordEncoder(getBlockingEncoder(started, release), getConfig(1, 1));
+
+		CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> underTest.encode("first"));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> underTest.encode("second"));
+		while (underTest.getMetrics().get("queued") < 1) Thread.onSpinWait();
+
+		assertThatThrownBy(() -> underTest.encode("third"))
+			.isInstanceOf(ExceptionServiceUnavailable.class)
+			.matches(e -> ((ExceptionServiceUnavailable) e).getRetryAfterSeconds() == 3L);
+		assertThat(underTest.getMetrics().get("rejected")).isEqualTo(1L);
+
+		release.countDown();
+		assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+		assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+	}
+
+	/**
+	 * Gets the config.
+	 *
+	 * @param poolSize the pool size
+	 * @param queueCapacity the queue capacity
+	 * @return the config
+	 */
+	private SecurityPasswordPoolConfig getConfig(int poolSize, int queueCapacity) {
+		SecurityPasswordPoolConfig config = new SecurityPasswordPoolConfig();
+		config.setPoolSize(poolSize);
+		config.setQueueCapacity(queueCapacity);
+		config.setRetryAfterSeconds(3L);
+		return config;
+	}
+
+	/**
+	 * Gets the blocking encoder.
+	 * Echoes the raw password once released.
+	 *
+	 * @param started the started
+	 * @param release the release
+	 * @return the blocking encoder
+	 */
+	private PasswordEncoder getBlockingEncoder(CountDownLatch started, CountDownLatch release) {
+		return new PasswordEncoder() {
+			@Override
+			public String encode(CharSequence rawPassword) {
+				started.countDown();
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return rawPassword.toString();
+			}
+
+			@Override
+			public boolean matches(CharSequence rawPassword, String encodedPassword) {
+				return encode(rawPassword).equals(encodedPassword);
+			}
+		};
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * The Class SecurityCalibratedPasswordEncoderTest.
+ *
+ * @author Luis Espinosa
+ */
+class SecurityCalibratedPasswordEncoderTest {
+
+	/** The password encoder. */
+	private SecurityBoundedPasswordEncoder passwordEncoder;
+
+	/**
+	 * Tear down.
+	 */
+	@AfterEach
+	void tearDown() {
+		if (passwordEncoder != null) passwordEncoder.shutdown();
+	}
+
+	/**
+	 * It should pick the highest strength within the target.
+	 */
+	@Test
+	void itShouldPickTheHighestStrengthWithinTheTarget() {
+		// 10 ms at the probe strength 8, 20 ms at 9, 40 ms at 10, 80 ms at 11
+		assertThat(SecurityCalibratedPasswordEncoder.calibrate(100L, 4, 14, 10_000_000L)).isEqualTo(11);
+		assertThat(SecurityCalibratedPasswordEncoder.calibrate(100L, 12, 14, 10_000_000L)).isEqualTo(12);
+		assertThat(SecurityCalibratedPasswordEncoder.calibrate(100L, 4, 10, 10_000_000L)).isEqualTo(10);
+		assertThat(SecurityCalibratedPasswordEncoder.calibrate(100L, 4, 14, 1_000_000L)).isEqualTo(14);
+	}
+
+	/**
+	 * It should ask to rehash only A lower strength.
+	 */
+	@Test
+	void itShouldAskToRehashOnlyALowerStrength() {
+		SecurityCalibratedPasswordEncoder underTest = new SecurityCalibratedPasswordEncoder(5);
+
+		assertThat(underTest.upgradeEncoding(underTest.encode("password"))).isFalse();
+		assertThat(underTest.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password"))).isTrue();
+		assertThat(underTest.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password"))).isFalse();
+		assertThat(underTest.upgradeEncoding("not a hash")).isFalse();
+	}
+
+	/**
+	 * It should keep the hashes of A node calibrated one step lower.
+	 */
+	@Test
+	void itShouldKeepTheHashesOfANodeCalibratedOneStepLower() {
+		SecurityPasswordHashConfig hashConfig = new SecurityPasswordHashConfig();
+		hashConfig.setMinimumStrength(4);
+		hashConfig.setMaximumStrength(4);
+		SecurityCalibratedPasswordEncoder floor = SecurityCalibratedPasswordEncoder.calibrated(hashConfig);
+		SecurityCalibratedPasswordEncoder underTest = new SecurityCalibratedPasswordEncoder(6, 5);
+
+		assertThat(floor.getUpgradeFloor()).isEqualTo(4);
+		assertThat(underTest.upgradeEncoding(new BCryptPasswordEncoder(5).encode("password"))).isFalse();
+		assertThat(underTest.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password"))).isTrue();
+	}
+
+	/**
+	 * It should match and rehash legacy hashes.
+	 */
+	@Test
+	void itShouldMatchAndRehashLegacyHashes() {
+		SecurityPasswordHashConfig hashConfig = new SecurityPasswordHashConfig();
+		hashConfig.setStrength(5);
+		passwordEncoder = new SecurityPasswordConfig().passwordEncoder(new SecurityPasswordPoolConfig(), hashConfig);
+
+		String legacy = new BCryptPasswordEncoder(4).encode("password");
+		String current = passwordEncoder.encode("password");
+
+		assertThat(current).startsWith("{bcrypt}$2a$05$");
+		assertThat(passwordEncoder.matches("password", legacy)).isTrue();
+		assertThat(passwordEncoder.matches("password", current)).isTrue();
+		assertThat(passwordEncoder.upgradeEncoding(legacy)).isTrue();
+		assertThat(passwordEncoder.upgradeEncoding(current)).isFalse();
+		assertThat(passwordEncoder.upgradeEncoding("{bcrypt}" + legacy)).isTrue();
+	}
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.shared.pagination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The Class PaginationCountCacheTest.
+ *
+ * @author Luis Espinosa
+ */
+class PaginationCountCacheTest {
+
+	/** The under test. */
+	private PaginationCountCache underTest;
+
+	/** The counts run. */
+	private AtomicLong counts;
+
+	/**
+	 * Sets the up.
+	 */
+	@BeforeEach
+	void setUp() {
+		underTest = new PaginationCountCache(new PaginationConfig());
+		counts = new AtomicLong();
+	}
+
+	/**
+	 * It should count once per search term whatever its case.
+	 */
+	@Test
+	void itShouldCountOncePerSearchTermWhateverItsCase() {
+		underTest.count("Product", List.of(1), "Key", () -> counts.incrementAndGet());
+		long total = underTest.count("Product", List.of(1), "KEY", () -> counts.incrementAndGet());
+
+		assertThat(total).isEqualTo(1);
+		assertThat(counts.get()).isEqualTo(1);
+		assertThat(underTest.getMetrics().get("hits")).isEqualTo(1);
+	}
+
+	/**
+	 * It should count apart every status set.
+	 */
+	@Test
+	void itShouldCountApartEveryStatusSet() {
+		underTest.count("Product", List.of(1), null, () -> counts.incrementAndGet());
+		underTest.count("Product", List.of(1, 0), null, () -> counts.incrementAndGet());
+
+		assertThat(counts.get()).isEqualTo(2);
+	}
+
+	/**
+	 * It should count again only the evicted entity.
+	 */
+	@Test
+	void itShouldCountAgainOnlyTheEvictedEntity() {
+		underTest.count("Product", List.of(1), null, () -> counts.incrementAndGet());
+		underTest.count("ProductLine", List.of(1), null, () -> counts.incrementAndGet());
+
+		underTest.evict("Product");
+		underTest.count("Product", List.of(1), null, () -> counts.incrementAndGet());
+		underTest.count("ProductLine", List.of(1), null, () -> counts.incrementAndGet());
+
+		assertThat(counts.get()).isEqualTo(3);
+	}
+
+}
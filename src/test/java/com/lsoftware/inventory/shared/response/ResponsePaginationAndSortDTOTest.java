@@ -0,0 +1,46 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.shared.response;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The Class ResponsePaginationAndSortDTOTest.
+ *
+ * @author Luis Espinosa
+ */
+class ResponsePaginationAndSortDTOTest {
+
+	/**
+	 * It should send the last id of A keyset page.
+	 */
+	@Test
+	void itShouldSendTheLastIdOfAKeysetPage() {
+		ResponsePaginationAndSortDTO<Long> result = ResponsePaginationAndSortDTO.keyset(List.of(9L, 8L, 7L), 2,
+				Function.identity(), Function.identity());
+
+		assertThat(result.getResult()).containsExactly(9L, 8L);
+		assertThat(result.getHasNext()).isTrue();
+		assertThat(result.getNextAfterId()).isEqualTo(8L);
+	}
+
+	/**
+	 * It should answer an empty keyset page.
+	 */
+	@Test
+	void itShouldAnswerAnEmptyKeysetPage() {
+		ResponsePaginationAndSortDTO<Long> result = ResponsePaginationAndSortDTO.keyset(List.of(9L), 0,
+				Function.identity(), Function.identity());
+
+		assertThat(result.getResult()).isEmpty();
+		assertThat(result.getNextAfterId()).isNull();
+	}
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.stock;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.lsoftware.inventory.shared.response.ResponsePaginationAndSortDTO;
+
+/**
+ * The Class StockLedgerControllerTest.
+ *
+ * @author Luis Espinosa
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class StockLedgerControllerTest {
+
+	/** The stock ledger service. */
+	@MockBean
+	private StockLedgerService stockLedgerService;
+
+	/** The mock mvc. */
+	@Autowired
+	private MockMvc mockMvc;
+
+	/**
+	 * It should paginate the ledger of A product.
+	 *
+	 * @throws Exception the exception
+	 */
+	@Test
+	@WithMockUser(username = "VALEN4", password = "123456", roles = "SUPERVISOR")
+	void itShouldPaginateTheLedgerOfAProduct() throws Exception {
+		ResponsePaginationAndSortDTO<StockLedgerEntryDTO> page = new ResponsePaginationAndSortDTO<>(
+				List.of(new StockLedgerEntryDTO(2L, 7L, -3, 37, LocalDateTime.now())), -1, -1, -1);
+		BDDMockito.given(stockLedgerService.findByProduct(eq(1L), any()))
+			.willReturn(page);
+
+		mockMvc.perform(post("/api/v1/stock/1/ledger/paginate")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"page\": 0, \"size\": 10}"))
+				.andExpect(status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("$.message").value("Stock Ledger Paginated"))
+				.andExpect(MockMvcResultMatchers.jsonPath("$.data.result[0].balance").value(37))
+				.andExpect(MockMvcResultMatchers.jsonPath("$.data.result[0].movementId").value(7));
+	}
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.stock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import com.lsoftware.inventory.shared.request.RequestPaginationAndSortDTO;
+import com.lsoftware.inventory.shared.response.ResponsePaginationAndSortDTO;
+
+/**
+ * The Class StockLedgerServiceTest.
+ *
+ * @author Luis Espinosa
+ */
+@DataJpaTest
+@Import(StockLedgerService.class)
+class StockLedgerServiceTest {
+
+	/** The under test. */
+	@Autowired
+	private StockLedgerService underTest;
+
+	/** The stock ledger repository. */
+	@Autowired
+	private StockLedgerRepository stockLedgerRepository;
+
+	/**
+	 * Sets the up.
+	 * Five inputs of one unit for the product 1 and one for the product 2.
+	 */
+	@BeforeEach
+	void setUp() {
+		for (long sequence = 1; sequence <= 5; sequence++) {
+			stockLedgerRepository.save(StockLedgerEntry.builder().productId(1L).sequence(sequence)
+					.movementId(sequence).delta(1).balance((int) sequence).build());
+		}
+		stockLedgerRepository.save(StockLedgerEntry.builder().productId(2L).sequence(1L)
+				.movementId(6L).delta(1).balance(1).build());
+	}
+
+	/**
+	 * It should find the last sequence of the product.
+	 */
+	@Test
+	void itShouldFindTheLastSequenceOfTheProduct() {
+		assertThat(stockLedgerRepository.findLastSequence(1L)).contains(5L);
+		assertThat(stockLedgerRepository.findLastSequence(3L)).isEmpty();
+	}
+
+	/**
+	 * It should page the ledger of the product newest first.
+	 */
+	@Test
+	void itShouldPageTheLedgerOfTheProductNewestFirst() {
+		RequestPaginationAndSortDTO pageAndSort = new RequestPaginationAndSortDTO();
+		pageAndSort.setSize(3);
+
+		ResponsePaginationAndSortDTO<StockLedgerEntryDTO> first = underTest.findByProduct(1L, pageAndSort);
+		assertThat(first.getResult()).extracting(StockLedgerEntryDTO::getBalance).containsExactly(5, 4, 3);
+		assertThat(first.getHasNext()).isTrue();
+
+		pageAndSort.setAfterId(first.getNextAfterId());
+		ResponsePaginationAndSortDTO<StockLedgerEntryDTO> second = underTest.findByProduct(1L, pageAndSort);
+		assertThat(second.getResult()).extracting(StockLedgerEntryDTO::getSequence).containsExactly(2L, 1L);
+		assertThat(second.getHasNext()).isFalse();
+	}
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.stock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The Class StockSnapshotSchedulerTest.
+ *
+ * @author Luis Espinosa
+ */
+class StockSnapshotSchedulerTest {
+
+	/**
+	 * It should land on the month end.
+	 */
+	@Test
+	void itShouldLandOnTheMonthEnd() {
+		LocalDateTime lastDay = LocalDateTime.of(2022, 1, 31, 18, 45);
+
+		assertThat(StockSnapshotScheduler.next(lastDay, 1440)).isEqualTo(LocalDateTime.of(2022, 2, 1, 0, 0));
+		assertThat(StockSnapshotScheduler.boundary(LocalDateTime.of(2022, 2, 1, 0, 0, 3), 1440))
+			.isEqualTo(LocalDateTime.of(2022, 2, 1, 0, 0));
+	}
+
+	/**
+	 * It should count the intervals from midnight.
+	 */
+	@Test
+	void itShouldCountTheIntervalsFromMidnight() {
+		LocalDateTime time = LocalDateTime.of(2022, 1, 31, 18, 45);
+
+		assertThat(StockSnapshotScheduler.boundary(time, 60)).isEqualTo(LocalDateTime.of(2022, 1, 31, 18, 0));
+		assertThat(StockSnapshotScheduler.next(time, 60)).isEqualTo(LocalDateTime.of(2022, 1, 31, 19, 0));
+		// 420 does not divide a day, the last run of the day is cut at midnight
+		assertThat(StockSnapshotScheduler.next(LocalDateTime.of(2022, 1, 31, 22, 0), 420))
+			.isEqualTo(LocalDateTime.of(2022, 2, 1, 0, 0));
+	}
+
+}
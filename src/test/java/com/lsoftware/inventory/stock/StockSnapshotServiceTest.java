@@ -0,0 +1,242 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.stock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.lsoftware.inventory.category.Category;
+import com.lsoftware.inventory.category.CategoryRepository;
+import com.lsoftware.inventory.product.Product;
+import com.lsoftware.inventory.product.ProductRepository;
+import com.lsoftware.inventory.shared.status.Status;
+
+/**
+ * The Class StockSnapshotServiceTest.
+ * Not transactional, the ranges are read by other threads.
+ *
+ * @author Luis Espinosa
+ */
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:snapshotDB;DB_CLOSE_DELAY=-1",
+		"application.stock.snapshots.rangeSize=1" })
+class StockSnapshotServiceTest {
+
+	/** The Constant FEBRUARY. */
+	private static final LocalDateTime FEBRUARY = LocalDateTime.of(2022, 2, 1, 0, 0);
+
+	/** The under test. */
+	@Autowired
+	private StockSnapshotService underTest;
+
+	/** The stock ledger repository. */
+	@Autowired
+	private StockLedgerRepository stockLedgerRepository;
+
+	/** The stock snapshot repository. */
+	@Autowired
+	private StockSnapshotRepository stockSnapshotRepository;
+
+	/** The stock snapshot run repository. */
+	@Autowired
+	private StockSnapshotRunRepository stockSnapshotRunRepository;
+
+	/** The product repository. */
+	@Autowired
+	private ProductRepository productRepository;
+
+	/** The category repository. */
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	/** The entity manager. */
+	@Autowired
+	private EntityManager entityManager;
+
+	/** The transaction manager. */
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	/** The first product. */
+	private Product first;
+
+	/** The second product. */
+	private Product second;
+
+	/**
+	 * Sets the up.
+	 * The first product takes 10 and gives 3 in January and takes 5 in
+	 * February, the second one takes 7 in January.
+	 */
+	@BeforeEach
+	void setUp() {
+		Category category = categoryRepository.save(new Category(null, "CATEGORY 1", Status.ACTIVE.getDigit()));
+		first = saveProduct("PRODUCT 1", category);
+		second = saveProduct("PRODUCT 2", category);
+
+		saveEntry(first, 1L, 10, 10, LocalDateTime.of(2022, 1, 10, 9, 0));
+		saveEntry(first, 2L, -3, 7, LocalDateTime.of(2022, 1, 20, 9, 0));
+		saveEntry(first, 3L, 5, 12, LocalDateTime.of(2022, 2, 5, 9, 0));
+		saveEntry(second, 1L, 7, 7, LocalDateTime.of(2022, 1, 25, 9, 0));
+	}
+
+	/**
+	 * Tear down.
+	 */
+	@AfterEach
+	void tearDown() {
+		stockSnapshotRepository.deleteAll();
+		stockSnapshotRunRepository.deleteAll();
+		stockLedgerRepository.deleteAll();
+		productRepository.deleteAll();
+		categoryRepository.deleteAll();
+	}
+
+	/**
+	 * It should read the ledger without A snapshot.
+	 * The second product has no entries yet on the 15th, it is reported empty.
+	 */
+	@Test
+	void itShouldReadTheLedgerWithoutASnapshot() {
+		assertThat(underTest.findAsOf(LocalDateTime.of(2022, 1, 15, 0, 0)))
+			.containsExactly(new StockLevelDTO(first.getId(), 10), new StockLevelDTO(second.getId(), 0));
+		assertThat(underTest.findAsOf(FEBRUARY))
+			.containsExactly(new StockLevelDTO(first.getId(), 7), new StockLevelDTO(second.getId(), 7));
+	}
+
+	/**
+	 * It should report A product without entries after A run.
+	 * The run only holds the products with a history, the third one was
+	 * added afterwards and never moved.
+	 */
+	@Test
+	void itShouldReportAProductWithoutEntriesAfterARun() {
+		underTest.take(FEBRUARY);
+		Product third = saveProduct("PRODUCT 3", first.getCategory());
+
+		assertThat(underTest.findAsOf(FEBRUARY.plusDays(1)))
+			.containsExactly(new StockLevelDTO(first.getId(), 7), new StockLevelDTO(second.getId(), 7),
+					new StockLevelDTO(third.getId(), 0));
+	}
+
+	/**
+	 * It should take A run once.
+	 */
+	@Test
+	void itShouldTakeARunOnce() {
+		assertThat(underTest.take(FEBRUARY)).isTrue();
+		assertThat(underTest.take(FEBRUARY)).isFalse();
+
+		List<StockSnapshot> snapshots = stockSnapshotRepository.findAll();
+		assertThat(snapshots).hasSize(2)
+			.allSatisfy(snapshot -> assertThat(snapshot.getQuantity()).isEqualTo(7));
+		assertThat(snapshots).extracting(StockSnapshot::getSequence).containsExactlyInAnyOrder(2L, 1L);
+		assertThat(stockSnapshotRunRepository.findLastCompleted(FEBRUARY)).contains(FEBRUARY);
+	}
+
+	/**
+	 * It should start from the snapshot.
+	 */
+	@Test
+	void itShouldStartFromTheSnapshot() {
+		underTest.take(FEBRUARY);
+
+		// The entries the snapshot covers are not read again
+		new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+			entityManager.createQuery("UPDATE StockLedgerEntry e SET e.delta = 1000 WHERE e.sequence <= 2")
+				.executeUpdate());
+
+		assertThat(underTest.findAsOf(LocalDateTime.of(2022, 2, 10, 0, 0)))
+			.containsExactly(new StockLevelDTO(first.getId(), 12), new StockLevelDTO(second.getId(), 7));
+		assertThat(underTest.findAsOf(FEBRUARY))
+			.containsExactly(new StockLevelDTO(first.getId(), 7), new StockLevelDTO(second.getId(), 7));
+	}
+
+	/**
+	 * It should take the next run from the previous one.
+	 */
+	@Test
+	void itShouldTakeTheNextRunFromThePreviousOne() {
+		underTest.take(FEBRUARY);
+		underTest.take(FEBRUARY.plusMonths(1));
+
+		assertThat(stockSnapshotRepository.findAll())
+			.filteredOn(snapshot -> snapshot.getTakenAt().equals(FEBRUARY.plusMonths(1)))
+			.extracting(StockSnapshot::getQuantity)
+			.containsExactlyInAnyOrder(12, 7);
+	}
+
+	/**
+	 * It should take A run again after A range failed.
+	 * A snapshot of the second product left by a crashed run makes its range
+	 * fail, the range of the first product is written before.
+	 */
+	@Test
+	void itShouldTakeARunAgainAfterARangeFailed() {
+		stockSnapshotRepository.save(StockSnapshot.builder().takenAt(FEBRUARY).productId(second.getId())
+				.sequence(0L).quantity(0).build());
+
+		assertThatThrownBy(() -> underTest.take(FEBRUARY)).isInstanceOf(DataIntegrityViolationException.class);
+
+		assertThat(stockSnapshotRunRepository.findAll()).isEmpty();
+		assertThat(stockSnapshotRepository.findAll()).isEmpty();
+
+		assertThat(underTest.take(FEBRUARY)).isTrue();
+		assertThat(stockSnapshotRepository.findAll()).hasSize(2);
+		assertThat(stockSnapshotRunRepository.findLastCompleted(FEBRUARY)).contains(FEBRUARY);
+	}
+
+	/**
+	 * Save product.
+	 *
+	 * @param name the name
+	 * @param category the category
+	 * @return the product
+	 */
+	private Product saveProduct(String name, Category category) {
+		return productRepository.save(Product.builder().name(name)
+				.price(new BigDecimal("12000"))
+				.quantity(0)
+				.category(category)
+				.status(Status.ACTIVE.getDigit())
+				.build());
+	}
+
+	/**
+	 * Save entry.
+	 * The timestamp is set on insert, it is moved afterwards.
+	 *
+	 * @param product the product
+	 * @param sequence the sequence
+	 * @param delta the delta
+	 * @param balance the balance
+	 * @param timestamp the timestamp
+	 */
+	private void saveEntry(Product product, Long sequence, int delta, int balance, LocalDateTime timestamp) {
+		StockLedgerEntry entry = stockLedgerRepository.save(StockLedgerEntry.builder().productId(product.getId())
+				.sequence(sequence).delta(delta).balance(balance).build());
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+			entityManager.createQuery("UPDATE StockLedgerEntry e SET e.timestamp = :timestamp WHERE e.id = :id")
+				.setParameter("timestamp", timestamp)
+				.setParameter("id", entry.getId())
+				.executeUpdate());
+	}
+
+}
@@ -8,10 +8,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,6 +26,7 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.lsoftware.inventory.role.Role;
+import com.lsoftware.inventory.shared.status.Status;
 
 /**
  * The Class UserApplicationPostgresDaoTest.
@@ -39,13 +43,17 @@ class UserApplicationPostgresDaoTest {
 	@Mock
 	private UserRepository userRepository;
 	
+	/** The credentials cache. */
+	private UserCredentialsCache credentialsCache;
+	
 	
 	/**
 	 * Setup.
 	 */
 	@BeforeEach
 	void setup() {
-		underTest = new UserApplicationPostgresDao(userRepository);
+		credentialsCache = new UserCredentialsCache(new UserConfig());
+		underTest = new UserApplicationPostgresDao(userRepository, credentialsCache);
 	}
 	
 
@@ -59,7 +67,7 @@ class UserApplicationPostgresDaoTest {
 				underTest.provideApplicationUserByUsername(username); //when
 		
 		// then
-		verify(userRepository).findByUsername(Mockito.anyString());
+		verify(userRepository).findCredentialsByUsername(Mockito.anyString());
 		assertTrue(response.isEmpty());
 	}
 	
@@ -70,8 +78,8 @@ class UserApplicationPostgresDaoTest {
 	void itShouldProvideRolesWithUserByUsername() {
 		String username = "luis3";
 		
-		BDDMockito.given(userRepository.findByUsername(anyString()))
-			.willReturn(getUserAuthentication(true));
+		BDDMockito.given(userRepository.findCredentialsByUsername(anyString()))
+			.willReturn(getCredentialRows(getUserAuthentication(true).get()));
 		
 		Optional<UserAuthentication> response = 
 				underTest.provideApplicationUserByUsername(username);
@@ -79,11 +87,12 @@ class UserApplicationPostgresDaoTest {
 		ArgumentCaptor<String> usernameArgumentCaptor = 
 				ArgumentCaptor.forClass(String.class);
 		
-		verify(userRepository).findByUsername(usernameArgumentCaptor.capture());
+		verify(userRepository).findCredentialsByUsername(usernameArgumentCaptor.capture());
 		String capturedUsername = usernameArgumentCaptor.getValue();
 		assertThat(capturedUsername).isEqualTo(username);
 		
 		assertThat(response.get().getUsername()).isEqualTo(username);
+		assertThat(response.get().getAuthorities()).hasSize(2);
 	}
 	
 	
@@ -95,8 +104,8 @@ class UserApplicationPostgresDaoTest {
 		String username = "luis3";
 		
 		Optional<User> dbExpected = getUserAuthentication(false);
-		BDDMockito.given(userRepository.findByUsername(anyString()))
-			.willReturn(dbExpected);
+		BDDMockito.given(userRepository.findCredentialsByUsername(anyString()))
+			.willReturn(getCredentialRows(dbExpected.get()));
 		
 		Optional<UserAuthentication> response = 
 				underTest.provideApplicationUserByUsername(username);
@@ -104,7 +113,7 @@ class UserApplicationPostgresDaoTest {
 		ArgumentCaptor<String> usernameArgumentCaptor = 
 				ArgumentCaptor.forClass(String.class);
 		
-		verify(userRepository).findByUsername(usernameArgumentCaptor.capture());
+		verify(userRepository).findCredentialsByUsername(usernameArgumentCaptor.capture());
 		String capturedUsername = usernameArgumentCaptor.getValue();
 		assertThat(capturedUsername).isEqualTo(username);
 		
@@ -118,6 +127,68 @@ class UserApplicationPostgresDaoTest {
 	}
 	
 	
+	/**
+	 * It should serve repeated logins from the cache.
+	 */
+	@Test
+	void itShouldServeRepeatedLoginsFromTheCache() {
+		BDDMockito.given(userRepository.findCredentialsByUsername("luis3"))
+			.willReturn(getCredentialRows(getUserAuthentication(true).get()));
+		
+		underTest.provideApplicationUserByUsername("luis3");
+		Optional<UserAuthentication> response = underTest.provideApplicationUserByUsername("luis3");
+		
+		verify(userRepository, times(1)).findCredentialsByUsername("luis3");
+		assertThat(response.get().getAuthorities()).hasSize(2);
+	}
+	
+	/**
+	 * It should remember the unknown usernames until the user is written.
+	 */
+	@Test
+	void itShouldRememberTheUnknownUsernamesUntilTheUserIsWritten() {
+		underTest.provideApplicationUserByUsername("luis9");
+		Optional<UserAuthentication> response = underTest.provideApplicationUserByUsername("luis9");
+		
+		verify(userRepository, times(1)).findCredentialsByUsername("luis9");
+		assertTrue(response.isEmpty());
+		assertThat(credentialsCache.isUnknown("luis9")).isTrue();
+		
+		credentialsCache.evict("LUIS9");
+		
+		assertThat(credentialsCache.isUnknown("luis9")).isFalse();
+		underTest.provideApplicationUserByUsername("luis9");
+		verify(userRepository, times(2)).findCredentialsByUsername("luis9");
+	}
+	
+	/**
+	 * It should disable users no longer active.
+	 */
+	@Test
+	void itShouldDisableUsersNoLongerActive() {
+		User user = getUserAuthentication(true).get();
+		user.setStatus(Status.INACTIVE.getDigit());
+		BDDMockito.given(userRepository.findCredentialsByUsername("luis3"))
+			.willReturn(getCredentialRows(user));
+		
+		assertThat(underTest.provideApplicationUserByUsername("luis3").get().isEnabled()).isFalse();
+	}
+	
+	/**
+	 * It should update the password of the user.
+	 */
+	@Test
+	void itShouldUpdateThePasswordOfTheUser() {
+		BDDMockito.given(userRepository.findByUsername("luis3"))
+			.willReturn(getUserAuthentication(false));
+		BDDMockito.given(userRepository.setPasswordById("{bcrypt}hash", 1L))
+			.willReturn(1);
+		
+		assertThat(underTest.updateApplicationUserPassword("luis3", "{bcrypt}hash")).isTrue();
+		assertThat(underTest.updateApplicationUserPassword("other", "{bcrypt}hash")).isFalse();
+	}
+	
+	
 	/**
 	 * Gets the user authentication.
 	 *
@@ -136,9 +207,27 @@ class UserApplicationPostgresDaoTest {
 		user.setLastName("Espinosa");
 		user.setUsername("luis3");
 		user.setPassword("123456");
+		user.setStatus(Status.ACTIVE.getDigit());
 		if (hasRoles) user.setRoles(roles);
 		
 		return Optional.of(user);
 	}
+	
+	/**
+	 * Gets the credential rows.
+	 *
+	 * @param user the user
+	 * @return the rows as returned by findCredentialsByUsername
+	 */
+	private List<Object[]> getCredentialRows(User user) {
+		if (user.getRoles().isEmpty()) {
+			return List.<Object[]>of(new Object[] {user.getUsername(), user.getPassword(), user.getStatus(), null});
+		}
+		
+		return user.getRoles()
+				.stream()
+				.map(role -> new Object[] {user.getUsername(), user.getPassword(), user.getStatus(), role.getName()})
+				.collect(Collectors.toList());
+	}
 
 }
@@ -0,0 +1,82 @@
+/*
+ * Developed by: Luis Espinosa, be aware that this project
+ * is part of my personal portfolio.
+ */
+package com.lsoftware.inventory.user;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.lsoftware.inventory.shared.status.Status;
+
+/**
+ * The Class UserCredentialsCacheTest.
+ *
+ * @author Luis Espinosa
+ */
+class UserCredentialsCacheTest {
+
+	/** The under test. */
+	private UserCredentialsCache underTest;
+
+	/**
+	 * Sets the up.
+	 */
+	@BeforeEach
+	void setUp() {
+		underTest = new UserCredentialsCache(new UserConfig());
+	}
+
+	/**
+	 * It should serve repeated logins from memory.
+	 */
+	@Test
+	void itShouldServeRepeatedLoginsFromMemory() {
+		AtomicInteger loads = new AtomicInteger();
+
+		underTest.get("LUIS3", username -> load(loads, "OLD"));
+		Optional<UserCredentials> result = underTest.get("LUIS3", username -> load(loads, "NEW"));
+
+		assertThat(result).hasValueSatisfying(credentials -> assertThat(credentials.getPassword()).isEqualTo("OLD"));
+		assertThat(loads).hasValue(1);
+	}
+
+	/**
+	 * It should not keep A load that raced with an eviction.
+	 * The login read the row before the write committed, its eviction ran
+	 * while the login was still loading.
+	 */
+	@Test
+	void itShouldNotKeepALoadThatRacedWithAnEviction() {
+		AtomicInteger loads = new AtomicInteger();
+
+		underTest.get("LUIS3", username -> {
+			Optional<UserCredentials> stale = load(loads, "OLD");
+			underTest.evict("LUIS3");
+			return stale;
+		});
+		Optional<UserCredentials> result = underTest.get("LUIS3", username -> load(loads, "NEW"));
+
+		assertThat(result).hasValueSatisfying(credentials -> assertThat(credentials.getPassword()).isEqualTo("NEW"));
+		assertThat(loads).hasValue(2);
+	}
+
+	/**
+	 * Load.
+	 *
+	 * @param loads the loads
+	 * @param password the password
+	 * @return the credentials
+	 */
+	private static Optional<UserCredentials> load(AtomicInteger loads, String password) {
+		loads.incrementAndGet();
+		return Optional.of(new UserCredentials("LUIS3", password, Status.ACTIVE.getDigit(), Set.of("ADMIN")));
+	}
+
+}
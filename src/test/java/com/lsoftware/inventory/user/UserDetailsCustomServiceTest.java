@@ -86,6 +86,21 @@ class UserDetailsCustomServiceTest {
 	}
 	
 	
+	/**
+	 * It should return the user with the updated password.
+	 */
+	@Test
+	void itShouldReturnTheUserWithTheUpdatedPassword() {
+		BDDMockito.given(userApplicationProviderDao.updateApplicationUserPassword("luis3", "{bcrypt}hash"))
+			.willReturn(true);
+		
+		UserDetails userDetails = underTest.updatePassword(getUserAuthentication().get(), "{bcrypt}hash");
+		
+		assertThat(userDetails.getPassword()).isEqualTo("{bcrypt}hash");
+		assertThat(userDetails.getAuthorities()).hasSize(1);
+	}
+	
+	
 	/**
 	 * Gets the user authentication.
 	 *
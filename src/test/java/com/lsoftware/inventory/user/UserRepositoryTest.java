@@ -17,8 +17,8 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 
 import com.lsoftware.inventory.role.Role;
 import com.lsoftware.inventory.shared.status.Status;
@@ -73,6 +73,30 @@ class UserRepositoryTest {
 	}
 	
 	
+	/**
+	 * It should find the credentials of A user by username.
+	 */
+	@Test
+	void itShouldFindTheCredentialsOfAUserByUsername() {
+		
+		User user = new User();
+		user.setDocument("123456789");
+		user.setName("Luis");
+		user.setLastName("Espinosa");
+		user.setUsername("LUIS3");
+		user.setPassword("123456");
+		user.setStatus(Status.ACTIVE.getDigit());
+		user.setRoles(Set.of(new Role(null, "ADMIN", "DESCRIPTION")));
+		
+		underTest.save(user);
+		
+		List<Object[]> rows = underTest.findCredentialsByUsername("LUIS3");
+		assertThat(rows).hasSize(1);
+		assertThat(rows.get(0)).containsExactly("LUIS3", "123456", Status.ACTIVE.getDigit(), "ADMIN");
+		assertThat(underTest.findCredentialsByUsername("OTHER")).isEmpty();
+	}
+	
+	
 	/**
 	 * It should not find user by username.
 	 */
@@ -181,7 +205,7 @@ class UserRepositoryTest {
 		underTest.save(new User(2L, "987654321", "Valentina", "Espinosa", "valen4", "123456", Status.DELETED.getDigit(), 
 				Set.of(new Role(1L, "ADMIN", "DESCRIPTION"))));
 		
-		Page<User> expected = underTest.findByStatus(List.of(Status.ACTIVE.getDigit(), Status.INACTIVE.getDigit()), 
+		Slice<User> expected = underTest.findByStatus(List.of(Status.ACTIVE.getDigit(), Status.INACTIVE.getDigit()), 
 				PageRequest.of(0, 2));
 		assertEquals(1, expected.getContent().size());
 	}
@@ -208,7 +232,7 @@ class UserRepositoryTest {
 		underTest.save(new User(3L, "434343434", "Fabio", "Espinosa", "fabio5", "123456", Status.ACTIVE.getDigit(), 
 				Set.of(new Role(1L, "ADMIN", "DESCRIPTION"))));
 		
-		Page<User> expected = underTest.findByTermsContaining("Fa", List.of(Status.ACTIVE.getDigit()), 
+		Slice<User> expected = underTest.findByTermsContaining("Fa", List.of(Status.ACTIVE.getDigit()), 
 				PageRequest.of(0, 2));
 		assertEquals(1, expected.getContent().size());
 	}
@@ -25,7 +25,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.BDDMockito;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.context.MessageSource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -38,6 +37,8 @@ import com.lsoftware.inventory.exception.ExceptionObjectNotFound;
 import com.lsoftware.inventory.exception.ExceptionValueNotPermitted;
 import com.lsoftware.inventory.role.Role;
 import com.lsoftware.inventory.role.RoleRepository;
+import com.lsoftware.inventory.shared.pagination.PaginationConfig;
+import com.lsoftware.inventory.shared.pagination.PaginationCountCache;
 import com.lsoftware.inventory.shared.request.RequestPaginationAndSortDTO;
 import com.lsoftware.inventory.shared.response.ResponsePaginationAndSortDTO;
 import com.lsoftware.inventory.shared.status.Status;
@@ -60,8 +61,8 @@ class UserServiceTest {
 	@Mock
 	private UserRepository userRepository;
 
-	/** The model mapper. */
-	private ModelMapper modelMapper;
+	/** The user mapper. */
+	private UserMapper userMapper;
 	
 	/** The message source. */
 	@Mock
@@ -78,6 +79,10 @@ class UserServiceTest {
 	/** The role repository. */
 	@Mock
 	private RoleRepository roleRepository;
+	
+	/** The user credentials cache. */
+	@Mock
+	private UserCredentialsCache userCredentialsCache;
 
 	/**
 	 * Sets the up.
@@ -86,8 +91,9 @@ class UserServiceTest {
 	 */
 	@BeforeEach
 	void setUp() throws Exception {
-		modelMapper = new ModelMapper();
-		underTest = new UserService(userRepository, modelMapper, messageSource, passwordEncoder, authenticationHolderProvider, roleRepository);
+		userMapper = new UserMapper();
+		underTest = new UserService(userRepository, userMapper, messageSource, passwordEncoder, authenticationHolderProvider, roleRepository,
+				new PaginationCountCache(new PaginationConfig()), userCredentialsCache);
 	}
 
 	/**
@@ -234,6 +240,7 @@ class UserServiceTest {
 		
 		underTest.delete(1L);
 		verify(userRepository, times(1)).setStatusById(anyInt(), anyLong());
+		verify(userCredentialsCache, times(1)).evict(getUserEntitySaved().getUsername());
 	}
 	
 	
@@ -343,6 +350,7 @@ class UserServiceTest {
 		
 		underTest.updatePassword(getUserPasswordDTO());
 		verify(userRepository, times(1)).setPasswordById(anyString(), anyLong());
+		verify(userCredentialsCache, times(1)).evict(getUserEntitySaved().getUsername());
 	}
 	
 	